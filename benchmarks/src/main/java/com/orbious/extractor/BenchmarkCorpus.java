@@ -0,0 +1,125 @@
+package com.orbious.extractor;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileReader;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Vector;
+import org.apache.log4j.Level;
+import com.orbious.util.Loggers;
+import com.orbious.util.config.Config;
+import com.orbious.util.config.ConfigException;
+
+/**
+ * Builds the corpora used by the benchmarks. The plain-text samples in
+ * the <code>corpus.dir</code> directory (by default the test resources
+ * in the parent project) are concatenated and repeated <code>scale</code>
+ * times.
+ *
+ * @author dave
+ * @version 1.0
+ * @since 6.0
+ */
+
+public class BenchmarkCorpus {
+
+  /**
+   * The default directory containing the samples.
+   */
+  public static final String DEFAULT_DIR = "../src/test/resources";
+
+  /**
+   * Set once {@link Config} has been initialized.
+   */
+  private static boolean initialized = false;
+
+  /**
+   * Private Constructor.
+   */
+  private BenchmarkCorpus() { }
+
+  /**
+   * Initializes the {@link Config} defaults and quietens the logging, which
+   * would otherwise dominate the measurements.
+   */
+  public static synchronized void init() {
+    if ( initialized ) {
+      return;
+    }
+
+    try {
+      Config.setDefaults(AppConfig.class);
+    } catch ( ConfigException ce ) {
+      throw new IllegalStateException("Failed to set defaults from AppConfig", ce);
+    }
+
+    Loggers.logger().setLevel(Level.WARN);
+    initialized = true;
+  }
+
+  /**
+   * Returns the raw lines of the corpus.
+   *
+   * @param scale   The number of times the samples are repeated.
+   * @return        The raw lines.
+   *
+   * @throws IOException
+   */
+  public static Vector<String> lines(int scale) throws IOException {
+    File dir = new File(System.getProperty("corpus.dir", DEFAULT_DIR));
+    File[] files = dir.listFiles();
+    Vector<String> samples = new Vector<String>();
+    Vector<String> lines;
+    BufferedReader br;
+    String str;
+
+    init();
+
+    if ( files == null ) {
+      throw new IOException("No samples in " + dir.getAbsolutePath() +
+          ", set -Dcorpus.dir=<directory>");
+    }
+
+    Arrays.sort(files);
+    for ( int i = 0; i < files.length; i++ ) {
+      if ( !files[i].isFile() ) {
+        continue;
+      }
+
+      br = new BufferedReader(new FileReader(files[i]));
+      try {
+        while ( (str = br.readLine()) != null ) {
+          samples.add(str);
+        }
+      } finally {
+        br.close();
+      }
+      // keep the samples apart
+      samples.add("");
+    }
+
+    lines = new Vector<String>(samples.size()*scale);
+    for ( int i = 0; i < scale; i++ ) {
+      lines.addAll(samples);
+    }
+
+    return(lines);
+  }
+
+  /**
+   * Returns a <code>TextParser</code> that has parsed the corpus.
+   *
+   * @param scale   The number of times the samples are repeated.
+   * @return        A parsed <code>TextParser</code>.
+   *
+   * @throws IOException
+   * @throws ParserException
+   */
+  public static TextParser parsed(int scale) throws IOException, ParserException {
+    TextParser parser = new TextParser(lines(scale));
+    parser.parse();
+
+    return(parser);
+  }
+}
@@ -0,0 +1,174 @@
+package com.orbious.extractor;
+
+import java.io.File;
+import java.io.InputStream;
+import java.util.HashSet;
+import java.util.Vector;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import com.orbious.extractor.Word.WordOp;
+import com.orbious.extractor.dictionary.Dictionary;
+import com.orbious.extractor.dictionary.DictionaryRegistry;
+import com.orbious.util.HashSets;
+import com.orbious.util.Resources;
+import com.orbious.util.config.Config;
+
+/**
+ * Compares the names <code>Dictionary</code> (packed words, looked up
+ * ignoring case from a <code>char[]</code>) with the
+ * <code>HashSet</code> from <code>HashSets.cvtStreamToHash</code> and a
+ * title case <code>String</code> per lookup, for the word at each start
+ * candidate as per <code>Name</code>.
+ * <p>
+ * The retained heap of each (measured as the change in used heap after a
+ * full gc) is printed once per trial.
+ *
+ * @author dave
+ * @version 1.0
+ * @since 6.0
+ */
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DictionaryBenchmark {
+
+  /**
+   * The number of times the samples are repeated in the corpus.
+   */
+  @Param({ "64" })
+  public int scale;
+
+  /**
+   * The buffer for the corpus.
+   */
+  private char[] buf;
+
+  /**
+   * The start candidates in {@link DictionaryBenchmark#buf}.
+   */
+  private int[] starts;
+
+  /**
+   * The names, as previously loaded by <code>Name</code>.
+   */
+  private HashSet<String> set;
+
+  /**
+   * The names dictionary.
+   */
+  private Dictionary names;
+
+  /**
+   * The cursor reused by each invocation.
+   */
+  private WordCursor cursor;
+
+  @Setup(Level.Trial)
+  public void setup() throws Exception {
+    Vector<Integer> tmpStarts = new Vector<Integer>();
+    String fname;
+    InputStream in;
+    long used;
+
+    buf = BenchmarkCorpus.parsed(scale).parser_data.buffer;
+    cursor = new WordCursor(ExtractorProfile.current());
+    fname = Config.getString(AppConfig.names_filename);
+
+    used = used();
+    in = Resources.getResourceStream(new File(fname));
+    try {
+      set = HashSets.cvtStreamToHash(in, false);
+    } finally {
+      in.close();
+    }
+    System.out.println("\nHashSet retained=" + (used()-used) +
+        " bytes words=" + set.size());
+
+    DictionaryRegistry.clear();
+    used = used();
+    names = DictionaryRegistry.get(fname, false);
+    System.out.println("Dictionary retained=" + (used()-used) +
+        " bytes words=" + names.size() + " footprint=" + names.footprint());
+
+    for ( int i = 1; i < buf.length; i++ ) {
+      if ( Character.isUpperCase(buf[i]) && Character.isWhitespace(buf[i-1]) ) {
+        tmpStarts.add(i-1);
+      }
+    }
+
+    starts = new int[tmpStarts.size()];
+    for ( int i = 0; i < starts.length; i++ ) {
+      starts[i] = tmpStarts.get(i);
+    }
+  }
+
+  /**
+   * Returns the used heap after a full gc.
+   */
+  private static long used() {
+    Runtime rt = Runtime.getRuntime();
+
+    for ( int i = 0; i < 4; i++ ) {
+      System.gc();
+    }
+
+    return( rt.totalMemory()-rt.freeMemory() );
+  }
+
+  @Benchmark
+  public int hashSetLookup() {
+    StringBuilder sb;
+    WordOp op;
+    char[] wdbuf;
+    int ct = 0;
+
+    for ( int i = 0; i < starts.length; i++ ) {
+      op = Word.getNextWord(buf, starts[i], false);
+      if ( (op == null) || (op.word().length() == 0) ) {
+        continue;
+      }
+
+      wdbuf = op.word().toCharArray();
+      sb = new StringBuilder();
+      sb.append(Character.toUpperCase(wdbuf[0]));
+      for ( int j = 1; j < wdbuf.length; j++ ) {
+        sb.append(Character.toLowerCase(wdbuf[j]));
+      }
+
+      if ( set.contains(sb.toString()) ) {
+        ct++;
+      }
+    }
+
+    return(ct);
+  }
+
+  @Benchmark
+  public int dictionaryLookup() {
+    int ct = 0;
+
+    for ( int i = 0; i < starts.length; i++ ) {
+      if ( cursor.next(buf, starts[i], false) &&
+           names.containsIgnoreCase(cursor.chars(), 0, cursor.length()) ) {
+        ct++;
+      }
+    }
+
+    return(ct);
+  }
+}
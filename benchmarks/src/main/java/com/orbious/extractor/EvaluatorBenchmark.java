@@ -0,0 +1,145 @@
+package com.orbious.extractor;
+
+import java.util.BitSet;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import com.orbious.extractor.TextParser.TextParserData;
+import com.orbious.extractor.evaluator.Evaluator;
+import com.orbious.extractor.evaluator.Evaluator.EvaluatorType;
+
+/**
+ * Benchmarks {@link Evaluator#evaluate(char[], int)} (and the batch
+ * {@link Evaluator#evaluateAll(char[], int[], int, BitSet)}) for each of the
+ * default <code>Evaluator</code>'s used by {@link Sentence}. Each
+ * invocation evaluates every candidate in the corpus, i.e. every sentence
+ * end for <code>END</code> evaluators and every upper case letter
+ * following whitespace or a sentence end for <code>START</code> evaluators
+ * (as per {@link TextParser#genSentenceMap()}).
+ *
+ * @author dave
+ * @version 1.0
+ * @since 6.0
+ */
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EvaluatorBenchmark {
+
+  /**
+   * The <code>Evaluator</code> and its type, as <code>Name.TYPE</code>.
+   */
+  @Param({ "Suspension.START", "Acronym.START", "Name.START",
+      "AbbreviatedName.START", "Heading.START", "InsideLeftRightMarks.START",
+      "NumberedHeading.END", "Suspension.END", "Acronym.END", "UrlText.END",
+      "AbbreviatedName.END", "InnerQuote.END", "InsideLeftRightMarks.END" })
+  public String evaluator;
+
+  /**
+   * The number of times the samples are repeated in the corpus.
+   */
+  @Param({ "64" })
+  public int scale;
+
+  /**
+   * The <code>Evaluator</code> being measured.
+   */
+  private Evaluator instance;
+
+  /**
+   * The buffer for the corpus.
+   */
+  private char[] buf;
+
+  /**
+   * The candidate indexes in {@link EvaluatorBenchmark#buf}.
+   */
+  private int[] candidates;
+
+  /**
+   * The results for {@link EvaluatorBenchmark#evaluateAll()}.
+   */
+  private BitSet results;
+
+  @Setup(Level.Trial)
+  public void setup() throws Exception {
+    TextParser parser;
+    ExtractorProfile profile;
+    EvaluatorType type;
+    String name;
+    int dot;
+
+    parser = BenchmarkCorpus.parsed(scale);
+    // populates the sentence map used by e.g. Heading
+    parser.genSentences();
+    profile = parser.profile();
+    buf = parser.parser_data.buffer;
+
+    dot = evaluator.lastIndexOf('.');
+    name = evaluator.substring(0, dot);
+    type = EvaluatorType.valueOf(evaluator.substring(dot+1));
+
+    instance = (Evaluator)Class.forName("com.orbious.extractor.evaluator." + name)
+      .getConstructor(TextParserData.class, EvaluatorType.class)
+      .newInstance(parser.parser_data, type);
+    instance.profile(profile);
+    instance.invalidate();
+
+    candidates = candidates(profile, type);
+    results = new BitSet(candidates.length);
+  }
+
+  /**
+   * Returns the indexes in {@link EvaluatorBenchmark#buf} that
+   * {@link TextParser#genSentenceMap()} would evaluate.
+   */
+  private int[] candidates(ExtractorProfile profile, EvaluatorType type) {
+    CandidateScanner scanner = new CandidateScanner();
+    int[] idxs;
+
+    scanner.scan(buf, profile);
+    if ( type == EvaluatorType.END ) {
+      idxs = new int[scanner.endCount()];
+      System.arraycopy(scanner.ends(), 0, idxs, 0, idxs.length);
+    } else {
+      idxs = new int[scanner.startCount()];
+      System.arraycopy(scanner.starts(), 0, idxs, 0, idxs.length);
+    }
+
+    return(idxs);
+  }
+
+  @Benchmark
+  public int evaluate() throws Exception {
+    int ct = 0;
+
+    for ( int i = 0; i < candidates.length; i++ ) {
+      if ( instance.evaluate(buf, candidates[i]) ) {
+        ct++;
+      }
+    }
+
+    return(ct);
+  }
+
+  @Benchmark
+  public int evaluateAll() throws Exception {
+    instance.evaluateAll(buf, candidates, candidates.length, results);
+
+    return(results.cardinality());
+  }
+}
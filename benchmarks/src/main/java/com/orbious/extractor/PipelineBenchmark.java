@@ -0,0 +1,218 @@
+package com.orbious.extractor;
+
+import java.util.Vector;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Benchmarks each phase of the extraction pipeline over the same corpus,
+ * so the throughput of a phase can be compared with the end to end
+ * throughput:
+ * <ul>
+ * <li>{@link PipelineBenchmark#removeWhitespace()} -
+ *     {@link BufferBuilder#append(String)} for each line.
+ * <li>{@link PipelineBenchmark#parse()} - {@link TextParser#parse()}.
+ * <li>{@link PipelineBenchmark#scanCandidates()} -
+ *     {@link CandidateScanner#scan(char[], ExtractorProfile)} over a parsed
+ *     buffer (the first phase of <code>genSentenceMap</code>).
+ * <li>{@link PipelineBenchmark#genSentenceMap()} -
+ *     {@link TextParser#genSentenceMap()} over a parsed buffer.
+ * <li>{@link PipelineBenchmark#genSentences()} -
+ *     {@link TextParser#genSentences()} over a parsed buffer.
+ * <li>{@link PipelineBenchmark#genSentenceSpans()} -
+ *     {@link TextParser#genSentenceSpans()} over a parsed buffer.
+ * <li>{@link PipelineBenchmark#streamSentences()} -
+ *     {@link TextParser#genSentences(SentenceSink)} to a
+ *     {@link CountingSink} over a parsed buffer.
+ * <li>{@link PipelineBenchmark#split(Blackhole)} -
+ *     {@link SentenceSplitter#split(TextParserOp)} for each sentence.
+ * <li>{@link PipelineBenchmark#getWords(Blackhole)} -
+ *     {@link Word#getWords(char[], int, int, ParseDirn, boolean, ExtractorProfile)}
+ *     at each sentence end.
+ * <li>{@link PipelineBenchmark#extract()} - all of the above.
+ * </ul>
+ * This class is in the <code>com.orbious.extractor</code> package to
+ * reach the protected phases of <code>TextParser</code>.
+ *
+ * @author dave
+ * @version 1.0
+ * @since 6.0
+ */
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PipelineBenchmark {
+
+  /**
+   * The number of times the samples are repeated in the corpus.
+   */
+  @Param({ "16", "256" })
+  public int scale;
+
+  /**
+   * The raw lines of the corpus.
+   */
+  private Vector<String> raw;
+
+  /**
+   * A <code>TextParser</code> that has parsed the corpus, reset before
+   * each invocation of {@link PipelineBenchmark#genSentenceMap()}.
+   */
+  private TextParser parsed;
+
+  /**
+   * A <code>TextParser</code> that has generated the sentences for the
+   * corpus.
+   */
+  private TextParser extracted;
+
+  /**
+   * The splitter for {@link PipelineBenchmark#extracted}.
+   */
+  private SentenceSplitter splitter;
+
+  /**
+   * The scanner reused by {@link PipelineBenchmark#scanCandidates()}.
+   */
+  private CandidateScanner scanner;
+
+  /**
+   * The sentence ends in {@link PipelineBenchmark#extracted}.
+   */
+  private int[] ends;
+
+  @Setup(Level.Trial)
+  public void setup() throws Exception {
+    Vector<Integer> tmp = new Vector<Integer>();
+    char[] buf;
+
+    raw = BenchmarkCorpus.lines(scale);
+
+    parsed = new TextParser(raw);
+    parsed.parse();
+    scanner = new CandidateScanner();
+
+    extracted = new TextParser(raw);
+    extracted.parse();
+    extracted.genSentences();
+
+    splitter = new SentenceSplitter(extracted.parser_data);
+    splitter.profile(extracted.profile());
+
+    buf = extracted.parser_data.buffer;
+    for ( int i = 0; i < buf.length; i++ ) {
+      if ( extracted.profile().isSentenceEnd(buf[i]) ) {
+        tmp.add(i);
+      }
+    }
+
+    ends = new int[tmp.size()];
+    for ( int i = 0; i < ends.length; i++ ) {
+      ends[i] = tmp.get(i);
+    }
+  }
+
+  @Setup(Level.Invocation)
+  public void resetSentenceMap() {
+    parsed.parser_data.sentence_map =
+      new SentenceMap(parsed.parser_data.buffer.length);
+  }
+
+  @Benchmark
+  public BufferBuilder removeWhitespace() {
+    BufferBuilder builder = new BufferBuilder(1 << 16);
+
+    for ( int i = 0; i < raw.size(); i++ ) {
+      builder.append(raw.get(i));
+    }
+
+    return(builder);
+  }
+
+  @Benchmark
+  public TextParser parse() throws Exception {
+    TextParser parser = new TextParser(raw);
+    parser.parse();
+
+    return(parser);
+  }
+
+  @Benchmark
+  public int scanCandidates() {
+    scanner.scan(parsed.parser_data.buffer, parsed.profile());
+
+    return(scanner.endCount()+scanner.startCount());
+  }
+
+  @Benchmark
+  public SentenceMap genSentenceMap() throws Exception {
+    parsed.genSentenceMap();
+
+    return(parsed.parser_data.sentence_map);
+  }
+
+  @Benchmark
+  public int genSentences() throws Exception {
+    parsed.genSentences();
+
+    return(parsed.splitterOps().size());
+  }
+
+  @Benchmark
+  public SentenceSpans genSentenceSpans() throws Exception {
+    return( parsed.genSentenceSpans() );
+  }
+
+  @Benchmark
+  public long streamSentences() throws Exception {
+    CountingSink sink = new CountingSink();
+
+    parsed.genSentences(sink);
+
+    return(sink.tokenCt());
+  }
+
+  @Benchmark
+  public void split(Blackhole bh) {
+    Vector<TextParserOp> ops = extracted.parser_data.parser_map;
+
+    for ( int i = 0; i < ops.size(); i++ ) {
+      bh.consume(splitter.split(ops.get(i)));
+    }
+  }
+
+  @Benchmark
+  public void getWords(Blackhole bh) {
+    char[] buf = extracted.parser_data.buffer;
+    ExtractorProfile profile = extracted.profile();
+
+    for ( int i = 0; i < ends.length; i++ ) {
+      bh.consume(Word.getWords(buf, ends[i], 2, ParseDirn.LEFT, true, profile));
+    }
+  }
+
+  @Benchmark
+  public int extract() throws Exception {
+    TextParser parser = new TextParser(raw);
+    parser.parse();
+    parser.genSentences();
+
+    return(parser.splitterOps().size());
+  }
+}
@@ -0,0 +1,303 @@
+package com.orbious.extractor;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import com.orbious.extractor.SentenceMapEntry.Likelihood;
+import com.orbious.extractor.SentenceMapEntry.SentenceEntryType;
+
+/**
+ * Compares {@link SentenceMap} with the <code>SentenceMapEntry[]</code>
+ * (one reference per position, an object per entry) it replaced, over a
+ * map of <code>length</code> positions with an entry every
+ * <code>gap</code> positions (cycling through likely ends, pauses,
+ * unlikely ends, starts and headings):
+ * <ul>
+ * <li>{@link SentenceMapBenchmark#entriesBuild()} /
+ *     {@link SentenceMapBenchmark#mapBuild()} - populating the map, as per
+ *     <code>TextParser.addToMap</code> (<code>-prof gc</code> reports the
+ *     bytes allocated).
+ * <li>{@link SentenceMapBenchmark#entriesScan()} /
+ *     {@link SentenceMapBenchmark#mapScan()} - a forward scan of every
+ *     position, as per <code>TextParser.genSentences</code>.
+ * <li>{@link SentenceMapBenchmark#entriesPrevious(Blackhole)},
+ *     {@link SentenceMapBenchmark#mapScanPrevious(Blackhole)} /
+ *     {@link SentenceMapBenchmark#mapPrevious(Blackhole)} - the previous
+ *     pause, likely end and unlikely end before random positions, as per
+ *     <code>TextParserData.findPrevious*</code>, scanning backwards through
+ *     the <code>SentenceMapEntry[]</code> (as originally), scanning
+ *     backwards through the <code>SentenceMap</code> and with the
+ *     <code>SentenceMap</code> index. A large <code>gap</code> is the
+ *     pathological case for the scans (e.g. tables, code or verse without
+ *     punctuation).
+ * </ul>
+ * The retained heap of each (measured as the change in used heap after a
+ * full gc) is printed once per trial.
+ *
+ * @author dave
+ * @version 1.0
+ * @since 6.0
+ */
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SentenceMapBenchmark {
+
+  /**
+   * The number of positions in the map (i.e. the length of the buffer).
+   */
+  @Param({ "16777216" })
+  public int length;
+
+  /**
+   * The number of positions between entries.
+   */
+  @Param({ "64", "65536" })
+  public int gap;
+
+  /**
+   * The number of positions searched from per invocation.
+   */
+  private static final int QUERY_CT = 256;
+
+  /**
+   * The map as a <code>SentenceMapEntry[]</code>.
+   */
+  private SentenceMapEntry[] entries;
+
+  /**
+   * The map as a <code>SentenceMap</code>.
+   */
+  private SentenceMap map;
+
+  /**
+   * The positions searched from.
+   */
+  private int[] queries;
+
+  @Setup(Level.Trial)
+  public void setup() {
+    Random random = new Random(42);
+    long used;
+
+    BenchmarkCorpus.init();
+
+    used = used();
+    entries = entriesBuild();
+    System.out.println("\nSentenceMapEntry[] retained=" + (used()-used) +
+        " bytes length=" + length + " gap=" + gap);
+
+    used = used();
+    map = mapBuild();
+    System.out.println("SentenceMap retained=" + (used()-used) +
+        " bytes length=" + length + " gap=" + gap);
+
+    queries = new int[QUERY_CT];
+    for ( int i = 0; i < queries.length; i++ ) {
+      queries[i] = random.nextInt(length);
+    }
+  }
+
+  /**
+   * Returns the used heap after a full gc.
+   */
+  private static long used() {
+    Runtime rt = Runtime.getRuntime();
+
+    for ( int i = 0; i < 4; i++ ) {
+      System.gc();
+    }
+
+    return( rt.totalMemory()-rt.freeMemory() );
+  }
+
+  /**
+   * Returns the likelihood of the <code>n</code>'th entry.
+   */
+  static Likelihood likelihood(int n) {
+    return( (n % 5) == 2 ? Likelihood.UNLIKELY : Likelihood.LIKELY );
+  }
+
+  /**
+   * Returns the type of the <code>n</code>'th entry.
+   */
+  static SentenceEntryType type(int n) {
+    switch ( n % 5 ) {
+      case 1:
+        return(SentenceEntryType.PAUSE);
+      case 3:
+        return(SentenceEntryType.START);
+      case 4:
+        return(SentenceEntryType.HEADING);
+      default:
+        return(SentenceEntryType.END);
+    }
+  }
+
+  @Benchmark
+  public SentenceMapEntry[] entriesBuild() {
+    SentenceMapEntry[] tmp = new SentenceMapEntry[length];
+
+    for ( int i = gap, n = 0; i < length; i += gap, n++ ) {
+      tmp[i] = new SentenceMapEntry(likelihood(n), type(n));
+    }
+
+    return(tmp);
+  }
+
+  @Benchmark
+  public SentenceMap mapBuild() {
+    SentenceMap tmp = new SentenceMap(length);
+
+    for ( int i = gap, n = 0; i < length; i += gap, n++ ) {
+      tmp.set(i, likelihood(n), type(n), null);
+    }
+
+    return(tmp);
+  }
+
+  @Benchmark
+  public int entriesScan() {
+    SentenceMapEntry entry;
+    int ct = 0;
+
+    for ( int i = 0; i < entries.length; i++ ) {
+      entry = entries[i];
+      if ( entry == null ) {
+        continue;
+      }
+
+      if ( (entry.type() == SentenceEntryType.END) &&
+           (entry.likelihood() == Likelihood.LIKELY) ) {
+        ct++;
+      } else if ( entry.type() == SentenceEntryType.HEADING ) {
+        ct--;
+      }
+    }
+
+    return(ct);
+  }
+
+  @Benchmark
+  public int mapScan() {
+    int ct = 0;
+
+    for ( int i = 0; i < map.length(); i++ ) {
+      if ( !map.contains(i) ) {
+        continue;
+      }
+
+      if ( (map.type(i) == SentenceEntryType.END) && !map.isUnlikely(i) ) {
+        ct++;
+      } else if ( map.isHeading(i) ) {
+        ct--;
+      }
+    }
+
+    return(ct);
+  }
+
+  @Benchmark
+  public void entriesPrevious(Blackhole bh) {
+    for ( int i = 0; i < queries.length; i++ ) {
+      bh.consume(entriesPrevious(queries[i], true, Likelihood.LIKELY));
+      bh.consume(entriesPrevious(queries[i], false, Likelihood.LIKELY));
+      bh.consume(entriesPrevious(queries[i], false, Likelihood.UNLIKELY));
+    }
+  }
+
+  /**
+   * Scans backwards through <code>entries</code> from <code>idx-1</code>
+   * to (but excluding) position <code>0</code>, as per the original
+   * <code>TextParserData.findPrevious*</code>.
+   *
+   * @param idx   The position.
+   * @param pause   If <code>true</code>, a <code>PAUSE</code> also matches.
+   * @param likelihood    The likelihood of the <code>END</code>.
+   *
+   * @return    The previous match, or <code>-1</code>.
+   */
+  private int entriesPrevious(int idx, boolean pause, Likelihood likelihood) {
+    SentenceMapEntry entry;
+
+    for ( int i = idx-1; i > 0; i-- ) {
+      entry = entries[i];
+      if ( entry == null ) {
+        continue;
+      }
+
+      if ( (entry.likelihood() == likelihood) &&
+           ((entry.type() == SentenceEntryType.END) ||
+            (pause && (entry.type() == SentenceEntryType.PAUSE))) ) {
+        return(i);
+      }
+    }
+
+    return(-1);
+  }
+
+  @Benchmark
+  public void mapScanPrevious(Blackhole bh) {
+    for ( int i = 0; i < queries.length; i++ ) {
+      bh.consume(mapScanPrevious(queries[i], true, false));
+      bh.consume(mapScanPrevious(queries[i], false, false));
+      bh.consume(mapScanPrevious(queries[i], false, true));
+    }
+  }
+
+  /**
+   * Scans backwards through <code>map</code> from <code>idx-1</code> to
+   * (but excluding) position <code>0</code>, as per
+   * <code>SentenceMap</code> before the index.
+   *
+   * @param idx   The position.
+   * @param pause   If <code>true</code>, a <code>PAUSE</code> also matches.
+   * @param unlikely    If <code>true</code>, an <code>UNLIKELY</code>
+   *                    <code>END</code> matches, otherwise a
+   *                    <code>LIKELY</code> one.
+   *
+   * @return    The previous match, or <code>-1</code>.
+   */
+  private int mapScanPrevious(int idx, boolean pause, boolean unlikely) {
+    SentenceEntryType type;
+
+    for ( int i = idx-1; i > 0; i-- ) {
+      if ( !map.contains(i) || (map.isUnlikely(i) != unlikely) ) {
+        continue;
+      }
+
+      type = map.type(i);
+      if ( (type == SentenceEntryType.END) ||
+           (pause && (type == SentenceEntryType.PAUSE)) ) {
+        return(i);
+      }
+    }
+
+    return(-1);
+  }
+
+  @Benchmark
+  public void mapPrevious(Blackhole bh) {
+    for ( int i = 0; i < queries.length; i++ ) {
+      bh.consume(map.findPreviousPause(queries[i]));
+      bh.consume(map.findPreviousLikelyEnd(queries[i]));
+      bh.consume(map.findPreviousUnlikelyEnd(queries[i]));
+    }
+  }
+}
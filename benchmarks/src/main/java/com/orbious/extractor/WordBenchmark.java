@@ -0,0 +1,168 @@
+package com.orbious.extractor;
+
+import java.util.Vector;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import com.orbious.extractor.Word.WordOp;
+import com.orbious.extractor.dictionary.Dictionary;
+
+/**
+ * Compares {@link Word} with {@link WordCursor} for the previous word
+ * at each sentence end and the next word at each start candidate, with
+ * and without a (suspensions) dictionary lookup as per
+ * <code>Suspension</code>.
+ *
+ * @author dave
+ * @version 1.0
+ * @since 6.0
+ */
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WordBenchmark {
+
+  /**
+   * The number of times the samples are repeated in the corpus.
+   */
+  @Param({ "64" })
+  public int scale;
+
+  /**
+   * The buffer for the corpus.
+   */
+  private char[] buf;
+
+  /**
+   * The sentence ends in {@link WordBenchmark#buf}.
+   */
+  private int[] ends;
+
+  /**
+   * The start candidates in {@link WordBenchmark#buf}.
+   */
+  private int[] starts;
+
+  /**
+   * The configuration.
+   */
+  private ExtractorProfile profile;
+
+  /**
+   * The suspensions dictionary (lowercase).
+   */
+  private Dictionary suspensions;
+
+  /**
+   * The cursor reused by each invocation.
+   */
+  private WordCursor cursor;
+
+  @Setup(Level.Trial)
+  public void setup() throws Exception {
+    Vector<Integer> tmpEnds = new Vector<Integer>();
+    Vector<Integer> tmpStarts = new Vector<Integer>();
+
+    buf = BenchmarkCorpus.parsed(scale).parser_data.buffer;
+    profile = ExtractorProfile.current();
+    suspensions = profile.suspensions();
+    cursor = new WordCursor(profile);
+
+    for ( int i = 0; i < buf.length; i++ ) {
+      if ( profile.isSentenceEnd(buf[i]) ) {
+        tmpEnds.add(i);
+      } else if ( Character.isUpperCase(buf[i]) && (i > 0) &&
+          Character.isWhitespace(buf[i-1]) ) {
+        tmpStarts.add(i-1);
+      }
+    }
+
+    ends = toArray(tmpEnds);
+    starts = toArray(tmpStarts);
+  }
+
+  private static int[] toArray(Vector<Integer> v) {
+    int[] a = new int[v.size()];
+    for ( int i = 0; i < a.length; i++ ) {
+      a[i] = v.get(i);
+    }
+
+    return(a);
+  }
+
+  @Benchmark
+  public void wordPrevious(Blackhole bh) {
+    for ( int i = 0; i < ends.length; i++ ) {
+      bh.consume(Word.getPreviousWord(buf, ends[i], true, profile));
+    }
+  }
+
+  @Benchmark
+  public void cursorPrevious(Blackhole bh) {
+    for ( int i = 0; i < ends.length; i++ ) {
+      bh.consume(cursor.previous(buf, ends[i], true));
+      bh.consume(cursor.idx());
+    }
+  }
+
+  @Benchmark
+  public void wordNext(Blackhole bh) {
+    for ( int i = 0; i < starts.length; i++ ) {
+      bh.consume(Word.getNextWord(buf, starts[i], false, profile));
+    }
+  }
+
+  @Benchmark
+  public void cursorNext(Blackhole bh) {
+    for ( int i = 0; i < starts.length; i++ ) {
+      bh.consume(cursor.next(buf, starts[i], false));
+      bh.consume(cursor.idx());
+    }
+  }
+
+  @Benchmark
+  public int wordLookup() {
+    WordOp op;
+    int ct = 0;
+
+    for ( int i = 0; i < ends.length; i++ ) {
+      op = Word.getPreviousWord(buf, ends[i], true, profile);
+      if ( (op != null) && suspensions.contains(op.word().toLowerCase()) ) {
+        ct++;
+      }
+    }
+
+    return(ct);
+  }
+
+  @Benchmark
+  public int cursorLookup() {
+    int ct = 0;
+
+    for ( int i = 0; i < ends.length; i++ ) {
+      if ( cursor.previous(buf, ends[i], true) ) {
+        cursor.toLowerCase();
+        if ( suspensions.contains(cursor.chars(), 0, cursor.length()) ) {
+          ct++;
+        }
+      }
+    }
+
+    return(ct);
+  }
+}
@@ -19,18 +19,4 @@ fi
 
 echo "using base directory $base_dir"
 
-for path in ${base_dir}*; do
-  if [[ ! $path =~ [0-9]+\.txt$ ]]; then
-    continue
-  fi
-
-  dst="${path}.clean"
-  if [ -e $dst ]; then
-    echo "skipping already processed $dst.."
-    continue;
-  fi
-
-  echo "parsing $path.."
-  java -server com.orbious.extractor.app.FileParser -i $path -o $dst
-
-done
+java -server com.orbious.extractor.app.FileParser -d "$base_dir" "${@:2}"
@@ -92,10 +92,46 @@ public enum AppConfig implements IConfig {
    */
   names_filename("com/orbious/extractor/names.txt"),
 
+  /**
+   * The directory holding the binary dictionary snapshots (see
+   * {@link com.orbious.extractor.dictionary.DictionarySnapshot}), which
+   * are written on first use or by
+   * {@link com.orbious.extractor.app.DictionaryCompiler}. An empty
+   * string (the default) disables the snapshots. The directory should
+   * only be writable by the user(s) trusted to compile the dictionaries,
+   * as a snapshot is accepted if it was compiled from the same resource
+   * contents.
+   */
+  dictionary_snapshot_dir(""),
+
   /**
    * Minimum sentence length (in alphanumeric words).
    */
-  min_sentence_length(4);
+  min_sentence_length(4),
+
+  /**
+   * The character set documents are decoded with by {@link TextParser}
+   * (e.g. "UTF-8", "ISO-8859-1" or "windows-1252").
+   */
+  input_charset("UTF-8"),
+
+  /**
+   * The initial number of raw characters read into each window by
+   * {@link StreamingTextParser}.
+   */
+  stream_window_size(65536),
+
+  /**
+   * The maximum number of raw characters a {@link StreamingTextParser} window
+   * can grow to before sentences are emitted regardless.
+   */
+  stream_max_window_size(4194304),
+
+  /**
+   * The number of characters of look-ahead/look-behind a
+   * {@link StreamingTextParser} keeps around the window boundary.
+   */
+  stream_context_size(1024);
 
   // implementation
 
@@ -0,0 +1,205 @@
+package com.orbious.extractor;
+
+/**
+ * Builds the {@link TextParser} buffer one raw line at a time. Each line is
+ * cleansed (see
+ * {@link WhitespaceRemover#remove(char[], int, int, char[], int)})
+ * directly into a single growable <code>char[]</code>, and the line starts
+ * are recorded in the same pass, so no <code>String</code> is created per
+ * line. The original offsets of the cleansed characters are recorded in an
+ * {@link OffsetMap}.
+ *
+ * @author dave
+ * @version 1.0
+ * @since 6.0
+ */
+
+public class BufferBuilder {
+
+  /**
+   * The cleansed characters.
+   */
+  private char[] buf;
+
+  /**
+   * The number of cleansed characters.
+   */
+  private int len;
+
+  /**
+   * The index in <code>buf</code> where each line with text begins.
+   */
+  private LineIndex line_starts;
+
+  /**
+   * The index in <code>buf</code> where each raw line begins (a line
+   * without text begins where the next line with text begins).
+   */
+  private int[] line_offsets;
+
+  /**
+   * The number of raw lines.
+   */
+  private int line_ct;
+
+  /**
+   * The original offsets of the cleansed characters.
+   */
+  private OffsetMap offsets;
+
+  /**
+   * The original offset of the next raw line if it is not specified, i.e.
+   * after the last raw line and a line terminator.
+   */
+  private long origin;
+
+  /**
+   * The characters of the last <code>String</code> line appended, see
+   * {@link BufferBuilder#append(String)}.
+   */
+  private char[] scratch;
+
+  /**
+   * Constructor, initializes an empty <code>BufferBuilder</code>.
+   *
+   * @param capacity    The expected number of cleansed characters, e.g.
+   *                    the number of raw characters plus one.
+   */
+  public BufferBuilder(int capacity) {
+    buf = new char[Math.max(16, capacity)];
+    line_starts = new LineIndex();
+    line_offsets = new int[16];
+    offsets = new OffsetMap();
+  }
+
+  /**
+   * Cleanses and appends the raw line <code>line[off]</code> to
+   * <code>line[off+len-1]</code>, the line is taken to follow the last
+   * raw line and a single line terminator.
+   *
+   * @param line  The characters of the line.
+   * @param off   The index of the first character of the line.
+   * @param len   The number of characters in the line.
+   */
+  public void append(final char[] line, int off, int len) {
+    append(line, off, len, origin);
+  }
+
+  /**
+   * Cleanses and appends the raw line <code>line[off]</code> to
+   * <code>line[off+len-1]</code>.
+   *
+   * @param line    The characters of the line.
+   * @param off     The index of the first character of the line.
+   * @param len     The number of characters in the line.
+   * @param origin  The original char offset of the line.
+   */
+  public void append(final char[] line, int off, int len, long origin) {
+    int ct;
+
+    if ( line_ct == line_offsets.length ) {
+      int[] tmp = new int[line_ct*2];
+      System.arraycopy(line_offsets, 0, tmp, 0, line_ct);
+      line_offsets = tmp;
+    }
+    line_offsets[line_ct++] = this.len;
+
+    if ( buf.length-this.len < len+1 ) {
+      char[] tmp = new char[Math.max(buf.length*2, this.len+len+1)];
+      System.arraycopy(buf, 0, tmp, 0, this.len);
+      buf = tmp;
+    }
+
+    ct = WhitespaceRemover.remove(line, off, len, buf, this.len, offsets,
+        origin);
+    this.origin = origin+len+1;
+    if ( ct != 0 ) {
+      line_starts.add(this.len);
+      this.len += ct;
+    }
+  }
+
+  /**
+   * Cleanses and appends the raw line <code>line</code>. The characters
+   * are copied into a reused array rather than calling
+   * <code>toCharArray()</code>.
+   *
+   * @param line  The raw line.
+   */
+  public void append(final String line) {
+    int len = line.length();
+
+    if ( (scratch == null) || (scratch.length < len) ) {
+      scratch = new char[Math.max(len, 64)];
+    }
+    line.getChars(0, len, scratch, 0);
+    append(scratch, 0, len);
+  }
+
+  /**
+   * Returns the number of cleansed characters.
+   *
+   * @return    The number of cleansed characters.
+   */
+  public int length() {
+    return(len);
+  }
+
+  /**
+   * Returns the number of raw lines appended.
+   *
+   * @return    The number of raw lines.
+   */
+  public int lineCt() {
+    return(line_ct);
+  }
+
+  /**
+   * Accessor for <code>line_starts</code>.
+   *
+   * @return    The index in the buffer where each line with text begins.
+   */
+  public LineIndex lineStarts() {
+    return(line_starts);
+  }
+
+  /**
+   * Accessor for <code>offsets</code>.
+   *
+   * @return    The original offsets of the cleansed characters.
+   */
+  public OffsetMap offsets() {
+    return(offsets);
+  }
+
+  /**
+   * Returns the index in the buffer where each raw line begins.
+   *
+   * @return    The raw line offsets, one per raw line.
+   */
+  public int[] lineOffsets() {
+    if ( line_offsets.length != line_ct ) {
+      int[] tmp = new int[line_ct];
+      System.arraycopy(line_offsets, 0, tmp, 0, line_ct);
+      line_offsets = tmp;
+    }
+
+    return(line_offsets);
+  }
+
+  /**
+   * Returns the cleansed characters, copying them only if the capacity
+   * exceeds the number of characters.
+   *
+   * @return    The cleansed characters.
+   */
+  public char[] buffer() {
+    if ( buf.length != len ) {
+      char[] tmp = new char[len];
+      System.arraycopy(buf, 0, tmp, 0, len);
+      buf = tmp;
+    }
+
+    return(buf);
+  }
+}
@@ -0,0 +1,164 @@
+package com.orbious.extractor;
+
+/**
+ * The first phase of {@link TextParser#genSentenceMap()}, a single pass
+ * over the buffer that finds the sentence start/end candidates using only
+ * the cheap checks:
+ * <ul>
+ * <li>An end candidate is a sentence end character
+ *     ({@link ExtractorProfile#isSentenceEnd(char)}).
+ * <li>A start candidate is an uppercase letter at the start of the buffer
+ *     or following whitespace or a sentence end.
+ * </ul>
+ * The candidates are packed into sorted <code>int[]</code>'s so the second
+ * phase only runs the (expensive) <code>Sentence</code> evaluation for the
+ * candidates, and the candidates can be passed in bulk to
+ * {@link com.orbious.extractor.evaluator.Evaluator#evaluateAll(char[], int[], int, java.util.BitSet)}.
+ *
+ * @author dave
+ * @version 1.0
+ * @since 6.0
+ */
+
+public class CandidateScanner {
+
+  /**
+   * The length of the buffer that was scanned.
+   */
+  private int length;
+
+  /**
+   * The end candidates, sorted ascending.
+   */
+  private int[] ends;
+
+  /**
+   * The number of end candidates.
+   */
+  private int end_ct;
+
+  /**
+   * The start candidates, sorted ascending.
+   */
+  private int[] starts;
+
+  /**
+   * The number of start candidates.
+   */
+  private int start_ct;
+
+  /**
+   * Constructor, initializes an empty <code>CandidateScanner</code>.
+   */
+  public CandidateScanner() {
+    ends = new int[16];
+    starts = new int[16];
+  }
+
+  /**
+   * Scans <code>buf</code> for candidates, replacing the candidates from
+   * any previous scan.
+   *
+   * @param buf       The buffer.
+   * @param profile   The configuration (sentence ends).
+   */
+  public void scan(final char[] buf, ExtractorProfile profile) {
+    CharClasses classes = profile.charClasses();
+    boolean boundary;
+    char ch;
+
+    length = buf.length;
+    end_ct = 0;
+    start_ct = 0;
+
+    if ( ends.length < (length >>> 5) ) {
+      ends = new int[length >>> 5];
+      starts = new int[length >>> 5];
+    }
+
+    // whether the previous character is whitespace or a sentence end
+    boundary = true;
+
+    for ( int i = 0; i < buf.length; i++ ) {
+      ch = buf[i];
+
+      if ( classes.is(ch, CharClasses.SENTENCE_END) ) {
+        if ( end_ct == ends.length ) {
+          ends = grow(ends);
+        }
+        ends[end_ct++] = i;
+        boundary = true;
+      } else {
+        if ( boundary && Character.isUpperCase(ch) ) {
+          if ( start_ct == starts.length ) {
+            starts = grow(starts);
+          }
+          starts[start_ct++] = i;
+        }
+        boundary = Character.isWhitespace(ch);
+      }
+    }
+  }
+
+  /**
+   * Returns a copy of <code>a</code> with double the capacity.
+   */
+  private static int[] grow(int[] a) {
+    int[] tmp = new int[a.length*2];
+
+    System.arraycopy(a, 0, tmp, 0, a.length);
+    return(tmp);
+  }
+
+  /**
+   * Returns the end candidates. The array is longer than the number of
+   * candidates, see {@link CandidateScanner#endCount()}.
+   *
+   * @return    The end candidates, sorted ascending.
+   */
+  public int[] ends() {
+    return(ends);
+  }
+
+  /**
+   * Returns the number of end candidates.
+   *
+   * @return    The number of end candidates.
+   */
+  public int endCount() {
+    return(end_ct);
+  }
+
+  /**
+   * Returns the start candidates. The array is longer than the number of
+   * candidates, see {@link CandidateScanner#startCount()}.
+   *
+   * @return    The start candidates, sorted ascending.
+   */
+  public int[] starts() {
+    return(starts);
+  }
+
+  /**
+   * Returns the number of start candidates.
+   *
+   * @return    The number of start candidates.
+   */
+  public int startCount() {
+    return(start_ct);
+  }
+
+  /**
+   * Returns the candidate density, i.e. the number of start and end
+   * candidates per 1000 characters in the buffer.
+   *
+   * @return    The candidate density, <code>0</code> for an empty buffer.
+   */
+  public double density() {
+    if ( length == 0 ) {
+      return(0);
+    }
+
+    return( ((end_ct+start_ct)*1000.0)/length );
+  }
+}
@@ -0,0 +1,120 @@
+package com.orbious.extractor;
+
+/**
+ * An immutable character-class table. Each <code>char</code> maps to a
+ * bitmask of the classes it belongs to (sentence end, punctuation, etc.),
+ * so membership is a single array index rather than a
+ * <code>HashSet&lt;Character&gt;</code> lookup (which boxes the
+ * <code>char</code>).
+ *
+ * @author dave
+ * @version 1.0
+ * @since 6.0
+ */
+
+public final class CharClasses {
+
+  /**
+   * Sentence ends (see {@link AppConfig#sentence_ends}).
+   */
+  public static final int SENTENCE_END = 0x01;
+
+  /**
+   * Punctuation (see {@link AppConfig#punctuation}).
+   */
+  public static final int PUNCTUATION = 0x02;
+
+  /**
+   * Inner punctuation (see {@link AppConfig#inner_punctuation}).
+   */
+  public static final int INNER_PUNCTUATION = 0x04;
+
+  /**
+   * Preserved punctuation (see {@link AppConfig#preserved_punctuation}).
+   */
+  public static final int PRESERVED_PUNCTUATION = 0x08;
+
+  /**
+   * Left punctuation marks (see {@link AppConfig#left_punctuation_marks}).
+   */
+  public static final int LEFT_MARK = 0x10;
+
+  /**
+   * Right punctuation marks (see {@link AppConfig#right_punctuation_marks}).
+   */
+  public static final int RIGHT_MARK = 0x20;
+
+  /**
+   * Roman numerals (see {@link AppConfig#roman_numerals}).
+   */
+  public static final int ROMAN_NUMERAL = 0x40;
+
+  /**
+   * The classes for every <code>char</code>.
+   */
+  private final byte[] table;
+
+  /**
+   * Constructor, builds the table from the characters in each class.
+   * A <code>null</code> class is empty.
+   *
+   * @param sentenceEnds            Sentence ends.
+   * @param punctuation             Punctuation.
+   * @param innerPunctuation        Inner punctuation.
+   * @param preservedPunctuation    Preserved punctuation.
+   * @param leftMarks               Left punctuation marks.
+   * @param rightMarks              Right punctuation marks.
+   * @param romanNumerals           Roman numerals.
+   */
+  public CharClasses(String sentenceEnds, String punctuation,
+      String innerPunctuation, String preservedPunctuation,
+      String leftMarks, String rightMarks, String romanNumerals) {
+    table = new byte[Character.MAX_VALUE+1];
+
+    add(sentenceEnds, SENTENCE_END);
+    add(punctuation, PUNCTUATION);
+    add(innerPunctuation, INNER_PUNCTUATION);
+    add(preservedPunctuation, PRESERVED_PUNCTUATION);
+    add(leftMarks, LEFT_MARK);
+    add(rightMarks, RIGHT_MARK);
+    add(romanNumerals, ROMAN_NUMERAL);
+  }
+
+  /**
+   * Adds each character in <code>chars</code> to the class
+   * <code>mask</code>.
+   */
+  private void add(String chars, int mask) {
+    if ( chars == null ) {
+      return;
+    }
+
+    for ( int i = 0; i < chars.length(); i++ ) {
+      table[chars.charAt(i)] |= mask;
+    }
+  }
+
+  /**
+   * Returns the classes <code>ch</code> belongs to.
+   *
+   * @param ch    The character.
+   * @return      A bitmask of the classes.
+   */
+  public int classes(char ch) {
+    return(table[ch]);
+  }
+
+  /**
+   * Determines if <code>ch</code> belongs to any of the classes in
+   * <code>mask</code>.
+   *
+   * @param ch      The character.
+   * @param mask    A bitmask of classes, e.g.
+   *                <code>SENTENCE_END | PUNCTUATION</code>.
+   * @return        <code>true</code> if <code>ch</code> belongs to one of
+   *                the classes, <code>false</code> otherwise.
+   */
+  public boolean is(char ch, int mask) {
+    return( (table[ch] & mask) != 0 );
+  }
+}
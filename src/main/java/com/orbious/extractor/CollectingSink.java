@@ -0,0 +1,49 @@
+package com.orbious.extractor;
+
+import java.util.Vector;
+
+/**
+ * A {@link SentenceSink} that retains the sentences, as per
+ * {@link TextParser#genSentences()}.
+ *
+ * @author dave
+ * @version 1.0
+ * @since 6.0
+ */
+
+public class CollectingSink implements SentenceSink {
+
+  /**
+   * The sentences, in the order received.
+   */
+  private final Vector<SplitterOp> sentences;
+
+  /**
+   * Constructor, collects the sentences in a new <code>Vector</code>.
+   */
+  public CollectingSink() {
+    this(new Vector<SplitterOp>());
+  }
+
+  /**
+   * Constructor, appends the sentences to <code>sentences</code>.
+   *
+   * @param sentences   Receives the sentences.
+   */
+  public CollectingSink(Vector<SplitterOp> sentences) {
+    this.sentences = sentences;
+  }
+
+  public void sentence(SplitterOp op) {
+    sentences.add(op);
+  }
+
+  /**
+   * Accessor for <code>sentences</code>.
+   *
+   * @return    The sentences, in the order received.
+   */
+  public Vector<SplitterOp> sentences() {
+    return(sentences);
+  }
+}
@@ -0,0 +1,61 @@
+package com.orbious.extractor;
+
+/**
+ * A {@link SentenceSink} that only counts the sentences, e.g. for
+ * statistics or benchmarking without retaining or writing the sentences.
+ *
+ * @author dave
+ * @version 1.0
+ * @since 6.0
+ */
+
+public class CountingSink implements SentenceSink {
+
+  /**
+   * The number of sentences.
+   */
+  private int sentence_ct;
+
+  /**
+   * The number of words containing a letter.
+   */
+  private long word_ct;
+
+  /**
+   * The number of words and punctuation.
+   */
+  private long token_ct;
+
+  public void sentence(SplitterOp op) {
+    sentence_ct++;
+    word_ct += op.wordCt();
+    token_ct += (op.spans() != null) ? op.spans().size() : op.words().size();
+  }
+
+  /**
+   * Accessor for <code>sentence_ct</code>.
+   *
+   * @return    The number of sentences.
+   */
+  public int sentenceCt() {
+    return(sentence_ct);
+  }
+
+  /**
+   * Accessor for <code>word_ct</code>.
+   *
+   * @return    The number of words containing a letter.
+   */
+  public long wordCt() {
+    return(word_ct);
+  }
+
+  /**
+   * Accessor for <code>token_ct</code>.
+   *
+   * @return    The number of words and punctuation.
+   */
+  public long tokenCt() {
+    return(token_ct);
+  }
+}
@@ -0,0 +1,391 @@
+package com.orbious.extractor;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.CharBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+
+/**
+ * Reads the lines of a plain text document without creating a
+ * <code>String</code> per line. The document is memory mapped (in regions,
+ * so documents over 2GB can be read) and decoded with an explicit
+ * <code>Charset</code> in large chunks, and each line is returned as a
+ * range of the decoded characters, e.g.
+ *
+ * <pre>
+ *   DocumentReader reader = new DocumentReader(file, charset);
+ *
+ *   try {
+ *     while ( reader.next() ) {
+ *       builder.append(reader.buffer(), reader.start(), reader.length());
+ *     }
+ *   } finally {
+ *     reader.close();
+ *   }
+ * </pre>
+ *
+ * The lines are the same as <code>BufferedReader.readLine()</code> (i.e.
+ * terminated by "\n", "\r" or "\r\n") and malformed input is replaced, as
+ * per an <code>InputStreamReader</code>.
+ *
+ * @author dave
+ * @version 1.0
+ * @since 6.0
+ */
+
+public class DocumentReader {
+
+  /**
+   * The default number of bytes mapped at a time.
+   */
+  private static final int MAP_SIZE = 1 << 26;
+
+  /**
+   * The default number of characters decoded at a time.
+   */
+  private static final int CHUNK_SIZE = 1 << 18;
+
+  /**
+   * The document.
+   */
+  private final RandomAccessFile file;
+
+  /**
+   * The channel for <code>file</code>.
+   */
+  private final FileChannel channel;
+
+  /**
+   * The size of the document (in bytes).
+   */
+  private final long size;
+
+  /**
+   * The decoder.
+   */
+  private final CharsetDecoder decoder;
+
+  /**
+   * The number of bytes mapped at a time.
+   */
+  private final int map_size;
+
+  /**
+   * The currently mapped region of the document.
+   */
+  private MappedByteBuffer region;
+
+  /**
+   * The offset in the document of <code>region</code>.
+   */
+  private long region_start;
+
+  /**
+   * The decoded characters.
+   */
+  private char[] chars;
+
+  /**
+   * The char offset in the document of <code>chars[0]</code>.
+   */
+  private long base;
+
+  /**
+   * The index in <code>chars</code> of the first character not yet
+   * returned.
+   */
+  private int pos;
+
+  /**
+   * The index in <code>chars</code> up to which there is no line
+   * terminator.
+   */
+  private int scan;
+
+  /**
+   * The number of decoded characters in <code>chars</code>.
+   */
+  private int limit;
+
+  /**
+   * Whether the end of the document has been decoded.
+   */
+  private boolean eof;
+
+  /**
+   * Whether the decoder is being flushed.
+   */
+  private boolean flushing;
+
+  /**
+   * Whether the last line ended with a "\r", so a following "\n" is
+   * skipped.
+   */
+  private boolean skip_lf;
+
+  /**
+   * The index in <code>chars</code> of the current line.
+   */
+  private int line_start;
+
+  /**
+   * The number of characters in the current line.
+   */
+  private int line_len;
+
+  /**
+   * Records the byte offset checkpoints, <code>null</code> if not
+   * required.
+   */
+  private OffsetMap offsets;
+
+  /**
+   * Constructor, opens the document.
+   *
+   * @param file      The plain text document.
+   * @param charset   The <code>Charset</code> of the document.
+   *
+   * @throws IOException
+   */
+  public DocumentReader(File file, Charset charset) throws IOException {
+    this(file, charset, MAP_SIZE, CHUNK_SIZE);
+  }
+
+  /**
+   * Constructor, opens the document with the mapped region and chunk
+   * sizes specified (for testing).
+   *
+   * @param file      The plain text document.
+   * @param charset   The <code>Charset</code> of the document.
+   * @param mapSize   The number of bytes mapped at a time.
+   * @param chunkSize The number of characters decoded at a time.
+   *
+   * @throws IOException
+   */
+  DocumentReader(File file, Charset charset, int mapSize, int chunkSize)
+    throws IOException {
+    this.file = new RandomAccessFile(file, "r");
+    this.channel = this.file.getChannel();
+    this.size = channel.size();
+    this.map_size = mapSize;
+    this.chars = new char[chunkSize];
+
+    decoder = charset.newDecoder()
+      .onMalformedInput(CodingErrorAction.REPLACE)
+      .onUnmappableCharacter(CodingErrorAction.REPLACE);
+  }
+
+  /**
+   * Moves to the next line.
+   *
+   * @return    <code>true</code> if there is another line,
+   *            <code>false</code> at the end of the document.
+   *
+   * @throws IOException
+   */
+  public boolean next() throws IOException {
+    char ch;
+
+    while ( true ) {
+      if ( skip_lf && (pos < limit) ) {
+        skip_lf = false;
+        if ( chars[pos] == '\n' ) {
+          pos++;
+          scan = Math.max(scan, pos);
+        }
+      }
+
+      if ( !skip_lf ) {
+        for ( ; scan < limit; scan++ ) {
+          ch = chars[scan];
+          if ( (ch == '\n') || (ch == '\r') ) {
+            line_start = pos;
+            line_len = scan-pos;
+            skip_lf = (ch == '\r');
+            pos = ++scan;
+            return(true);
+          }
+        }
+      }
+
+      if ( eof ) {
+        if ( pos < limit ) {
+          line_start = pos;
+          line_len = limit-pos;
+          pos = limit;
+          return(true);
+        }
+
+        return(false);
+      }
+
+      fill();
+    }
+  }
+
+  /**
+   * Decodes the next chunk of the document after any characters not yet
+   * returned.
+   */
+  private void fill() throws IOException {
+    CharBuffer out;
+    CoderResult cr;
+    boolean last;
+
+    if ( pos > 0 ) {
+      System.arraycopy(chars, pos, chars, 0, limit-pos);
+      base += pos;
+      limit -= pos;
+      scan -= pos;
+      pos = 0;
+    }
+
+    if ( limit == chars.length ) {
+      // a line longer than the chunk
+      char[] tmp = new char[chars.length*2];
+      System.arraycopy(chars, 0, tmp, 0, limit);
+      chars = tmp;
+    }
+
+    out = CharBuffer.wrap(chars, limit, chars.length-limit);
+
+    while ( !eof && out.hasRemaining() ) {
+      if ( flushing ) {
+        cr = decoder.flush(out);
+        if ( cr.isOverflow() ) {
+          break;
+        }
+        eof = true;
+        break;
+      }
+
+      if ( region == null ) {
+        map(0, map_size);
+      }
+
+      last = (region_start+region.limit() == size);
+      if ( offsets != null ) {
+        // decode a checkpoint at a time
+        out.limit(Math.min(chars.length,
+            out.position()+OffsetMap.CHECKPOINT_SIZE));
+      }
+
+      cr = decoder.decode(region, out, last);
+      if ( offsets != null ) {
+        offsets.checkpoint(base+out.position(),
+            region_start+region.position());
+      }
+
+      if ( cr.isOverflow() ) {
+        if ( out.limit() < chars.length ) {
+          out.limit(chars.length);
+          continue;
+        }
+        break;
+      } else if ( cr.isError() ) {
+        // not expected as malformed input is replaced
+        cr.throwException();
+      }
+
+      // any bytes remaining are an incomplete character at the end of
+      // the region
+      if ( last ) {
+        flushing = true;
+      } else if ( region.position() == 0 ) {
+        // a character longer than the region
+        map(region_start, region.limit()*2);
+      } else {
+        map(region_start+region.position(), map_size);
+      }
+    }
+
+    limit = out.position();
+  }
+
+  /**
+   * Maps up to <code>len</code> bytes of the document from
+   * <code>start</code>.
+   */
+  private void map(long start, int len) throws IOException {
+    region_start = start;
+    region = channel.map(FileChannel.MapMode.READ_ONLY, start,
+        Math.min(len, size-start));
+  }
+
+  /**
+   * Records the byte offset checkpoints for the document in
+   * <code>offsets</code> as it is decoded (see
+   * {@link OffsetMap#byteOffsets(long[])}), must be called before the
+   * first line is read.
+   *
+   * @param offsets   The <code>OffsetMap</code> for the document.
+   */
+  public void offsets(OffsetMap offsets) {
+    this.offsets = offsets;
+  }
+
+  /**
+   * Returns the characters containing the current line. The array is
+   * reused for subsequent lines, see {@link DocumentReader#start()} and
+   * {@link DocumentReader#length()}.
+   *
+   * @return    The decoded characters.
+   */
+  public char[] buffer() {
+    return(chars);
+  }
+
+  /**
+   * Returns the index in {@link DocumentReader#buffer()} of the current
+   * line.
+   *
+   * @return    The index of the first character of the current line.
+   */
+  public int start() {
+    return(line_start);
+  }
+
+  /**
+   * Returns the length of the current line, excluding the line
+   * terminator.
+   *
+   * @return    The number of characters in the current line.
+   */
+  public int length() {
+    return(line_len);
+  }
+
+  /**
+   * Returns the char offset in the document of the current line.
+   *
+   * @return    The number of characters before the current line.
+   */
+  public long offset() {
+    return(base+line_start);
+  }
+
+  /**
+   * Returns the size of the document.
+   *
+   * @return    The size of the document in bytes.
+   */
+  public long size() {
+    return(size);
+  }
+
+  /**
+   * Closes the document.
+   *
+   * @throws IOException
+   */
+  public void close() throws IOException {
+    region = null;
+    file.close();
+  }
+}
@@ -0,0 +1,282 @@
+package com.orbious.extractor;
+
+import java.io.File;
+import java.util.regex.Pattern;
+import com.orbious.extractor.dictionary.Dictionary;
+import com.orbious.extractor.dictionary.DictionaryException;
+import com.orbious.extractor.dictionary.DictionaryRegistry;
+import com.orbious.util.config.Config;
+
+/**
+ * An immutable snapshot of the configuration used during sentence extraction
+ * (sentence ends, punctuation, marks, roman numerals, the URL pattern and
+ * the names/suspensions dictionaries).
+ * <p>
+ * A profile is never modified once constructed and can therefore be shared
+ * by any number of {@link TextParser}'s running concurrently. The
+ * dictionaries are shared through the {@link DictionaryRegistry}.
+ * <p>
+ * {@link ExtractorProfile#current()} returns a profile for the current
+ * {@link Config}, a new profile is only constructed when the configuration
+ * changes.
+ *
+ * @author dave
+ * @version 1.0
+ * @since 6.0
+ */
+
+public final class ExtractorProfile {
+
+  /**
+   * The configuration this profile was built from, used to determine
+   * if {@link ExtractorProfile#current} is stale.
+   */
+  private final String key;
+
+  /**
+   * The character classes (sentence ends, punctuation, marks and roman
+   * numerals).
+   */
+  private final CharClasses char_classes;
+
+  /**
+   * The compiled {@link AppConfig#url_regex}.
+   */
+  private final Pattern url_pattern;
+
+  /**
+   * Minimum sentence length (see {@link AppConfig#min_sentence_length}).
+   */
+  private final int min_sentence_len;
+
+  /**
+   * The names dictionary path (see {@link AppConfig#names_filename}).
+   */
+  private final String names_filename;
+
+  /**
+   * The suspensions dictionary path (see {@link AppConfig#suspension_filename}).
+   */
+  private final String suspension_filename;
+
+  /**
+   * The dictionary snapshot directory (see
+   * {@link AppConfig#dictionary_snapshot_dir}), <code>null</code> if
+   * snapshots are disabled.
+   */
+  private final File snapshot_dir;
+
+  /**
+   * The profile for the current configuration.
+   */
+  private static ExtractorProfile current;
+
+  /**
+   * Constructor, snapshots the current {@link Config}.
+   *
+   * @param key   The key for the current configuration.
+   */
+  private ExtractorProfile(String key) {
+    this.key = key;
+
+    char_classes = new CharClasses(
+        Config.getString(AppConfig.sentence_ends),
+        Config.getString(AppConfig.punctuation),
+        Config.getString(AppConfig.inner_punctuation),
+        Config.getString(AppConfig.preserved_punctuation),
+        Config.getString(AppConfig.left_punctuation_marks),
+        Config.getString(AppConfig.right_punctuation_marks),
+        Config.getString(AppConfig.roman_numerals));
+    url_pattern = Pattern.compile(Config.getString(AppConfig.url_regex));
+    min_sentence_len = Config.getInt(AppConfig.min_sentence_length);
+    names_filename = Config.getString(AppConfig.names_filename);
+    suspension_filename = Config.getString(AppConfig.suspension_filename);
+
+    String dir = Config.getString(AppConfig.dictionary_snapshot_dir);
+    snapshot_dir = ((dir == null) || (dir.length() == 0)) ? null : new File(dir);
+  }
+
+  /**
+   * Returns the profile for the current {@link Config}. The same profile
+   * is returned until the configuration changes.
+   *
+   * @return    The profile for the current configuration.
+   */
+  public static synchronized ExtractorProfile current() {
+    String key = configKey();
+
+    if ( (current == null) || !current.key.equals(key) ) {
+      current = new ExtractorProfile(key);
+    }
+
+    return(current);
+  }
+
+  /**
+   * Builds a key from the configuration entries used by a profile.
+   *
+   * @return    The key for the current configuration.
+   */
+  private static String configKey() {
+    StringBuilder sb = new StringBuilder();
+    AppConfig[] entries = new AppConfig[] {
+        AppConfig.sentence_ends, AppConfig.punctuation,
+        AppConfig.inner_punctuation, AppConfig.preserved_punctuation,
+        AppConfig.left_punctuation_marks, AppConfig.right_punctuation_marks,
+        AppConfig.roman_numerals, AppConfig.url_regex,
+        AppConfig.names_filename, AppConfig.suspension_filename,
+        AppConfig.dictionary_snapshot_dir };
+
+    for ( int i = 0; i < entries.length; i++ ) {
+      sb.append(Config.getString(entries[i])).append('\0');
+    }
+    sb.append(Config.getInt(AppConfig.min_sentence_length));
+
+    return(sb.toString());
+  }
+
+  /**
+   * Determines if <code>ch</code> is a sentence end.
+   *
+   * @param ch    The character.
+   * @return      <code>true</code> if <code>ch</code> is a sentence end.
+   */
+  public boolean isSentenceEnd(char ch) {
+    return(char_classes.is(ch, CharClasses.SENTENCE_END));
+  }
+
+  /**
+   * Determines if <code>ch</code> is punctuation.
+   *
+   * @param ch    The character.
+   * @return      <code>true</code> if <code>ch</code> is punctuation.
+   */
+  public boolean isPunctuation(char ch) {
+    return(char_classes.is(ch, CharClasses.PUNCTUATION));
+  }
+
+  /**
+   * Determines if <code>ch</code> is inner punctuation.
+   *
+   * @param ch    The character.
+   * @return      <code>true</code> if <code>ch</code> is inner punctuation.
+   */
+  public boolean isInnerPunctuation(char ch) {
+    return(char_classes.is(ch, CharClasses.INNER_PUNCTUATION));
+  }
+
+  /**
+   * Determines if <code>ch</code> is preserved punctuation.
+   *
+   * @param ch    The character.
+   * @return      <code>true</code> if <code>ch</code> is preserved punctuation.
+   */
+  public boolean isPreservedPunctuation(char ch) {
+    return(char_classes.is(ch, CharClasses.PRESERVED_PUNCTUATION));
+  }
+
+  /**
+   * Determines if <code>ch</code> is a left punctuation mark.
+   *
+   * @param ch    The character.
+   * @return      <code>true</code> if <code>ch</code> is a left mark.
+   */
+  public boolean isLeftMark(char ch) {
+    return(char_classes.is(ch, CharClasses.LEFT_MARK));
+  }
+
+  /**
+   * Determines if <code>ch</code> is a right punctuation mark.
+   *
+   * @param ch    The character.
+   * @return      <code>true</code> if <code>ch</code> is a right mark.
+   */
+  public boolean isRightMark(char ch) {
+    return(char_classes.is(ch, CharClasses.RIGHT_MARK));
+  }
+
+  /**
+   * Determines if <code>ch</code> is used in roman numerals.
+   *
+   * @param ch    The character.
+   * @return      <code>true</code> if <code>ch</code> is a roman numeral.
+   */
+  public boolean isRomanNumeral(char ch) {
+    return(char_classes.is(ch, CharClasses.ROMAN_NUMERAL));
+  }
+
+  /**
+   * Accessor for <code>char_classes</code>.
+   *
+   * @return    The character classes.
+   */
+  public CharClasses charClasses() {
+    return(char_classes);
+  }
+
+  /**
+   * Accessor for <code>url_pattern</code>.
+   *
+   * @return    The compiled URL pattern.
+   */
+  public Pattern urlPattern() {
+    return(url_pattern);
+  }
+
+  /**
+   * Accessor for <code>min_sentence_len</code>.
+   *
+   * @return    The minimum sentence length (in words).
+   */
+  public int minSentenceLength() {
+    return(min_sentence_len);
+  }
+
+  /**
+   * Returns the names dictionary from the {@link DictionaryRegistry}.
+   *
+   * @return    The names dictionary.
+   * @throws DictionaryException
+   */
+  public Dictionary names() throws DictionaryException {
+    return(DictionaryRegistry.get(names_filename, false, snapshot_dir));
+  }
+
+  /**
+   * Returns the suspensions dictionary from the {@link DictionaryRegistry}.
+   *
+   * @return    The suspensions dictionary.
+   * @throws DictionaryException
+   */
+  public Dictionary suspensions() throws DictionaryException {
+    return(DictionaryRegistry.get(suspension_filename, true, snapshot_dir));
+  }
+
+  /**
+   * Accessor for <code>names_filename</code>.
+   *
+   * @return    The names dictionary path.
+   */
+  public String namesFilename() {
+    return(names_filename);
+  }
+
+  /**
+   * Accessor for <code>snapshot_dir</code>.
+   *
+   * @return    The dictionary snapshot directory, or <code>null</code> if
+   *            snapshots are disabled.
+   */
+  public File snapshotDir() {
+    return(snapshot_dir);
+  }
+
+  /**
+   * Accessor for <code>suspension_filename</code>.
+   *
+   * @return    The suspensions dictionary path.
+   */
+  public String suspensionFilename() {
+    return(suspension_filename);
+  }
+}
@@ -0,0 +1,204 @@
+package com.orbious.extractor;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Iterator;
+
+/**
+ * The line starts in the {@link TextParser} buffer, i.e. the index of the
+ * first (cleansed) character of each non-empty line.
+ * <p>
+ * The line starts are kept in a <code>BitSet</code> over the buffer
+ * (for {@link LineIndex#contains(int)}) and a sorted <code>int[]</code>
+ * (for the line number of an index and the next/previous line start), so
+ * none of the queries box an <code>Integer</code>.
+ *
+ * @author dave
+ * @version 1.0
+ * @since 6.0
+ */
+
+public class LineIndex {
+
+  /**
+   * Set for each index in the buffer that is a line start.
+   */
+  private BitSet bits;
+
+  /**
+   * The line starts, sorted ascending.
+   */
+  private int[] starts;
+
+  /**
+   * The number of line starts.
+   */
+  private int size;
+
+  /**
+   * Constructor, initializes an empty <code>LineIndex</code>.
+   */
+  public LineIndex() {
+    bits = new BitSet();
+    starts = new int[64];
+    size = 0;
+  }
+
+  /**
+   * Returns a <code>LineIndex</code> containing <code>lineStarts</code>.
+   *
+   * @param lineStarts    The line starts, in any order.
+   * @return    A <code>LineIndex</code>.
+   */
+  public static LineIndex fromCollection(Collection<Integer> lineStarts) {
+    LineIndex index = new LineIndex();
+    int[] tmp = new int[lineStarts.size()];
+    Iterator<Integer> it = lineStarts.iterator();
+    int i = 0;
+
+    while ( it.hasNext() ) {
+      tmp[i++] = it.next();
+    }
+    Arrays.sort(tmp);
+
+    for ( i = 0; i < tmp.length; i++ ) {
+      if ( (i == 0) || (tmp[i] != tmp[i-1]) ) {
+        index.add(tmp[i]);
+      }
+    }
+
+    return(index);
+  }
+
+  /**
+   * Adds a line start. Line starts must be added in increasing order.
+   *
+   * @param idx   The index in the buffer.
+   */
+  public void add(int idx) {
+    if ( (size != 0) && (idx <= starts[size-1]) ) {
+      throw new IllegalArgumentException("Line start " + idx +
+          " added after " + starts[size-1]);
+    }
+
+    if ( size == starts.length ) {
+      int[] tmp = new int[size*2];
+      System.arraycopy(starts, 0, tmp, 0, size);
+      starts = tmp;
+    }
+
+    starts[size++] = idx;
+    bits.set(idx);
+  }
+
+  /**
+   * Returns the number of line starts.
+   *
+   * @return    The number of (non-empty) lines.
+   */
+  public int size() {
+    return(size);
+  }
+
+  /**
+   * Determines if <code>idx</code> is a line start.
+   *
+   * @param idx   The index in the buffer.
+   * @return      <code>true</code> if <code>idx</code> is a line start,
+   *              <code>false</code> otherwise.
+   */
+  public boolean contains(int idx) {
+    return( (idx >= 0) && bits.get(idx) );
+  }
+
+  /**
+   * Returns the start of line <code>line</code>.
+   *
+   * @param line    The line number (from <code>0</code>).
+   * @return        The index in the buffer.
+   */
+  public int lineStart(int line) {
+    if ( (line < 0) || (line >= size) ) {
+      throw new IndexOutOfBoundsException("Line " + line + " of " + size);
+    }
+
+    return(starts[line]);
+  }
+
+  /**
+   * Returns the line containing <code>idx</code>.
+   *
+   * @param idx   The index in the buffer.
+   * @return      The number of the last line that starts at or before
+   *              <code>idx</code>, or <code>-1</code> if <code>idx</code>
+   *              is before the first line start.
+   */
+  public int lineOf(int idx) {
+    int i = search(idx);
+    if ( i < 0 ) {
+      i = -(i+1)-1;
+    }
+
+    return(i);
+  }
+
+  /**
+   * Returns the last line start at or before <code>idx</code>.
+   *
+   * @param idx   The index in the buffer.
+   * @return      The line start, or <code>-1</code> if there is none.
+   */
+  public int floor(int idx) {
+    int line = lineOf(idx);
+    return( (line < 0) ? -1 : starts[line] );
+  }
+
+  /**
+   * Returns the next line start after <code>idx</code>.
+   *
+   * @param idx   The index in the buffer.
+   * @return      The first line start greater than <code>idx</code>, or
+   *              <code>-1</code> if there is none.
+   */
+  public int next(int idx) {
+    int line = lineOf(idx)+1;
+    return( (line < size) ? starts[line] : -1 );
+  }
+
+  /**
+   * Returns the previous line start before <code>idx</code>.
+   *
+   * @param idx   The index in the buffer.
+   * @return      The last line start less than <code>idx</code>, or
+   *              <code>-1</code> if there is none.
+   */
+  public int previous(int idx) {
+    return( floor(idx-1) );
+  }
+
+  /**
+   * A binary search for <code>idx</code>.
+   *
+   * @return    The line of <code>idx</code> if found, otherwise
+   *            <code>-(insertion point)-1</code>.
+   */
+  private int search(int idx) {
+    int low = 0;
+    int high = size-1;
+    int mid;
+
+    while ( low <= high ) {
+      mid = (low+high) >>> 1;
+      if ( starts[mid] < idx ) {
+        low = mid+1;
+      } else if ( starts[mid] > idx ) {
+        high = mid-1;
+      } else {
+        return(mid);
+      }
+    }
+
+    return(-(low+1));
+  }
+}
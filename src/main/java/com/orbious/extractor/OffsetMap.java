@@ -0,0 +1,339 @@
+package com.orbious.extractor;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.CharBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+
+/**
+ * Maps indexes in the cleansed {@link TextParser} buffer back to offsets
+ * in the original document, so the source can be sliced without searching
+ * for the text.
+ * <p>
+ * The cleansed text is a sequence of runs that are each a contiguous range
+ * of the original text (a run ends wherever whitespace was collapsed or a
+ * line terminator removed), so the map only holds the
+ * <code>(buffer index, original char offset)</code> at the start of each
+ * run.
+ * <p>
+ * For a document read from a file the byte offsets are resolved from the
+ * char offsets by re-decoding from the nearest checkpoint recorded by the
+ * {@link DocumentReader} (about every
+ * {@link OffsetMap#CHECKPOINT_SIZE} characters). For raw lines the
+ * original text is taken to be the lines each followed by a single line
+ * terminator, and there are no byte offsets.
+ *
+ * @author dave
+ * @version 1.0
+ * @since 6.0
+ */
+
+public class OffsetMap {
+
+  /**
+   * The minimum number of characters between checkpoints.
+   */
+  public static final int CHECKPOINT_SIZE = 4096;
+
+  /**
+   * The buffer index where each run begins.
+   */
+  private int[] run_starts;
+
+  /**
+   * The original char offset of each run.
+   */
+  private long[] run_origins;
+
+  /**
+   * The number of runs.
+   */
+  private int run_ct;
+
+  /**
+   * The document, <code>null</code> if there are no byte offsets.
+   */
+  private File file;
+
+  /**
+   * The <code>Charset</code> of <code>file</code>.
+   */
+  private Charset charset;
+
+  /**
+   * The char offset of each checkpoint.
+   */
+  private long[] cp_chars;
+
+  /**
+   * The byte offset of each checkpoint.
+   */
+  private long[] cp_bytes;
+
+  /**
+   * The number of checkpoints.
+   */
+  private int cp_ct;
+
+  /**
+   * Constructor, initializes an empty <code>OffsetMap</code>.
+   */
+  public OffsetMap() {
+    run_starts = new int[16];
+    run_origins = new long[16];
+  }
+
+  /**
+   * Records that buffer index <code>idx</code> is the original char
+   * offset <code>origin</code>. A new run is only started if
+   * <code>idx</code> does not continue the last run.
+   *
+   * @param idx       The index in the buffer, not less than any index
+   *                  previously added.
+   * @param origin    The original char offset.
+   */
+  public void add(int idx, long origin) {
+    if ( (run_ct != 0) &&
+         (origin-run_origins[run_ct-1] == idx-run_starts[run_ct-1]) ) {
+      return;
+    }
+
+    if ( run_ct == run_starts.length ) {
+      int[] tmpStarts = new int[run_ct*2];
+      long[] tmpOrigins = new long[run_ct*2];
+      System.arraycopy(run_starts, 0, tmpStarts, 0, run_ct);
+      System.arraycopy(run_origins, 0, tmpOrigins, 0, run_ct);
+      run_starts = tmpStarts;
+      run_origins = tmpOrigins;
+    }
+
+    run_starts[run_ct] = idx;
+    run_origins[run_ct] = origin;
+    run_ct++;
+  }
+
+  /**
+   * Sets the document the byte offsets are resolved from.
+   *
+   * @param file      The document.
+   * @param charset   The <code>Charset</code> of the document.
+   */
+  void source(File file, Charset charset) {
+    this.file = file;
+    this.charset = charset;
+    cp_chars = new long[16];
+    cp_bytes = new long[16];
+    cp_ct = 0;
+    checkpoint(0, 0);
+  }
+
+  /**
+   * Records that the first <code>chars</code> characters of the document
+   * were decoded from the first <code>bytes</code> bytes.
+   *
+   * @param chars   The char offset.
+   * @param bytes   The byte offset.
+   */
+  void checkpoint(long chars, long bytes) {
+    if ( (cp_ct != 0) && (chars-cp_chars[cp_ct-1] < CHECKPOINT_SIZE) ) {
+      return;
+    }
+
+    if ( cp_ct == cp_chars.length ) {
+      long[] tmpChars = new long[cp_ct*2];
+      long[] tmpBytes = new long[cp_ct*2];
+      System.arraycopy(cp_chars, 0, tmpChars, 0, cp_ct);
+      System.arraycopy(cp_bytes, 0, tmpBytes, 0, cp_ct);
+      cp_chars = tmpChars;
+      cp_bytes = tmpBytes;
+    }
+
+    cp_chars[cp_ct] = chars;
+    cp_bytes[cp_ct] = bytes;
+    cp_ct++;
+  }
+
+  /**
+   * Returns the number of runs.
+   *
+   * @return    The number of runs.
+   */
+  public int runCt() {
+    return(run_ct);
+  }
+
+  /**
+   * Determines if byte offsets can be resolved, i.e. the document was read
+   * from a file.
+   *
+   * @return    <code>true</code> if there are byte offsets.
+   */
+  public boolean hasBytes() {
+    return( file != null );
+  }
+
+  /**
+   * Returns the original char offset of buffer index <code>idx</code>.
+   *
+   * @param idx   The index in the buffer.
+   * @return      The original char offset.
+   */
+  public long charOffset(int idx) {
+    int low = 0;
+    int high = run_ct-1;
+    int mid;
+
+    if ( run_ct == 0 ) {
+      return(idx);
+    }
+
+    while ( low < high ) {
+      mid = (low+high+1) >>> 1;
+      if ( run_starts[mid] <= idx ) {
+        low = mid;
+      } else {
+        high = mid-1;
+      }
+    }
+
+    return( run_origins[low]+(idx-run_starts[low]) );
+  }
+
+  /**
+   * Returns the original char offset after buffer index <code>end-1</code>,
+   * i.e. the exclusive end of the range <code>start</code> to
+   * <code>end</code> in the buffer (whitespace collapsed after the range
+   * is not included).
+   *
+   * @param end   The index after the last character in the buffer.
+   * @return      The original char offset after the last character.
+   */
+  public long charEnd(int end) {
+    if ( end == 0 ) {
+      return( charOffset(0) );
+    }
+
+    return( charOffset(end-1)+1 );
+  }
+
+  /**
+   * Returns the byte offset of the original char offset
+   * <code>offset</code>.
+   *
+   * @param offset    The original char offset.
+   * @return          The byte offset, <code>-1</code> if there are no
+   *                  byte offsets.
+   *
+   * @throws IOException
+   */
+  public long byteOffset(long offset) throws IOException {
+    long[] offsets = new long[] { offset };
+
+    if ( !hasBytes() ) {
+      return(-1);
+    }
+
+    byteOffsets(offsets);
+    return(offsets[0]);
+  }
+
+  /**
+   * Converts the original char offsets in <code>offsets</code> to byte
+   * offsets in place. The document is opened once and decoded
+   * incrementally, so the offsets should be in ascending order (e.g. the
+   * ranges of successive sentences).
+   *
+   * @param offsets   The original char offsets, replaced by the byte
+   *                  offsets.
+   * @return          <code>false</code> if there are no byte offsets (and
+   *                  <code>offsets</code> is unchanged).
+   *
+   * @throws IOException
+   */
+  public boolean byteOffsets(long[] offsets) throws IOException {
+    RandomAccessFile raf;
+    FileChannel channel;
+    CharsetDecoder decoder;
+    MappedByteBuffer in;
+    CharBuffer out;
+    long chars;
+    long base;
+    long end;
+    int cp;
+
+    if ( !hasBytes() ) {
+      return(false);
+    }
+
+    decoder = charset.newDecoder()
+      .onMalformedInput(CodingErrorAction.REPLACE)
+      .onUnmappableCharacter(CodingErrorAction.REPLACE);
+    out = CharBuffer.allocate(CHECKPOINT_SIZE);
+    in = null;
+    chars = 0;
+    base = 0;
+
+    raf = new RandomAccessFile(file, "r");
+    try {
+      channel = raf.getChannel();
+
+      for ( int i = 0; i < offsets.length; i++ ) {
+        cp = checkpointOf(offsets[i]);
+
+        if ( (in == null) || (chars > offsets[i]) || (cp_chars[cp] > chars) ) {
+          // decode from the checkpoint, the offset is before the next
+          // checkpoint so only that range is mapped
+          chars = cp_chars[cp];
+          base = cp_bytes[cp];
+          end = (cp+1 < cp_ct) ? cp_bytes[cp+1] : channel.size();
+          in = channel.map(FileChannel.MapMode.READ_ONLY, base, end-base);
+          decoder.reset();
+        }
+
+        while ( chars < offsets[i] ) {
+          out.clear();
+          out.limit((int)Math.min(out.capacity(), offsets[i]-chars));
+          decoder.decode(in, out, false);
+          if ( out.position() == 0 ) {
+            // the end of the document or the offset splits a surrogate
+            // pair
+            break;
+          }
+          chars += out.position();
+        }
+
+        offsets[i] = base+in.position();
+      }
+    } finally {
+      raf.close();
+    }
+
+    return(true);
+  }
+
+  /**
+   * Returns the last checkpoint at or before the char offset
+   * <code>offset</code>.
+   */
+  private int checkpointOf(long offset) {
+    int low = 0;
+    int high = cp_ct-1;
+    int mid;
+
+    while ( low < high ) {
+      mid = (low+high+1) >>> 1;
+      if ( cp_chars[mid] <= offset ) {
+        low = mid;
+      } else {
+        high = mid-1;
+      }
+    }
+
+    return(low);
+  }
+}
@@ -1,12 +1,13 @@
 package com.orbious.extractor;
 
 import java.util.Arrays;
-import java.util.HashSet;
 import java.util.Vector;
 import org.apache.log4j.Logger;
 import com.orbious.extractor.TextParser.TextParserData;
 import com.orbious.extractor.evaluator.AbbreviatedName;
 import com.orbious.extractor.evaluator.Acronym;
+import com.orbious.extractor.evaluator.Candidate;
+import com.orbious.extractor.evaluator.EvaluationTrace;
 import com.orbious.extractor.evaluator.Evaluator;
 import com.orbious.extractor.evaluator.EvaluatorException;
 import com.orbious.extractor.evaluator.Heading;
@@ -15,12 +16,11 @@ import com.orbious.extractor.evaluator.InsideLeftRightMarks;
 import com.orbious.extractor.evaluator.Name;
 import com.orbious.extractor.evaluator.NumberedHeading;
 import com.orbious.extractor.evaluator.Suspension;
+import com.orbious.extractor.evaluator.TraceSink;
 import com.orbious.extractor.evaluator.UrlText;
 import com.orbious.extractor.evaluator.Evaluator.EvaluatorType;
 import com.orbious.extractor.util.Helper;
-import com.orbious.util.HashSets;
 import com.orbious.util.Loggers;
-import com.orbious.util.config.Config;
 
 /**
  * Provides static methods for Sentence operations.
@@ -60,26 +60,16 @@ import com.orbious.util.config.Config;
 public class Sentence {
 
   /**
-   * A local copy of sentence ends from
-   * {@link com.orbious.extractor.Config#SENTENCE_ENDS}.
+   * The configuration (sentence ends, punctuation, left/right marks) shared
+   * with the <code>Evaluator</code>'s.
    */
-  private static HashSet<Character> allowable_ends;
+  private ExtractorProfile profile;
 
   /**
-   * A local copy of punctuation from
-   * {@link com.orbious.extractor.Config#PUNCTUATION}
+   * Whether <code>profile</code> was passed in on construction, otherwise
+   * {@link Sentence#invalidate()} picks up the current configuration.
    */
-  private static HashSet<Character> punctuation;
-
-  /**
-   * List of left punctuation marks (see {@link Config#LEFT_PUNCTUATION_MARKS}).
-   */
-  private static HashSet<Character> leftMarks;
-
-  /**
-   * List of right punctuation marks (see {@link Config#RIGHT_PUNCTUATION_MARKS}).
-   */
-  private static HashSet<Character> rightMarks;
+  private boolean fixed_profile;
 
   /**
    * A list of <code>Evaluator</code>'s that are used to determine
@@ -98,6 +88,23 @@ public class Sentence {
    */
   private TextParserData parser_data;
 
+  /**
+   * The candidate passed along the <code>Evaluator</code> chain, reused
+   * for each sentence start/end evaluation.
+   */
+  private Candidate candidate;
+
+  /**
+   * A <code>TraceSink</code> attached via
+   * {@link Sentence#traceSink(TraceSink)}, if any.
+   */
+  private TraceSink trace_sink;
+
+  /**
+   * The trace shared with the <code>Evaluator</code>'s for diagnostic output.
+   */
+  private EvaluationTrace trace;
+
   /**
    * Logger object.
    */
@@ -110,34 +117,112 @@ public class Sentence {
    */
   public Sentence(TextParserData parserData) {
     parser_data = parserData;
+    profile = ExtractorProfile.current();
+    trace = EvaluationTrace.fromLogger(logger);
+  }
+
+  /**
+   * Constructor, initializes the <code>Sentence</code> object with a
+   * fixed <code>ExtractorProfile</code>.
+   *
+   * @param parserData  Data from {@link TextParser}.
+   * @param profile     The <code>ExtractorProfile</code> to use.
+   */
+  public Sentence(TextParserData parserData, ExtractorProfile profile) {
+    parser_data = parserData;
+    this.profile = profile;
+    fixed_profile = true;
+    trace = EvaluationTrace.fromLogger(logger);
+  }
+
+  /**
+   * Accessor for <code>profile</code>.
+   *
+   * @return    The <code>ExtractorProfile</code>.
+   */
+  public ExtractorProfile profile() {
+    return(profile);
+  }
+
+  /**
+   * Accessor for <code>start_evaluators</code>.
+   *
+   * @return    The <code>Evaluator</code>'s run for each sentence start,
+   *            or <code>null</code> if not yet initialized.
+   */
+  Vector<Evaluator> startEvaluators() {
+    return(start_evaluators);
+  }
+
+  /**
+   * Accessor for <code>end_evaluators</code>.
+   *
+   * @return    The <code>Evaluator</code>'s run for each sentence end,
+   *            or <code>null</code> if not yet initialized.
+   */
+  Vector<Evaluator> endEvaluators() {
+    return(end_evaluators);
+  }
+
+  /**
+   * Attaches a <code>TraceSink</code> that receives the diagnostic output
+   * for every sentence start/end evaluation. If <code>null</code>, diagnostic
+   * output is only generated when debugging is enabled.
+   *
+   * @param sink    The <code>TraceSink</code>, or <code>null</code>.
+   */
+  public void traceSink(TraceSink sink) {
+    trace_sink = sink;
+    invalidateTrace();
+  }
+
+  /**
+   * Rebuilds {@link Sentence#trace} and shares it with the
+   * <code>Evaluator</code>'s.
+   */
+  private void invalidateTrace() {
+    if ( trace_sink != null ) {
+      trace = new EvaluationTrace(trace_sink);
+    } else {
+      trace = EvaluationTrace.fromLogger(logger);
+    }
+
+    if ( start_evaluators != null ) {
+      for ( int i = 0; i < start_evaluators.size(); i++ ) {
+        start_evaluators.get(i).trace(trace);
+      }
+    }
+
+    if ( end_evaluators != null ) {
+      for ( int i = 0; i < end_evaluators.size(); i++ ) {
+        end_evaluators.get(i).trace(trace);
+      }
+    }
   }
 
   /**
    * Reload all configuration information.
    */
   public void invalidate() throws EvaluatorException {
-    allowable_ends = HashSets.cvtStringToCharHashSet(
-        Config.getString(AppConfig.sentence_ends));
-    punctuation = HashSets.cvtStringToCharHashSet(
-        Config.getString(AppConfig.punctuation));
-    leftMarks = HashSets.cvtStringToCharHashSet(
-        Config.getString(AppConfig.left_punctuation_marks));
-    rightMarks = HashSets.cvtStringToCharHashSet(
-        Config.getString(AppConfig.right_punctuation_marks));
+    if ( !fixed_profile ) {
+      profile = ExtractorProfile.current();
+    }
 
     invalidateEvaluators();
+    invalidateTrace();
   }
 
   private void invalidateEvaluators() throws EvaluatorException {
-    Word.invalidate();
     if ( start_evaluators != null ) {
       for ( int i = 0; i < start_evaluators.size(); i++ ) {
+        start_evaluators.get(i).profile(profile);
         start_evaluators.get(i).invalidate();
       }
     }
 
     if ( end_evaluators != null ) {
       for ( int i = 0; i < end_evaluators.size(); i++ ) {
+        end_evaluators.get(i).profile(profile);
         end_evaluators.get(i).invalidate();
       }
     }
@@ -157,9 +242,10 @@ public class Sentence {
                 new Heading(parser_data, EvaluatorType.START),
                 new InsideLeftRightMarks(parser_data, EvaluatorType.START) ));
 
-    Word.invalidate();
     for ( int i = 0; i < start_evaluators.size(); i++ ) {
+      start_evaluators.get(i).profile(profile);
       start_evaluators.get(i).invalidate();
+      start_evaluators.get(i).trace(trace);
     }
   }
 
@@ -174,7 +260,9 @@ public class Sentence {
       start_evaluators = new Vector<Evaluator>();
     }
 
+    evaluator.profile(profile);
     evaluator.invalidate();
+    evaluator.trace(trace);
     start_evaluators.add(evaluator);
   }
 
@@ -194,9 +282,10 @@ public class Sentence {
                 new InsideLeftRightMarks(parser_data, EvaluatorType.END)
         ));
 
-    Word.invalidate();
     for ( int i = 0; i < end_evaluators.size(); i++ ) {
+      end_evaluators.get(i).profile(profile);
       end_evaluators.get(i).invalidate();
+      end_evaluators.get(i).trace(trace);
     }
   }
 
@@ -211,7 +300,9 @@ public class Sentence {
       end_evaluators = new Vector<Evaluator>();
     }
 
+    evaluator.profile(profile);
     evaluator.invalidate();
+    evaluator.trace(trace);
     end_evaluators.add(evaluator);
   }
 
@@ -227,49 +318,44 @@ public class Sentence {
    *              <code>false</code> otherwise.
    */
   public EndOp isEnd(final char[] buf, int idx) throws SentenceException {
-    Evaluator evaluator;
-    StringBuilder debugStr;
-    EndOp op;
-    int startIdx;
-    boolean result;
-
-    debugStr = new StringBuilder();
-    debugStr.append("End Evaluation idx=" + idx + "\n" +
-        Helper.getDebugStringFromCharBuf(buf, idx, 50) + "\n");
-    op = new EndOp(false, -1);
-
     if ( buf[idx] == ':' ) {
       // colons are a special case
       return( processColon(buf, idx) );
     }
 
-    if ( hasLaterEnd(buf, idx) ) {
-      if ( logger.isDebugEnabled() ) {
-        debugStr.append("\thasLaterEnd=TRUE\n");
-        logger.debug(debugStr);
-      }
+    trace.begin("End Evaluation", buf, idx);
+    try {
+      return( evaluateEnd(buf, idx) );
+    } finally {
+      trace.end();
+    }
+  }
 
+  /**
+   * Runs the end evaluation for {@link Sentence#isEnd(char[], int)}.
+   */
+  private EndOp evaluateEnd(final char[] buf, int idx) throws SentenceException {
+    Evaluator evaluator;
+    Candidate candidate;
+    EndOp op;
+    int startIdx;
+    boolean result;
+
+    if ( hasLaterEnd(buf, idx) ) {
+      trace.flag("hasLaterEnd", true);
       return(null);
     }
 
     if ( (buf[idx] == '"') && hasLaterQuotation(buf, idx) ) {
-      if ( logger.isDebugEnabled() ) {
-        debugStr.append("\thasLaterQuotation=TRUE\n");
-        logger.debug(debugStr);
-      }
-
+      trace.flag("hasLaterQuotation", true);
       return(null);
     }
 
     startIdx = hasUpper(buf, idx);
-    op.startIdx = startIdx;
+    op = new EndOp(false, startIdx);
 
     if ( startIdx < -1 ) {
-      if ( logger.isDebugEnabled() ) {
-        debugStr.append("\thasUpper=FALSE\n");
-        logger.debug(debugStr);
-      }
-
+      trace.flag("hasUpper", false);
       return(op);
     }
 
@@ -281,41 +367,45 @@ public class Sentence {
       }
     }
 
+    candidate = candidate(buf, idx);
     for ( int i = 0; i < end_evaluators.size(); i++ ) {
       evaluator = end_evaluators.get(i);
       result = false;
 
       try {
-        result = evaluator.evaluate(buf, idx);
+        result = evaluator.evaluate(candidate);
       } catch ( EvaluatorException ee ) {
         throw new SentenceException("Exception thrown running end evaluator " +
             evaluator.name() +
             ", most likely the results will be corrupt, so exiting?", ee);
       }
 
+      trace.result(evaluator.name(), result);
       if ( result ) {
-        if ( logger.isDebugEnabled() ) {
-          debugStr.append("\t" + evaluator.name() + " Result=TRUE\n");
-          logger.debug(debugStr);
-        }
         op.failedEvaluator = evaluator;
         return(op);
-
-      } else {
-        if ( logger.isDebugEnabled() ) {
-          debugStr.append("\t" + evaluator.name() + " Result=FALSE\n");
-        }
       }
     }
 
-    if ( logger.isDebugEnabled() ) {
-      logger.debug(debugStr);
-    }
-
     op.isEnd = true;
     return(op);
   }
 
+  /**
+   * Returns {@link Sentence#candidate} for position <code>idx</code> in
+   * <code>buf</code>.
+   */
+  private Candidate candidate(final char[] buf, int idx) {
+    if ( candidate == null ) {
+      candidate = new Candidate(parser_data, profile);
+    } else {
+      candidate.profile(profile);
+    }
+
+    candidate.reset(buf, idx);
+    return(candidate);
+  }
+
   /**
    * Processes the colon during an <code>isEnd</code> operation.
    *
@@ -327,33 +417,25 @@ public class Sentence {
    *              <code>false</code> otherwise.
    */
   protected EndOp processColon(final char[] buf, int idx ) {
-    String debugStr;
     EndOp op;
 
-    debugStr = "Colon End Evaluation idx=" + idx + "\n" +
-      Helper.getDebugStringFromCharBuf(buf, idx, 50) + "\n";
-    op = new EndOp(false, -1);
-
-    if ( isColonATime(buf, idx) ) {
-      if ( logger.isDebugEnabled() ) {
-        debugStr += "\tColonIsATime=TRUE\n";
-        logger.debug(debugStr);
-      }
-      return(null);
-    } else if ( isColonAContinuation(buf, idx) ) {
-      if ( logger.isDebugEnabled() ) {
-        debugStr += "\tColonIsAContinuation=TRUE\n";
-        logger.debug(debugStr);
-      }
-      return(null);
-    } else if ( isColonInsideMarks(buf, idx) ) {
-      if ( logger.isDebugEnabled() ) {
-        debugStr += "\tColonInsideMarks=TRUE\n";
-        logger.debug(debugStr);
+    trace.begin("Colon End Evaluation", buf, idx);
+    try {
+      if ( isColonATime(buf, idx) ) {
+        trace.flag("ColonIsATime", true);
+        return(null);
+      } else if ( isColonAContinuation(buf, idx) ) {
+        trace.flag("ColonIsAContinuation", true);
+        return(null);
+      } else if ( isColonInsideMarks(buf, idx) ) {
+        trace.flag("ColonInsideMarks", true);
+        return(null);
       }
-      return(null);
+    } finally {
+      trace.end();
     }
 
+    op = new EndOp(false, -1);
     op.isEnd = true;
     return(op);
   }
@@ -432,9 +514,9 @@ public class Sentence {
     markCt = 0;
     for ( int j = startIdx; j < idx; j++ ) {
       ch = buf[j];
-      if ( leftMarks.contains(ch) ) {
+      if ( profile.isLeftMark(ch) ) {
         markCt++;
-      } else if ( rightMarks.contains(ch) ) {
+      } else if ( profile.isRightMark(ch) ) {
         markCt--;
       }
     }
@@ -470,7 +552,7 @@ public class Sentence {
     while ( i < buf.length ) {
       ch = buf[i];
 
-      if ( allowable_ends.contains(ch) ) {
+      if ( profile.isSentenceEnd(ch) ) {
         // the special case is "
         // e.g.
         // drum and cymbals. "Punch" himself
@@ -486,7 +568,7 @@ public class Sentence {
               // we have found another " before a sentence end
               // therefore we use the existing punctuation
               break;
-            } else if ( allowable_ends.contains(ch) ) {
+            } else if ( profile.isSentenceEnd(ch) ) {
               // we have not found another ", therefore the "
               // must be tied to the existing sentence
               fndLater = true;
@@ -511,7 +593,7 @@ public class Sentence {
           continue;
         }
 
-        if ( allowable_ends.contains(ch) ) {
+        if ( profile.isSentenceEnd(ch) ) {
           fndLater = true;
         }
         break;
@@ -551,7 +633,7 @@ public class Sentence {
       if ( ch == '"' ) {
         fndLater = true;
         break;
-      } else if ( allowable_ends.contains(ch) ) {
+      } else if ( profile.isSentenceEnd(ch) ) {
         break;
       }
       i++;
@@ -585,7 +667,7 @@ public class Sentence {
     i = idx+1;
     ch = buf[i];
     while ( Character.isWhitespace(ch) ||
-          punctuation.contains(ch) ) {
+          profile.isPunctuation(ch) ) {
       i++;
       if ( i >= buf.length ) {
         return(-1);
@@ -601,7 +683,7 @@ public class Sentence {
       }
 
       ch = buf[i];
-      while ( Character.isWhitespace(ch) || punctuation.contains(ch) ) {
+      while ( Character.isWhitespace(ch) || profile.isPunctuation(ch) ) {
         i++;
         if ( i >= buf.length ) {
           return(-1);
@@ -630,56 +712,56 @@ public class Sentence {
    */
   public StartOp isStart(final char[] buf, int idx, boolean inHeading)
       throws SentenceException {
+    trace.begin("Start Evaluation", buf, idx);
+    try {
+      return( evaluateStart(buf, idx, inHeading) );
+    } finally {
+      trace.end();
+    }
+  }
+
+  /**
+   * Runs the start evaluation for {@link Sentence#isStart(char[], int, boolean)}.
+   */
+  private StartOp evaluateStart(final char[] buf, int idx, boolean inHeading)
+      throws SentenceException {
     int stopIdx;
     Evaluator evaluator;
-    StringBuilder debugStr;
+    Candidate candidate;
     StartOp op;
     boolean unlikelyStop;
-
-    debugStr = new StringBuilder();
-    debugStr.append("Start Evaluation idx=" + idx + "\n" +
-      Helper.getDebugStringFromCharBuf(buf, idx, 50) + "\n");
-
-    op = new StartOp(false, -1);
-    unlikelyStop = false;
+    boolean result;
 
     if ( !Character.isUpperCase(buf[idx]) ) {
-      if ( logger.isDebugEnabled() ) {
-        logger.debug(debugStr + "\tResult=FALSE (no uppercase).\n");
-      }
+      trace.note("\tResult=FALSE (no uppercase).");
       return(null);
     }
 
     if ( (idx-1) < 0 ) {
-      if ( logger.isDebugEnabled() ) {
-        logger.debug(debugStr + "\tResult=TRUE (index=0).\n");
-      }
-      op.isStart = true;
+      trace.note("\tResult=TRUE (index=0).");
+      op = new StartOp(true, -1);
       return(op);
     }
 
+    stopIdx = -1;
+    unlikelyStop = false;
+
     if ( !inHeading ) {
       stopIdx = hasStop(buf, idx);
-      op.stopIdx = stopIdx;
-
-      if ( logger.isDebugEnabled() ) {
-        debugStr.append("\thasStop (Result)=" + stopIdx + "\n");
-      }
+      trace.value("hasStop (Result)", stopIdx);
 
       if ( stopIdx == -1 ) {
         // unlikely stop
         unlikelyStop = true;
       } else if ( stopIdx < -1 ) {
         // no stop
-        if ( logger.isDebugEnabled() ) {
-          debugStr.append("\thasStop=FALSE\n");
-          logger.debug(debugStr);
-        }
-
+        trace.flag("hasStop", false);
         return(null);
       }
     }
 
+    op = new StartOp(false, stopIdx);
+
     // now run some evaluators
     if ( start_evaluators == null ) {
       try {
@@ -689,38 +771,26 @@ public class Sentence {
       }
     }
 
-    boolean result;
+    candidate = candidate(buf, idx);
     for ( int i = 0; i < start_evaluators.size(); i++ ) {
       evaluator = start_evaluators.get(i);
       result = false;
 
       try {
-        result = evaluator.evaluate(buf, idx);
+        result = evaluator.evaluate(candidate);
       } catch ( EvaluatorException ee ) {
         throw new SentenceException("Exception thrown running end evaluator " +
             evaluator.name() +
             ", most likely the results will be corrupt, so exiting?", ee);
       }
 
+      trace.result(evaluator.name(), result);
       if ( result ) {
-        if ( logger.isDebugEnabled() ) {
-          debugStr.append("\t" + evaluator.name() + " Result=TRUE\n");
-          logger.debug(debugStr);
-        }
         op.failedEvaluator = evaluator;
         return(op);
-
-      } else {
-        if ( logger.isDebugEnabled() ) {
-          debugStr.append("\t" + evaluator.name() + " Result=FALSE\n");
-        }
       }
     }
 
-    if ( logger.isDebugEnabled() ) {
-      logger.debug(debugStr);
-    }
-
     if  ( !unlikelyStop ) {
       op.isStart = true;
     }
@@ -761,7 +831,7 @@ public class Sentence {
       ch = buf[i];
     }
 
-    if ( allowable_ends.contains(ch) ) {
+    if ( profile.isSentenceEnd(ch) ) {
       // we now need to check that the character is not attached to
       // a suspension etc
       int j;
@@ -0,0 +1,473 @@
+package com.orbious.extractor;
+
+import com.orbious.extractor.SentenceMapEntry.Likelihood;
+import com.orbious.extractor.SentenceMapEntry.SentenceEntrySubType;
+import com.orbious.extractor.SentenceMapEntry.SentenceEntryType;
+
+/**
+ * A compact map of likely/unlikely sentence start's/end's, pauses and
+ * headings, indexed by position in the {@link TextParser} buffer.
+ * <p>
+ * Each position is encoded in a single <code>byte</code> (rather than a
+ * reference to a {@link SentenceMapEntry}):
+ * <ul>
+ * <li>bit 0 - set if the position has an entry.
+ * <li>bits 1-2 - the {@link SentenceEntryType}
+ *     (<code>START</code>=0, <code>PAUSE</code>=1, <code>HEADING</code>=2,
+ *     <code>END</code>=3).
+ * <li>bit 3 - set if the entry is <code>UNLIKELY</code>.
+ * <li>bits 4-5 - the {@link SentenceEntrySubType} (0 for none).
+ * </ul>
+ * The positions of each kind of boundary searched for by
+ * {@link SentenceMap#findPreviousPause(int)},
+ * {@link SentenceMap#findPreviousLikelyEnd(int)} and
+ * {@link SentenceMap#findPreviousUnlikelyEnd(int)} are also kept in sorted
+ * arrays, so each search is a binary search rather than a backwards scan
+ * (which is linear in the distance to the previous boundary).
+ *
+ * @author dave
+ * @version 1.0
+ * @since 6.0
+ */
+
+public class SentenceMap {
+
+  /**
+   * Set if the position has an entry.
+   */
+  private static final int PRESENT = 0x01;
+
+  /**
+   * The shift for the {@link SentenceEntryType}.
+   */
+  private static final int TYPE_SHIFT = 1;
+
+  /**
+   * The mask for the {@link SentenceEntryType}.
+   */
+  private static final int TYPE_MASK = 0x03 << TYPE_SHIFT;
+
+  /**
+   * Set if the entry is <code>UNLIKELY</code>.
+   */
+  private static final int UNLIKELY = 0x08;
+
+  /**
+   * The shift for the {@link SentenceEntrySubType}.
+   */
+  private static final int SUBTYPE_SHIFT = 4;
+
+  /**
+   * The mask for the {@link SentenceEntrySubType}.
+   */
+  private static final int SUBTYPE_MASK = 0x03 << SUBTYPE_SHIFT;
+
+  /**
+   * <code>START</code> encoded.
+   */
+  private static final int START = 0 << TYPE_SHIFT;
+
+  /**
+   * <code>PAUSE</code> encoded.
+   */
+  private static final int PAUSE = 1 << TYPE_SHIFT;
+
+  /**
+   * <code>HEADING</code> encoded.
+   */
+  private static final int HEADING = 2 << TYPE_SHIFT;
+
+  /**
+   * <code>END</code> encoded.
+   */
+  private static final int END = 3 << TYPE_SHIFT;
+
+  /**
+   * The bit shared by <code>PAUSE</code> and <code>END</code>.
+   */
+  private static final int PAUSE_OR_END = 1 << TYPE_SHIFT;
+
+  /**
+   * The encoded entries.
+   */
+  private final byte[] map;
+
+  /**
+   * The positions of <code>LIKELY</code> <code>END</code>'s and
+   * <code>PAUSE</code>'s.
+   */
+  private final PositionList pauses;
+
+  /**
+   * The positions of <code>LIKELY</code> <code>END</code>'s.
+   */
+  private final PositionList likely_ends;
+
+  /**
+   * The positions of <code>UNLIKELY</code> <code>END</code>'s.
+   */
+  private final PositionList unlikely_ends;
+
+  /**
+   * Constructor, initializes an empty <code>SentenceMap</code>.
+   *
+   * @param length    The length of the {@link TextParser} buffer.
+   */
+  public SentenceMap(int length) {
+    map = new byte[length];
+    pauses = new PositionList();
+    likely_ends = new PositionList();
+    unlikely_ends = new PositionList();
+  }
+
+  /**
+   * Converts an array of <code>SentenceMapEntry</code>'s.
+   *
+   * @param entries   The entries, <code>null</code> where there is no entry.
+   *
+   * @return    The equivalent <code>SentenceMap</code>.
+   */
+  public static SentenceMap fromEntries(final SentenceMapEntry[] entries) {
+    SentenceMap sentenceMap = new SentenceMap(entries.length);
+    SentenceMapEntry entry;
+
+    for ( int i = 0; i < entries.length; i++ ) {
+      entry = entries[i];
+      if ( entry != null ) {
+        sentenceMap.set(i, entry.likelihood(), entry.type(), entry.subtype());
+      }
+    }
+
+    return(sentenceMap);
+  }
+
+  /**
+   * Returns the length of the map.
+   *
+   * @return    The length of the {@link TextParser} buffer.
+   */
+  public int length() {
+    return(map.length);
+  }
+
+  /**
+   * Determines if position <code>idx</code> has an entry.
+   *
+   * @param idx   The position in the buffer.
+   * @return      <code>true</code> if there is an entry.
+   */
+  public boolean contains(int idx) {
+    return( (map[idx] & PRESENT) != 0 );
+  }
+
+  /**
+   * Returns the type of the entry at <code>idx</code>.
+   *
+   * @param idx   The position in the buffer.
+   * @return      The type, or <code>null</code> if there is no entry.
+   */
+  public SentenceEntryType type(int idx) {
+    int v = map[idx];
+
+    if ( (v & PRESENT) == 0 ) {
+      return(null);
+    }
+
+    switch ( v & TYPE_MASK ) {
+      case START:
+        return(SentenceEntryType.START);
+      case PAUSE:
+        return(SentenceEntryType.PAUSE);
+      case HEADING:
+        return(SentenceEntryType.HEADING);
+      default:
+        return(SentenceEntryType.END);
+    }
+  }
+
+  /**
+   * Returns the likelihood of the entry at <code>idx</code>.
+   *
+   * @param idx   The position in the buffer.
+   * @return      The likelihood, or <code>null</code> if there is no entry.
+   */
+  public Likelihood likelihood(int idx) {
+    int v = map[idx];
+
+    if ( (v & PRESENT) == 0 ) {
+      return(null);
+    }
+
+    return( ((v & UNLIKELY) != 0) ? Likelihood.UNLIKELY : Likelihood.LIKELY );
+  }
+
+  /**
+   * Returns the subtype of the entry at <code>idx</code>.
+   *
+   * @param idx   The position in the buffer.
+   * @return      The subtype, or <code>null</code> if there is no entry or
+   *              the entry has no subtype.
+   */
+  public SentenceEntrySubType subtype(int idx) {
+    int v = (map[idx] & SUBTYPE_MASK) >> SUBTYPE_SHIFT;
+
+    if ( v == 0 ) {
+      return(null);
+    }
+
+    return(SentenceEntrySubType.values()[v-1]);
+  }
+
+  /**
+   * Determines if the entry at <code>idx</code> is <code>UNLIKELY</code>.
+   *
+   * @param idx   The position in the buffer.
+   * @return      <code>true</code> if there is an <code>UNLIKELY</code>
+   *              entry at <code>idx</code>.
+   */
+  public boolean isUnlikely(int idx) {
+    return( (map[idx] & (PRESENT|UNLIKELY)) == (PRESENT|UNLIKELY) );
+  }
+
+  /**
+   * Determines if the entry at <code>idx</code> is a <code>HEADING</code>.
+   *
+   * @param idx   The position in the buffer.
+   * @return      <code>true</code> if there is a <code>HEADING</code> at
+   *              <code>idx</code>.
+   */
+  public boolean isHeading(int idx) {
+    return( (map[idx] & (PRESENT|TYPE_MASK)) == (PRESENT|HEADING) );
+  }
+
+  /**
+   * Sets the entry at <code>idx</code>, replacing any existing entry.
+   *
+   * @param idx   The position in the buffer.
+   * @param likelihood    The likelihood of the entry.
+   * @param type    The type of the entry.
+   * @param subtype   Optional, the subtype of the entry.
+   */
+  public void set(int idx, Likelihood likelihood, SentenceEntryType type,
+      SentenceEntrySubType subtype) {
+    int v = PRESENT;
+
+    switch ( type ) {
+      case START:
+        v |= START;
+        break;
+      case PAUSE:
+        v |= PAUSE;
+        break;
+      case HEADING:
+        v |= HEADING;
+        break;
+      case END:
+        v |= END;
+        break;
+    }
+
+    if ( likelihood == Likelihood.UNLIKELY ) {
+      v |= UNLIKELY;
+    }
+
+    if ( subtype != null ) {
+      v |= (subtype.ordinal()+1) << SUBTYPE_SHIFT;
+    }
+
+    int old = map[idx];
+    map[idx] = (byte)v;
+
+    index(pauses, idx, isPause(old), isPause(v));
+    index(likely_ends, idx, isLikelyEnd(old), isLikelyEnd(v));
+    index(unlikely_ends, idx, isUnlikelyEnd(old), isUnlikelyEnd(v));
+  }
+
+  /**
+   * Adds/removes <code>idx</code> from <code>list</code> if the entry
+   * has changed kind.
+   */
+  private static void index(PositionList list, int idx, boolean was, boolean is) {
+    if ( was == is ) {
+      return;
+    } else if ( is ) {
+      list.add(idx);
+    } else {
+      list.remove(idx);
+    }
+  }
+
+  /**
+   * Determines if the encoded entry <code>v</code> is a <code>LIKELY</code>
+   * <code>END</code> or <code>PAUSE</code>.
+   */
+  private static boolean isPause(int v) {
+    return( (v & (PRESENT|UNLIKELY|PAUSE_OR_END)) == (PRESENT|PAUSE_OR_END) );
+  }
+
+  /**
+   * Determines if the encoded entry <code>v</code> is a <code>LIKELY</code>
+   * <code>END</code>.
+   */
+  private static boolean isLikelyEnd(int v) {
+    return( (v & (PRESENT|UNLIKELY|TYPE_MASK)) == (PRESENT|END) );
+  }
+
+  /**
+   * Determines if the encoded entry <code>v</code> is an <code>UNLIKELY</code>
+   * <code>END</code>.
+   */
+  private static boolean isUnlikelyEnd(int v) {
+    return( (v & (PRESENT|UNLIKELY|TYPE_MASK)) == (PRESENT|UNLIKELY|END) );
+  }
+
+  /**
+   * Returns the entry at <code>idx</code> as a <code>SentenceMapEntry</code>.
+   * Allocates, so should only be used for debugging.
+   *
+   * @param idx   The position in the buffer.
+   * @return      The entry, or <code>null</code> if there is no entry.
+   */
+  public SentenceMapEntry entry(int idx) {
+    if ( !contains(idx) ) {
+      return(null);
+    }
+
+    return(new SentenceMapEntry(likelihood(idx), type(idx), subtype(idx)));
+  }
+
+  /**
+   * Returns the previous <code>LIKELY</code> <code>END</code> or
+   * <code>PAUSE</code> before <code>idx</code>.
+   *
+   * @param idx   The position in the buffer.
+   * @return      The index of the previous pause, or <code>-1</code>.
+   */
+  public int findPreviousPause(int idx) {
+    return( pauses.previous(idx) );
+  }
+
+  /**
+   * Returns the previous <code>LIKELY</code> <code>END</code> before
+   * <code>idx</code>.
+   *
+   * @param idx   The position in the buffer.
+   * @return      The index of the previous likely end, or <code>-1</code>.
+   */
+  public int findPreviousLikelyEnd(int idx) {
+    return( likely_ends.previous(idx) );
+  }
+
+  /**
+   * Returns the previous <code>UNLIKELY</code> <code>END</code> before
+   * <code>idx</code>.
+   *
+   * @param idx   The position in the buffer.
+   * @return      The index of the previous unlikely end, or <code>-1</code>.
+   */
+  public int findPreviousUnlikelyEnd(int idx) {
+    return( unlikely_ends.previous(idx) );
+  }
+
+  /**
+   * A sorted, growable list of positions. Entries are added in (mostly)
+   * increasing order by {@link TextParser}, so an add is usually an append.
+   *
+   * @author dave
+   * @version 1.0
+   * @since 6.0
+   */
+  private static final class PositionList {
+
+    /**
+     * The positions, sorted ascending.
+     */
+    private int[] positions = new int[16];
+
+    /**
+     * The number of positions.
+     */
+    private int size;
+
+    /**
+     * Adds <code>idx</code> (which must not already be in the list).
+     *
+     * @param idx   The position.
+     */
+    private void add(int idx) {
+      if ( size == positions.length ) {
+        int[] tmp = new int[size*2];
+        System.arraycopy(positions, 0, tmp, 0, size);
+        positions = tmp;
+      }
+
+      if ( (size == 0) || (positions[size-1] < idx) ) {
+        positions[size++] = idx;
+        return;
+      }
+
+      int i = -(search(idx)+1);
+      System.arraycopy(positions, i, positions, i+1, size-i);
+      positions[i] = idx;
+      size++;
+    }
+
+    /**
+     * Removes <code>idx</code> (which must be in the list).
+     *
+     * @param idx   The position.
+     */
+    private void remove(int idx) {
+      int i = search(idx);
+      System.arraycopy(positions, i+1, positions, i, size-i-1);
+      size--;
+    }
+
+    /**
+     * Returns the largest position less than <code>idx</code>. As per
+     * the original backwards scans, position <code>0</code> is never
+     * returned.
+     *
+     * @param idx   The position.
+     * @return      The previous position, or <code>-1</code>.
+     */
+    private int previous(int idx) {
+      int i = search(idx);
+      if ( i < 0 ) {
+        i = -(i+1);
+      }
+      i--;
+
+      if ( (i < 0) || (positions[i] <= 0) ) {
+        return(-1);
+      }
+
+      return(positions[i]);
+    }
+
+    /**
+     * A binary search for <code>idx</code>.
+     *
+     * @return    The index of <code>idx</code> if found, otherwise
+     *            <code>-(insertion point)-1</code>.
+     */
+    private int search(int idx) {
+      int low = 0;
+      int high = size-1;
+      int mid;
+
+      while ( low <= high ) {
+        mid = (low+high) >>> 1;
+        if ( positions[mid] < idx ) {
+          low = mid+1;
+        } else if ( positions[mid] > idx ) {
+          high = mid-1;
+        } else {
+          return(mid);
+        }
+      }
+
+      return(-(low+1));
+    }
+  }
+}
@@ -0,0 +1,23 @@
+package com.orbious.extractor;
+
+import java.io.IOException;
+
+/**
+ * Receives sentences as they are extracted, e.g. by
+ * {@link StreamingTextParser#genSentences(SentenceSink)}.
+ *
+ * @author dave
+ * @version 1.0
+ * @since 6.0
+ */
+
+public interface SentenceSink {
+
+  /**
+   * Called for each sentence extracted, in document order.
+   *
+   * @param op    The sentence.
+   * @throws IOException
+   */
+  public void sentence(SplitterOp op) throws IOException;
+}
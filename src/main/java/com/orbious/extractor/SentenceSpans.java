@@ -0,0 +1,222 @@
+package com.orbious.extractor;
+
+import java.nio.CharBuffer;
+
+/**
+ * The sentences extracted by {@link TextParser#genSentenceSpans()}, held as
+ * primitive offsets into the {@link TextParser} buffer rather than as
+ * <code>SplitterOp</code>'s. The text of a sentence is a view of the
+ * buffer and the words are only extracted when requested, so counting,
+ * locating or sampling sentences costs a few <code>int</code>'s per
+ * sentence.
+ *
+ * @author dave
+ * @version 1.0
+ * @since 6.0
+ */
+
+public class SentenceSpans {
+
+  /**
+   * The buffer the spans index.
+   */
+  private final char[] buffer;
+
+  /**
+   * Extracts the words on demand.
+   */
+  private final SentenceSplitter splitter;
+
+  /**
+   * The start of each sentence as found by the <code>Evaluator</code>'s.
+   */
+  private int[] op_starts;
+
+  /**
+   * The start of each sentence after adjusting for punctuation
+   * (see {@link SentenceSplitter#adjustIndexes(int, int)}).
+   */
+  private int[] starts;
+
+  /**
+   * The end of each sentence after adjusting for punctuation (inclusive).
+   */
+  private int[] ends;
+
+  /**
+   * The number of words containing a letter in each sentence.
+   */
+  private int[] word_cts;
+
+  /**
+   * The number of sentences.
+   */
+  private int size;
+
+  /**
+   * Constructor, initializes an empty <code>SentenceSpans</code>.
+   *
+   * @param buffer      The buffer the spans index.
+   * @param splitter    Extracts the words on demand.
+   */
+  SentenceSpans(char[] buffer, SentenceSplitter splitter) {
+    this.buffer = buffer;
+    this.splitter = splitter;
+    op_starts = new int[16];
+    starts = new int[16];
+    ends = new int[16];
+    word_cts = new int[16];
+  }
+
+  /**
+   * Adds a sentence.
+   *
+   * @param opStart   The start of the sentence.
+   * @param start     The adjusted start of the sentence.
+   * @param end       The adjusted end of the sentence (inclusive).
+   * @param wordCt    The number of words containing a letter.
+   */
+  void add(int opStart, int start, int end, int wordCt) {
+    if ( size == starts.length ) {
+      op_starts = grow(op_starts);
+      starts = grow(starts);
+      ends = grow(ends);
+      word_cts = grow(word_cts);
+    }
+
+    op_starts[size] = opStart;
+    starts[size] = start;
+    ends[size] = end;
+    word_cts[size] = wordCt;
+    size++;
+  }
+
+  /**
+   * Returns a copy of <code>a</code> with double the capacity.
+   */
+  private int[] grow(int[] a) {
+    int[] tmp = new int[a.length*2];
+    System.arraycopy(a, 0, tmp, 0, size);
+    return(tmp);
+  }
+
+  /**
+   * Accessor for the buffer.
+   *
+   * @return    The buffer the spans index.
+   */
+  public char[] buffer() {
+    return(buffer);
+  }
+
+  /**
+   * Returns the number of sentences.
+   *
+   * @return    The number of sentences.
+   */
+  public int size() {
+    return(size);
+  }
+
+  /**
+   * Returns the start of sentence <code>i</code> in the buffer, excluding
+   * any whitespace.
+   *
+   * @param i   The sentence.
+   * @return    The index of the first character of the sentence.
+   */
+  public int start(int i) {
+    int idx = starts[i];
+
+    while ( (idx < ends[i]) && Character.isWhitespace(buffer[idx]) ) {
+      idx++;
+    }
+
+    return(idx);
+  }
+
+  /**
+   * Returns the end of sentence <code>i</code> in the buffer, excluding
+   * any whitespace.
+   *
+   * @param i   The sentence.
+   * @return    The index after the last character of the sentence.
+   */
+  public int end(int i) {
+    int idx = ends[i];
+
+    while ( (idx > starts[i]) && Character.isWhitespace(buffer[idx]) ) {
+      idx--;
+    }
+
+    return(idx+1);
+  }
+
+  /**
+   * Returns the number of words containing a letter in sentence
+   * <code>i</code>.
+   *
+   * @param i   The sentence.
+   * @return    The number of words.
+   */
+  public int wordCt(int i) {
+    return(word_cts[i]);
+  }
+
+  /**
+   * Returns the text of sentence <code>i</code> as a view of the buffer,
+   * i.e. without copying the characters.
+   *
+   * @param i   The sentence.
+   * @return    The sentence, from {@link SentenceSpans#start(int)} to
+   *            {@link SentenceSpans#end(int)}.
+   */
+  public CharSequence text(int i) {
+    int start = start(i);
+
+    return( CharBuffer.wrap(buffer, start, end(i)-start) );
+  }
+
+  /**
+   * Extracts the words (and punctuation) of sentence <code>i</code>, as
+   * per {@link SplitterOp#spans()}. The words are extracted on each
+   * request rather than retained.
+   *
+   * @param i   The sentence.
+   * @return    The words.
+   */
+  public TokenSpans tokens(int i) {
+    return( op(i).spans() );
+  }
+
+  /**
+   * Extracts sentence <code>i</code> as a <code>SplitterOp</code>, i.e. as
+   * per {@link TextParser#genSentences()}. The <code>SplitterOp</code> is
+   * created on each request rather than retained.
+   *
+   * @param i   The sentence.
+   * @return    The sentence.
+   */
+  public SplitterOp op(int i) {
+    return( splitter.split(buffer, op_starts[i], starts[i], ends[i]) );
+  }
+
+  /**
+   * Returns the range in the original document of each sentence, see
+   * {@link TextParser#offsets()}.
+   *
+   * @param offsets   The original offsets of the buffer.
+   * @return          The original char offsets, two per sentence (the
+   *                  start inclusive and the end exclusive).
+   */
+  public long[] charRanges(OffsetMap offsets) {
+    long[] ranges = new long[2*size];
+
+    for ( int i = 0; i < size; i++ ) {
+      ranges[2*i] = offsets.charOffset(start(i));
+      ranges[2*i+1] = offsets.charEnd(end(i));
+    }
+
+    return(ranges);
+  }
+}
@@ -1,13 +1,9 @@
 package com.orbious.extractor;
 
-import java.util.HashSet;
-import java.util.Vector;
 import org.apache.log4j.Logger;
 import com.orbious.extractor.TextParser.TextParserData;
-import com.orbious.util.HashSets;
 import com.orbious.util.Loggers;
 import com.orbious.util.Strings;
-import com.orbious.util.config.Config;
 
 /**
  *
@@ -29,83 +25,182 @@ public class SentenceSplitter {
   private TextParserData parser_data;
 
   /**
-   * List of inner punctuation. (see {@link Config#INNER_PUNCTUATION}).
+   * The configuration (inner/preserved punctuation, left/right marks and
+   * sentence ends) used during splitting.
    */
-  private HashSet<Character> inner_punctuation;
+  private ExtractorProfile profile;
 
   /**
-   * List of preserved punctuation (see {@link Config#PRESERVED_PUNCTUATION}).
+   * Whether <code>profile</code> was set via
+   * {@link SentenceSplitter#profile(ExtractorProfile)}.
    */
-  private HashSet<Character> preserved_punctuation;
+  private boolean fixed_profile;
 
   /**
-   * List of left punctuation marks (see {@link Config#LEFT_PUNCTUATION_MARKS}).
+   * Logger object.
    */
-  private HashSet<Character> left_marks;
+  private Logger logger = Loggers.logger();
+
+  public SentenceSplitter(TextParserData parserData) {
+    this.parser_data = parserData;
+    this.profile = ExtractorProfile.current();
+  }
 
   /**
-   * List of right punctuation marks (see {@link Config#RIGHT_PUNCTUATION_MARKS}).
+   * Sets the <code>ExtractorProfile</code> used during splitting. The
+   * profile is retained across {@link SentenceSplitter#invalidate()}.
+   *
+   * @param profile   The <code>ExtractorProfile</code>.
    */
-  private HashSet<Character> right_marks;
+  public void profile(ExtractorProfile profile) {
+    this.profile = profile;
+    fixed_profile = true;
+  }
 
   /**
-   * List of allowable sentence ends (see {@link Config#SENTENCE_ENDS}).
+   * Reload the configuration, unless set via
+   * {@link SentenceSplitter#profile(ExtractorProfile)}.
    */
-  private HashSet<Character> sentence_ends;
+  public void invalidate() {
+    if ( !fixed_profile ) {
+      profile = ExtractorProfile.current();
+    }
+  }
 
   /**
-   * Logger object.
+   * Extract the words from {@link TextParser#buffer}. The words are
+   * recorded as {@link TokenSpans} into the buffer, <code>String</code>'s
+   * are only created if requested from the <code>SplitterOp</code>.
+   *
+   * @param op  A <code>TextParserOp</code> contain the start/end indexes
+   *            for extraction.
+   *
+   * @return    A <code>SplitterOp</code> containing the words and the
+   *            <code>wordCt</code>.
    */
-  private Logger logger = Loggers.logger();
+  protected SplitterOp split(TextParserOp op) {
+    IndexAdjustment indexAdjustment;
 
-  public SentenceSplitter(TextParserData parserData) {
-    this.parser_data = parserData;
+    indexAdjustment = adjustIndexes(op.start(), op.end());
+
+    return( split(parser_data.buffer, op.start(),
+        indexAdjustment.adjustedStartIdx(),
+        indexAdjustment.adjustedEndIdx()) );
   }
 
-  public void invalidate() {
-    inner_punctuation = HashSets.cvtStringToCharHashSet(
-        Config.getString(AppConfig.inner_punctuation));
-    preserved_punctuation = HashSets.cvtStringToCharHashSet(
-        Config.getString(AppConfig.preserved_punctuation));
-    left_marks = HashSets.cvtStringToCharHashSet(
-        Config.getString(AppConfig.left_punctuation_marks));
-    right_marks = HashSets.cvtStringToCharHashSet(
-        Config.getString(AppConfig.right_punctuation_marks));
-    sentence_ends = HashSets.cvtStringToCharHashSet(
-        Config.getString(AppConfig.sentence_ends));
+  /**
+   * Extract the words from <code>buf</code> between the indexes returned
+   * by {@link SentenceSplitter#adjustIndexes(int, int)}. Unlike
+   * {@link SentenceSplitter#split(TextParserOp)} the
+   * <code>extraction_map</code> is not used, so the words can be extracted
+   * on demand (see {@link SentenceSpans#tokens(int)}).
+   *
+   * @param buf         The buffer.
+   * @param startIdx    The start of the sentence.
+   * @param adStartIdx  The adjusted start of the sentence.
+   * @param adEndIdx    The adjusted end of the sentence.
+   *
+   * @return    A <code>SplitterOp</code> containing the words and the
+   *            <code>wordCt</code>.
+   */
+  protected SplitterOp split(char[] buf, int startIdx, int adStartIdx,
+      int adEndIdx) {
+    TokenSpans words;
+    TokenSpans clean;
+    TokenBuilder tmpwd;
+    int wordCt;
+    char ch;
+
+    words = new TokenSpans(buf);
+    wordCt = tokenize(buf, startIdx, adStartIdx, adEndIdx, words);
+
+    // we need to run a final check and certain punctuation
+    //
+    clean = new TokenSpans(buf);
+    tmpwd = new TokenBuilder(buf);
+
+    for ( int p = 0; p < words.size(); p++ ) {
+      if ( words.is(p, TokenSpans.ALNUM) ) {
+        //
+        // special case, for words with a fullstop at the end of the
+        // of the word (which can occur when TextParser#hasLaterPunctuation
+        // is true
+        if ( !tmpwd.isEmpty() ) {
+          tmpwd.addTo(clean);
+        }
+
+        tmpwd.append(words, p);
+        tmpwd.addTo(clean);
+        continue;
+      }
+
+      if ( tmpwd.isEmpty() ) {
+        tmpwd.append(words, p);
+        continue;
+      }
+
+      // if we get to here we allready have a tmpwd
+      if ( words.length(p) == 1 ) {
+        ch = words.charAt(p, 0);
+        if ( profile.charClasses().is(ch, CharClasses.SENTENCE_END |
+            CharClasses.LEFT_MARK | CharClasses.RIGHT_MARK) ) {
+          tmpwd.addTo(clean);
+          tmpwd.append(words, p);
+          tmpwd.addTo(clean);
+        } else {
+          tmpwd.append(words, p);
+        }
+      }
+    }
+
+    if ( !tmpwd.isEmpty() ) {
+      tmpwd.addTo(clean);
+    }
+
+    if ( logger.isDebugEnabled() ) {
+      logger.debug("PreClean =" + Strings.cvtVector(words.tokens()));
+      logger.debug("Clean    =" + Strings.cvtVector(clean.tokens()));
+    }
+
+    return( new SplitterOp(clean, wordCt) );
   }
 
   /**
-   * Extract a <code>Vector</code> of words from {@link TextParser#buffer}.
+   * Counts the words in <code>buf</code> between the indexes returned by
+   * {@link SentenceSplitter#adjustIndexes(int, int)} without recording
+   * them, as per {@link SentenceSplitter#split(char[], int, int, int)}.
    *
-   * @param op  A <code>TextParserOp</code> contain the start/end indexes
-   *            for extraction.
+   * @param buf         The buffer.
+   * @param startIdx    The start of the sentence.
+   * @param adStartIdx  The adjusted start of the sentence.
+   * @param adEndIdx    The adjusted end of the sentence.
    *
-   * @return    A <code>ExtractionOp</code> containing the <code>Vector</code>
-   *            of words and the <code>wordCt</code>.
+   * @return    The number of words containing a letter.
    */
-  protected SplitterOp split(TextParserOp op) {
-    Vector<String> words;
-    int adStartIdx, adEndIdx;
+  protected int wordCt(char[] buf, int startIdx, int adStartIdx,
+      int adEndIdx) {
+    return( tokenize(buf, startIdx, adStartIdx, adEndIdx, null) );
+  }
+
+  /**
+   * Splits the sentence into words and punctuation, adding them to
+   * <code>words</code> unless <code>null</code>.
+   *
+   * @return    The number of words containing a letter.
+   */
+  private int tokenize(char[] buf, int startIdx, int adStartIdx, int adEndIdx,
+      TokenSpans words) {
+    TokenBuilder wd;
     int postEndIdx;
     int wordCt;
-    String wd;
     char ch;
-    //Suspension suspension;
-    IndexAdjustment indexAdjustment;
     boolean hasAlpha, hasLetter;
     boolean doAsNewWord;
 
-    //suspension = new Suspension(parser_data, EvaluatorType.END);
-    indexAdjustment = adjustIndexes(op.start(), op.end());
-
-    adStartIdx = indexAdjustment.adjustedStartIdx();
-    adEndIdx = indexAdjustment.adjustedEndIdx();
-
     postEndIdx = 0;
 
     for ( int i = adStartIdx; i < adEndIdx; i++ ) {
-      if ( Character.isLetterOrDigit(parser_data.buffer[i]) ) {
+      if ( Character.isLetterOrDigit(buf[i]) ) {
         postEndIdx = 0;
       } else if ( postEndIdx == 0 ) {
           postEndIdx = i;
@@ -116,36 +211,33 @@ public class SentenceSplitter {
       postEndIdx = adEndIdx;
     }
 
-    words = new Vector<String>();
-    wd = "";
+    wd = new TokenBuilder(buf);
     hasAlpha = false;
     hasLetter = false;
     wordCt = 0;
 
     if ( logger.isDebugEnabled() ) {
-      logger.debug("Beginning extract start=" + op.start() +
+      logger.debug("Beginning extract start=" + startIdx +
           " adjustedStartIdx=" + adStartIdx +
-          " end=" + op.end() +
           " adjustedEndIdx=" + adEndIdx +
           " postEndIdx=" + postEndIdx + "\n" +
-          Strings.cvtCharArray(parser_data.buffer, adStartIdx, adEndIdx) + "\n");
+          Strings.cvtCharArray(buf, adStartIdx, adEndIdx) + "\n");
     }
 
     for ( int i = adStartIdx; i <= adEndIdx; i++ ) {
-      ch = parser_data.buffer[i];
+      ch = buf[i];
 
       if ( Character.isLetterOrDigit(ch) ) {
-        wd += ch;
+        wd.append(i);
         hasAlpha = true;
         if ( Character.isLetter(ch) ) {
           hasLetter = true;
         }
       } else if ( Character.isWhitespace(ch) ) {
-        if ( wd.length() == 0 ) {
+        if ( wd.isEmpty() ) {
           continue;
         }
-        words.add(wd);
-        wd = "";
+        wd.addTo(words);
         if ( hasLetter ) {
           wordCt++;
         }
@@ -156,36 +248,36 @@ public class SentenceSplitter {
         // punctuation
         //
         doAsNewWord = false;
-        if ( (i < op.start()) || (i >= postEndIdx) ) {
+        if ( (i < startIdx) || (i >= postEndIdx) ) {
           // we are at the ends, so consider the punctuation as a new word
           doAsNewWord = true;
 
         } else {
-          if ( hasAlpha && inner_punctuation.contains(ch) ) {
+          if ( hasAlpha && profile.isInnerPunctuation(ch) ) {
             if ( (ch == '.') ||
-                ((i+1 < parser_data.buffer.length) &&
-                    Character.isLetterOrDigit(parser_data.buffer[i+1])) ) {
+                ((i+1 < buf.length) && Character.isLetterOrDigit(buf[i+1])) ) {
               // there are 2 cases, suspension which need to be combined
               // and text where the next letter is text
-              wd += ch;
+              wd.append(i);
             } else {
               doAsNewWord = true;
             }
-          } else if ( preserved_punctuation.contains(ch) ) {
+          } else if ( profile.isPreservedPunctuation(ch) ) {
             doAsNewWord = true;
           }
         }
 
         if ( doAsNewWord ) {
-          if ( wd.length() != 0 ) {
-            words.add(wd);
-            wd = "";
+          if ( !wd.isEmpty() ) {
+            wd.addTo(words);
             if ( hasLetter ) {
               wordCt++;
             }
           }
 
-          words.add(Character.toString(ch));
+          if ( words != null ) {
+            words.add(i, i+1, TokenSpans.PUNCT, null);
+          }
           hasAlpha = false;
           hasLetter = false;
         }
@@ -193,82 +285,13 @@ public class SentenceSplitter {
     }
 
     if ( hasAlpha ) {
-      words.add(wd);
+      wd.addTo(words);
       if ( hasLetter ) {
         wordCt++;
       }
     }
 
-    // we need to run a final check and certain punctuation
-    //
-    Vector<String> clean = new Vector<String>();
-    int p = 0;
-
-    StringBuilder tmpwd = null;
-
-    while ( p < words.size() ) {
-      wd = words.get(p);
-      p++;
-
-      if ( wd.matches(".*[a-zA-Z0-9].*") ) {
-        //
-        // special case, for words with a fullstop at the end of the
-        // of the word (which can occur when TextParser#hasLaterPunctuation
-        // is true
-        if ( tmpwd != null ) {
-          clean.add(tmpwd.toString());
-          tmpwd = null;
-        }
-
-        /*if ( wd.charAt(wd.length()-1) == '.' ) {
-          // run a suspension evaluation and check not a suspension
-          int pos = wd.length()-1;
-          try {
-            if ( suspension.evaluate(wd.toCharArray(), pos) ) {
-              clean.add(wd);
-            } else {
-              clean.add(wd.substring(0, pos));
-              clean.add(".");
-            }
-          } catch ( Exception e ) {
-            logger.fatal("Error initializing suspensions?");
-            return(null);
-          }
-        } else {*/
-          clean.add(wd);
-        //}
-        continue;
-      }
-
-      if ( tmpwd == null ) {
-        tmpwd = new StringBuilder(wd);
-        continue;
-      }
-
-      // if we get to here we allready have a tmpwd
-      if ( wd.length() == 1 ) {
-        ch = wd.charAt(0);
-        if ( sentence_ends.contains(ch) ||
-            left_marks.contains(ch) || right_marks.contains(ch) ) {
-          clean.add(tmpwd.toString());
-          tmpwd = null;
-          clean.add(wd);
-        } else {
-          tmpwd.append(wd);
-        }
-      }
-    }
-
-    if ( tmpwd != null ) {
-      clean.add(tmpwd.toString());
-    }
-
-    if ( logger.isDebugEnabled() ) {
-      logger.debug("PreClean =" + Strings.cvtVector(words));
-      logger.debug("Clean    =" + Strings.cvtVector(clean));
-    }
-
-    return( new SplitterOp(clean, wordCt) );
+    return(wordCt);
   }
 
   /**
@@ -306,7 +329,7 @@ public class SentenceSplitter {
        while ( (adjustedStartIdx > 0) &&
            !parser_data.extraction_map[adjustedStartIdx] &&
            (Character.isWhitespace(parser_data.buffer[adjustedStartIdx]) ||
-               left_marks.contains(parser_data.buffer[adjustedStartIdx]) ||
+               profile.isLeftMark(parser_data.buffer[adjustedStartIdx]) ||
                parser_data.buffer[adjustedStartIdx] == '\"') ) {
           adjustedStartIdx--;
       }
@@ -329,9 +352,9 @@ public class SentenceSplitter {
     }
 
     for ( int i = startIdx; i < endIdx; i++ ) {
-      if ( left_marks.contains(parser_data.buffer[i]) ) {
+      if ( profile.isLeftMark(parser_data.buffer[i]) ) {
         ct++;
-      } else if ( right_marks.contains(parser_data.buffer[i]) ) {
+      } else if ( profile.isRightMark(parser_data.buffer[i]) ) {
         ct--;
       }
     }
@@ -349,10 +372,10 @@ public class SentenceSplitter {
 
       while ( (adjustedEndIdx < parser_data.buffer.length) &&
           !parser_data.extraction_map[adjustedEndIdx] &&
-          (   sentence_ends.contains(parser_data.buffer[adjustedEndIdx]) ||
+          (   profile.isSentenceEnd(parser_data.buffer[adjustedEndIdx]) ||
               (adjustedLeft &&
               (Character.isWhitespace(parser_data.buffer[adjustedEndIdx]) ||
-                  right_marks.contains(parser_data.buffer[adjustedEndIdx]) ||
+                  profile.isRightMark(parser_data.buffer[adjustedEndIdx]) ||
                   parser_data.buffer[adjustedEndIdx] == '\"'))   ) ) {
         adjustedEndIdx++;
       }
@@ -370,4 +393,129 @@ public class SentenceSplitter {
 
     return(adjustment);
   }
+  /**
+   * Accumulates a token for a <code>TokenSpans</code>, as a span of the
+   * buffer while the characters appended are contiguous.
+   *
+   * @author dave
+   * @version 1.0
+   * @since 6.0
+   */
+  private static final class TokenBuilder {
+
+    /**
+     * The buffer the tokens index.
+     */
+    private final char[] buf;
+
+    /**
+     * The start of the token, <code>-1</code> if empty.
+     */
+    private int start = -1;
+
+    /**
+     * The end of the token (exclusive).
+     */
+    private int end;
+
+    /**
+     * The flags of the characters appended.
+     */
+    private int flags;
+
+    /**
+     * The text of the token once it is no longer contiguous.
+     */
+    private StringBuilder text;
+
+    /**
+     * Constructor, initializes an empty <code>TokenBuilder</code>.
+     *
+     * @param buf   The buffer the tokens index.
+     */
+    private TokenBuilder(char[] buf) {
+      this.buf = buf;
+    }
+
+    /**
+     * Returns <code>true</code> if nothing has been appended.
+     */
+    private boolean isEmpty() {
+      return(start == -1);
+    }
+
+    /**
+     * Appends the character at <code>i</code> in the buffer.
+     */
+    private void append(int i) {
+      if ( start == -1 ) {
+        start = i;
+        end = i+1;
+        flags = TokenSpans.PUNCT;
+      } else if ( (text == null) && (i == end) ) {
+        end++;
+      } else {
+        detach();
+        text.append(buf[i]);
+        end = Math.max(end, i+1);
+      }
+
+      merge(TokenSpans.flagsOf(buf[i]));
+    }
+
+    /**
+     * Appends token <code>i</code> from <code>spans</code>.
+     */
+    private void append(TokenSpans spans, int i) {
+      if ( start == -1 ) {
+        start = spans.start(i);
+        end = spans.end(i);
+        flags = TokenSpans.PUNCT;
+        if ( !spans.contiguous(i) ) {
+          text = new StringBuilder();
+          spans.appendTo(i, text);
+        }
+      } else if ( (text == null) && spans.contiguous(i) &&
+          (spans.start(i) == end) ) {
+        end = spans.end(i);
+      } else {
+        detach();
+        spans.appendTo(i, text);
+        end = Math.max(end, spans.end(i));
+      }
+
+      merge(spans.flags(i));
+    }
+
+    /**
+     * Copies the span into <code>text</code> if it has not been already.
+     */
+    private void detach() {
+      if ( text == null ) {
+        text = new StringBuilder();
+        text.append(buf, start, end-start);
+      }
+    }
+
+    /**
+     * Merges the flags of appended characters, <code>PUNCT</code> only
+     * remains set if all characters are punctuation.
+     */
+    private void merge(int f) {
+      flags = (flags & f & TokenSpans.PUNCT) |
+        ((flags | f) & (TokenSpans.LETTER | TokenSpans.ALNUM));
+    }
+
+    /**
+     * Adds the token to <code>spans</code> (unless <code>null</code>) and
+     * resets the builder.
+     */
+    private void addTo(TokenSpans spans) {
+      if ( spans != null ) {
+        spans.add(start, end, flags, (text == null) ? null : text.toString());
+      }
+      start = -1;
+      text = null;
+    }
+  }
 }
@@ -15,9 +15,30 @@ import java.util.regex.Pattern;
 public class SplitterOp {
 
   /**
-   * The words constituting a sentence.
+   * The words constituting a sentence as spans into the
+   * <code>TextParser</code> buffer, <code>null</code> if constructed
+   * from <code>String</code>'s.
    */
-  private Vector<String> words;
+  private TokenSpans spans;
+
+  /**
+   * The words constituting a sentence, as returned by
+   * {@link SplitterOp#words(boolean, boolean)} indexed by
+   * {@link SplitterOp#view(boolean, boolean)}. Each view is created
+   * when first requested.
+   */
+  private Vector<String>[] views;
+
+  /**
+   * The views joined with a space, indexed as per <code>views</code>.
+   */
+  private String[] joined;
+
+  /**
+   * Whether each word contains an (ASCII) letter or digit, only used if
+   * constructed from <code>String</code>'s.
+   */
+  private boolean[] alnum;
 
   /**
    * A count of alphanumeric words within <code>words</code>. This is required
@@ -38,17 +59,159 @@ public class SplitterOp {
    * @param wordCt  A count of alphanumeric words within <code>words</code>.
    */
   public SplitterOp(Vector<String> words, int wordCt) {
-    this.words = words;
+    this.views = newViews();
+    this.views[view(true, true)] = words;
+    this.wordCt = wordCt;
+  }
+
+  /**
+   * Constructor, initialize the <code>SplitterOp</code> object from
+   * the spans into the <code>TextParser</code> buffer.
+   *
+   * @param spans   The words constituting a sentence.
+   * @param wordCt  A count of alphanumeric words within <code>spans</code>.
+   */
+  public SplitterOp(TokenSpans spans, int wordCt) {
+    this.views = newViews();
+    this.spans = spans;
     this.wordCt = wordCt;
   }
 
+  /**
+   * Returns an empty array of views.
+   */
+  @SuppressWarnings("unchecked")
+  private static Vector<String>[] newViews() {
+    return( (Vector<String>[])new Vector<?>[4] );
+  }
+
+  /**
+   * Returns the index in <code>views</code> for a combination of case
+   * and punctuation.
+   */
+  private static int view(boolean preserveCase, boolean preservePunct) {
+    return( (preserveCase ? 0 : 1) | (preservePunct ? 0 : 2) );
+  }
+
   /**
    * Accessor for <code>words</code>.
    *
    * @return    The <code>words</code>.
    */
   public Vector<String> words() {
-    return(words);
+    return( words(true, true) );
+  }
+
+  /**
+   * Returns the words constituting the sentence. The <code>Vector</code>
+   * is created on the first request and shared by subsequent requests,
+   * it must not be modified.
+   *
+   * @param preserveCase    If <code>false</code>, the words are converted
+   *                        to lowercase.
+   * @param preservePunct   If <code>false</code>, words that do not
+   *                        contain a letter or digit are removed.
+   *
+   * @return    The words.
+   */
+  public Vector<String> words(boolean preserveCase, boolean preservePunct) {
+    int v = view(preserveCase, preservePunct);
+    Vector<String> src;
+    Vector<String> w;
+
+    if ( views[v] != null ) {
+      return(views[v]);
+    }
+
+    if ( preserveCase && preservePunct ) {
+      w = spans.tokens();
+    } else if ( !preservePunct ) {
+      // filter the case view, so each word is only lowercased once
+      src = words(preserveCase, true);
+      w = new Vector<String>(wordCt);
+      for ( int i = 0; i < src.size(); i++ ) {
+        if ( isAlnum(i) ) {
+          w.add(src.get(i));
+        }
+      }
+    } else {
+      src = words(true, true);
+      w = new Vector<String>(src.size());
+      for ( int i = 0; i < src.size(); i++ ) {
+        w.add(src.get(i).toLowerCase());
+      }
+    }
+
+    views[v] = w;
+    return(w);
+  }
+
+  /**
+   * Returns the words constituting the sentence (see
+   * {@link SplitterOp#words(boolean, boolean)}) separated by a space.
+   * The <code>String</code> is created on the first request.
+   *
+   * @param preserveCase    If <code>false</code>, the words are converted
+   *                        to lowercase.
+   * @param preservePunct   If <code>false</code>, words that do not
+   *                        contain a letter or digit are removed.
+   *
+   * @return    The sentence.
+   */
+  public String sentence(boolean preserveCase, boolean preservePunct) {
+    int v = view(preserveCase, preservePunct);
+    Vector<String> words;
+    StringBuilder sb;
+
+    if ( joined == null ) {
+      joined = new String[4];
+    } else if ( joined[v] != null ) {
+      return(joined[v]);
+    }
+
+    words = words(preserveCase, preservePunct);
+    sb = new StringBuilder();
+    for ( int i = 0; i < words.size(); i++ ) {
+      if ( i != 0 ) {
+        sb.append(" ");
+      }
+      sb.append(words.get(i));
+    }
+
+    joined[v] = sb.toString();
+    return(joined[v]);
+  }
+
+  /**
+   * Determines if word <code>i</code> contains an (ASCII) letter or digit,
+   * using the flags recorded during splitting or, if constructed from
+   * <code>String</code>'s, {@link SplitterOp#alpha} (once per word).
+   */
+  private boolean isAlnum(int i) {
+    if ( spans != null ) {
+      return( spans.is(i, TokenSpans.ALNUM) );
+    }
+
+    if ( alnum == null ) {
+      Vector<String> words = views[view(true, true)];
+      alnum = new boolean[words.size()];
+      for ( int j = 0; j < alnum.length; j++ ) {
+        alnum[j] = alpha.matcher(words.get(j)).find();
+      }
+    }
+
+    return(alnum[i]);
+  }
+
+  /**
+   * Accessor for <code>spans</code>.
+   *
+   * @return    The words as spans into the <code>TextParser</code> buffer,
+   *            or <code>null</code> if the <code>SplitterOp</code> was
+   *            constructed from <code>String</code>'s.
+   */
+  public TokenSpans spans() {
+    return(spans);
   }
 
   /**
@@ -61,15 +224,15 @@ public class SplitterOp {
   }
 
   public Vector<String> wordsWithoutPunct() {
-    return Utils.wordsWithoutPunct(words);
+    return( words(true, false) );
   }
 
   public Vector<String> wordsWithoutCase() {
-    return Utils.wordsWithoutCase(words);
+    return( words(false, true) );
   }
 
   public Vector<String> wordsWithoutPunctAndCase() {
-    return Utils.wordsWithoutPunctAndCase(words);
+    return( words(false, false) );
   }
 
   /**
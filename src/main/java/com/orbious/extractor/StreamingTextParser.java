@@ -0,0 +1,515 @@
+package com.orbious.extractor;
+
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.Charset;
+import java.util.Vector;
+import org.apache.log4j.Logger;
+import com.orbious.util.Loggers;
+import com.orbious.util.config.Config;
+
+/**
+ * Extracts sentences from a document without holding the whole document
+ * in memory. The raw lines are read into a window that is run through a
+ * {@link TextParser}, sentences are passed to a {@link SentenceSink} once
+ * they end at least {@link AppConfig#stream_context_size} characters before
+ * the end of the window (i.e. once the look-ahead of the
+ * <code>Evaluator</code>'s can no longer change them). The lines following
+ * the last sentence emitted (plus the look-behind context) are carried over
+ * into the next window.
+ * <p>
+ * If a window does not emit any sentences it is grown, up to
+ * {@link AppConfig#stream_max_window_size}, after which all the sentences
+ * in the window are emitted regardless and the text following the last
+ * sentence is carried over (from within a line if need be). A raw line
+ * longer than the maximum window is read in pieces (split at whitespace
+ * where possible), so the memory used is bounded by the window sizes.
+ * <p>
+ * The output matches {@link TextParser#genSentences()} except where the
+ * document wide statistics (e.g. the average line length used by
+ * <code>Heading</code>) differ from the statistics for a window, or where
+ * a sentence spans more than the maximum window.
+ *
+ * @author dave
+ * @version 1.0
+ * @since 6.0
+ */
+
+public class StreamingTextParser {
+
+  /**
+   * A plain text file.
+   */
+  private String filename;
+
+  /**
+   * Alternatively, provide a reader.
+   */
+  private Reader reader;
+
+  /**
+   * The character set <code>filename</code> is decoded with, if
+   * <code>null</code> {@link AppConfig#input_charset}.
+   */
+  private Charset charset;
+
+  /**
+   * The configuration shared with each window's {@link TextParser}.
+   */
+  private ExtractorProfile profile;
+
+  /**
+   * The initial number of raw characters in a window
+   * (see {@link AppConfig#stream_window_size}).
+   */
+  private int window_size;
+
+  /**
+   * The maximum number of raw characters in a window
+   * (see {@link AppConfig#stream_max_window_size}).
+   */
+  private int max_window_size;
+
+  /**
+   * The look-ahead/look-behind around the window boundary
+   * (see {@link AppConfig#stream_context_size}).
+   */
+  private int context_size;
+
+  /**
+   * The number of windows parsed during the last
+   * {@link StreamingTextParser#genSentences(SentenceSink)}.
+   */
+  private int window_ct;
+
+  /**
+   * The number of sentences emitted during the last
+   * {@link StreamingTextParser#genSentences(SentenceSink)}.
+   */
+  private int sentence_ct;
+
+  /**
+   * The number of (cleansed) characters parsed during the last
+   * {@link StreamingTextParser#genSentences(SentenceSink)}.
+   */
+  private long char_ct;
+
+  /**
+   * Logger object.
+   */
+  private Logger logger = Loggers.logger();
+
+  /**
+   * Intialize the <code>StreamingTextParser</code>.
+   *
+   * @param filename    The absolute path to a plain-text document.
+   */
+  public StreamingTextParser(String filename) {
+    this(filename, ExtractorProfile.current());
+  }
+
+  /**
+   * Intialize the <code>StreamingTextParser</code>.
+   *
+   * @param filename    The absolute path to a plain-text document.
+   * @param profile     The <code>ExtractorProfile</code> to use.
+   */
+  public StreamingTextParser(String filename, ExtractorProfile profile) {
+    this.filename = filename;
+    this.profile = profile;
+    invalidate();
+  }
+
+  /**
+   * Intialize the <code>StreamingTextParser</code> from a <code>Reader</code>.
+   * The <code>Reader</code> is not closed.
+   *
+   * @param reader      The plain-text document.
+   * @param profile     The <code>ExtractorProfile</code> to use.
+   */
+  public StreamingTextParser(Reader reader, ExtractorProfile profile) {
+    this.filename = "reader";
+    this.reader = reader;
+    this.profile = profile;
+    invalidate();
+  }
+
+  /**
+   * Reload the window sizes from the configuration.
+   */
+  public void invalidate() {
+    window_size = Config.getInt(AppConfig.stream_window_size);
+    max_window_size = Config.getInt(AppConfig.stream_max_window_size);
+    context_size = Config.getInt(AppConfig.stream_context_size);
+  }
+
+  /**
+   * Sets the character set the document is decoded with, overriding
+   * {@link AppConfig#input_charset}. Not used if the document is provided
+   * as a <code>Reader</code>.
+   *
+   * @param charset   The <code>Charset</code>, or <code>null</code> for
+   *                  {@link AppConfig#input_charset}.
+   */
+  public void charset(Charset charset) {
+    this.charset = charset;
+  }
+
+  /**
+   * Sets the window sizes, overriding the configuration.
+   *
+   * @param windowSize      The initial number of raw characters in a window.
+   * @param maxWindowSize   The maximum number of raw characters in a window.
+   * @param contextSize     The look-ahead/look-behind around the window
+   *                        boundary.
+   */
+  public void windowSize(int windowSize, int maxWindowSize, int contextSize) {
+    window_size = windowSize;
+    max_window_size = Math.max(windowSize, maxWindowSize);
+    context_size = contextSize;
+  }
+
+  /**
+   * Accessor for <code>window_ct</code>.
+   *
+   * @return    The number of windows parsed.
+   */
+  public int windowCt() {
+    return(window_ct);
+  }
+
+  /**
+   * Accessor for <code>sentence_ct</code>.
+   *
+   * @return    The number of sentences emitted.
+   */
+  public int sentenceCt() {
+    return(sentence_ct);
+  }
+
+  /**
+   * Accessor for <code>char_ct</code>.
+   *
+   * @return    The number of (cleansed) characters parsed.
+   */
+  public long charCt() {
+    return(char_ct);
+  }
+
+  /**
+   * Extracts the sentences from the document, passing each to
+   * <code>sink</code> as soon as it is final.
+   *
+   * @param sink    Receives the sentences, in document order.
+   * @return        The number of sentences emitted.
+   *
+   * @throws IOException
+   * @throws ParserException
+   */
+  public int genSentences(SentenceSink sink) throws IOException, ParserException {
+    Reader in;
+
+    if ( reader != null ) {
+      in = reader;
+    } else {
+      in = new InputStreamReader(new FileInputStream(filename),
+          TextParser.inputCharset(charset));
+    }
+
+    window_ct = 0;
+    sentence_ct = 0;
+    char_ct = 0;
+
+    try {
+      parse(new LineReader(in), sink);
+    } finally {
+      if ( reader == null ) {
+        in.close();
+      }
+    }
+
+    if ( logger.isInfoEnabled() ) {
+      logger.info("Found " + sentence_ct + " sentences in " + filename +
+          " using " + window_ct + " windows");
+    }
+
+    return(sentence_ct);
+  }
+
+  /**
+   * Runs the windows over <code>lr</code>.
+   */
+  private void parse(LineReader lr, SentenceSink sink)
+    throws IOException, ParserException {
+    Vector<String> lines;
+    Vector<TextParserOp> ops;
+    Vector<SplitterOp> sentences;
+    TextParser parser;
+    TextParserOp op;
+    String str;
+    boolean eof;
+    boolean force;
+    int size;
+    int rawCt;
+    int resume;
+    int next;
+    int limit;
+    int len;
+    int line;
+    int cut;
+
+    lines = new Vector<String>();
+    size = window_size;
+    resume = 0;
+    eof = false;
+
+    while ( true ) {
+      rawCt = 0;
+      for ( int i = 0; i < lines.size(); i++ ) {
+        rawCt += lines.get(i).length()+1;
+      }
+
+      while ( !eof && (rawCt < size) ) {
+        if ( (str = lr.readLine(max_window_size)) == null ) {
+          eof = true;
+        } else {
+          lines.add(str);
+          rawCt += str.length()+1;
+        }
+      }
+
+      if ( lines.size() == 0 ) {
+        break;
+      }
+
+      parser = new TextParser(lines, profile);
+      parser.parse();
+      parser.genSentences();
+      window_ct++;
+
+      len = parser.charCt();
+      force = eof || (size >= max_window_size);
+      limit = force ? len : len-context_size;
+
+      ops = parser.sentenceOps();
+      sentences = parser.splitterOps();
+      next = resume;
+
+      for ( int i = 0; i < ops.size(); i++ ) {
+        op = ops.get(i);
+        if ( op.start() < resume ) {
+          continue;
+        } else if ( op.end() >= limit ) {
+          break;
+        }
+
+        sink.sentence(sentences.get(i));
+        sentence_ct++;
+        next = op.end()+1;
+      }
+
+      if ( eof ) {
+        char_ct += len;
+        break;
+      }
+
+      // carry over the lines after the last sentence emitted, including
+      // the look-behind context
+      line = lineOf(parser, lines.size(), Math.max(0, next-context_size));
+
+      if ( line == 0 ) {
+        if ( !force ) {
+          size = Math.min(size*2, max_window_size);
+          resume = next;
+          continue;
+        }
+
+        line = lineOf(parser, lines.size(), next);
+        if ( (line == 0) && (next > 0) ) {
+          // carry over the text following the last sentence emitted
+          // (in this or a previous window) from within the first line
+          cut = (int)Math.min(parser.offsets().charEnd(next),
+              lines.get(0).length());
+          lines.set(0, lines.get(0).substring(cut));
+          char_ct += next;
+          resume = 0;
+          size = window_size;
+          continue;
+        } else if ( line == 0 ) {
+          logger.warn("No sentence boundary in " + rawCt + " characters in " +
+              filename + ", discarding " + lines.size() + " lines");
+          line = lines.size();
+          next = len;
+        }
+      }
+
+      char_ct += (line < lines.size()) ? parser.rawLineOffset(line) : len;
+      resume = (line < lines.size()) ? next-parser.rawLineOffset(line) : 0;
+      lines = new Vector<String>(lines.subList(line, lines.size()));
+      size = window_size;
+    }
+  }
+
+  /**
+   * Returns the raw line in <code>parser</code> containing the buffer
+   * index <code>idx</code>.
+   *
+   * @param parser    The <code>TextParser</code> for the window.
+   * @param lineCt    The number of raw lines in the window.
+   * @param idx       The index in the buffer.
+   *
+   * @return    The last raw line that begins at or before <code>idx</code>.
+   */
+  private int lineOf(TextParser parser, int lineCt, int idx) {
+    int low = 0;
+    int high = lineCt-1;
+    int mid;
+
+    while ( low < high ) {
+      mid = (low+high+1) >>> 1;
+      if ( parser.rawLineOffset(mid) <= idx ) {
+        low = mid;
+      } else {
+        high = mid-1;
+      }
+    }
+
+    return(low);
+  }
+
+  /**
+   * Reads the raw lines of a <code>Reader</code> as per
+   * <code>BufferedReader.readLine()</code>, except that a line longer
+   * than the maximum requested is returned in pieces.
+   *
+   * @author dave
+   * @version 1.0
+   * @since 6.0
+   */
+  private static final class LineReader {
+
+    /**
+     * The document.
+     */
+    private final Reader in;
+
+    /**
+     * The characters read from <code>in</code>.
+     */
+    private final char[] buf = new char[8192];
+
+    /**
+     * The next character in <code>buf</code>.
+     */
+    private int pos;
+
+    /**
+     * The number of characters in <code>buf</code>.
+     */
+    private int len;
+
+    /**
+     * Set if the last line ended with a "\r", so a following "\n" is
+     * skipped.
+     */
+    private boolean skip_lf;
+
+    /**
+     * The line being read, including the remainder of a line returned in
+     * pieces.
+     */
+    private final StringBuilder line = new StringBuilder();
+
+    /**
+     * Constructor, reads the lines from <code>in</code>.
+     *
+     * @param in    The document.
+     */
+    private LineReader(Reader in) {
+      this.in = in;
+    }
+
+    /**
+     * Reads the next line, or piece of a line.
+     *
+     * @param max   The maximum number of characters returned. A longer line
+     *              is split at the last whitespace in the second half of
+     *              the piece, or otherwise at <code>max</code>.
+     *
+     * @return    The line (excluding the terminator), or <code>null</code>
+     *            at the end of the document.
+     *
+     * @throws IOException
+     */
+    private String readLine(int max) throws IOException {
+      String str;
+      char ch;
+      int start;
+      int end;
+      int ws;
+
+      while ( true ) {
+        if ( pos == len ) {
+          len = in.read(buf, 0, buf.length);
+          pos = 0;
+          if ( len <= 0 ) {
+            len = 0;
+            if ( line.length() == 0 ) {
+              return(null);
+            }
+
+            str = line.toString();
+            line.setLength(0);
+            return(str);
+          }
+        }
+
+        if ( skip_lf ) {
+          skip_lf = false;
+          if ( buf[pos] == '\n' ) {
+            pos++;
+            continue;
+          }
+        }
+
+        // the characters up to a terminator or max
+        start = pos;
+        end = Math.min(len, pos+Math.max(0, max-line.length()));
+        while ( (pos < end) && (buf[pos] != '\n') && (buf[pos] != '\r') ) {
+          pos++;
+        }
+        line.append(buf, start, pos-start);
+
+        if ( pos == len ) {
+          continue;
+        }
+
+        ch = buf[pos];
+        if ( (ch == '\n') || (ch == '\r') ) {
+          pos++;
+          skip_lf = (ch == '\r');
+          str = line.toString();
+          line.setLength(0);
+          return(str);
+        }
+
+        // the line continues past max
+        ws = line.length()-1;
+        while ( (ws > max/2) && !Character.isWhitespace(line.charAt(ws)) ) {
+          ws--;
+        }
+
+        if ( ws > max/2 ) {
+          str = line.substring(0, ws);
+          line.delete(0, ws+1);
+        } else {
+          str = line.toString();
+          line.setLength(0);
+        }
+        return(str);
+      }
+    }
+  }
+}
@@ -1,9 +1,9 @@
 package com.orbious.extractor;
 
-import java.io.BufferedReader;
+import java.io.File;
 import java.io.FileNotFoundException;
-import java.io.FileReader;
 import java.io.IOException;
+import java.nio.charset.Charset;
 import java.util.HashSet;
 import java.util.Vector;
 import org.apache.log4j.Logger;
@@ -16,8 +16,8 @@ import com.orbious.extractor.SentenceMapEntry.SentenceEntryType;
 import com.orbious.extractor.evaluator.Evaluator;
 import com.orbious.extractor.evaluator.EvaluatorException;
 import com.orbious.extractor.evaluator.Heading;
+import com.orbious.extractor.evaluator.TraceSink;
 import com.orbious.extractor.util.Helper;
-import com.orbious.util.HashSets;
 import com.orbious.util.Loggers;
 import com.orbious.util.config.Config;
 import com.orbious.util.config.ConfigException;
@@ -42,11 +42,24 @@ public class TextParser {
    * Alternatively, provide the raw text.
    */
   private Vector<String> raw;
+
+  /**
+   * The character set <code>filename</code> is decoded with, if
+   * <code>null</code> {@link AppConfig#input_charset}.
+   */
+  private Charset charset;
   
   /**
-   * List of allowable sentence ends (see {@link Config#SENTENCE_ENDS}).
+   * The configuration shared with the {@link Sentence} and
+   * {@link SentenceSplitter}.
    */
-  private HashSet<Character> sentence_ends;
+  private ExtractorProfile profile;
+
+  /**
+   * Whether <code>profile</code> was passed in on construction, otherwise
+   * {@link TextParser#invalidate()} picks up the current configuration.
+   */
+  private boolean fixed_profile;
 
   /**
    * Minimum sentence length (see {@link AppConfig#min_sentence_length}).
@@ -58,6 +71,23 @@ public class TextParser {
    */
   private Vector<SplitterOp> sentences;
 
+  /**
+   * The start/end indexes in the buffer for each entry in
+   * <code>sentences</code>.
+   */
+  private Vector<TextParserOp> sentence_ops;
+
+  /**
+   * The index in the buffer where each raw line begins (a line without text
+   * begins where the next line with text begins).
+   */
+  private int[] raw_line_offsets;
+
+  /**
+   * The original offsets of the characters in the buffer.
+   */
+  private OffsetMap offsets;
+
   /**
    * The data extracted during {@link TextParser#parse()} and
    * {@link TextParser#genSentenceMap()}. Protected because it is used by
@@ -90,6 +120,12 @@ public class TextParser {
    */
   private int sent_unlikely_end_idx;
 
+  /**
+   * Receives the diagnostic output of the sentence start/end evaluations,
+   * if attached.
+   */
+  private TraceSink trace_sink;
+
   /**
    * Logger object.
    */
@@ -118,14 +154,83 @@ public class TextParser {
     invalidate();
   }
 
+  /**
+   * Intialize the <code>TextParser</code> with a fixed
+   * <code>ExtractorProfile</code>. Any number of <code>TextParser</code>'s
+   * may share the same profile and run concurrently.
+   *
+   * @param filename    The absolute path to a plain-text document.
+   * @param profile     The <code>ExtractorProfile</code> to use.
+   */
+  public TextParser(String filename, ExtractorProfile profile) {
+    this.filename = filename;
+    this.profile = profile;
+    fixed_profile = true;
+
+    parser_data = new TextParserData();
+    splitter = new SentenceSplitter(parser_data);
+    invalidate();
+  }
+
+  /**
+   * Intialize the <code>TextParser</code> from raw text with a fixed
+   * <code>ExtractorProfile</code>.
+   *
+   * @param raw         The raw text, a line per entry.
+   * @param profile     The <code>ExtractorProfile</code> to use.
+   */
+  public TextParser(Vector<String> raw, ExtractorProfile profile) {
+    this.filename = "buffer";
+    this.raw = raw;
+    this.profile = profile;
+    fixed_profile = true;
+
+    parser_data = new TextParserData();
+    splitter = new SentenceSplitter(parser_data);
+    invalidate();
+  }
+
   public void invalidate() {
-    sentence_ends = HashSets.cvtStringToCharHashSet(
-        Config.getString(AppConfig.sentence_ends));
+    if ( !fixed_profile ) {
+      profile = ExtractorProfile.current();
+    }
+
+    min_sentence_len = profile.minSentenceLength();
+    splitter.profile(profile);
+  }
 
-    min_sentence_len = Config.getInt(AppConfig.min_sentence_length);
-    splitter.invalidate();
+  /**
+   * Sets the character set the document is decoded with, overriding
+   * {@link AppConfig#input_charset}.
+   *
+   * @param charset   The <code>Charset</code>, or <code>null</code> for
+   *                  {@link AppConfig#input_charset}.
+   */
+  public void charset(Charset charset) {
+    this.charset = charset;
+  }
+
+  /**
+   * Accessor for <code>profile</code>.
+   *
+   * @return    The <code>ExtractorProfile</code>.
+   */
+  public ExtractorProfile profile() {
+    return(profile);
   }
   
+  /**
+   * Attaches a <code>TraceSink</code> that receives the diagnostic output of
+   * the sentence start/end evaluations during
+   * {@link TextParser#genSentences()}.
+   *
+   * @param sink    The <code>TraceSink</code>, or <code>null</code> to only
+   *                trace when debugging is enabled.
+   */
+  public void traceSink(TraceSink sink) {
+    trace_sink = sink;
+  }
+
   public void checkConfig() throws ParserException {
     if ( Config.getInt(AppConfig.min_sentence_length) == -1 ||
         Config.getInt(AppConfig.max_sentence_length) == -1 ) {
@@ -141,7 +246,8 @@ public class TextParser {
   /**
    * Returns a <code>Vector</code> of sentences extracted from
    * {@link TextParser#filename}. Each sentence put into a <code>Vector</code>,
-   * where each entry contains a word.
+   * where each entry contains a word. The word <code>Vector</code>'s are
+   * cached by each <code>SplitterOp</code> and must not be modified.
    *
    * @param ignorePunct   Ignore words that contain only punctuation.
    *
@@ -153,7 +259,7 @@ public class TextParser {
 
     s = new Vector<Vector<String>>(sentences.size());
     for ( int i = 0; i < sentences.size(); i++ ) {
-      s.add(wordsFromOp(sentences.get(i), preserveCase, preservePunct));
+      s.add(sentences.get(i).words(preserveCase, preservePunct));
     }
 
     return s;
@@ -171,122 +277,264 @@ public class TextParser {
    *            with each sentence returned as a <code>String</code>.
    */
   public Vector<String> sentencesAsStr(boolean preserveCase, boolean preservePunct) {
-    Vector<String> sent = new Vector<String>();
-    Vector<String> words;
-    StringBuilder sb;
-
-    sb = new StringBuilder();
+    Vector<String> sent = new Vector<String>(sentences.size());
 
     for ( int i = 0; i < sentences.size(); i++ ) {
-      words = wordsFromOp(sentences.get(i), preserveCase, preservePunct);
-      sb.setLength(0);
-      for ( int j = 0; j < words.size(); j++ ) {
-        sb.append(words.get(j));
-        if ( j+1 < words.size() ) {
-          sb.append(" ");
-        }
-      }
-
-      sent.add(sb.toString());
+      sent.add(sentences.get(i).sentence(preserveCase, preservePunct));
     }
 
     return(sent);
   }
 
   /**
+   * Returns the number of characters in the cleansed buffer, i.e. the
+   * number of characters evaluated during {@link TextParser#genSentences()}.
    *
+   * @return    The number of characters parsed, or 0 if
+   *            {@link TextParser#parse()} has not been called.
    */
-  private Vector<String> wordsFromOp(SplitterOp op, boolean preserveCase, 
-      boolean preservePunct) {
-    if ( preservePunct ) {
-      if ( preserveCase ) {
-        return op.words();
-      } else {
-        return op.wordsWithoutCase();
-      }
-    } else {
-      // !preserve_punctuation
-      if ( preserveCase ) {
-        return op.wordsWithoutPunct();
-      } else {
-        // !preserve_punctuation && !preserve_case
-        return op.wordsWithoutPunctAndCase();
-      }
+  public int charCt() {
+    if ( parser_data.buffer == null ) {
+      return(0);
     }
+
+    return(parser_data.buffer.length);
+  }
+
+  /**
+   * Accessor for <code>offsets</code>.
+   *
+   * @return    The original offsets of the characters in the buffer, or
+   *            <code>null</code> if {@link TextParser#parse()} has not been
+   *            called.
+   */
+  public OffsetMap offsets() {
+    return(offsets);
+  }
+
+  /**
+   * Returns the range in the original document of each sentence extracted
+   * (as per {@link TextParser#sentencesAsStr(boolean, boolean)}), so the
+   * document can be sliced directly.
+   *
+   * @return    The original char offsets, two per sentence (the start
+   *            inclusive and the end exclusive).
+   */
+  public long[] charRanges() {
+    long[] ranges = new long[2*sentence_ops.size()];
+    TextParserOp op;
+
+    for ( int i = 0; i < sentence_ops.size(); i++ ) {
+      op = sentence_ops.get(i);
+      ranges[2*i] = offsets.charOffset(op.start());
+      ranges[2*i+1] = offsets.charEnd(op.end()+1);
+    }
+
+    return(ranges);
   }
 
   /**
-   * Parses {@link TextParser#filename} into memory. This method also calls
-   * {@link com.orbious.extractor.WhitespaceRemover#remove(Vector, int)} on each 
-   * line before adding to memory and updates {@link TextParser#line_starts}
-   * with the start of each line (minus whitespace).
+   * As per {@link TextParser#charRanges()} in bytes.
+   *
+   * @return    The original byte offsets, two per sentence, or
+   *            <code>null</code> if the text was not read from a file.
+   *
+   * @throws IOException
+   */
+  public long[] byteRanges() throws IOException {
+    long[] ranges = charRanges();
+
+    return( offsets.byteOffsets(ranges) ? ranges : null );
+  }
+
+  /**
+   * Returns the range in the original document of each token in sentence
+   * <code>i</code> (as per {@link SplitterOp#words()}). A token with
+   * punctuation removed from the middle covers the original range of the
+   * token as a whole.
+   *
+   * @param i   The sentence.
+   * @return    The original char offsets, two per token (the start
+   *            inclusive and the end exclusive).
+   */
+  public long[] tokenCharRanges(int i) {
+    TokenSpans spans = sentences.get(i).spans();
+    long[] ranges = new long[2*spans.size()];
+
+    for ( int j = 0; j < spans.size(); j++ ) {
+      ranges[2*j] = offsets.charOffset(spans.start(j));
+      ranges[2*j+1] = offsets.charEnd(spans.end(j));
+    }
+
+    return(ranges);
+  }
+
+  /**
+   * As per {@link TextParser#tokenCharRanges(int)} in bytes.
+   *
+   * @param i   The sentence.
+   * @return    The original byte offsets, two per token, or
+   *            <code>null</code> if the text was not read from a file.
+   *
+   * @throws IOException
+   */
+  public long[] tokenByteRanges(int i) throws IOException {
+    long[] ranges = tokenCharRanges(i);
+
+    return( offsets.byteOffsets(ranges) ? ranges : null );
+  }
+
+  /**
+   * Accessor for the sentences extracted during
+   * {@link TextParser#genSentences()}.
+   *
+   * @return    The sentences extracted.
+   */
+  Vector<SplitterOp> splitterOps() {
+    return(sentences);
+  }
+
+  /**
+   * Returns the start/end indexes in the buffer of the sentences
+   * extracted during {@link TextParser#genSentences()}.
+   *
+   * @return    The start/end indexes, in the same order as
+   *            {@link TextParser#splitterOps()}.
+   */
+  Vector<TextParserOp> sentenceOps() {
+    return(sentence_ops);
+  }
+
+  /**
+   * Returns the index in the buffer where raw line <code>line</code> begins.
+   *
+   * @param line    The raw line.
+   * @return        The index in the buffer.
+   */
+  int rawLineOffset(int line) {
+    return(raw_line_offsets[line]);
+  }
+
+  /**
+   * Parses {@link TextParser#filename} into memory. Each line is cleansed
+   * (see {@link WhitespaceRemover#remove(char[], int, int, char[], int)})
+   * directly into the buffer by a {@link BufferBuilder}, which updates
+   * {@link TextParserData#line_starts} with the start of each line (minus
+   * whitespace) in the same pass, and {@link TextParserData#tokens} is
+   * updated with the words in the buffer.
+   * <p>
+   * A document is read via a {@link DocumentReader}, i.e. each line is
+   * decoded and cleansed without creating a <code>String</code>.
    *
    * @throws FileNotFoundException
    * @throws IOException
    */
   public void parse() throws FileNotFoundException, IOException, ParserException {
-    Vector<String> clean;
-    String str;
-    char[] buf;
+    BufferBuilder builder;
+    int capacity;
     int len;
-    int pos;
     int lineCt;
-    
+    int rawCt;
+
     checkConfig();
-    
-    if ( raw == null ) read();
 
-    logger.info("Processing " + raw.size() + " lines from " + filename);
-    
-    parser_data.line_starts = new HashSet<Integer>();
-    clean = new Vector<String>();
-    len = 0;
-    lineCt = 0;
-
-    for ( int i = 0; i < raw.size(); i++ ) {
-      str = WhitespaceRemover.remove(raw, i);
-      if ( str != null ) {
-        clean.add(str);
-        parser_data.line_starts.add(len);
-        len += str.length();
-        lineCt++;
+    if ( raw == null ) {
+      builder = read();
+    } else {
+      logger.info("Processing " + raw.size() + " lines from " + filename);
+
+      // the cleansed text is at most the raw text plus a whitespace
+      // per line
+      capacity = 1;
+      for ( int i = 0; i < raw.size(); i++ ) {
+        capacity += raw.get(i).length()+1;
       }
-    }
 
-    pos = 0;
-    parser_data.buffer = new char[len];
-    for ( int i = 0; i < clean.size(); i++ ) {
-      buf = clean.get(i).toCharArray();
-      System.arraycopy(buf, 0, parser_data.buffer, pos, buf.length);
-      pos += buf.length;
+      builder = new BufferBuilder(capacity);
+      for ( int i = 0; i < raw.size(); i++ ) {
+        builder.append(raw.get(i));
+      }
     }
 
-    parser_data.sentence_map = new SentenceMapEntry[parser_data.buffer.length];
-    parser_data.avg_line_char_ct = (len/lineCt);
+    parser_data.buffer = builder.buffer();
+    parser_data.line_starts = builder.lineStarts();
+    raw_line_offsets = builder.lineOffsets();
+    offsets = builder.offsets();
+
+    rawCt = builder.lineCt();
+    len = parser_data.buffer.length;
+    lineCt = parser_data.line_starts.size();
+
+    parser_data.tokens = TokenIndex.build(parser_data.buffer);
+    parser_data.sentence_map = new SentenceMap(parser_data.buffer.length);
+    parser_data.avg_line_char_ct = (lineCt == 0) ? 0 : (len/lineCt);
 
     if ( logger.isInfoEnabled() ) {
       logger.info("Statistics for " + filename +
-          " Raw: LineCt=" + raw.size() +
+          " Raw: LineCt=" + rawCt +
           " Cleansed: LineStarts=" + parser_data.line_starts.size() +
           " CharCt=" + parser_data.buffer.length +
+          " TokenCt=" + parser_data.tokens.size() +
           " AvgLineCharCt=" + parser_data.avg_line_char_ct);
     }
   }
   
   /**
-   * Reads {filename} into a buffer called {raw}.
+   * Returns <code>charset</code>, or if <code>null</code> the
+   * {@link AppConfig#input_charset}.
+   *
+   * @param charset   The <code>Charset</code>, or <code>null</code>.
+   * @return          The <code>Charset</code> to decode a document with.
+   *
+   * @throws ParserException  If {@link AppConfig#input_charset} is not
+   *                          supported.
    */
-  private void read() throws IOException {
-    raw = new Vector<String>();
-    
-    BufferedReader br = new BufferedReader(new FileReader(filename));    
-    String str;
-    while ( (str = br.readLine()) != null ) {
-      raw.add(str);
+  static Charset inputCharset(Charset charset) throws ParserException {
+    if ( charset != null ) {
+      return(charset);
     }
-    
-    logger.info("Processing " + raw.size() + " lines in " + filename);
-    br.close();
+
+    try {
+      return( Charset.forName(Config.getString(AppConfig.input_charset)) );
+    } catch ( IllegalArgumentException iae ) {
+      throw new ParserException("Unsupported input_charset " +
+          Config.getString(AppConfig.input_charset), iae);
+    }
+  }
+
+  /**
+   * Reads and cleanses {@link TextParser#filename}.
+   *
+   * @return    The cleansed lines.
+   */
+  private BufferBuilder read() throws IOException, ParserException {
+    DocumentReader reader;
+    BufferBuilder builder;
+    Charset cs;
+
+    cs = inputCharset(charset);
+
+    reader = new DocumentReader(new File(filename), cs);
+    try {
+      // a raw line is at least as long as the cleansed line (the
+      // whitespace appended replaces the line terminator)
+      builder = new BufferBuilder((int)Math.min(reader.size()+1,
+          Integer.MAX_VALUE-8));
+      builder.offsets().source(new File(filename), cs);
+      reader.offsets(builder.offsets());
+
+      while ( reader.next() ) {
+        builder.append(reader.buffer(), reader.start(), reader.length(),
+            reader.offset());
+      }
+    } finally {
+      reader.close();
+    }
+
+    logger.info("Processing " + builder.lineCt() + " lines in " + filename +
+        " (" + cs.name() + ")");
+
+    return(builder);
   }
 
   /**
@@ -294,18 +542,134 @@ public class TextParser {
    * for {@link TextParser#sentences}.
    */
   public void genSentences() throws ParserException {
-    SentenceMapEntry entry;
-    SentenceEntryType type;
-    Likelihood likelihood;
-    SplitterOp op;
+    resetSentences();
 
-    genSentenceMap();
+    try {
+      genSentences(new CollectingSink(sentences), sentence_ops);
+    } catch ( IOException ioe ) {
+      // a CollectingSink does not throw
+      throw new ParserException("Failed to collect sentences in " + filename, ioe);
+    }
+  }
 
+  /**
+   * Runs the sentence extraction algorithm as per
+   * {@link TextParser#genSentences()}, passing each sentence to
+   * <code>sink</code> as soon as it is split rather than retaining the
+   * sentences (i.e. {@link TextParser#sentences(boolean, boolean)} is
+   * empty afterwards).
+   *
+   * @param sink    Receives the sentences, in document order.
+   * @return        The number of sentences passed to <code>sink</code>.
+   *
+   * @throws IOException
+   * @throws ParserException
+   */
+  public int genSentences(SentenceSink sink) throws IOException, ParserException {
+    return( genSentences(sink, null) );
+  }
+
+  /**
+   * Clears the retained sentences.
+   */
+  private void resetSentences() {
     if ( sentences != null ) {
       sentences.clear();
-      parser_data.parser_map.clear();
+      sentence_ops.clear();
     } else {
       sentences = new Vector<SplitterOp>();
+      sentence_ops = new Vector<TextParserOp>();
+    }
+  }
+
+  /**
+   * Splits each sentence in the parser map, passing those of at least
+   * {@link TextParser#min_sentence_len} words to <code>sink</code>.
+   * Any previously retained sentences are cleared.
+   *
+   * @param sink    Receives the sentences, in document order.
+   * @param ops     If not <code>null</code>, receives the start/end indexes
+   *                of each sentence passed to <code>sink</code>.
+   * @return        The number of sentences passed to <code>sink</code>.
+   */
+  private int genSentences(SentenceSink sink, Vector<TextParserOp> ops)
+    throws IOException, ParserException {
+    SplitterOp op;
+    int ct;
+
+    genParserMap();
+    resetSentences();
+
+    ct = 0;
+    for ( int i = 0; i < parser_data.parser_map.size(); i++ ) {
+      op = splitter.split(parser_data.parser_map.get(i));
+      if ( op.wordCt() >= min_sentence_len ) {
+        sink.sentence(op);
+        if ( ops != null ) {
+          ops.add(parser_data.parser_map.get(i));
+        }
+        ct++;
+      }
+    }
+
+    if ( logger.isInfoEnabled() ) {
+      logger.info("Found " + ct + " sentences in " + filename);
+    }
+
+    return(ct);
+  }
+
+  /**
+   * Runs the sentence extraction algorithm as per
+   * {@link TextParser#genSentences()}, but only records the offsets of each
+   * sentence. The words of a sentence are only extracted when requested
+   * from the <code>SentenceSpans</code>, so this is preferable if only
+   * some of the sentences (or only their counts or offsets) are required.
+   *
+   * @return    The sentences extracted.
+   */
+  public SentenceSpans genSentenceSpans() throws ParserException {
+    SentenceSpans spans;
+    IndexAdjustment adjustment;
+    TextParserOp op;
+    int wordCt;
+
+    genParserMap();
+
+    spans = new SentenceSpans(parser_data.buffer, splitter);
+    for ( int i = 0; i < parser_data.parser_map.size(); i++ ) {
+      op = parser_data.parser_map.get(i);
+      // the adjustment updates the extraction_map so is made in order
+      adjustment = splitter.adjustIndexes(op.start(), op.end());
+      wordCt = splitter.wordCt(parser_data.buffer, op.start(),
+          adjustment.adjustedStartIdx(), adjustment.adjustedEndIdx());
+      if ( wordCt >= min_sentence_len ) {
+        spans.add(op.start(), adjustment.adjustedStartIdx(),
+            adjustment.adjustedEndIdx(), wordCt);
+      }
+    }
+
+    if ( logger.isInfoEnabled() ) {
+      logger.info("Found " + spans.size() + " sentences in " + filename);
+    }
+
+    return(spans);
+  }
+
+  /**
+   * Generates the sentence map and the start/end indexes of each sentence
+   * (i.e. {@link TextParserData#parser_map}).
+   */
+  private void genParserMap() throws ParserException {
+    SentenceMap sentenceMap;
+    SentenceEntryType type;
+    boolean unlikely;
+
+    genSentenceMap();
+
+    if ( parser_data.parser_map != null ) {
+      parser_data.parser_map.clear();
+    } else {
       parser_data.parser_map = new Vector<TextParserOp>();
     }
     parser_data.extraction_map = new boolean[parser_data.buffer.length];
@@ -315,17 +679,17 @@ public class TextParser {
     sent_end_idx = -1;
     sent_unlikely_end_idx = -1;
 
-    for ( int i = 0; i < parser_data.sentence_map.length; i++ ) {
-      entry = parser_data.sentence_map[i];
-      if ( entry == null ) {
+    sentenceMap = parser_data.sentence_map;
+    for ( int i = 0; i < sentenceMap.length(); i++ ) {
+      if ( !sentenceMap.contains(i) ) {
         continue;
       }
 
-      type = entry.type();
-      likelihood = entry.likelihood();
+      type = sentenceMap.type(i);
+      unlikely = sentenceMap.isUnlikely(i);
 
       if ( type == SentenceEntryType.START ) {
-        if ( likelihood == Likelihood.UNLIKELY ) {
+        if ( unlikely ) {
           if ( sent_unlikely_start_idx == -1 ) {
             sent_unlikely_start_idx = i;
           }
@@ -336,7 +700,7 @@ public class TextParser {
           sent_start_idx = i;
         }
       } else if ( type == SentenceEntryType.END ) {
-        if ( likelihood == Likelihood.UNLIKELY ) {
+        if ( unlikely ) {
           if ( sent_unlikely_end_idx == -1 ) {
             sent_unlikely_end_idx = i;
           }
@@ -359,23 +723,12 @@ public class TextParser {
           "SentenceMap:\n" +
           Helper.getDebugStringFromSentenceMap(parser_data.buffer,
               parser_data.sentence_map, 0,
-              parser_data.sentence_map.length, 100) +
+              parser_data.sentence_map.length(), 100) +
           "ExtractionMap:\n" +
           Helper.getDebugStringFromBoolBuf(parser_data.buffer,
               parser_data.extraction_map, 0,
               parser_data.extraction_map.length, 100));
     }
-
-    for ( int i = 0; i < parser_data.parser_map.size(); i++ ) {
-      op = splitter.split(parser_data.parser_map.get(i));
-      if ( op.wordCt() >= min_sentence_len ) {
-        sentences.add(op);
-      }
-    }
-
-    if ( logger.isInfoEnabled() ) {
-      logger.info("Found " + sentences.size() + " sentences in " + filename);
-    }
   }
 
   /**
@@ -463,102 +816,157 @@ public class TextParser {
   /**
    * Internal method to generate a sentence map that is used by
    * {@link TextParser#genSentences()} to find the begin and start
-   * indexes for sentences.
+   * indexes for sentences. The candidates are found first (see
+   * {@link CandidateScanner}), then evaluated in buffer order.
    */
   protected void genSentenceMap() throws ParserException {
-    char ch;
-    EndOp endOp;
-    StartOp startOp;
+    CandidateScanner scanner;
+    int[] ends;
+    int[] starts;
+    int endCt;
+    int startCt;
+    int e;
+    int s;
     boolean inHeading;
-    Evaluator evaluator;
     Sentence sentence;
 
     inHeading = false;
-    sentence = new Sentence(parser_data);
+    sentence = new Sentence(parser_data, profile);
 
     try {
       sentence.invalidate();
     } catch ( EvaluatorException ee ) {
       throw new ParserException("Failed to validate sentence", ee);
     }
+    sentence.traceSink(trace_sink);
+
+    // phase 1, find the candidates
+    if ( parser_data.candidates == null ) {
+      parser_data.candidates = new CandidateScanner();
+    }
+    scanner = parser_data.candidates;
+    scanner.scan(parser_data.buffer, profile);
 
-    for ( int i = 0; i < parser_data.buffer.length; i++ ) {
-      ch = parser_data.buffer[i];
+    if ( logger.isInfoEnabled() ) {
+      logger.info("Candidates for " + filename +
+          " Ends=" + scanner.endCount() +
+          " Starts=" + scanner.startCount() +
+          " Density=" + String.format("%.2f", scanner.density()) + "/1000 chars");
+    }
 
-      if ( sentence_ends.contains(ch) ) {
-        try {
-          endOp = sentence.isEnd(parser_data.buffer, i);
-        } catch ( SentenceException se ) {
-          throw new ParserException("Error during evaluation of end", se);
-        }
+    // phase 2, evaluate the candidates in buffer order
+    ends = scanner.ends();
+    starts = scanner.starts();
+    endCt = scanner.endCount();
+    startCt = scanner.startCount();
+    e = 0;
+    s = 0;
+
+    while ( (e < endCt) || (s < startCt) ) {
+      if ( (s >= startCt) || ((e < endCt) && (ends[e] < starts[s])) ) {
+        inHeading = evaluateEnd(sentence, ends[e++], inHeading);
+      } else {
+        inHeading = evaluateStart(sentence, starts[s++], inHeading);
+      }
+    }
+  }
 
-        if ( endOp != null ) {
-          if ( !endOp.isEnd() ) {
-            evaluator = endOp.failedEvaluator();
-
-            if ( evaluator != null ) {
-              if ( evaluator.recordAsUnlikely() ) {
-                addToMap(i, Likelihood.UNLIKELY, SentenceEntryType.END, null);
-              } else if ( evaluator.recordAsPause() ) {
-                addToMap(i, Likelihood.LIKELY, SentenceEntryType.PAUSE, null);
-              }
-            }
-          } else {
-            addToMap(i, Likelihood.LIKELY, SentenceEntryType.END, null);
+  /**
+   * Evaluates the end candidate at <code>i</code> and records the result
+   * in the sentence map.
+   *
+   * @param sentence  The <code>Sentence</code> used for evaluation.
+   * @param i         The index of the candidate in the buffer.
+   * @param inHeading Whether the candidate follows a heading.
+   *
+   * @return    Whether subsequent candidates follow a heading.
+   */
+  private boolean evaluateEnd(Sentence sentence, int i, boolean inHeading)
+      throws ParserException {
+    Evaluator evaluator;
+    EndOp endOp;
 
-            if ( endOp.startIdx() >= 0 ) {
-              addToMap(endOp.startIdx(), Likelihood.LIKELY,
-                  SentenceEntryType.START, SentenceEntrySubType.START_FROM_END);
-            }
-          }
+    try {
+      endOp = sentence.isEnd(parser_data.buffer, i);
+    } catch ( SentenceException se ) {
+      throw new ParserException("Error during evaluation of end", se);
+    }
 
-          if ( inHeading ) {
-            inHeading = false;
-          }
-        }
+    if ( endOp == null ) {
+      return(inHeading);
+    }
 
-      } else {
-        // run a quick check to reduce the workload
-        if ( !Character.isUpperCase(ch) ) {
-          continue;
-        } else if ( (i > 0) && !Character.isWhitespace(parser_data.buffer[i-1]) &&
-            !sentence_ends.contains(parser_data.buffer[i-1]) ) {
-          // the setence_ends conditional is included for the case
-          // ...: "As ...
-          continue;
-        }
+    if ( !endOp.isEnd() ) {
+      evaluator = endOp.failedEvaluator();
 
-        try {
-          startOp = sentence.isStart(parser_data.buffer, i, inHeading);
-        } catch ( SentenceException se ) {
-          throw new ParserException("Error during evaluation of start", se);
+      if ( evaluator != null ) {
+        if ( evaluator.recordAsUnlikely() ) {
+          addToMap(i, Likelihood.UNLIKELY, SentenceEntryType.END, null);
+        } else if ( evaluator.recordAsPause() ) {
+          addToMap(i, Likelihood.LIKELY, SentenceEntryType.PAUSE, null);
         }
-        if ( startOp != null ) {
-          if ( !startOp.isStart() ) {
-            evaluator = startOp.failedEvaluator();
-
-            if ( evaluator != null ) {
-              if ( evaluator instanceof Heading ) {
-                addToMap(i, Likelihood.LIKELY, SentenceEntryType.HEADING, null);
-                inHeading = true;
-              } else if ( evaluator.recordAsUnlikely() ) {
-                addToMap(i, Likelihood.UNLIKELY, SentenceEntryType.START, null);
-              }
-            }
-          } else {
-            addToMap(i, Likelihood.LIKELY, SentenceEntryType.START, null);
-
-            ////////////////////
-            // THIS seems to generate allot of false positives?
-            //
-            //if ( startOp.stopIdx() >= 0 ) {
-              //addToMap(startOp.stopIdx(), Likelihood.LIKELY,
-               //   SentenceEntryType.END, SentenceEntrySubType.END_FROM_START);
-            //}
-          }
+      }
+    } else {
+      addToMap(i, Likelihood.LIKELY, SentenceEntryType.END, null);
+
+      if ( endOp.startIdx() >= 0 ) {
+        addToMap(endOp.startIdx(), Likelihood.LIKELY,
+            SentenceEntryType.START, SentenceEntrySubType.START_FROM_END);
+      }
+    }
+
+    return(false);
+  }
+
+  /**
+   * Evaluates the start candidate at <code>i</code> and records the result
+   * in the sentence map.
+   *
+   * @param sentence  The <code>Sentence</code> used for evaluation.
+   * @param i         The index of the candidate in the buffer.
+   * @param inHeading Whether the candidate follows a heading.
+   *
+   * @return    Whether subsequent candidates follow a heading.
+   */
+  private boolean evaluateStart(Sentence sentence, int i, boolean inHeading)
+      throws ParserException {
+    Evaluator evaluator;
+    StartOp startOp;
+
+    try {
+      startOp = sentence.isStart(parser_data.buffer, i, inHeading);
+    } catch ( SentenceException se ) {
+      throw new ParserException("Error during evaluation of start", se);
+    }
+
+    if ( startOp == null ) {
+      return(inHeading);
+    }
+
+    if ( !startOp.isStart() ) {
+      evaluator = startOp.failedEvaluator();
+
+      if ( evaluator != null ) {
+        if ( evaluator instanceof Heading ) {
+          addToMap(i, Likelihood.LIKELY, SentenceEntryType.HEADING, null);
+          return(true);
+        } else if ( evaluator.recordAsUnlikely() ) {
+          addToMap(i, Likelihood.UNLIKELY, SentenceEntryType.START, null);
         }
       }
+    } else {
+      addToMap(i, Likelihood.LIKELY, SentenceEntryType.START, null);
+
+      ////////////////////
+      // THIS seems to generate allot of false positives?
+      //
+      //if ( startOp.stopIdx() >= 0 ) {
+        //addToMap(startOp.stopIdx(), Likelihood.LIKELY,
+         //   SentenceEntryType.END, SentenceEntrySubType.END_FROM_START);
+      //}
     }
+
+    return(inHeading);
   }
 
   /**
@@ -574,23 +982,21 @@ public class TextParser {
    */
   private void addToMap(int idx, Likelihood likelihood, SentenceEntryType type,
       SentenceEntrySubType subtype) {
-    SentenceMapEntry old;
-    SentenceMapEntry entry;
+    SentenceMap sentenceMap;
     boolean replace;
 
-    old = parser_data.sentence_map[idx];
+    sentenceMap = parser_data.sentence_map;
     replace = false;
-    if ( old == null ) {
+    if ( !sentenceMap.contains(idx) ) {
       replace = true;
-    } else if ( old.likelihood() == Likelihood.UNLIKELY ) {
+    } else if ( sentenceMap.isUnlikely(idx) ) {
       replace = true;
     }
 
     if ( replace ||
         (type == SentenceEntryType.PAUSE) ||
         (type == SentenceEntryType.HEADING) ) {
-      entry = new SentenceMapEntry(likelihood, type, subtype);
-      parser_data.sentence_map[idx] = entry;
+      sentenceMap.set(idx, likelihood, type, subtype);
     }
   }
 
@@ -611,15 +1017,28 @@ public class TextParser {
     protected char[] buffer;
 
     /**
-     * A buffer that contains where the line starts, which is used by some
-     * by the {@link com.orbious.extractor.evaluator.NumberedHeading} <code>Evaluator</code>.
+     * The line starts, which are used by some <code>Evaluator</code>'s
+     * (e.g. {@link com.orbious.extractor.evaluator.NumberedHeading}).
+     */
+    protected LineIndex line_starts;
+
+    /**
+     * The whitespace delimited tokens in <code>buffer</code>, which are used
+     * by some <code>Evaluator</code>'s to find the previous/next word
+     * (e.g. {@link com.orbious.extractor.evaluator.UrlText}).
+     */
+    protected TokenIndex tokens;
+
+    /**
+     * The sentence start/end candidates found by
+     * {@link TextParser#genSentenceMap()}.
      */
-    protected HashSet<Integer> line_starts;
+    protected CandidateScanner candidates;
 
     /**
-     * A buffer that contains entries for likely/unlikely sentence start's/end's.
+     * A map of likely/unlikely sentence start's/end's.
      */
-    protected SentenceMapEntry[] sentence_map;
+    protected SentenceMap sentence_map;
 
     /**
      * A <code>Vector</code> of <code>TextParserOp</code> containing sentence
@@ -655,13 +1074,74 @@ public class TextParser {
         int avgLineCharCt) {
 
       this.buffer = buffer;
-      line_starts = lineStarts;
-      sentence_map = sentenceMap;
+      line_starts = LineIndex.fromCollection(lineStarts);
+      tokens = (buffer == null) ? null : TokenIndex.build(buffer);
+      sentence_map = SentenceMap.fromEntries(sentenceMap);
       parser_map = parserMap;
       extraction_map = extractionMap;
       avg_line_char_ct = avgLineCharCt;
     }
 
+    /**
+     * Accessor for <code>line_starts</code>.
+     *
+     * @return  The line starts in the <code>TextParser</code> character buffer.
+     */
+    public LineIndex lineStarts() {
+      if ( line_starts == null ) {
+        throw new NullPointerException(
+            "TextParserData (line_starts) not initialized correctly");
+      }
+
+      return(line_starts);
+    }
+
+    /**
+     * Accessor for <code>tokens</code>.
+     *
+     * @return  The tokens in the <code>TextParser</code> character buffer.
+     */
+    public TokenIndex tokens() {
+      if ( tokens == null ) {
+        throw new NullPointerException(
+            "TextParserData (tokens) not initialized correctly");
+      }
+
+      return(tokens);
+    }
+
+    /**
+     * Accessor for <code>candidates</code>.
+     *
+     * @return  The sentence start/end candidates in the
+     *          <code>TextParser</code> character buffer.
+     */
+    public CandidateScanner candidates() {
+      if ( candidates == null ) {
+        throw new NullPointerException(
+            "TextParserData (candidates) not initialized correctly");
+      }
+
+      return(candidates);
+    }
+
+    /**
+     * Returns the tokens in <code>buf</code> if it is the
+     * <code>TextParser</code> character buffer, which allows an
+     * <code>Evaluator</code> to fall back to scanning for any other buffer.
+     *
+     * @param buf   A text buffer.
+     * @return  The tokens in <code>buf</code>, or <code>null</code> if
+     *          <code>buf</code> has not been indexed.
+     */
+    public TokenIndex tokens(final char[] buf) {
+      if ( (buf != buffer) || (buf == null) ) {
+        return(null);
+      }
+
+      return(tokens);
+    }
+
     /**
      * Determines if the index <code>idx</code> in the <code>TextParser</code>
      * character buffer is a line start.
@@ -698,38 +1178,19 @@ public class TextParser {
             "TextParserData (line_starts) not initialized correctly");
       }
 
+      // scan back to the nearest entry, but no further than the line start
+      int start = line_starts.floor(idx-1);
       int i = idx-1;
-      if ( i < 0 ) {
-        return(false);
-      }
-
-      SentenceMapEntry entry;
-      SentenceEntryType type;
 
-      while ( i > 0 ) {
-        entry = sentence_map[i];
-
-        if ( line_starts.contains(i) ) {
-          if ( (entry != null) && (entry.type() == SentenceEntryType.HEADING) ) {
-            return(true);
-          }
-          return(false);
-        }
-
-        if ( entry == null ) {
-          i--;
-          continue;
-        }
-
-        type = entry.type();
-        if ( type == SentenceEntryType.HEADING ) {
-          return(true);
-        }
+      while ( (i > 0) && (i > start) && !sentence_map.contains(i) ) {
+        i--;
+      }
 
+      if ( i <= 0 ) {
         return(false);
       }
 
-      return(false);
+      return( sentence_map.isHeading(i) );
     }
 
     /**
@@ -747,31 +1208,7 @@ public class TextParser {
             "TextParserData (sentence_map) not initialized correctly");
       }
 
-      int i = idx-1;
-      if ( i < 0 ) {
-        return(-1);
-      }
-
-      SentenceMapEntry entry;
-      int endIdx = -1;
-
-      while ( i > 0 ) {
-        entry = sentence_map[i];
-        if ( entry == null ) {
-          i--;
-          continue;
-        }
-
-        if ( entry.likelihood() == Likelihood.LIKELY &&
-            ((entry.type() == SentenceEntryType.END) ||
-             (entry.type() == SentenceEntryType.PAUSE)) ) {
-          endIdx = i;
-          break;
-        }
-        i--;
-      }
-
-      return(endIdx);
+      return( sentence_map.findPreviousPause(idx) );
     }
 
     /**
@@ -792,30 +1229,7 @@ public class TextParser {
             "TextParserData (sentence_map) not initialized correctly");
       }
 
-      int i = idx-1;
-      if ( i < 0 ) {
-        return(-1);
-      }
-
-      SentenceMapEntry entry;
-      int endIdx = -1;
-
-      while ( i > 0 ) {
-        entry = sentence_map[i];
-        if ( entry == null ) {
-          i--;
-          continue;
-        }
-
-        if ( (entry.likelihood() == Likelihood.LIKELY) &&
-             (entry.type() == SentenceEntryType.END) ) {
-          endIdx = i;
-          break;
-        }
-        i--;
-      }
-
-      return(endIdx);
+      return( sentence_map.findPreviousLikelyEnd(idx) );
     }
 
     /**
@@ -836,30 +1250,7 @@ public class TextParser {
             "TextParserData (sentence_map) not initialized correctly");
       }
 
-      int i = idx-1;
-      if ( i < 0 ) {
-        return(-1);
-      }
-
-      SentenceMapEntry entry;
-      int endIdx = -1;
-
-      while ( i > 0 ) {
-        entry = sentence_map[i];
-        if ( entry == null ) {
-          i--;
-          continue;
-        }
-
-        if ( (entry.type() == SentenceEntryType.END) &&
-             (entry.likelihood() == Likelihood.UNLIKELY) ) {
-          endIdx = i;
-          break;
-        }
-        i--;
-      }
-
-      return(endIdx);
+      return( sentence_map.findPreviousUnlikelyEnd(idx) );
     }
 
     public int avgLineCharCt() {
@@ -0,0 +1,324 @@
+package com.orbious.extractor;
+
+/**
+ * The whitespace delimited tokens in the {@link TextParser} buffer, built
+ * once during {@link TextParser#parse()} so <code>Evaluator</code>'s do not
+ * have to rediscover the same boundaries by scanning left and right from
+ * each candidate.
+ * <p>
+ * Each token is held as <code>(start, end, flags)</code> in primitive
+ * arrays. A block table records the first token ending in each
+ * <code>BLOCK_SIZE</code> characters of the buffer, so the token at an
+ * index (and the previous/next token) is found by scanning at most
+ * <code>BLOCK_SIZE/2</code> tokens rather than by a search over the whole
+ * document.
+ *
+ * @author dave
+ * @version 1.0
+ * @since 6.0
+ */
+
+public class TokenIndex {
+
+  /**
+   * Set if the first character of the token is uppercase.
+   */
+  public static final int UPPER_INITIAL = 0x01;
+
+  /**
+   * Set if the token contains a letter and none of its letters are
+   * lowercase.
+   */
+  public static final int ALL_CAPS = 0x02;
+
+  /**
+   * Set if the token contains a digit.
+   */
+  public static final int DIGIT = 0x04;
+
+  /**
+   * Set if the last character of the token is a fullstop.
+   */
+  public static final int TRAILING_STOP = 0x08;
+
+  /**
+   * The number of characters covered by each entry in the block table
+   * (a power of 2).
+   */
+  private static final int BLOCK_SHIFT = 5;
+
+  /**
+   * The number of characters covered by each entry in the block table.
+   */
+  public static final int BLOCK_SIZE = 1 << BLOCK_SHIFT;
+
+  /**
+   * The length of the buffer the tokens were found in.
+   */
+  private final int length;
+
+  /**
+   * The start of each token (inclusive).
+   */
+  private int[] starts;
+
+  /**
+   * The end of each token (exclusive).
+   */
+  private int[] ends;
+
+  /**
+   * The flags for each token.
+   */
+  private byte[] flags;
+
+  /**
+   * The number of tokens.
+   */
+  private int size;
+
+  /**
+   * For each block of the buffer, the first token that ends after the
+   * start of the block.
+   */
+  private int[] blocks;
+
+  /**
+   * Constructor, initializes an empty <code>TokenIndex</code>, see
+   * {@link TokenIndex#build(char[])}.
+   *
+   * @param length    The length of the buffer.
+   */
+  private TokenIndex(int length) {
+    this.length = length;
+    int capacity = Math.max(16, length/6);
+
+    starts = new int[capacity];
+    ends = new int[capacity];
+    flags = new byte[capacity];
+    size = 0;
+  }
+
+  /**
+   * Builds the <code>TokenIndex</code> for <code>buf</code> in a single
+   * pass.
+   *
+   * @param buf   The buffer.
+   * @return      The <code>TokenIndex</code>.
+   */
+  public static TokenIndex build(final char[] buf) {
+    TokenIndex index = new TokenIndex(buf.length);
+    int start = -1;
+    int f = 0;
+    boolean lower = false;
+    boolean letter = false;
+    char ch;
+
+    for ( int i = 0; i < buf.length; i++ ) {
+      ch = buf[i];
+
+      if ( Character.isWhitespace(ch) ) {
+        if ( start != -1 ) {
+          index.add(start, i, finish(buf, i, f, letter, lower));
+          start = -1;
+        }
+        continue;
+      }
+
+      if ( start == -1 ) {
+        start = i;
+        f = Character.isUpperCase(ch) ? UPPER_INITIAL : 0;
+        letter = false;
+        lower = false;
+      }
+
+      if ( Character.isLetter(ch) ) {
+        letter = true;
+        if ( Character.isLowerCase(ch) ) {
+          lower = true;
+        }
+      } else if ( Character.isDigit(ch) ) {
+        f |= DIGIT;
+      }
+    }
+
+    if ( start != -1 ) {
+      index.add(start, buf.length, finish(buf, buf.length, f, letter, lower));
+    }
+
+    index.buildBlocks();
+    return(index);
+  }
+
+  /**
+   * Returns the flags for a token ending at <code>end</code>.
+   */
+  private static int finish(final char[] buf, int end, int f,
+      boolean letter, boolean lower) {
+    if ( letter && !lower ) {
+      f |= ALL_CAPS;
+    }
+
+    if ( buf[end-1] == '.' ) {
+      f |= TRAILING_STOP;
+    }
+
+    return(f);
+  }
+
+  /**
+   * Adds a token.
+   */
+  private void add(int start, int end, int f) {
+    if ( size == starts.length ) {
+      int[] tmpStarts = new int[size*2];
+      int[] tmpEnds = new int[size*2];
+      byte[] tmpFlags = new byte[size*2];
+
+      System.arraycopy(starts, 0, tmpStarts, 0, size);
+      System.arraycopy(ends, 0, tmpEnds, 0, size);
+      System.arraycopy(flags, 0, tmpFlags, 0, size);
+      starts = tmpStarts;
+      ends = tmpEnds;
+      flags = tmpFlags;
+    }
+
+    starts[size] = start;
+    ends[size] = end;
+    flags[size] = (byte)f;
+    size++;
+  }
+
+  /**
+   * Populates {@link TokenIndex#blocks}.
+   */
+  private void buildBlocks() {
+    int t = 0;
+
+    blocks = new int[(length >>> BLOCK_SHIFT)+1];
+    for ( int b = 0; b < blocks.length; b++ ) {
+      while ( (t < size) && (ends[t] <= (b << BLOCK_SHIFT)) ) {
+        t++;
+      }
+      blocks[b] = t;
+    }
+  }
+
+  /**
+   * Returns the first token that ends after <code>idx</code>, or
+   * {@link TokenIndex#size()} if there is none.
+   */
+  private int find(int idx) {
+    int t;
+
+    if ( idx < 0 ) {
+      return(0);
+    } else if ( idx >= length ) {
+      return(size);
+    }
+
+    t = blocks[idx >>> BLOCK_SHIFT];
+    while ( (t < size) && (ends[t] <= idx) ) {
+      t++;
+    }
+
+    return(t);
+  }
+
+  /**
+   * Returns the number of tokens.
+   *
+   * @return    The number of tokens.
+   */
+  public int size() {
+    return(size);
+  }
+
+  /**
+   * Returns the start of token <code>t</code> in the buffer.
+   *
+   * @param t   The token.
+   * @return    The index of the first character of the token.
+   */
+  public int start(int t) {
+    return(starts[t]);
+  }
+
+  /**
+   * Returns the end of token <code>t</code> in the buffer.
+   *
+   * @param t   The token.
+   * @return    The index after the last character of the token.
+   */
+  public int end(int t) {
+    return(ends[t]);
+  }
+
+  /**
+   * Returns the flags for token <code>t</code>.
+   *
+   * @param t   The token.
+   * @return    The flags (<code>UPPER_INITIAL</code>, <code>ALL_CAPS</code>,
+   *            <code>DIGIT</code>, <code>TRAILING_STOP</code>).
+   */
+  public int flags(int t) {
+    return(flags[t]);
+  }
+
+  /**
+   * Determines if token <code>t</code> has any of the flags in
+   * <code>mask</code>.
+   *
+   * @param t       The token.
+   * @param mask    The flags.
+   * @return        <code>true</code> if any of the flags are set.
+   */
+  public boolean is(int t, int mask) {
+    return( (flags[t] & mask) != 0 );
+  }
+
+  /**
+   * Returns the token containing <code>idx</code>.
+   *
+   * @param idx   The index in the buffer.
+   * @return      The token, or <code>-1</code> if <code>idx</code> is
+   *              whitespace or outside the buffer.
+   */
+  public int tokenAt(int idx) {
+    int t = find(idx);
+
+    if ( (t < size) && (starts[t] <= idx) ) {
+      return(t);
+    }
+
+    return(-1);
+  }
+
+  /**
+   * Returns the last token that ends at or before <code>idx</code>, i.e.
+   * the previous word excluding any token containing <code>idx</code>.
+   *
+   * @param idx   The index in the buffer.
+   * @return      The token, or <code>-1</code> if there is none.
+   */
+  public int previous(int idx) {
+    return( find(idx)-1 );
+  }
+
+  /**
+   * Returns the first token that starts after <code>idx</code>, i.e.
+   * the next word excluding any token containing <code>idx</code>.
+   *
+   * @param idx   The index in the buffer.
+   * @return      The token, or <code>-1</code> if there is none.
+   */
+  public int next(int idx) {
+    int t = find(idx);
+
+    if ( (t < size) && (starts[t] <= idx) ) {
+      t++;
+    }
+
+    return( (t < size) ? t : -1 );
+  }
+}
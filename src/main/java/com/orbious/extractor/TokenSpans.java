@@ -0,0 +1,304 @@
+package com.orbious.extractor;
+
+import java.util.Vector;
+
+/**
+ * The tokens (words and punctuation) of a sentence, held as
+ * <code>(start, end, flags)</code> spans into the {@link TextParser}
+ * buffer rather than as <code>String</code>'s. A <code>String</code> is
+ * only created when a token is requested via
+ * {@link TokenSpans#token(int)}.
+ * <p>
+ * A token that is not a contiguous range of the buffer (e.g. a word with
+ * punctuation removed from the middle) also carries its text.
+ *
+ * @author dave
+ * @version 1.0
+ * @since 6.0
+ */
+
+public class TokenSpans {
+
+  /**
+   * Set if the token contains a letter (<code>Character.isLetter</code>).
+   */
+  public static final int LETTER = 0x01;
+
+  /**
+   * Set if the token contains an ASCII letter or digit
+   * (i.e. <code>[a-zA-Z0-9]</code>).
+   */
+  public static final int ALNUM = 0x02;
+
+  /**
+   * Set if the token does not contain any letters or digits
+   * (<code>Character.isLetterOrDigit</code>).
+   */
+  public static final int PUNCT = 0x04;
+
+  /**
+   * The buffer the spans index.
+   */
+  private final char[] buffer;
+
+  /**
+   * The start of each token (inclusive).
+   */
+  private int[] starts;
+
+  /**
+   * The end of each token (exclusive).
+   */
+  private int[] ends;
+
+  /**
+   * The flags for each token.
+   */
+  private byte[] flags;
+
+  /**
+   * The text of each token that is not a contiguous range of the buffer,
+   * <code>null</code> until required.
+   */
+  private String[] overflow;
+
+  /**
+   * The number of tokens.
+   */
+  private int size;
+
+  /**
+   * Constructor, initializes an empty <code>TokenSpans</code>.
+   *
+   * @param buffer    The buffer the spans index.
+   */
+  public TokenSpans(char[] buffer) {
+    this.buffer = buffer;
+    starts = new int[16];
+    ends = new int[16];
+    flags = new byte[16];
+    size = 0;
+  }
+
+  /**
+   * Returns the flags for the character <code>ch</code>.
+   *
+   * @param ch    The character.
+   * @return      <code>LETTER</code>, <code>ALNUM</code> and
+   *              <code>PUNCT</code> as they apply to <code>ch</code>.
+   */
+  public static int flagsOf(char ch) {
+    int f = 0;
+
+    if ( ((ch >= 'a') && (ch <= 'z')) || ((ch >= 'A') && (ch <= 'Z')) ||
+         ((ch >= '0') && (ch <= '9')) ) {
+      f |= ALNUM;
+    }
+
+    if ( Character.isLetter(ch) ) {
+      f |= LETTER;
+    } else if ( !Character.isDigit(ch) ) {
+      f |= PUNCT;
+    }
+
+    return(f);
+  }
+
+  /**
+   * Adds a token.
+   *
+   * @param start   The start of the token in the buffer (inclusive).
+   * @param end     The end of the token in the buffer (exclusive).
+   * @param f       The flags for the token.
+   * @param text    The text for the token if it is not the range
+   *                <code>start</code> to <code>end</code>, otherwise
+   *                <code>null</code>.
+   */
+  public void add(int start, int end, int f, String text) {
+    if ( size == starts.length ) {
+      grow();
+    }
+
+    starts[size] = start;
+    ends[size] = end;
+    flags[size] = (byte)f;
+
+    if ( text != null ) {
+      if ( overflow == null ) {
+        overflow = new String[starts.length];
+      }
+      overflow[size] = text;
+    } else if ( overflow != null ) {
+      overflow[size] = null;
+    }
+
+    size++;
+  }
+
+  /**
+   * Doubles the capacity.
+   */
+  private void grow() {
+    int[] tmpStarts = new int[size*2];
+    int[] tmpEnds = new int[size*2];
+    byte[] tmpFlags = new byte[size*2];
+
+    System.arraycopy(starts, 0, tmpStarts, 0, size);
+    System.arraycopy(ends, 0, tmpEnds, 0, size);
+    System.arraycopy(flags, 0, tmpFlags, 0, size);
+    starts = tmpStarts;
+    ends = tmpEnds;
+    flags = tmpFlags;
+
+    if ( overflow != null ) {
+      String[] tmp = new String[size*2];
+      System.arraycopy(overflow, 0, tmp, 0, size);
+      overflow = tmp;
+    }
+  }
+
+  /**
+   * Accessor for the buffer.
+   *
+   * @return    The buffer the spans index.
+   */
+  public char[] buffer() {
+    return(buffer);
+  }
+
+  /**
+   * Returns the number of tokens.
+   *
+   * @return    The number of tokens.
+   */
+  public int size() {
+    return(size);
+  }
+
+  /**
+   * Returns the start of token <code>i</code> in the buffer.
+   *
+   * @param i   The token.
+   * @return    The index of the first character of the token.
+   */
+  public int start(int i) {
+    return(starts[i]);
+  }
+
+  /**
+   * Returns the end of token <code>i</code> in the buffer.
+   *
+   * @param i   The token.
+   * @return    The index after the last character of the token.
+   */
+  public int end(int i) {
+    return(ends[i]);
+  }
+
+  /**
+   * Returns the flags for token <code>i</code>.
+   *
+   * @param i   The token.
+   * @return    The flags (<code>LETTER</code>, <code>ALNUM</code>,
+   *            <code>PUNCT</code>).
+   */
+  public int flags(int i) {
+    return(flags[i]);
+  }
+
+  /**
+   * Determines if token <code>i</code> has any of the flags in
+   * <code>mask</code>.
+   *
+   * @param i       The token.
+   * @param mask    The flags.
+   * @return        <code>true</code> if any of the flags are set.
+   */
+  public boolean is(int i, int mask) {
+    return( (flags[i] & mask) != 0 );
+  }
+
+  /**
+   * Determines if token <code>i</code> is the range
+   * {@link TokenSpans#start(int)} to {@link TokenSpans#end(int)} of the
+   * buffer.
+   *
+   * @param i   The token.
+   * @return    <code>true</code> if the token is contiguous.
+   */
+  public boolean contiguous(int i) {
+    return( (overflow == null) || (overflow[i] == null) );
+  }
+
+  /**
+   * Returns the length of token <code>i</code>.
+   *
+   * @param i   The token.
+   * @return    The number of characters in the token.
+   */
+  public int length(int i) {
+    if ( !contiguous(i) ) {
+      return(overflow[i].length());
+    }
+
+    return(ends[i]-starts[i]);
+  }
+
+  /**
+   * Returns the character at <code>j</code> in token <code>i</code>.
+   *
+   * @param i   The token.
+   * @param j   The index in the token.
+   * @return    The character.
+   */
+  public char charAt(int i, int j) {
+    if ( !contiguous(i) ) {
+      return(overflow[i].charAt(j));
+    }
+
+    return(buffer[starts[i]+j]);
+  }
+
+  /**
+   * Appends token <code>i</code> to <code>sb</code>.
+   *
+   * @param i     The token.
+   * @param sb    The <code>StringBuilder</code> to append to.
+   */
+  public void appendTo(int i, StringBuilder sb) {
+    if ( !contiguous(i) ) {
+      sb.append(overflow[i]);
+    } else {
+      sb.append(buffer, starts[i], ends[i]-starts[i]);
+    }
+  }
+
+  /**
+   * Returns token <code>i</code> as a <code>String</code>.
+   *
+   * @param i   The token.
+   * @return    The token.
+   */
+  public String token(int i) {
+    if ( !contiguous(i) ) {
+      return(overflow[i]);
+    }
+
+    return(new String(buffer, starts[i], ends[i]-starts[i]));
+  }
+
+  /**
+   * Returns all the tokens as <code>String</code>'s.
+   *
+   * @return    The tokens.
+   */
+  public Vector<String> tokens() {
+    Vector<String> tokens = new Vector<String>(size);
+
+    for ( int i = 0; i < size; i++ ) {
+      tokens.add(token(i));
+    }
+
+    return(tokens);
+  }
+}
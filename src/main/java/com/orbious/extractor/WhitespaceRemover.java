@@ -37,117 +37,137 @@ public class WhitespaceRemover {
    *            returns a <code>String</code> with excessive whitespace removed.
    */
   public static String remove(final Vector<String> text, int idx) {
-    boolean inWhitespace;
-    boolean hasText;
+    String str;
     char[] buf;
-    char ch;
-    StringBuilder sb;
-    int letterStartPos;
+    int ct;
 
     if ( (idx < 0) || (idx >= text.size()) ) {
       throw new ArrayIndexOutOfBoundsException("Invalid index=" + idx);
     }
 
-    buf = text.get(idx).toCharArray();
+    str = text.get(idx);
+    buf = new char[str.length()+1];
+    str.getChars(0, str.length(), buf, 0);
 
-    if ( buf.length == 0 ) {
+    // cleansed in place
+    ct = remove(buf, 0, str.length(), buf, 0);
+    if ( ct == 0 ) {
       if ( logger.isDebugEnabled() ) {
-        logger.debug("No text converted to char array, idx=" + idx);
+        logger.debug("No text found, idx=" + idx);
       }
       return(null);
     }
 
+    if ( logger.isDebugEnabled() ) {
+      logger.debug("Idx=" + idx +
+          "\n\tCleansed=|" + new String(buf, 0, ct) +
+          "|\n\tOriginal=|" + str + "|");
+    }
+
+    return( new String(buf, 0, ct) );
+  }
+
+  /**
+   * Removes excessive whitespace characters from the line
+   * <code>line[off]</code> to <code>line[off+len-1]</code>, writing the
+   * cleansed characters to <code>out</code> from <code>pos</code>. A
+   * whitespace replaces the line terminator unless the line has a hyphen
+   * at the end. The line can be cleansed in place, i.e.
+   * <code>out</code> may be <code>line</code> with <code>pos</code> at
+   * most <code>off</code>.
+   *
+   * @param line  The characters of the line.
+   * @param off   The index of the first character of the line.
+   * @param len   The number of characters in the line.
+   * @param out   The cleansed characters, must have room for
+   *              <code>len+1</code> characters from <code>pos</code>.
+   * @param pos   The index in <code>out</code> to write from.
+   *
+   * @return    The number of characters written to <code>out</code>,
+   *            <code>0</code> if no text was found.
+   */
+  public static int remove(final char[] line, int off, int len, char[] out,
+      int pos) {
+    return( remove(line, off, len, out, pos, null, 0) );
+  }
+
+  /**
+   * As per {@link WhitespaceRemover#remove(char[], int, int, char[], int)},
+   * also recording in <code>offsets</code> the original offset of each
+   * run of cleansed characters that are contiguous in the line.
+   *
+   * @param line      The characters of the line.
+   * @param off       The index of the first character of the line.
+   * @param len       The number of characters in the line.
+   * @param out       The cleansed characters, must have room for
+   *                  <code>len+1</code> characters from <code>pos</code>.
+   * @param pos       The index in <code>out</code> to write from.
+   * @param offsets   The <code>OffsetMap</code> to record the runs in, or
+   *                  <code>null</code>.
+   * @param origin    The original offset of <code>line[off]</code>.
+   *
+   * @return    The number of characters written to <code>out</code>,
+   *            <code>0</code> if no text was found.
+   */
+  public static int remove(final char[] line, int off, int len, char[] out,
+      int pos, OffsetMap offsets, long origin) {
+    boolean inWhitespace;
+    boolean hasText;
+    boolean skipped;
+    char ch;
+    int p;
+    int last;
+
     inWhitespace = false;
     hasText = false;
-    sb = new StringBuilder();
+    skipped = true;
+    p = pos;
 
-    for ( int i = 0; i < buf.length; i++ ) {
-      ch = buf[i];
+    for ( int i = 0; i < len; i++ ) {
+      ch = line[off+i];
       if ( !Character.isWhitespace(ch) ) {
         hasText = true;
         inWhitespace = false;
-        sb.append(ch);
-      } else {
-        if ( !inWhitespace ) {
-          if ( (i != 0) && (ch != '\n') ) {
-            // we dont add whitespace to the start
-            sb.append(ch);
-          }
-          inWhitespace = true;
+        if ( skipped && (offsets != null) ) {
+          offsets.add(p, origin+i);
         }
+        skipped = false;
+        out[p++] = ch;
+      } else if ( !inWhitespace ) {
+        if ( (i != 0) && (ch != '\n') ) {
+          out[p++] = ch;
+        } else {
+          skipped = true;
+        }
+        inWhitespace = true;
+      } else {
+        skipped = true;
       }
     }
 
     if ( !hasText ) {
-      if ( logger.isDebugEnabled() ) {
-        logger.debug("No text found, idx=" + idx);
-      }
-      return(null);
+      return(0);
     }
 
     // we need to determine whether or not to add a whitespace at the
     // end of the text (because we have removed the newline)
     // we dont add a whitespace if the last character is a '-'
     // otherwise we add a space
-    int ct = hasHyphenAtEnd(sb.toString());
-    if ( ct != -1 ) {
-      // hyphenated at end, strip any whitespace
-      sb = new StringBuilder(sb.substring(0, ct));
-    } else if ( !Character.isWhitespace(sb.charAt(sb.length()-1)) ) {
-      sb.append(" ");
+    last = p-1;
+    while ( Character.isWhitespace(out[last]) ) {
+      last--;
     }
 
-    // once we have cleaned the string we need to find position of the first letter
-    //
-    letterStartPos = -1;
-    buf = sb.toString().toCharArray();
-    for ( int i = 0; i < buf.length; i++ ) {
-      if ( Character.isLetter(buf[i]) ) {
-        letterStartPos = i;
-        break;
-      }
-    }
-
-    if ( logger.isDebugEnabled() ) {
-      logger.debug("Idx=" + idx + " letterStartPos=" + letterStartPos +
-          "\n\tCleansed=|" + sb.toString() +
-          "|\n\tOriginal=|" + text.get(idx) + "|");
-    }
-
-    return(sb.toString());
-  }
-
-  /**
-   * Checks for hyphenation at the end of a string.
-   *
-   * @param str   A text <code>String</code>.
-   * @return      <code>true</code> if the <code>String</code> has a hyphen
-   *              at the last non whitespace character, <code>false</code>
-   *              otherwise.
-   */
-  private static int hasHyphenAtEnd(final String str) {
-    char[] buf;
-    int ct;
-    char ch;
-
-    buf = str.toCharArray();
-    ct = buf.length;
-
-    for ( int i = ct-1; i >= 0; i-- ) {
-      ch = buf[i];
-      if ( Character.isWhitespace(ch) ) {
-        continue;
-      } else {
-        // we have text
-        if ( ch == '-' ) {
-          ct = i+1;
-          return(ct);
-        } else {
-          return(-1);
-        }
+    if ( out[last] == '-' ) {
+      p = last+1;
+    } else if ( !Character.isWhitespace(out[p-1]) ) {
+      // in place of the line terminator
+      if ( skipped && (offsets != null) ) {
+        offsets.add(p, origin+len);
       }
+      out[p++] = ' ';
     }
 
-    return(-1);
+    return(p-pos);
   }
 }
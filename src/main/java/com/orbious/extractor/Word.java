@@ -2,10 +2,8 @@ package com.orbious.extractor;
 
 // $Id: Word.java 12 2009-12-05 11:40:44Z app $
 
-import java.util.HashSet;
 import java.util.Vector;
 import org.apache.log4j.Logger;
-import com.orbious.util.HashSets;
 import com.orbious.util.config.Config;
 
 /**
@@ -19,9 +17,10 @@ import com.orbious.util.config.Config;
 public class Word {
 
   /**
-   * In memory representation of inner punctuation.
+   * The profile used by the methods that do not take an
+   * <code>ExtractorProfile</code>.
    */
-  private static HashSet<Character> inner_punctuation;
+  private static volatile ExtractorProfile default_profile;
 
   /**
    * Logger object.
@@ -38,9 +37,12 @@ public class Word {
    */
   private Word() { }
 
+  /**
+   * Reloads the profile used by the methods that do not take an
+   * <code>ExtractorProfile</code>.
+   */
   public static void invalidate() {
-    inner_punctuation = HashSets.cvtStringToCharHashSet(
-        Config.getString(AppConfig.inner_punctuation));
+    default_profile = ExtractorProfile.current();
   }
 
   /**
@@ -55,7 +57,24 @@ public class Word {
    */
   public static WordOp getPreviousWord(final char[] buf, int idx,
       boolean includeStop) {
-    MultipleWordOp mop = getWords(buf, idx, 1, ParseDirn.LEFT, includeStop);
+    return(getPreviousWord(buf, idx, includeStop, default_profile));
+  }
+
+  /**
+   * Returns the previous word in <code>buf</code>.
+   *
+   * @param buf   Character buffer to extract words from.
+   * @param idx   Index in the buffer to begin word extraction.
+   * @param includeStop   Include any fullstops that are encountered.
+   * @param profile   The <code>ExtractorProfile</code> to use.
+   *
+   * @return    <code>null</code> if no word was extracted,
+   *            otherwise the word extracted.
+   */
+  public static WordOp getPreviousWord(final char[] buf, int idx,
+      boolean includeStop, ExtractorProfile profile) {
+    MultipleWordOp mop = getWords(buf, idx, 1, ParseDirn.LEFT, includeStop,
+        profile);
     if ( mop.length() == 0 ) {
       return(null);
     }
@@ -75,7 +94,24 @@ public class Word {
    *            otherwise the word extracted.
    */
   public static WordOp getNextWord(final char[] buf, int idx, boolean includeStop) {
-    MultipleWordOp mop = getWords(buf, idx, 1, ParseDirn.RIGHT, includeStop);
+    return(getNextWord(buf, idx, includeStop, default_profile));
+  }
+
+  /**
+   * Returns the next word in <code>buf</code>.
+   *
+   * @param buf   Character buffer to extract words from.
+   * @param idx   Index in the buffer to begin word extraction.
+   * @param includeStop   Include any fullstops that are encountered.
+   * @param profile   The <code>ExtractorProfile</code> to use.
+   *
+   * @return    <code>null</code> if no word was extracted,
+   *            otherwise the word extracted.
+   */
+  public static WordOp getNextWord(final char[] buf, int idx, boolean includeStop,
+      ExtractorProfile profile) {
+    MultipleWordOp mop = getWords(buf, idx, 1, ParseDirn.RIGHT, includeStop,
+        profile);
     if ( mop.length() == 0 ) {
       return(null);
     }
@@ -103,81 +139,38 @@ public class Word {
    */
   public static MultipleWordOp getWords(final char[] buf, int idx, int num, ParseDirn dirn,
       boolean includeStop) {
+    return(getWords(buf, idx, num, dirn, includeStop, default_profile));
+  }
+
+  /**
+   * Returns the <code>dirn</code> <code>num</code> number of words from the
+   * <code>char</code> buffer <code>buf</code> (see
+   * {@link Word#getWords(char[], int, int, ParseDirn, boolean)}).
+   *
+   * @param buf   Character buffer to extract words from.
+   * @param idx    Index in the buffer to begin word extraction.
+   * @param num   The number of words to extract.
+   * @param dirn   The direction to parse, either <code>LEFT</code> or
+   *                <code>RIGHT</code>.
+   * @param includeStop   Include any fullstops that are encountered.
+   * @param profile   The <code>ExtractorProfile</code> to use.
+   *
+   * @return    <code>null</code> if no word was extracted,
+   *            otherwise up to <code>num</code> number of words extracted.
+   */
+  public static MultipleWordOp getWords(final char[] buf, int idx, int num, ParseDirn dirn,
+      boolean includeStop, ExtractorProfile profile) {
     MultipleWordOp op;
-    char ch;
-    boolean hasLetter;
-    String wd;
-    int i, j;
-    int lastIdx;
-
-    if ( (idx < 0) || (idx > buf.length) ) {
-      throw new ArrayIndexOutOfBoundsException("Invalid index=" + idx);
-    }
+    WordCursor cursor;
+    int i;
 
     op = new MultipleWordOp();
-    hasLetter = false;
-    wd = "";
-    lastIdx = -1;
-
-    i = idx;
-    if ( dirn == ParseDirn.LEFT ) {
-      j = num-1;
-    } else {
-      j = 0;
-    }
+    cursor = new WordCursor(profile);
 
-    while ( (i >= 0) && (i < buf.length) ) {
-      ch = buf[i];
-
-      if ( Character.isLetterOrDigit(ch) ) {
-        wd += ch;
-        lastIdx = i;
-        hasLetter = true;
-      } else if ( Character.isWhitespace(ch) ) {
-        if ( hasLetter ) {
-          if ( dirn == ParseDirn.LEFT ) {
-            op.add(new StringBuffer(wd).reverse().toString(), lastIdx);
-            j--;
-          } else {
-            op.add(new StringBuffer(wd).toString(), lastIdx);
-            j++;
-          }
-          wd = "";
-          lastIdx = -1;
-          hasLetter = false;
-
-          if ( (j >= num) || (j < 0) || (j >= buf.length) ) {
-            break;
-          }
-        }
-      } else {
-        // punctuation, check if the punctuation is part of the word
-        // and not a sentence end
-        if ((inner_punctuation.contains(ch) &&
-            (i-1 >= 0) && Character.isLetterOrDigit(buf[i-1])) ) {
-          if ( ch != '.' ) {
-            wd += ch;
-          } else if ( includeStop ) {
-            wd += ch;
-          }
-        }
-      }
-
-      if ( dirn == ParseDirn.LEFT ) {
-        i--;
-      } else {
-        i++;
-      }
-    }
-
-    if ( hasLetter ) {
-      if ( dirn == ParseDirn.LEFT ) {
-        op.add(new StringBuffer(wd).reverse().toString(), lastIdx);
-        j--;
-      } else {
-        op.add(new StringBuffer(wd).toString(), lastIdx);
-        j++;
-      }
+    if ( cursor.find(buf, idx, dirn, includeStop) ) {
+      do {
+        op.add(cursor.toString(), cursor.idx());
+      } while ( (op.length() < num) && cursor.advance() );
     }
 
     if ( logger.isDebugEnabled() ) {
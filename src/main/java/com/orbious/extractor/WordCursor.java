@@ -0,0 +1,430 @@
+package com.orbious.extractor;
+
+/**
+ * A reusable alternative to {@link Word#getPreviousWord(char[], int, boolean, ExtractorProfile)},
+ * {@link Word#getNextWord(char[], int, boolean, ExtractorProfile)} and
+ * {@link Word#getWords(char[], int, int, ParseDirn, boolean, ExtractorProfile)}
+ * that does not allocate. The cursor finds the same words as
+ * <code>Word</code>, but copies the characters of the current word into an
+ * internal buffer that is reused for each word, e.g.
+ *
+ * <pre>
+ *   WordCursor cursor = new WordCursor(profile);
+ *
+ *   if ( cursor.previous(buf, idx, true) ) {
+ *     cursor.toLowerCase();
+ *     found = dictionary.contains(cursor.chars(), 0, cursor.length());
+ *   }
+ * </pre>
+ *
+ * A cursor is not thread safe, each <code>Evaluator</code> has its own.
+ *
+ * @author dave
+ * @version 1.0
+ * @since 6.0
+ */
+
+public class WordCursor {
+
+  /**
+   * The configuration (inner punctuation) used to find words.
+   */
+  private ExtractorProfile profile;
+
+  /**
+   * The buffer the current word was found in.
+   */
+  private char[] buf;
+
+  /**
+   * The characters of the current word, in reading order.
+   */
+  private char[] chars;
+
+  /**
+   * The number of characters in the current word.
+   */
+  private int length;
+
+  /**
+   * The index of the last letter/digit found while scanning, as per
+   * {@link Word.WordOp#idx()}, <code>-1</code> if there is no current word.
+   */
+  private int idx;
+
+  /**
+   * The lowest index in the buffer of a character in the current word.
+   */
+  private int start;
+
+  /**
+   * The highest index in the buffer of a character in the current word.
+   */
+  private int end;
+
+  /**
+   * Whether the characters of the current word are a contiguous range of
+   * the buffer.
+   */
+  private boolean contiguous;
+
+  /**
+   * The index to continue scanning from for
+   * {@link WordCursor#advance()}, <code>-1</code> if the end of the buffer
+   * was reached.
+   */
+  private int resume;
+
+  /**
+   * The direction of the last scan.
+   */
+  private ParseDirn dirn;
+
+  /**
+   * Whether fullstops are included in words for the last scan.
+   */
+  private boolean include_stop;
+
+  /**
+   * Constructor, initializes the <code>WordCursor</code>.
+   *
+   * @param profile   The <code>ExtractorProfile</code> to use.
+   */
+  public WordCursor(ExtractorProfile profile) {
+    this.profile = profile;
+    this.chars = new char[32];
+    this.idx = -1;
+  }
+
+  /**
+   * Sets the <code>ExtractorProfile</code> used to find words.
+   *
+   * @param profile   The <code>ExtractorProfile</code>.
+   */
+  public void profile(ExtractorProfile profile) {
+    this.profile = profile;
+  }
+
+  /**
+   * Finds the previous word in <code>buf</code>, as per
+   * {@link Word#getPreviousWord(char[], int, boolean, ExtractorProfile)}.
+   *
+   * @param buf   Character buffer to extract words from.
+   * @param idx   Index in the buffer to begin word extraction.
+   * @param includeStop   Include any fullstops that are encountered.
+   *
+   * @return    <code>true</code> if a word was found, <code>false</code>
+   *            otherwise.
+   */
+  public boolean previous(final char[] buf, int idx, boolean includeStop) {
+    return( find(buf, idx, ParseDirn.LEFT, includeStop) );
+  }
+
+  /**
+   * Finds the next word in <code>buf</code>, as per
+   * {@link Word#getNextWord(char[], int, boolean, ExtractorProfile)}.
+   *
+   * @param buf   Character buffer to extract words from.
+   * @param idx   Index in the buffer to begin word extraction.
+   * @param includeStop   Include any fullstops that are encountered.
+   *
+   * @return    <code>true</code> if a word was found, <code>false</code>
+   *            otherwise.
+   */
+  public boolean next(final char[] buf, int idx, boolean includeStop) {
+    return( find(buf, idx, ParseDirn.RIGHT, includeStop) );
+  }
+
+  /**
+   * Finds the first word from <code>idx</code> in the direction
+   * <code>dirn</code>.
+   *
+   * @param buf   Character buffer to extract words from.
+   * @param idx   Index in the buffer to begin word extraction.
+   * @param dirn  The direction to parse.
+   * @param includeStop   Include any fullstops that are encountered.
+   *
+   * @return    <code>true</code> if a word was found, <code>false</code>
+   *            otherwise.
+   */
+  public boolean find(final char[] buf, int idx, ParseDirn dirn,
+      boolean includeStop) {
+    if ( (idx < 0) || (idx > buf.length) ) {
+      throw new ArrayIndexOutOfBoundsException("Invalid index=" + idx);
+    }
+
+    this.buf = buf;
+    this.dirn = dirn;
+    this.include_stop = includeStop;
+
+    return( scan(idx) );
+  }
+
+  /**
+   * Copies the current word of <code>other</code>, e.g. to transform a
+   * word shared via {@link com.orbious.extractor.evaluator.Candidate}.
+   * If <code>includeStop</code> is <code>false</code> any fullstops are
+   * dropped, which gives the same characters as a scan without
+   * fullstops, although {@link WordCursor#start()} and
+   * {@link WordCursor#end()} remain those of <code>other</code>.
+   *
+   * @param other   The <code>WordCursor</code> to copy.
+   * @param includeStop   Include any fullstops in <code>other</code>.
+   */
+  public void copy(WordCursor other, boolean includeStop) {
+    if ( chars.length < other.length ) {
+      chars = new char[other.chars.length];
+    }
+
+    length = 0;
+    for ( int i = 0; i < other.length; i++ ) {
+      if ( includeStop || (other.chars[i] != '.') ) {
+        chars[length++] = other.chars[i];
+      }
+    }
+
+    buf = other.buf;
+    idx = other.idx;
+    start = other.start;
+    end = other.end;
+    contiguous = other.contiguous && (length == other.length);
+    resume = other.resume;
+    dirn = other.dirn;
+    include_stop = other.include_stop && includeStop;
+  }
+
+  /**
+   * Finds the word following the current word in the same direction, i.e.
+   * the subsequent words returned by
+   * {@link Word#getWords(char[], int, int, ParseDirn, boolean, ExtractorProfile)}.
+   *
+   * @return    <code>true</code> if a word was found, <code>false</code>
+   *            otherwise.
+   */
+  public boolean advance() {
+    if ( (buf == null) || (resume < 0) ) {
+      idx = -1;
+      length = 0;
+      return(false);
+    }
+
+    return( scan(resume) );
+  }
+
+  /**
+   * Scans from <code>i</code> for a word.
+   */
+  private boolean scan(int i) {
+    boolean left = (dirn == ParseDirn.LEFT);
+    boolean hasLetter = false;
+    char ch;
+
+    length = 0;
+    idx = -1;
+    start = Integer.MAX_VALUE;
+    end = -1;
+    contiguous = true;
+    resume = -1;
+
+    while ( (i >= 0) && (i < buf.length) ) {
+      ch = buf[i];
+
+      if ( Character.isLetterOrDigit(ch) ) {
+        append(i);
+        idx = i;
+        hasLetter = true;
+      } else if ( Character.isWhitespace(ch) ) {
+        if ( hasLetter ) {
+          resume = left ? i-1 : i+1;
+          break;
+        }
+      } else {
+        // punctuation, check if the punctuation is part of the word
+        // and not a sentence end
+        if ( profile.isInnerPunctuation(ch) &&
+             (i-1 >= 0) && Character.isLetterOrDigit(buf[i-1]) ) {
+          if ( (ch != '.') || include_stop ) {
+            append(i);
+          }
+        }
+      }
+
+      i = left ? i-1 : i+1;
+    }
+
+    if ( !hasLetter ) {
+      length = 0;
+      return(false);
+    }
+
+    if ( left ) {
+      reverse();
+    }
+
+    if ( (end-start+1) != length ) {
+      contiguous = false;
+    }
+
+    return(true);
+  }
+
+  /**
+   * Appends the character at <code>i</code> to the current word.
+   */
+  private void append(int i) {
+    if ( length == chars.length ) {
+      char[] tmp = new char[length*2];
+      System.arraycopy(chars, 0, tmp, 0, length);
+      chars = tmp;
+    }
+
+    chars[length++] = buf[i];
+    if ( i < start ) {
+      start = i;
+    }
+    if ( i > end ) {
+      end = i;
+    }
+  }
+
+  /**
+   * Reverses the characters of the current word (found from right to left).
+   */
+  private void reverse() {
+    char tmp;
+
+    for ( int i = 0, j = length-1; i < j; i++, j-- ) {
+      tmp = chars[i];
+      chars[i] = chars[j];
+      chars[j] = tmp;
+    }
+  }
+
+  /**
+   * Returns the characters of the current word. The array is reused by
+   * the next scan and is longer than the word, see
+   * {@link WordCursor#length()}.
+   *
+   * @return    The characters of the current word.
+   */
+  public char[] chars() {
+    return(chars);
+  }
+
+  /**
+   * Returns the number of characters in the current word.
+   *
+   * @return    The length of the current word, <code>0</code> if there is
+   *            no current word.
+   */
+  public int length() {
+    return(length);
+  }
+
+  /**
+   * Returns the character at <code>i</code> in the current word.
+   *
+   * @param i   The index in the word.
+   * @return    The character.
+   */
+  public char charAt(int i) {
+    if ( (i < 0) || (i >= length) ) {
+      throw new IndexOutOfBoundsException("Invalid index=" + i);
+    }
+
+    return(chars[i]);
+  }
+
+  /**
+   * Returns the index of the current word, as per
+   * {@link Word.WordOp#idx()} (the first letter/digit when parsing left,
+   * the last letter/digit when parsing right).
+   *
+   * @return    The index in the buffer, <code>-1</code> if there is no
+   *            current word.
+   */
+  public int idx() {
+    return(idx);
+  }
+
+  /**
+   * Returns the lowest index in the buffer of a character in the
+   * current word.
+   *
+   * @return    The start of the current word in the buffer.
+   */
+  public int start() {
+    return(start);
+  }
+
+  /**
+   * Returns the index in the buffer after the last character in the
+   * current word.
+   *
+   * @return    The end of the current word in the buffer (exclusive).
+   */
+  public int end() {
+    return(end+1);
+  }
+
+  /**
+   * Determines if the current word is the range
+   * {@link WordCursor#start()} to {@link WordCursor#end()} of the buffer,
+   * i.e. no punctuation was skipped.
+   *
+   * @return    <code>true</code> if the current word is contiguous.
+   */
+  public boolean contiguous() {
+    return(contiguous);
+  }
+
+  /**
+   * Determines if the current word contains only ASCII characters.
+   *
+   * @return    <code>true</code> if all characters are ASCII.
+   */
+  public boolean isAscii() {
+    for ( int i = 0; i < length; i++ ) {
+      if ( chars[i] > 0x7f ) {
+        return(false);
+      }
+    }
+
+    return(true);
+  }
+
+  /**
+   * Converts the characters of the current word to lowercase
+   * (<code>Character.toLowerCase</code>), the buffer is unchanged.
+   */
+  public void toLowerCase() {
+    for ( int i = 0; i < length; i++ ) {
+      chars[i] = Character.toLowerCase(chars[i]);
+    }
+  }
+
+  /**
+   * Converts the first character of the current word to uppercase and
+   * the remaining characters to lowercase, the buffer is unchanged.
+   */
+  public void toTitleCase() {
+    if ( length == 0 ) {
+      return;
+    }
+
+    chars[0] = Character.toUpperCase(chars[0]);
+    for ( int i = 1; i < length; i++ ) {
+      chars[i] = Character.toLowerCase(chars[i]);
+    }
+  }
+
+  /**
+   * Returns the current word as a <code>String</code>, which allocates.
+   *
+   * @return    The current word, or an empty <code>String</code> if there
+   *            is no current word.
+   */
+  public String toString() {
+    return( new String(chars, 0, length) );
+  }
+}
@@ -0,0 +1,141 @@
+package com.orbious.extractor;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.util.Vector;
+
+/**
+ * A {@link SentenceSink} that writes each sentence on a line, as per
+ * {@link SplitterOp#sentence(boolean, boolean)}. The words are written
+ * directly from the {@link TextParser} buffer where possible, so no
+ * <code>String</code> is created per sentence.
+ *
+ * @author dave
+ * @version 1.0
+ * @since 6.0
+ */
+
+public class WriterSink implements SentenceSink {
+
+  /**
+   * The output.
+   */
+  private final Writer writer;
+
+  /**
+   * If <code>false</code>, the words are converted to lowercase.
+   */
+  private final boolean preserve_case;
+
+  /**
+   * If <code>false</code>, words that do not contain a letter or digit
+   * are removed.
+   */
+  private final boolean preserve_punct;
+
+  /**
+   * The number of sentences written.
+   */
+  private int sentence_ct;
+
+  /**
+   * Constructor, writes the sentences to <code>out</code> encoded as UTF-8
+   * (buffered).
+   *
+   * @param out             The output.
+   * @param preserveCase    If <code>false</code>, the words are converted
+   *                        to lowercase.
+   * @param preservePunct   If <code>false</code>, words that do not
+   *                        contain a letter or digit are removed.
+   */
+  public WriterSink(OutputStream out, boolean preserveCase,
+      boolean preservePunct) {
+    this(new BufferedWriter(new OutputStreamWriter(out,
+        Charset.forName("UTF-8")), 1 << 16),
+        preserveCase, preservePunct);
+  }
+
+  /**
+   * Constructor, writes the sentences to <code>writer</code>.
+   *
+   * @param writer          The output.
+   * @param preserveCase    If <code>false</code>, the words are converted
+   *                        to lowercase.
+   * @param preservePunct   If <code>false</code>, words that do not
+   *                        contain a letter or digit are removed.
+   */
+  public WriterSink(Writer writer, boolean preserveCase,
+      boolean preservePunct) {
+    this.writer = writer;
+    this.preserve_case = preserveCase;
+    this.preserve_punct = preservePunct;
+  }
+
+  public void sentence(SplitterOp op) throws IOException {
+    TokenSpans spans = op.spans();
+    Vector<String> words;
+    boolean first;
+
+    if ( (spans != null) && preserve_case ) {
+      first = true;
+      for ( int i = 0; i < spans.size(); i++ ) {
+        if ( !preserve_punct && !spans.is(i, TokenSpans.ALNUM) ) {
+          continue;
+        }
+
+        if ( !first ) {
+          writer.write(' ');
+        }
+        first = false;
+
+        if ( spans.contiguous(i) ) {
+          writer.write(spans.buffer(), spans.start(i), spans.length(i));
+        } else {
+          writer.write(spans.token(i));
+        }
+      }
+    } else {
+      words = op.words(preserve_case, preserve_punct);
+      for ( int i = 0; i < words.size(); i++ ) {
+        if ( i != 0 ) {
+          writer.write(' ');
+        }
+        writer.write(words.get(i));
+      }
+    }
+
+    writer.write('\n');
+    sentence_ct++;
+  }
+
+  /**
+   * Accessor for <code>sentence_ct</code>.
+   *
+   * @return    The number of sentences written.
+   */
+  public int sentenceCt() {
+    return(sentence_ct);
+  }
+
+  /**
+   * Flushes the output.
+   *
+   * @throws IOException
+   */
+  public void flush() throws IOException {
+    writer.flush();
+  }
+
+  /**
+   * Closes the output.
+   *
+   * @throws IOException
+   */
+  public void close() throws IOException {
+    writer.close();
+  }
+}
@@ -0,0 +1,115 @@
+package com.orbious.extractor.app;
+
+import gnu.getopt.Getopt;
+
+import java.io.File;
+import java.io.IOException;
+import com.orbious.extractor.AppConfig;
+import com.orbious.extractor.dictionary.Dictionary;
+import com.orbious.extractor.dictionary.DictionaryException;
+import com.orbious.extractor.dictionary.DictionaryRegistry;
+import com.orbious.extractor.dictionary.DictionarySnapshot;
+import com.orbious.util.config.Config;
+import com.orbious.util.config.ConfigException;
+
+/**
+ * Compiles dictionary resources into {@link DictionarySnapshot}'s, e.g. as
+ * a build or deployment step so the first run of a process opens the
+ * snapshots rather than parsing the resources.
+ *
+ * @author dave
+ * @version 1.0
+ * @since 6.0
+ */
+
+public class DictionaryCompiler {
+
+  private static void usage() {
+    System.out.println("usage: DictionaryCompiler [-h] [-d <snapshot-dir>] [-l] [<resource> ...]\n" +
+        "    -h                    Print this help message and exit.\n" +
+        "    -d <snapshot-dir>     The directory to write the snapshots to\n" +
+        "                          (defaults to dictionary_snapshot_dir).\n" +
+        "    -l                    Convert the words in the resources to lowercase.\n" +
+        "    <resource>            A dictionary resource (one word per line).\n" +
+        "    With no resources the names and suspensions dictionaries used by\n" +
+        "    the evaluators are compiled.\n");
+    System.exit(1);
+  }
+
+  public static void main(String[] args) {
+    String dir = null;
+    boolean lowercase = false;
+
+    try {
+      Config.setDefaults(AppConfig.class);
+    } catch ( ConfigException ce ) {
+      System.err.println("error setting defaults using AppConfig.class?");
+      ce.printStackTrace();
+      return;
+    }
+
+    Getopt opts = new Getopt("DictionaryCompiler", args, "hd:l");
+    int c;
+    while ( (c = opts.getopt()) != -1 ) {
+      switch ( c ) {
+        case 'h':
+          usage();
+          break;
+        case 'd':
+          dir = opts.getOptarg();
+          break;
+        case 'l':
+          lowercase = true;
+          break;
+      }
+    }
+
+    if ( dir == null ) {
+      dir = Config.getString(AppConfig.dictionary_snapshot_dir);
+    }
+
+    if ( (dir == null) || (dir.length() == 0) ) {
+      System.err.println("you must specify a snapshot directory?");
+      usage();
+    }
+
+    boolean ok = true;
+    if ( opts.getOptind() == args.length ) {
+      ok &= compile(Config.getString(AppConfig.names_filename), false, new File(dir));
+      ok &= compile(Config.getString(AppConfig.suspension_filename), true, new File(dir));
+    } else {
+      for ( int i = opts.getOptind(); i < args.length; i++ ) {
+        ok &= compile(args[i], lowercase, new File(dir));
+      }
+    }
+
+    if ( !ok ) System.exit(1);
+  }
+
+  /**
+   * Compiles the resource <code>path</code> into a snapshot in
+   * <code>dir</code>.
+   *
+   * @return  <code>true</code> if the snapshot was written.
+   */
+  private static boolean compile(String path, boolean lowercase, File dir) {
+    File file = DictionarySnapshot.file(dir, path, lowercase);
+    Dictionary dict;
+
+    try {
+      // always parse the resource, the source of truth
+      dict = DictionaryRegistry.reload(path, lowercase);
+      DictionarySnapshot.write(dict, file);
+    } catch ( DictionaryException de ) {
+      System.err.println("error loading " + path + " (" + de.getMessage() + ")?");
+      return false;
+    } catch ( IOException ioe ) {
+      System.err.println("error writing " + file + " (" + ioe.getMessage() + ")?");
+      return false;
+    }
+
+    System.out.println("compiled " + path + " to " + file + " (" + dict.size() +
+        " words, " + file.length() + " bytes)");
+    return true;
+  }
+}
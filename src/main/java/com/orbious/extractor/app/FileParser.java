@@ -2,39 +2,69 @@ package com.orbious.extractor.app;
 
 import gnu.getopt.Getopt;
 
-import java.io.BufferedWriter;
+import java.io.BufferedReader;
 import java.io.File;
 import java.io.FileNotFoundException;
-import java.io.FileWriter;
+import java.io.FileOutputStream;
+import java.io.FileReader;
 import java.io.IOException;
+import java.util.Arrays;
 import java.util.Vector;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.regex.Pattern;
 import org.apache.log4j.Logger;
 import com.orbious.extractor.AppConfig;
+import com.orbious.extractor.ExtractorProfile;
 import com.orbious.extractor.ParserException;
 import com.orbious.extractor.TextParser;
+import com.orbious.extractor.WriterSink;
 import com.orbious.util.Loggers;
 import com.orbious.util.config.Config;
 import com.orbious.util.config.ConfigException;
 
 public class FileParser {
-  private static Logger logger = null;
+  private static Logger logger = Loggers.logger();
+
+  /**
+   * The files processed in batch mode when a directory is given
+   * (as per <code>run.sh</code>).
+   */
+  private static final Pattern batch_pattern = Pattern.compile("[0-9]+\\.txt$");
+
+  /**
+   * The suffix appended to an input path for the batch mode output.
+   */
+  private static final String clean_suffix = ".clean";
 
   private static void usage() {
     System.out.println("usage: FileParser [-h] [-p] [-a] -i <input-txt-file> -o <output-txt-file>\n" +
-        "    -h                    Print this help message and exit.\n" + 
+        "       FileParser [-h] [-p] [-a] [-t <threads>] -d <directory>|-l <list-file>\n" +
+        "    -h                    Print this help message and exit.\n" +
         "    -p                    Dont preserve punctuation.\n" +
-        "    -a                    Dont preserve case.\n" + 
+        "    -a                    Dont preserve case.\n" +
         "    -i <input-txt-file>   The input file (plain text).\n" +
-        "    -o <output-txt-file>  The output text file containining one sentence per line.\n");
+        "    -o <output-txt-file>  The output text file containining one sentence per line.\n" +
+        "    -d <directory>        Parse every <n>.txt file under the directory to <n>.txt.clean.\n" +
+        "    -l <list-file>        Parse every file listed (one per line) to <file>.clean.\n" +
+        "    -t <threads>          The number of worker threads in batch mode\n" +
+        "                          (defaults to the number of processors).\n" +
+        "    In batch mode files with an existing .clean output are skipped.\n");
     System.exit(1);
   }
 
   public static void main(String[] args) {
     File inputfile = null;
     File outputfile = null;
+    File inputdir = null;
+    File listfile = null;
+    int threadCt = Runtime.getRuntime().availableProcessors();
     boolean preserveCase = true;
     boolean preservePunct = true;
-    
+
     try {
       Config.setDefaults(AppConfig.class);
     } catch ( ConfigException ce ) {
@@ -43,14 +73,13 @@ public class FileParser {
       return;
     }
 
-    logger = Loggers.logger();
-    
-    Getopt opts = new Getopt("Sentences", args, "hpai:o:");
+    Getopt opts = new Getopt("Sentences", args, "hpai:o:d:l:t:");
     int c;
     while ( (c = opts.getopt()) != -1 ) {
       switch ( c ) {
         case 'h':
           usage();
+          break;
         case 'p':
           preserveCase = false;
           break;
@@ -63,9 +92,42 @@ public class FileParser {
         case 'o':
           outputfile = new File(opts.getOptarg());
           break;
+        case 'd':
+          inputdir = new File(opts.getOptarg());
+          break;
+        case 'l':
+          listfile = new File(opts.getOptarg());
+          break;
+        case 't':
+          try {
+            threadCt = Integer.parseInt(opts.getOptarg());
+          } catch ( NumberFormatException nfe ) {
+            threadCt = -1;
+          }
+
+          if ( threadCt <= 0 ) {
+            System.err.println("the number of threads must be a positive integer?");
+            usage();
+          }
+          break;
       }
     }
 
+    if ( (inputdir != null) || (listfile != null) ) {
+      Vector<File> inputs;
+
+      try {
+        inputs = batchInputs(inputdir, listfile);
+      } catch ( IOException ioe ) {
+        System.err.println("error reading the batch input (" + ioe.getMessage() + ")?");
+        usage();
+        return;
+      }
+
+      if ( !batch(inputs, threadCt, preserveCase, preservePunct) ) System.exit(1);
+      return;
+    }
+
     if ( inputfile == null ) {
       System.err.println("you mst specify an input txt path?");
       usage();
@@ -73,55 +135,261 @@ public class FileParser {
       System.err.println("you must specify an output txt path?");
       usage();
     }
-    
+
     if ( !inputfile.exists() ) {
       System.err.println("the input txt path (" + inputfile + ") does not exist?");
       usage();
     }
-    
-    Vector<String> sentences = parse(inputfile, preserveCase, preservePunct);
-    if ( sentences == null ) System.exit(1);
-    
-    try {
-      write(outputfile, sentences);
-    } catch ( IOException ioe ) {
-      logger.fatal("error writing setences to " +outputfile, ioe);
-    }
+
+    if ( !parse(inputfile, outputfile, preserveCase, preservePunct) ) System.exit(1);
   }
-  
-  private static Vector<String> parse(File file, boolean preserveCase, boolean preservePunct) {
-    TextParser parser = new TextParser(file.toString());   
-    
+
+  /**
+   * Parses <code>file</code>, writing each sentence to <code>outputfile</code>
+   * as it is extracted.
+   *
+   * @return  <code>true</code> if the file was parsed and written.
+   */
+  private static boolean parse(File file, File outputfile, boolean preserveCase,
+      boolean preservePunct) {
+    TextParser parser = new TextParser(file.toString());
+
     try {
       parser.parse();
-    } catch ( ParserException pe ) { 
+    } catch ( ParserException pe ) {
       logger.fatal("failed to load config for parser?", pe);
-      return null;
+      return false;
     } catch ( FileNotFoundException fnfe ) {
       logger.fatal("failed to parse " + file, fnfe);
-      return null;
+      return false;
     } catch ( IOException ioe ) {
       logger.fatal("ioerror parsing " + file, ioe);
-      return null;
+      return false;
     }
-    
+
     try {
-      parser.genSentences();
+      write(parser, outputfile, preserveCase, preservePunct);
     } catch ( ParserException pe ) {
       logger.fatal("error parsing " + file, pe);
-      return null;
+      return false;
+    } catch ( IOException ioe ) {
+      logger.fatal("error writing setences to " + outputfile, ioe);
+      return false;
+    }
+
+    return true;
+  }
+
+  /**
+   * Extracts the sentences from <code>parser</code>, writing each to
+   * <code>file</code> (UTF-8, one per line) as it is extracted. The
+   * sentences are written to a temporary file in the same directory that
+   * is only renamed to <code>file</code> once every sentence is written,
+   * so a failure never leaves a partial <code>file</code> (which batch mode
+   * would then skip as already processed).
+   *
+   * @return  The number of sentences written.
+   */
+  private static int write(TextParser parser, File file, boolean preserveCase,
+      boolean preservePunct) throws IOException, ParserException {
+    File tmp = File.createTempFile(file.getName() + ".", ".tmp",
+        file.getAbsoluteFile().getParentFile());
+    boolean written = false;
+    int ct;
+
+    try {
+      WriterSink sink = new WriterSink(new FileOutputStream(tmp), preserveCase,
+          preservePunct);
+
+      try {
+        ct = parser.genSentences(sink);
+      } finally {
+        sink.close();
+      }
+
+      // renameTo does not replace an existing file on every platform
+      if ( !tmp.renameTo(file) && (!file.delete() || !tmp.renameTo(file)) ) {
+        throw new IOException("failed to rename " + tmp + " to " + file);
+      }
+      written = true;
+    } finally {
+      if ( !written ) tmp.delete();
+    }
+
+    return ct;
+  }
+
+  /**
+   * Collects the batch mode inputs, either every <code>[0-9]+.txt</code> file
+   * under <code>dir</code> or every path listed in <code>list</code>.
+   * Inputs that already have a <code>.clean</code> output are skipped.
+   */
+  static Vector<File> batchInputs(File dir, File list) throws IOException {
+    Vector<File> candidates = new Vector<File>();
+    Vector<File> inputs = new Vector<File>();
+
+    if ( dir != null ) {
+      if ( !dir.isDirectory() ) {
+        throw new IOException("the input directory (" + dir + ") does not exist");
+      }
+      collect(dir, candidates);
+    }
+
+    if ( list != null ) {
+      BufferedReader br = new BufferedReader(new FileReader(list));
+      String line;
+
+      try {
+        while ( (line = br.readLine()) != null ) {
+          line = line.trim();
+          if ( line.length() != 0 ) candidates.add(new File(line));
+        }
+      } finally {
+        br.close();
+      }
+    }
+
+    for ( int i = 0; i < candidates.size(); i++ ) {
+      File file = candidates.get(i);
+      File dst = new File(file.getPath() + clean_suffix);
+
+      if ( !file.isFile() ) {
+        System.err.println("skipping missing " + file + "..");
+      } else if ( dst.exists() ) {
+        System.out.println("skipping already processed " + dst + "..");
+      } else {
+        inputs.add(file);
+      }
+    }
+
+    return inputs;
+  }
+
+  /**
+   * Recursively adds the files under <code>dir</code> matching
+   * {@link FileParser#batch_pattern} to <code>files</code>.
+   */
+  private static void collect(File dir, Vector<File> files) {
+    File[] entries = dir.listFiles();
+    if ( entries == null ) return;
+
+    Arrays.sort(entries);
+    for ( int i = 0; i < entries.length; i++ ) {
+      if ( entries[i].isDirectory() ) {
+        collect(entries[i], files);
+      } else if ( batch_pattern.matcher(entries[i].getName()).find() ) {
+        files.add(entries[i]);
+      }
+    }
+  }
+
+  /**
+   * Parses each of the <code>inputs</code> to <code>&lt;input&gt;.clean</code>
+   * on a pool of <code>threadCt</code> workers sharing one
+   * <code>ExtractorProfile</code>, reporting the throughput per file and
+   * in aggregate.
+   *
+   * @return  <code>true</code> if every input was parsed.
+   */
+  static boolean batch(Vector<File> inputs, int threadCt,
+      final boolean preserveCase, final boolean preservePunct) {
+    final ExtractorProfile profile = ExtractorProfile.current();
+    ExecutorService executor = Executors.newFixedThreadPool(threadCt);
+    Vector<Future<BatchResult>> futures = new Vector<Future<BatchResult>>();
+    long charCt = 0;
+    long sentenceCt = 0;
+    int failedCt = 0;
+    long start = System.nanoTime();
+
+    System.out.println("parsing " + inputs.size() + " files using " + threadCt + " threads..");
+
+    for ( int i = 0; i < inputs.size(); i++ ) {
+      final File file = inputs.get(i);
+      futures.add(executor.submit(new Callable<BatchResult>() {
+        public BatchResult call() throws Exception {
+          return parse(file, profile, preserveCase, preservePunct);
+        }
+      }));
+    }
+    executor.shutdown();
+
+    for ( int i = 0; i < futures.size(); i++ ) {
+      BatchResult result;
+
+      try {
+        result = futures.get(i).get();
+      } catch ( InterruptedException ie ) {
+        Thread.currentThread().interrupt();
+        executor.shutdownNow();
+        return false;
+      } catch ( ExecutionException ee ) {
+        logger.fatal("error parsing " + inputs.get(i), ee.getCause());
+        failedCt++;
+        continue;
+      }
+
+      charCt += result.char_ct;
+      sentenceCt += result.sentence_ct;
+      System.out.println(result.report(inputs.get(i).toString()));
     }
-    
-    return parser.sentencesAsStr(preserveCase, preservePunct);
+
+    double secs = (System.nanoTime() - start) / 1e9;
+    System.out.println(String.format("parsed %d files (%d failed), %d chars, " +
+        "%d sentences in %.2fs, %.0f chars/sec, %.0f sentences/sec",
+        futures.size() - failedCt, failedCt, charCt, sentenceCt, secs,
+        charCt / secs, sentenceCt / secs));
+
+    return (failedCt == 0);
   }
 
-  private static void write(File file, Vector<String> sentences) throws IOException {
-    BufferedWriter bw =  new BufferedWriter(new FileWriter(file));
-    for ( int i = 0; i < sentences.size(); i++ ) 
-      bw.write( sentences.get(i) + "\n" );
-    
-    bw.close();
+  /**
+   * Parses <code>file</code> to <code>&lt;file&gt;.clean</code> using
+   * <code>profile</code>.
+   */
+  private static BatchResult parse(File file, ExtractorProfile profile,
+      boolean preserveCase, boolean preservePunct)
+    throws IOException, ParserException {
+    long start = System.nanoTime();
+    TextParser parser = new TextParser(file.toString(), profile);
+
+    parser.parse();
+    int sentenceCt = write(parser, new File(file.getPath() + clean_suffix),
+        preserveCase, preservePunct);
+
+    return new BatchResult(parser.charCt(), sentenceCt, System.nanoTime() - start);
   }
-  
 
+  /**
+   * The throughput of a single file parsed in batch mode.
+   */
+  private static class BatchResult {
+
+    /**
+     * The number of characters parsed.
+     */
+    private final int char_ct;
+
+    /**
+     * The number of sentences extracted.
+     */
+    private final int sentence_ct;
+
+    /**
+     * The time taken to parse and write the file.
+     */
+    private final long nanos;
+
+    private BatchResult(int charCt, int sentenceCt, long nanos) {
+      this.char_ct = charCt;
+      this.sentence_ct = sentenceCt;
+      this.nanos = nanos;
+    }
+
+    private String report(String fname) {
+      double secs = Math.max(nanos, 1) / 1e9;
+      return String.format("parsed %s, %d chars, %d sentences in %.2fs, " +
+          "%.0f chars/sec, %.0f sentences/sec",
+          fname, char_ct, sentence_ct, secs, char_ct / secs, sentence_ct / secs);
+    }
+  }
 }
@@ -0,0 +1,534 @@
+package com.orbious.extractor.dictionary;
+
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * An immutable, in memory word list loaded from a text resource
+ * (e.g. {@link com.orbious.extractor.AppConfig#names_filename}).
+ * <code>Dictionary</code>'s are created and shared by the
+ * {@link DictionaryRegistry}, evaluators only borrow them.
+ * <p>
+ * The words are packed end to end into a single array (rather than a
+ * <code>String</code> per word), a <code>byte[]</code> if every character
+ * is Latin-1 (as for the bundled resources) or otherwise a
+ * <code>char[]</code>, and indexed by an open
+ * addressed table of word numbers, hashed on the characters folded to a
+ * single case. So a word can be looked up from a slice of a
+ * <code>char[]</code> without creating a <code>String</code>, either
+ * exactly (see {@link Dictionary#contains(char[], int, int)}) or ignoring
+ * case (see {@link Dictionary#containsIgnoreCase(char[], int, int)}).
+ *
+ * @author dave
+ * @version 1.0
+ * @since 6.0
+ */
+
+public class Dictionary {
+
+  /**
+   * The resource path the words were loaded from.
+   */
+  private final String path;
+
+  /**
+   * Whether the words were converted to lowercase during loading.
+   */
+  private final boolean lowercase;
+
+  /**
+   * The CRC32 of the resource contents.
+   */
+  private final long checksum;
+
+  /**
+   * The characters of all the words, end to end, if every character is
+   * Latin-1, otherwise <code>null</code>.
+   */
+  private final byte[] latin1;
+
+  /**
+   * The characters of all the words, end to end, if any character is not
+   * Latin-1, otherwise <code>null</code>.
+   */
+  private final char[] data;
+
+  /**
+   * The index in <code>data</code> of the first character of each word,
+   * plus a final entry for the end of the last word.
+   */
+  private final int[] offsets;
+
+  /**
+   * The words, in an open addressed table with linear probing. Each slot
+   * holds the word number plus one (<code>0</code> is an empty slot). The
+   * length is a power of 2 and at least 4/3 of the number of words.
+   */
+  private final int[] table;
+
+  /**
+   * The number of words.
+   */
+  private final int size;
+
+  /**
+   * The time taken to read and hash the resource (in nanoseconds).
+   */
+  private final long load_nanos;
+
+  /**
+   * Whether the words were read from a {@link DictionarySnapshot}.
+   */
+  private final boolean snapshot;
+
+  /**
+   * The words compiled into a <code>WordAutomaton</code> (in reading
+   * order and reversed), <code>null</code> until required.
+   */
+  private WordAutomaton[] automata;
+
+  /**
+   * Constructor, initializes the <code>Dictionary</code>.
+   *
+   * @param path    The resource path the words were loaded from.
+   * @param lowercase   Whether the words were converted to lowercase.
+   * @param checksum    The CRC32 of the resource contents.
+   * @param words   The words (copied into the table).
+   * @param loadNanos   The time taken to load the resource.
+   */
+  Dictionary(String path, boolean lowercase, long checksum,
+      HashSet<String> words, long loadNanos) {
+    this.path = path;
+    this.lowercase = lowercase;
+    this.checksum = checksum;
+    this.load_nanos = loadNanos;
+    this.snapshot = false;
+
+    int capacity = 16;
+    while ( 3*capacity < 4*words.size() ) {
+      capacity <<= 1;
+    }
+
+    Iterator<String> it;
+    String word;
+    boolean narrow;
+    int len;
+    int slot;
+    int n;
+
+    len = 0;
+    narrow = true;
+    it = words.iterator();
+    while ( it.hasNext() ) {
+      word = it.next();
+      len += word.length();
+      for ( int i = 0; narrow && (i < word.length()); i++ ) {
+        narrow = (word.charAt(i) <= 0xff);
+      }
+    }
+
+    latin1 = narrow ? new byte[len] : null;
+    data = narrow ? null : new char[len];
+    offsets = new int[words.size()+1];
+    table = new int[capacity];
+    size = words.size();
+
+    n = 0;
+    it = words.iterator();
+    while ( it.hasNext() ) {
+      word = it.next();
+      len = word.length();
+      for ( int i = 0; i < len; i++ ) {
+        if ( narrow ) {
+          latin1[offsets[n]+i] = (byte)word.charAt(i);
+        } else {
+          data[offsets[n]+i] = word.charAt(i);
+        }
+      }
+      offsets[n+1] = offsets[n]+len;
+
+      slot = spread(foldedHash(word)) & (capacity-1);
+      while ( table[slot] != 0 ) {
+        slot = (slot+1) & (capacity-1);
+      }
+      table[slot] = ++n;
+    }
+  }
+
+  /**
+   * Constructor, initializes the <code>Dictionary</code> from the packed
+   * words and table read from a {@link DictionarySnapshot}.
+   *
+   * @param path    The resource path the words were loaded from.
+   * @param lowercase   Whether the words were converted to lowercase.
+   * @param checksum    The CRC32 of the resource contents.
+   * @param latin1  The packed words if every character is Latin-1,
+   *                otherwise <code>null</code>.
+   * @param data    The packed words if <code>latin1</code> is
+   *                <code>null</code>.
+   * @param offsets The index of the first character of each word.
+   * @param table   The open addressed table.
+   * @param loadNanos   The time taken to read the snapshot.
+   */
+  Dictionary(String path, boolean lowercase, long checksum, byte[] latin1,
+      char[] data, int[] offsets, int[] table, long loadNanos) {
+    this.path = path;
+    this.lowercase = lowercase;
+    this.checksum = checksum;
+    this.latin1 = latin1;
+    this.data = data;
+    this.offsets = offsets;
+    this.table = table;
+    this.size = offsets.length-1;
+    this.load_nanos = loadNanos;
+    this.snapshot = true;
+  }
+
+  /**
+   * Determines if <code>word</code> is in this <code>Dictionary</code>.
+   *
+   * @param word    The word to lookup.
+   *
+   * @return    <code>true</code> if <code>word</code> is in this
+   *            <code>Dictionary</code>, <code>false</code> otherwise.
+   */
+  public boolean contains(String word) {
+    int mask = table.length-1;
+    int slot;
+    int w;
+
+    slot = spread(foldedHash(word)) & mask;
+    while ( (w = table[slot]) != 0 ) {
+      if ( equals(w-1, word) ) {
+        return(true);
+      }
+      slot = (slot+1) & mask;
+    }
+
+    return(false);
+  }
+
+  /**
+   * Determines if the characters <code>buf[off]</code> to
+   * <code>buf[off+len-1]</code> are a word in this <code>Dictionary</code>,
+   * without creating a <code>String</code>.
+   *
+   * @param buf   The characters.
+   * @param off   The index of the first character of the word.
+   * @param len   The number of characters in the word.
+   *
+   * @return    <code>true</code> if the word is in this
+   *            <code>Dictionary</code>, <code>false</code> otherwise.
+   */
+  public boolean contains(char[] buf, int off, int len) {
+    return( find(buf, off, len, false) );
+  }
+
+  /**
+   * As per {@link Dictionary#contains(char[], int, int)}, but ignoring
+   * case, i.e. each character is compared as per
+   * <code>String.equalsIgnoreCase</code> (see
+   * {@link Dictionary#fold(char)}).
+   *
+   * @param buf   The characters.
+   * @param off   The index of the first character of the word.
+   * @param len   The number of characters in the word.
+   *
+   * @return    <code>true</code> if the word is in this
+   *            <code>Dictionary</code> (ignoring case), <code>false</code>
+   *            otherwise.
+   */
+  public boolean containsIgnoreCase(char[] buf, int off, int len) {
+    return( find(buf, off, len, true) );
+  }
+
+  /**
+   * Looks up a slice of <code>buf</code>, optionally ignoring case.
+   */
+  private boolean find(char[] buf, int off, int len, boolean ignoreCase) {
+    int mask = table.length-1;
+    int slot;
+    int w;
+
+    slot = spread(foldedHash(buf, off, len)) & mask;
+    while ( (w = table[slot]) != 0 ) {
+      if ( equals(w-1, buf, off, len, ignoreCase) ) {
+        return(true);
+      }
+      slot = (slot+1) & mask;
+    }
+
+    return(false);
+  }
+
+  /**
+   * Returns the character used for comparisons that ignore case, i.e.
+   * <code>Character.toLowerCase(Character.toUpperCase(ch))</code> as per
+   * <code>String.equalsIgnoreCase</code>, with a shortcut for ASCII.
+   *
+   * @param ch    The character.
+   *
+   * @return    The folded character.
+   */
+  public static char fold(char ch) {
+    if ( ch < 0x80 ) {
+      return( ((ch >= 'A') && (ch <= 'Z')) ? (char)(ch + ('a'-'A')) : ch );
+    }
+
+    return( Character.toLowerCase(Character.toUpperCase(ch)) );
+  }
+
+  /**
+   * Returns the hash of a slice of <code>buf</code> folded to a single
+   * case, so words that differ only by case share a chain in the table.
+   */
+  private static int foldedHash(char[] buf, int off, int len) {
+    int hash = 0;
+
+    for ( int i = 0; i < len; i++ ) {
+      hash = 31*hash + fold(buf[off+i]);
+    }
+
+    return(hash);
+  }
+
+  /**
+   * Returns the hash of <code>str</code> folded to a single case.
+   */
+  private static int foldedHash(String str) {
+    int len = str.length();
+    int hash = 0;
+
+    for ( int i = 0; i < len; i++ ) {
+      hash = 31*hash + fold(str.charAt(i));
+    }
+
+    return(hash);
+  }
+
+  /**
+   * Returns the character at <code>pos</code> in the packed words.
+   */
+  private char charAt(int pos) {
+    return( (latin1 != null) ? (char)(latin1[pos] & 0xff) : data[pos] );
+  }
+
+  /**
+   * Mixes the high bits of <code>hash</code> into the low bits used to
+   * index the table.
+   */
+  private static int spread(int hash) {
+    return( hash ^ (hash >>> 16) );
+  }
+
+  /**
+   * Compares word <code>w</code> with <code>str</code>.
+   */
+  private boolean equals(int w, String str) {
+    int off = offsets[w];
+    int len = offsets[w+1]-off;
+
+    if ( str.length() != len ) {
+      return(false);
+    }
+
+    for ( int i = 0; i < len; i++ ) {
+      if ( charAt(off+i) != str.charAt(i) ) {
+        return(false);
+      }
+    }
+
+    return(true);
+  }
+
+  /**
+   * Compares word <code>w</code> with a slice of <code>buf</code>.
+   */
+  private boolean equals(int w, char[] buf, int off, int len,
+      boolean ignoreCase) {
+    int start = offsets[w];
+    char c1;
+    char c2;
+
+    if ( (offsets[w+1]-start) != len ) {
+      return(false);
+    }
+
+    for ( int i = 0; i < len; i++ ) {
+      c1 = charAt(start+i);
+      c2 = buf[off+i];
+      if ( (c1 != c2) && (!ignoreCase || (fold(c1) != fold(c2))) ) {
+        return(false);
+      }
+    }
+
+    return(true);
+  }
+
+  /**
+   * Returns an <code>Iterator</code> over the words in this
+   * <code>Dictionary</code>, in no particular order. Each word is
+   * copied into a new <code>String</code>.
+   *
+   * @return    An <code>Iterator</code> over the words.
+   */
+  public Iterator<String> iterator() {
+    return( new Iterator<String>() {
+      private int w = 0;
+
+      public boolean hasNext() {
+        return( w < size );
+      }
+
+      public String next() {
+        if ( w >= size ) {
+          throw new NoSuchElementException();
+        }
+
+        StringBuilder sb = new StringBuilder(offsets[w+1]-offsets[w]);
+        for ( int i = offsets[w]; i < offsets[w+1]; i++ ) {
+          sb.append(charAt(i));
+        }
+        w++;
+        return( sb.toString() );
+      }
+
+      public void remove() {
+        throw new UnsupportedOperationException();
+      }
+    } );
+  }
+
+  /**
+   * Returns the words in this <code>Dictionary</code> compiled into a
+   * <code>WordAutomaton</code>, which is compiled on first use and then
+   * shared.
+   *
+   * @param reverse   Match the words from their last character.
+   *
+   * @return    The <code>WordAutomaton</code>.
+   */
+  public synchronized WordAutomaton automaton(boolean reverse) {
+    int i = reverse ? 1 : 0;
+
+    if ( automata == null ) {
+      automata = new WordAutomaton[2];
+    }
+
+    if ( automata[i] == null ) {
+      automata[i] = WordAutomaton.compile(this, reverse);
+    }
+
+    return(automata[i]);
+  }
+
+  /**
+   * Returns the number of words in this <code>Dictionary</code>.
+   *
+   * @return    The number of words.
+   */
+  public int size() {
+    return(size);
+  }
+
+  /**
+   * Returns an estimate of the heap retained by this
+   * <code>Dictionary</code>'s words and table (the array contents, i.e.
+   * excluding object headers).
+   *
+   * @return    The estimated size in bytes.
+   */
+  public long footprint() {
+    long chars = (latin1 != null) ? latin1.length : 2L*data.length;
+
+    return( chars + 4L*offsets.length + 4L*table.length );
+  }
+
+  /**
+   * Accessor for the packed words (for {@link DictionarySnapshot}).
+   */
+  byte[] latin1() {
+    return(latin1);
+  }
+
+  /**
+   * Accessor for the packed words (for {@link DictionarySnapshot}).
+   */
+  char[] data() {
+    return(data);
+  }
+
+  /**
+   * Accessor for the word offsets (for {@link DictionarySnapshot}).
+   */
+  int[] offsets() {
+    return(offsets);
+  }
+
+  /**
+   * Accessor for the open addressed table (for {@link DictionarySnapshot}).
+   */
+  int[] table() {
+    return(table);
+  }
+
+  /**
+   * Accessor for <code>path</code>.
+   *
+   * @return    The resource path.
+   */
+  public String path() {
+    return(path);
+  }
+
+  /**
+   * Accessor for <code>lowercase</code>.
+   *
+   * @return    <code>true</code> if the words were converted to lowercase.
+   */
+  public boolean lowercase() {
+    return(lowercase);
+  }
+
+  /**
+   * Accessor for <code>checksum</code>.
+   *
+   * @return    The CRC32 of the resource contents.
+   */
+  public long checksum() {
+    return(checksum);
+  }
+
+  /**
+   * Determines if the words were read from a {@link DictionarySnapshot}
+   * rather than the text resource.
+   *
+   * @return    <code>true</code> if the words were read from a snapshot.
+   */
+  public boolean snapshot() {
+    return(snapshot);
+  }
+
+  /**
+   * Returns the time taken to read and hash the resource (or read the
+   * snapshot).
+   *
+   * @return    The load time in milliseconds.
+   */
+  public double loadMillis() {
+    return( load_nanos/1000000.0 );
+  }
+
+  /**
+   * Returns a debug string for this <code>Dictionary</code>.
+   *
+   * @return    A debug string.
+   */
+  public String debugStr() {
+    return("Path=" + path + " Lowercase=" + lowercase +
+        " Checksum=" + Long.toHexString(checksum) + " Size=" + size +
+        " Footprint=" + footprint() + " Snapshot=" + snapshot +
+        " LoadMillis=" + String.format("%.2f", loadMillis()));
+  }
+}
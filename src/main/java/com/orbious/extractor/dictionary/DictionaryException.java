@@ -0,0 +1,23 @@
+package com.orbious.extractor.dictionary;
+
+/**
+ * A <code>DictionaryException</code> occurs when a dictionary resource
+ * cannot be found or loaded.
+ *
+ * @author dave
+ * @version 1.0
+ * @since 6.0
+ */
+
+public class DictionaryException extends Exception {
+
+  private static final long serialVersionUID = 1L;
+
+  public DictionaryException(String msg) {
+    super(msg);
+  }
+
+  public DictionaryException(String msg, Throwable cause) {
+    super(msg, cause);
+  }
+}
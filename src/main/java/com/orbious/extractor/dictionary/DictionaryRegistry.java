@@ -0,0 +1,369 @@
+package com.orbious.extractor.dictionary;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.zip.CRC32;
+import org.apache.log4j.Logger;
+import com.orbious.util.HashSets;
+import com.orbious.util.Loggers;
+import com.orbious.util.Resources;
+
+/**
+ * A process wide registry of immutable {@link Dictionary}'s. A dictionary
+ * resource is read and hashed once per process, after which every
+ * <code>Evaluator</code> that asks for the same resource path borrows the
+ * same <code>Dictionary</code>. Dictionaries are keyed by resource path
+ * and by the CRC32 of their contents, so two paths with identical
+ * contents also share a single <code>Dictionary</code>.
+ * <p>
+ * A resource is only re-read when a new path is requested (e.g.
+ * {@link com.orbious.extractor.AppConfig#names_filename} has changed) or
+ * when {@link DictionaryRegistry#reload(String, boolean)} is called.
+ * <p>
+ * Given a snapshot directory (see
+ * {@link com.orbious.extractor.AppConfig#dictionary_snapshot_dir}) the
+ * words are read from a {@link DictionarySnapshot} compiled from the
+ * same contents if there is one, otherwise the resource is parsed and the
+ * snapshot written for the next process. The resource is still read to
+ * validate the snapshot, but is not parsed or hashed.
+ *
+ * @author dave
+ * @version 1.0
+ * @since 6.0
+ */
+
+public class DictionaryRegistry {
+
+  /**
+   * Dictionaries keyed by resource path.
+   */
+  private static HashMap<String, Dictionary> by_path =
+    new HashMap<String, Dictionary>();
+
+  /**
+   * Dictionaries keyed by content checksum.
+   */
+  private static HashMap<String, Dictionary> by_content =
+    new HashMap<String, Dictionary>();
+
+  /**
+   * The number of resources read from disk.
+   */
+  private static int load_ct = 0;
+
+  /**
+   * The number of requests satisfied without reading from disk.
+   */
+  private static int hit_ct = 0;
+
+  /**
+   * The number of dictionaries read from a snapshot.
+   */
+  private static int snapshot_ct = 0;
+
+  /**
+   * The total time spent reading resources (in nanoseconds).
+   */
+  private static long load_nanos = 0;
+
+  /**
+   * Logger object.
+   */
+  private static final Logger logger = Loggers.logger();
+
+  /**
+   * Private constructor.
+   */
+  private DictionaryRegistry() { }
+
+  /**
+   * Returns the <code>Dictionary</code> for the resource <code>path</code>,
+   * loading it if it has not been requested before.
+   *
+   * @param path    The resource path (one word per line, lines beginning
+   *                with "#" are ignored).
+   * @param lowercase   Convert the words to lowercase during loading.
+   *
+   * @return    The shared <code>Dictionary</code>.
+   *
+   * @throws DictionaryException    If the resource cannot be found, read
+   *                                or contains no words.
+   */
+  public static synchronized Dictionary get(String path, boolean lowercase)
+      throws DictionaryException {
+    return( get(path, lowercase, null) );
+  }
+
+  /**
+   * As per {@link DictionaryRegistry#get(String, boolean)}, using the
+   * snapshots in <code>snapshotDir</code> when the resource is loaded.
+   *
+   * @param path    The resource path.
+   * @param lowercase   Convert the words to lowercase during loading.
+   * @param snapshotDir The snapshot directory, or <code>null</code> to
+   *                    always parse the resource.
+   *
+   * @return    The shared <code>Dictionary</code>.
+   *
+   * @throws DictionaryException    If the resource cannot be found, read
+   *                                or contains no words.
+   */
+  public static synchronized Dictionary get(String path, boolean lowercase,
+      File snapshotDir) throws DictionaryException {
+    Dictionary dict;
+
+    dict = by_path.get(pathKey(path, lowercase));
+    if ( dict != null ) {
+      hit_ct++;
+      return(dict);
+    }
+
+    return( load(path, lowercase, snapshotDir) );
+  }
+
+  /**
+   * Re-reads the resource <code>path</code>. If the contents have not changed
+   * the existing <code>Dictionary</code> is returned.
+   *
+   * @param path    The resource path.
+   * @param lowercase   Convert the words to lowercase during loading.
+   *
+   * @return    The shared <code>Dictionary</code>.
+   *
+   * @throws DictionaryException    If the resource cannot be found, read
+   *                                or contains no words.
+   */
+  public static synchronized Dictionary reload(String path, boolean lowercase)
+      throws DictionaryException {
+    return( load(path, lowercase, null) );
+  }
+
+  /**
+   * As per {@link DictionaryRegistry#reload(String, boolean)}, using the
+   * snapshots in <code>snapshotDir</code>.
+   *
+   * @param path    The resource path.
+   * @param lowercase   Convert the words to lowercase during loading.
+   * @param snapshotDir The snapshot directory, or <code>null</code> to
+   *                    always parse the resource.
+   *
+   * @return    The shared <code>Dictionary</code>.
+   *
+   * @throws DictionaryException    If the resource cannot be found, read
+   *                                or contains no words.
+   */
+  public static synchronized Dictionary reload(String path, boolean lowercase,
+      File snapshotDir) throws DictionaryException {
+    return( load(path, lowercase, snapshotDir) );
+  }
+
+  /**
+   * Reads the resource <code>path</code>, and then either reads the
+   * snapshot for the same contents or hashes the resource.
+   */
+  private static Dictionary load(String path, boolean lowercase,
+      File snapshotDir) throws DictionaryException {
+    byte[] contents;
+    long checksum;
+    HashSet<String> words;
+    Dictionary dict;
+    File snapshot;
+    long start;
+    String contentKey;
+
+    start = System.nanoTime();
+
+    contents = read(path);
+    checksum = checksum(contents);
+    contentKey = checksum + "|" + lowercase;
+    snapshot = (snapshotDir == null) ?
+        null : DictionarySnapshot.file(snapshotDir, path, lowercase);
+
+    dict = by_content.get(contentKey);
+    if ( (dict == null) && (snapshot != null) ) {
+      try {
+        dict = DictionarySnapshot.read(snapshot, path, lowercase, checksum);
+      } catch ( DictionaryException de ) {
+        logger.warn("Ignoring snapshot " + snapshot, de);
+      }
+
+      if ( dict != null ) {
+        snapshot_ct++;
+      }
+    }
+
+    if ( dict == null ) {
+      try {
+        words = HashSets.cvtStreamToHash(new ByteArrayInputStream(contents),
+            lowercase);
+      } catch ( IOException ioe ) {
+        throw new DictionaryException("failed to load dictionary " + path, ioe);
+      }
+
+      if ( words.size() == 0 ) {
+        throw new DictionaryException("failed to extract any words from " + path);
+      }
+
+      dict = new Dictionary(path, lowercase, checksum, words,
+          System.nanoTime()-start);
+
+      if ( snapshot != null ) {
+        try {
+          DictionarySnapshot.write(dict, snapshot);
+        } catch ( IOException ioe ) {
+          logger.warn("Failed to write snapshot " + snapshot, ioe);
+        }
+      }
+    }
+
+    load_ct++;
+    load_nanos += System.nanoTime()-start;
+
+    by_content.put(contentKey, dict);
+    by_path.put(pathKey(path, lowercase), dict);
+
+    if ( logger.isInfoEnabled() ) {
+      logger.info("Loaded dictionary " + dict.debugStr());
+    }
+
+    return(dict);
+  }
+
+  /**
+   * Returns the contents of the resource <code>path</code>.
+   */
+  private static byte[] read(String path) throws DictionaryException {
+    ByteArrayOutputStream bos;
+    InputStream in;
+    byte[] buf;
+    int n;
+
+    in = Resources.getResourceStream(new File(path));
+    if ( in == null ) {
+      throw new DictionaryException("failed to find dictionary " + path);
+    }
+
+    bos = new ByteArrayOutputStream();
+    buf = new byte[8192];
+    try {
+      while ( (n = in.read(buf)) != -1 ) {
+        bos.write(buf, 0, n);
+      }
+    } catch ( IOException ioe ) {
+      throw new DictionaryException("failed to load dictionary " + path, ioe);
+    } finally {
+      try {
+        in.close();
+      } catch ( IOException ioe ) { }
+    }
+
+    return( bos.toByteArray() );
+  }
+
+  /**
+   * Returns the CRC32 of <code>contents</code>.
+   */
+  private static long checksum(byte[] contents) {
+    CRC32 crc = new CRC32();
+
+    crc.update(contents, 0, contents.length);
+    return( crc.getValue() );
+  }
+
+  /**
+   * Returns the key used for <code>by_path</code>.
+   */
+  private static String pathKey(String path, boolean lowercase) {
+    return( path + "|" + lowercase );
+  }
+
+  /**
+   * Returns the number of resources read from disk.
+   *
+   * @return    The number of resources read.
+   */
+  public static synchronized int loadCt() {
+    return(load_ct);
+  }
+
+  /**
+   * Returns the number of requests that were satisfied without reading
+   * from disk.
+   *
+   * @return    The number of cache hits.
+   */
+  public static synchronized int hitCt() {
+    return(hit_ct);
+  }
+
+  /**
+   * Returns the number of dictionaries read from a snapshot rather than
+   * parsed from the resource.
+   *
+   * @return    The number of snapshots read.
+   */
+  public static synchronized int snapshotCt() {
+    return(snapshot_ct);
+  }
+
+  /**
+   * Returns the total time spent reading resources.
+   *
+   * @return    The total load time in milliseconds.
+   */
+  public static synchronized double loadMillis() {
+    return( load_nanos/1000000.0 );
+  }
+
+  /**
+   * Returns the number of distinct <code>Dictionary</code>'s held.
+   *
+   * @return    The number of distinct dictionaries.
+   */
+  public static synchronized int size() {
+    return( by_content.size() );
+  }
+
+  /**
+   * Returns the total number of words held across all dictionaries.
+   *
+   * @return    The total number of words.
+   */
+  public static synchronized int wordCt() {
+    int ct = 0;
+    for ( Dictionary dict : by_content.values() ) {
+      ct += dict.size();
+    }
+    return(ct);
+  }
+
+  /**
+   * Drops all dictionaries and resets the metrics. Borrowed dictionaries
+   * remain valid.
+   */
+  public static synchronized void clear() {
+    by_path.clear();
+    by_content.clear();
+    load_ct = 0;
+    hit_ct = 0;
+    snapshot_ct = 0;
+    load_nanos = 0;
+  }
+
+  /**
+   * Returns a debug string containing the registry metrics.
+   *
+   * @return    A debug string.
+   */
+  public static synchronized String debugStr() {
+    return("Dictionaries=" + by_content.size() + " Words=" + wordCt() +
+        " LoadCt=" + load_ct + " HitCt=" + hit_ct +
+        " SnapshotCt=" + snapshot_ct +
+        " LoadMillis=" + String.format("%.2f", loadMillis()));
+  }
+}
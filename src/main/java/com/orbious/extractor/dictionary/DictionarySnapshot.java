@@ -0,0 +1,313 @@
+package com.orbious.extractor.dictionary;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.zip.CRC32;
+
+/**
+ * Reads and writes the binary snapshot of a {@link Dictionary}, i.e. the
+ * packed words, offsets and open addressed table exactly as held in
+ * memory, so a snapshot is opened by memory mapping the file and copying
+ * the arrays in bulk rather than parsing and hashing the text resource.
+ * <p>
+ * The text resource remains the source of truth, each snapshot records
+ * the CRC32 of the resource it was compiled from and a snapshot for
+ * different contents is ignored (see
+ * {@link DictionarySnapshot#read(File, String, boolean, long)}). The
+ * snapshot itself ends with the CRC32 of its contents, so a truncated or
+ * corrupt snapshot is detected.
+ * <p>
+ * The format (big endian) is:
+ * <pre>
+ *   int     MAGIC
+ *   int     VERSION
+ *   int     flags (LOWERCASE, LATIN1)
+ *   long    the CRC32 of the text resource
+ *   int     the number of words
+ *   int     the number of characters
+ *   int     the length of the table
+ *   byte[]/char[]  the packed words (bytes if LATIN1)
+ *   int[]   the offsets (the number of words plus one)
+ *   int[]   the table
+ *   long    the CRC32 of all of the above
+ * </pre>
+ *
+ * @author dave
+ * @version 1.0
+ * @since 6.0
+ */
+
+public class DictionarySnapshot {
+
+  /**
+   * Identifies a snapshot file.
+   */
+  public static final int MAGIC = 0x53584443;
+
+  /**
+   * The version of the format.
+   */
+  public static final int VERSION = 1;
+
+  /**
+   * The suffix for snapshot files.
+   */
+  public static final String SUFFIX = ".dict";
+
+  /**
+   * Set if the words were converted to lowercase.
+   */
+  private static final int LOWERCASE = 0x01;
+
+  /**
+   * Set if the words are packed as Latin-1 bytes.
+   */
+  private static final int LATIN1 = 0x02;
+
+  /**
+   * The length of the header.
+   */
+  private static final int HEADER_SIZE = 32;
+
+  /**
+   * The length of the trailing checksum.
+   */
+  private static final int TRAILER_SIZE = 8;
+
+  /**
+   * Private Constructor.
+   */
+  private DictionarySnapshot() { }
+
+  /**
+   * Returns the snapshot file in <code>dir</code> for the resource
+   * <code>path</code>.
+   *
+   * @param dir     The snapshot directory.
+   * @param path    The resource path.
+   * @param lowercase   Whether the words are converted to lowercase.
+   *
+   * @return    The snapshot file.
+   */
+  public static File file(File dir, String path, boolean lowercase) {
+    // the hash keeps resources with the same name in different
+    // directories apart
+    return( new File(dir, new File(path).getName() + "-" +
+        Integer.toHexString(path.hashCode()) + (lowercase ? "-lc" : "") +
+        SUFFIX) );
+  }
+
+  /**
+   * Writes <code>dict</code> to <code>file</code>. The snapshot is
+   * written to a temporary file in the same directory which then replaces
+   * <code>file</code>, so a concurrent reader never sees a partial
+   * snapshot.
+   *
+   * @param dict    The <code>Dictionary</code>.
+   * @param file    The snapshot file.
+   *
+   * @throws IOException    If the snapshot cannot be written.
+   */
+  public static void write(Dictionary dict, File file) throws IOException {
+    byte[] latin1 = dict.latin1();
+    char[] data = dict.data();
+    int[] offsets = dict.offsets();
+    int[] table = dict.table();
+    int chars = (latin1 != null) ? latin1.length : data.length;
+    int len;
+    ByteBuffer bb;
+    CRC32 crc;
+    File dir;
+    File tmp;
+    FileOutputStream out;
+
+    len = HEADER_SIZE + ((latin1 != null) ? chars : 2*chars) +
+        4*offsets.length + 4*table.length;
+
+    bb = ByteBuffer.allocate(len+TRAILER_SIZE);
+    bb.putInt(MAGIC);
+    bb.putInt(VERSION);
+    bb.putInt((dict.lowercase() ? LOWERCASE : 0) | ((latin1 != null) ? LATIN1 : 0));
+    bb.putLong(dict.checksum());
+    bb.putInt(dict.size());
+    bb.putInt(chars);
+    bb.putInt(table.length);
+
+    if ( latin1 != null ) {
+      bb.put(latin1);
+    } else {
+      bb.asCharBuffer().put(data);
+      bb.position(bb.position() + 2*chars);
+    }
+    bb.asIntBuffer().put(offsets);
+    bb.position(bb.position() + 4*offsets.length);
+    bb.asIntBuffer().put(table);
+    bb.position(bb.position() + 4*table.length);
+
+    crc = new CRC32();
+    crc.update(bb.array(), 0, len);
+    bb.putLong(crc.getValue());
+
+    dir = file.getAbsoluteFile().getParentFile();
+    if ( !dir.isDirectory() && !dir.mkdirs() && !dir.isDirectory() ) {
+      throw new IOException("failed to create snapshot directory " + dir);
+    }
+
+    tmp = File.createTempFile(file.getName(), ".tmp", dir);
+    out = new FileOutputStream(tmp);
+    try {
+      out.write(bb.array());
+    } finally {
+      out.close();
+    }
+
+    if ( !tmp.renameTo(file) ) {
+      // e.g. windows does not replace an existing file
+      file.delete();
+      if ( !tmp.renameTo(file) ) {
+        tmp.delete();
+        throw new IOException("failed to rename " + tmp + " to " + file);
+      }
+    }
+  }
+
+  /**
+   * Reads the snapshot <code>file</code> for the resource
+   * <code>path</code>.
+   *
+   * @param file    The snapshot file.
+   * @param path    The resource path.
+   * @param lowercase   Whether the words are converted to lowercase.
+   * @param checksum    The CRC32 of the resource contents.
+   *
+   * @return    The <code>Dictionary</code>, or <code>null</code> if the
+   *            snapshot does not exist or was compiled from different
+   *            contents (or with a different <code>lowercase</code>).
+   *
+   * @throws DictionaryException    If the snapshot cannot be read or is
+   *                                corrupt.
+   */
+  public static Dictionary read(File file, String path, boolean lowercase,
+      long checksum) throws DictionaryException {
+    RandomAccessFile raf;
+    long start;
+
+    if ( !file.isFile() ) {
+      return(null);
+    }
+
+    start = System.nanoTime();
+    try {
+      raf = new RandomAccessFile(file, "r");
+    } catch ( IOException ioe ) {
+      throw new DictionaryException("failed to open snapshot " + file, ioe);
+    }
+
+    try {
+      return( read(raf.getChannel(), file, path, lowercase, checksum, start) );
+    } catch ( IOException ioe ) {
+      throw new DictionaryException("failed to read snapshot " + file, ioe);
+    } finally {
+      try {
+        raf.close();
+      } catch ( IOException ioe ) { }
+    }
+  }
+
+  /**
+   * Maps and validates the snapshot.
+   */
+  private static Dictionary read(FileChannel channel, File file, String path,
+      boolean lowercase, long checksum, long start)
+      throws IOException, DictionaryException {
+    MappedByteBuffer mb;
+    long len;
+    int flags;
+    int size;
+    int chars;
+    int tableLen;
+    byte[] latin1;
+    char[] data;
+    int[] offsets;
+    int[] table;
+
+    len = channel.size();
+    if ( (len < HEADER_SIZE+TRAILER_SIZE) || (len > Integer.MAX_VALUE) ) {
+      throw new DictionaryException("invalid snapshot length " + len +
+          " for " + file);
+    }
+
+    mb = channel.map(FileChannel.MapMode.READ_ONLY, 0, len);
+    if ( (mb.getInt() != MAGIC) || (mb.getInt() != VERSION) ) {
+      throw new DictionaryException("invalid snapshot header for " + file);
+    }
+
+    flags = mb.getInt();
+    if ( (mb.getLong() != checksum) ||
+         (((flags & LOWERCASE) != 0) != lowercase) ) {
+      return(null);
+    }
+
+    size = mb.getInt();
+    chars = mb.getInt();
+    tableLen = mb.getInt();
+
+    if ( (size < 0) || (chars < 0) || (tableLen <= size) ||
+         ((tableLen & (tableLen-1)) != 0) ||
+         (len != HEADER_SIZE + (((flags & LATIN1) != 0) ? chars : 2L*chars) +
+             4L*(size+1) + 4L*tableLen + TRAILER_SIZE) ) {
+      throw new DictionaryException("invalid snapshot lengths for " + file);
+    }
+
+    if ( checksum(mb, (int)len-TRAILER_SIZE) != mb.getLong((int)len-TRAILER_SIZE) ) {
+      throw new DictionaryException("invalid snapshot checksum for " + file);
+    }
+
+    mb.position(HEADER_SIZE);
+    latin1 = null;
+    data = null;
+    if ( (flags & LATIN1) != 0 ) {
+      latin1 = new byte[chars];
+      mb.get(latin1);
+    } else {
+      data = new char[chars];
+      mb.asCharBuffer().get(data);
+      mb.position(mb.position() + 2*chars);
+    }
+
+    offsets = new int[size+1];
+    mb.asIntBuffer().get(offsets);
+    mb.position(mb.position() + 4*offsets.length);
+
+    table = new int[tableLen];
+    mb.asIntBuffer().get(table);
+
+    return( new Dictionary(path, lowercase, checksum, latin1, data, offsets,
+        table, System.nanoTime()-start) );
+  }
+
+  /**
+   * Returns the CRC32 of the first <code>len</code> bytes of
+   * <code>bb</code>.
+   */
+  private static long checksum(ByteBuffer bb, int len) {
+    byte[] chunk = new byte[65536];
+    CRC32 crc = new CRC32();
+    int n;
+
+    bb.position(0);
+    while ( len > 0 ) {
+      n = Math.min(len, chunk.length);
+      bb.get(chunk, 0, n);
+      crc.update(chunk, 0, n);
+      len -= n;
+    }
+
+    return( crc.getValue() );
+  }
+}
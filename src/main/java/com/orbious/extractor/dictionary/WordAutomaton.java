@@ -0,0 +1,314 @@
+package com.orbious.extractor.dictionary;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Iterator;
+import java.util.Vector;
+
+/**
+ * The words of a {@link Dictionary} compiled into a deterministic
+ * automaton (a trie), so a word can be matched one character at a time
+ * while scanning a buffer, i.e.
+ *
+ * <pre>
+ *   int state = automaton.start();
+ *
+ *   for ( int i = start; (i < end) &amp;&amp; (state != WordAutomaton.DEAD); i++ ) {
+ *     state = automaton.step(state, buf[i]);
+ *   }
+ *   found = automaton.accepts(state);
+ * </pre>
+ *
+ * A word can only be matched in full (from the <code>start</code> state),
+ * which is all the <code>Evaluator</code>'s require, so unlike an
+ * Aho-Corasick automaton there are no failure transitions. A
+ * <code>reverse</code> automaton matches the words from their last
+ * character to their first.
+ * <p>
+ * The transitions are held in primitive arrays, sorted by character for
+ * each state.
+ *
+ * @author dave
+ * @version 1.0
+ * @since 6.0
+ */
+
+public class WordAutomaton {
+
+  /**
+   * The state following a character that does not continue any word.
+   */
+  public static final int DEAD = -1;
+
+  /**
+   * Whether the words are matched from their last character.
+   */
+  private final boolean reverse;
+
+  /**
+   * The index in <code>edge_chars</code>/<code>edge_targets</code> of the
+   * first transition for each state, plus a final entry for the end.
+   */
+  private int[] edge_starts;
+
+  /**
+   * The character for each transition.
+   */
+  private char[] edge_chars;
+
+  /**
+   * The target state for each transition.
+   */
+  private int[] edge_targets;
+
+  /**
+   * Set for each state that completes a word.
+   */
+  private BitSet accepting;
+
+  /**
+   * The number of states.
+   */
+  private int size;
+
+  /**
+   * Constructor, compiles <code>words</code>.
+   *
+   * @param words     The words.
+   * @param reverse   Match the words from their last character.
+   */
+  public WordAutomaton(Vector<String> words, boolean reverse) {
+    String[] sorted;
+    int[] parents;
+
+    this.reverse = reverse;
+
+    sorted = new String[words.size()];
+    for ( int i = 0; i < sorted.length; i++ ) {
+      sorted[i] = reverse ? reverse(words.get(i)) : words.get(i);
+    }
+    Arrays.sort(sorted);
+
+    // a trie built from the sorted words numbers the states depth first
+    // and adds the children of each state in character order
+    accepting = new BitSet();
+    parents = new int[64];
+    size = 1;
+
+    int edgeCt = 0;
+    char[] chars = new char[64];
+    int[] sources = new int[64];
+    int[] targets = new int[64];
+    int depth;
+    int state;
+
+    for ( int w = 0; w < sorted.length; w++ ) {
+      String word = sorted[w];
+      String prev = (w == 0) ? "" : sorted[w-1];
+
+      // the common prefix with the previous word already exists
+      depth = 0;
+      while ( (depth < word.length()) && (depth < prev.length()) &&
+              (word.charAt(depth) == prev.charAt(depth)) ) {
+        depth++;
+      }
+
+      if ( parents.length < word.length()+1 ) {
+        int[] tmp = new int[(word.length()+1)*2];
+        System.arraycopy(parents, 0, tmp, 0, parents.length);
+        parents = tmp;
+      }
+
+      // parents[d] is the state after the first d characters of word
+      if ( depth == 0 ) {
+        parents[0] = 0;
+      }
+      state = parents[depth];
+
+      for ( int d = depth; d < word.length(); d++ ) {
+        if ( edgeCt == chars.length ) {
+          chars = grow(chars);
+          sources = grow(sources);
+          targets = grow(targets);
+        }
+
+        chars[edgeCt] = word.charAt(d);
+        sources[edgeCt] = state;
+        targets[edgeCt] = size;
+        edgeCt++;
+
+        state = size++;
+        parents[d+1] = state;
+      }
+
+      accepting.set(state);
+    }
+
+    compile(sources, chars, targets, edgeCt);
+  }
+
+  /**
+   * Builds the sorted transition arrays from the edges of the trie.
+   */
+  private void compile(int[] sources, char[] chars, int[] targets, int edgeCt) {
+    int[] order = new int[size+1];
+    int[] pos;
+
+    // count the transitions for each state
+    for ( int i = 0; i < edgeCt; i++ ) {
+      order[sources[i]+1]++;
+    }
+    for ( int i = 0; i < size; i++ ) {
+      order[i+1] += order[i];
+    }
+
+    edge_starts = order;
+    edge_chars = new char[edgeCt];
+    edge_targets = new int[edgeCt];
+    pos = new int[size];
+    System.arraycopy(order, 0, pos, 0, size);
+
+    // the edges were added in character order for each state (as the
+    // words are sorted)
+    for ( int i = 0; i < edgeCt; i++ ) {
+      int j = pos[sources[i]]++;
+      edge_chars[j] = chars[i];
+      edge_targets[j] = targets[i];
+    }
+  }
+
+  /**
+   * Returns a copy of <code>a</code> with double the capacity.
+   */
+  private static int[] grow(int[] a) {
+    int[] tmp = new int[a.length*2];
+
+    System.arraycopy(a, 0, tmp, 0, a.length);
+    return(tmp);
+  }
+
+  /**
+   * Returns a copy of <code>a</code> with double the capacity.
+   */
+  private static char[] grow(char[] a) {
+    char[] tmp = new char[a.length*2];
+
+    System.arraycopy(a, 0, tmp, 0, a.length);
+    return(tmp);
+  }
+
+  /**
+   * Returns <code>str</code> reversed.
+   */
+  private static String reverse(String str) {
+    return( new StringBuilder(str).reverse().toString() );
+  }
+
+  /**
+   * Returns a <code>WordAutomaton</code> for the words in
+   * <code>dict</code>.
+   *
+   * @param dict      The <code>Dictionary</code>.
+   * @param reverse   Match the words from their last character.
+   *
+   * @return    The <code>WordAutomaton</code>.
+   */
+  public static WordAutomaton compile(Dictionary dict, boolean reverse) {
+    Vector<String> words = new Vector<String>(dict.size());
+    Iterator<String> it = dict.iterator();
+
+    while ( it.hasNext() ) {
+      words.add(it.next());
+    }
+
+    return( new WordAutomaton(words, reverse) );
+  }
+
+  /**
+   * Returns the start state.
+   *
+   * @return    The start state.
+   */
+  public int start() {
+    return(0);
+  }
+
+  /**
+   * Returns the state following <code>ch</code> from <code>state</code>.
+   *
+   * @param state   The current state, which must not be <code>DEAD</code>.
+   * @param ch      The next character.
+   *
+   * @return    The next state, or <code>DEAD</code>.
+   */
+  public int step(int state, char ch) {
+    int lo = edge_starts[state];
+    int hi = edge_starts[state+1]-1;
+    int mid;
+    char c;
+
+    while ( lo <= hi ) {
+      mid = (lo+hi) >>> 1;
+      c = edge_chars[mid];
+
+      if ( c < ch ) {
+        lo = mid+1;
+      } else if ( c > ch ) {
+        hi = mid-1;
+      } else {
+        return(edge_targets[mid]);
+      }
+    }
+
+    return(DEAD);
+  }
+
+  /**
+   * Determines if <code>state</code> completes a word.
+   *
+   * @param state   The state.
+   *
+   * @return    <code>true</code> if a word has been matched,
+   *            <code>false</code> otherwise.
+   */
+  public boolean accepts(int state) {
+    return( (state != DEAD) && accepting.get(state) );
+  }
+
+  /**
+   * Determines if <code>str</code> is matched by this automaton.
+   *
+   * @param str   The word, in reading order.
+   *
+   * @return    <code>true</code> if <code>str</code> is one of the words.
+   */
+  public boolean matches(String str) {
+    int state = start();
+    int len = str.length();
+
+    for ( int i = 0; (i < len) && (state != DEAD); i++ ) {
+      state = step(state, str.charAt(reverse ? len-1-i : i));
+    }
+
+    return( accepts(state) );
+  }
+
+  /**
+   * Accessor for <code>reverse</code>.
+   *
+   * @return    <code>true</code> if the words are matched from their last
+   *            character.
+   */
+  public boolean reverse() {
+    return(reverse);
+  }
+
+  /**
+   * Returns the number of states.
+   *
+   * @return    The number of states.
+   */
+  public int size() {
+    return(size);
+  }
+}
@@ -1,9 +1,9 @@
 package com.orbious.extractor.evaluator;
 
 import com.orbious.extractor.ParseDirn;
-import com.orbious.extractor.Word;
+import com.orbious.extractor.TokenIndex;
 import com.orbious.extractor.TextParser.TextParserData;
-import com.orbious.extractor.Word.WordOp;
+import com.orbious.extractor.WordCursor;
 import com.orbious.extractor.util.Helper;
 
 /**
@@ -30,6 +30,11 @@ import com.orbious.extractor.util.Helper;
 
 public class AbbreviatedName extends Evaluator {
 
+  /**
+   * Finds the words around a candidate without allocating.
+   */
+  private WordCursor cursor;
+
   /**
    * Constructor, initializes this <code>Evaluator</code>.
    *
@@ -37,10 +42,13 @@ public class AbbreviatedName extends Evaluator {
    * @param type    The type of <code>Evaluator</code>.
    */
   public AbbreviatedName(TextParserData parserData, EvaluatorType type) {
-    super("AbbreviatedName", type);
+    super("AbbreviatedName", parserData, type);
+    cursor = new WordCursor(profile);
   }
 
-  public void invalidate() { }
+  public void invalidate() {
+    cursor.profile(invalidateProfile());
+  }
 
   /**
    * Return's <code>true</code> as the abbreviated name could be at either
@@ -74,8 +82,8 @@ public class AbbreviatedName extends Evaluator {
     debug_str.setLength(0);
     b = evaluateLeftToRight(buf, idx);
     if ( b ) {
-      if ( logger.isDebugEnabled() && (debug_str.length() != 0) ) {
-        logger.debug(debug_str +
+      if ( trace.enabled() && (debug_str.length() != 0) ) {
+        trace.note(debug_str +
             " RESULT=" + String.valueOf(b).toUpperCase());
       }
       return(b);
@@ -83,8 +91,8 @@ public class AbbreviatedName extends Evaluator {
 
     b = evaluateRightToLeft(buf, idx);
 
-    if ( logger.isDebugEnabled() && (debug_str.length() != 0) ) {
-      logger.debug(debug_str +
+    if ( trace.enabled() && (debug_str.length() != 0) ) {
+      trace.note(debug_str +
           " RESULT=" + String.valueOf(b).toUpperCase());
     }
 
@@ -111,7 +119,7 @@ public class AbbreviatedName extends Evaluator {
     //
     int i;
 
-    if ( logger.isDebugEnabled() ) {
+    if ( trace.enabled() ) {
       debug_str.append("LtoR: ");
     }
 
@@ -126,7 +134,7 @@ public class AbbreviatedName extends Evaluator {
         //
         i = checkCase(buf, idx, ParseDirn.RIGHT);
         if ( i == -1 ) {
-          if ( logger.isDebugEnabled() ) {
+          if ( trace.enabled() ) {
             debug_str.append("Case 1-Failed Checkcase, ");
           }
           return(false);
@@ -134,13 +142,13 @@ public class AbbreviatedName extends Evaluator {
 
         i = Helper.moveToNonWhitespace(ParseDirn.RIGHT, buf, i+1);
         if ( (i != -1) && Character.isUpperCase(buf[i]) ) {
-          if ( logger.isDebugEnabled() ) {
+          if ( trace.enabled() ) {
             debug_str.append("Case 1-TRUE, ");
           }
           return(true);
         }
 
-        if ( logger.isDebugEnabled() ) {
+        if ( trace.enabled() ) {
           debug_str.append("Case 1-Default FALSE, ");
         }
         return(false);
@@ -151,7 +159,7 @@ public class AbbreviatedName extends Evaluator {
         //
         i = Helper.moveToNonWhitespace(ParseDirn.LEFT, buf, idx-1);
         if ( i == -1 ) {
-          if ( logger.isDebugEnabled() ) {
+          if ( trace.enabled() ) {
             debug_str.append("Case 3-Failed move left, ");
           }
           return(false);
@@ -159,20 +167,20 @@ public class AbbreviatedName extends Evaluator {
 
         i = checkCase(buf, idx, ParseDirn.LEFT);
         if ( i == -1 ) {
-          if ( logger.isDebugEnabled() ) {
+          if ( trace.enabled() ) {
             debug_str.append("Case 1-Failed Checkcase, ");
           }
           return(false);
         }
 
-        if ( logger.isDebugEnabled() ) {
+        if ( trace.enabled() ) {
           debug_str.append("Case 3-TRUE, ");
         }
         return(true);
 
 
       } else {
-        if ( logger.isDebugEnabled() ) {
+        if ( trace.enabled() ) {
           debug_str.append("Case 1,3-Default FALSE, ");
         }
         return(false);
@@ -184,7 +192,7 @@ public class AbbreviatedName extends Evaluator {
       //
       i = checkCase(buf, idx, ParseDirn.LEFT);
       if ( i == -1 ) {
-        if ( logger.isDebugEnabled() ) {
+        if ( trace.enabled() ) {
           debug_str.append("Case 2-Failed Checkcase, ");
         }
         return(false);
@@ -192,19 +200,19 @@ public class AbbreviatedName extends Evaluator {
 
       i = Helper.moveToNonWhitespace(ParseDirn.RIGHT, buf, idx+1);
       if ( (i != -1) && Character.isUpperCase(buf[i]) ) {
-        if ( logger.isDebugEnabled() ) {
+        if ( trace.enabled() ) {
           debug_str.append("Case 2-TRUE, ");
         }
         return(true);
       }
 
-      if ( logger.isDebugEnabled() ) {
+      if ( trace.enabled() ) {
         debug_str.append("Case 2-Default FALSE, ");
       }
       return(false);
     }
 
-    if ( logger.isDebugEnabled() ) {
+    if ( trace.enabled() ) {
       debug_str.append("Default FALSE, ");
     }
     return(false);
@@ -229,9 +237,8 @@ public class AbbreviatedName extends Evaluator {
     // 1     23
     //
     int i;
-    WordOp op;
 
-    if ( logger.isDebugEnabled() ) {
+    if ( trace.enabled() ) {
       debug_str.append("RtoL: ");
     }
 
@@ -246,23 +253,21 @@ public class AbbreviatedName extends Evaluator {
         //
         i = checkCase(buf, idx, ParseDirn.RIGHT);
         if ( i == -1 ) {
-          if ( logger.isDebugEnabled() ) {
+          if ( trace.enabled() ) {
             debug_str.append("Case 2-Failed Checkcase, ");
           }
           return(false);
         }
 
-        op = Word.getPreviousWord(buf, i-1, true);
-
-        if ( (op == null) || (op.word().length() == 0) ) {
-          if ( logger.isDebugEnabled() ) {
+        if ( !cursor.previous(buf, i-1, true) ) {
+          if ( trace.enabled() ) {
             debug_str.append("Case 2-Failed Word, ");
           }
           return(true);
         }
 
-        if ( Character.isUpperCase(op.word().charAt(0)) ) {
-          if ( logger.isDebugEnabled() ) {
+        if ( Character.isUpperCase(cursor.charAt(0)) ) {
+          if ( trace.enabled() ) {
             debug_str.append("Case 2-TRUE, ");
           }
           return(true);
@@ -272,14 +277,9 @@ public class AbbreviatedName extends Evaluator {
         //
         // case 1
         //
-        i = idx+1;
-        while ( (i < buf.length) && !Character.isWhitespace(buf[i]) ) {
-          i++;
-        }
-
-        i = Helper.moveToNonWhitespace(ParseDirn.RIGHT, buf, i);
+        i = nextWord(buf, idx);
         if ( i == -1 ) {
-          if ( logger.isDebugEnabled() ) {
+          if ( trace.enabled() ) {
             debug_str.append("Case 1-Failed Move, ");
           }
           return(false);
@@ -287,13 +287,13 @@ public class AbbreviatedName extends Evaluator {
 
         i = checkCase(buf, i, ParseDirn.RIGHT);
         if ( i == -1 ) {
-          if ( logger.isDebugEnabled() ) {
+          if ( trace.enabled() ) {
             debug_str.append("Case 1-Failed Checkcase, ");
           }
           return(false);
         }
 
-        if ( logger.isDebugEnabled() ) {
+        if ( trace.enabled() ) {
           debug_str.append("Case 1-TRUE, ");
         }
         return(true);
@@ -305,35 +305,61 @@ public class AbbreviatedName extends Evaluator {
       //
       i = checkCase(buf, idx, ParseDirn.LEFT);
       if ( i == -1 ) {
-        if ( logger.isDebugEnabled() ) {
+        if ( trace.enabled() ) {
           debug_str.append("Case 3-Failed Checkcase, ");
         }
         return(false);
       }
 
-      op = Word.getPreviousWord(buf, idx-1, true);
-
-      if ( (op == null) || (op.word().length() == 0) ) {
-        if ( logger.isDebugEnabled() ) {
+      if ( !cursor.previous(buf, idx-1, true) ) {
+        if ( trace.enabled() ) {
           debug_str.append("Case 3-Failed Word, ");
         }
         return(true);
       }
 
-      if ( Character.isUpperCase(op.word().charAt(0)) ) {
-        if ( logger.isDebugEnabled() ) {
+      if ( Character.isUpperCase(cursor.charAt(0)) ) {
+        if ( trace.enabled() ) {
           debug_str.append("Case 3-TRUE, ");
         }
         return(true);
       }
     }
 
-    if ( logger.isDebugEnabled() ) {
+    if ( trace.enabled() ) {
       debug_str.append("Default FALSE, ");
     }
     return(false);
   }
 
+  /**
+   * Returns the start of the word following the word containing
+   * <code>idx</code>.
+   *
+   * @param buf   Text buffer.
+   * @param idx   Position in the buffer.
+   *
+   * @return    The index of the next word, or <code>-1</code> if there is no
+   *            next word.
+   */
+  private int nextWord(final char[] buf, int idx) {
+    TokenIndex tokens;
+    int i;
+
+    tokens = (parser_data == null) ? null : parser_data.tokens(buf);
+    if ( tokens != null ) {
+      i = tokens.next(idx);
+      return( (i == -1) ? -1 : tokens.start(i) );
+    }
+
+    i = idx+1;
+    while ( (i < buf.length) && !Character.isWhitespace(buf[i]) ) {
+      i++;
+    }
+
+    return( Helper.moveToNonWhitespace(ParseDirn.RIGHT, buf, i) );
+  }
+
   /**
    * Checks the case for an abbreviated name.
    *
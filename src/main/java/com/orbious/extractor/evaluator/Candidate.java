@@ -0,0 +1,312 @@
+package com.orbious.extractor.evaluator;
+
+import com.orbious.extractor.ExtractorProfile;
+import com.orbious.extractor.ParseDirn;
+import com.orbious.extractor.TokenIndex;
+import com.orbious.extractor.WordCursor;
+import com.orbious.extractor.TextParser.TextParserData;
+import com.orbious.extractor.util.Helper;
+
+/**
+ * A sentence start/end candidate (a position in a text buffer) that is
+ * passed along the <code>Evaluator</code> chain via
+ * {@link Evaluator#evaluate(Candidate)}. The facts that several
+ * <code>Evaluator</code>'s need (the previous/next word, the previous
+ * non-whitespace character and the surrounding whitespace) are computed
+ * on first use and then memoised, so each is computed at most once per
+ * candidate regardless of how many <code>Evaluator</code>'s ask for it.
+ * <p>
+ * A <code>Candidate</code> is reused via
+ * {@link Candidate#reset(char[], int)}, which discards the memoised facts,
+ * and is not thread safe.
+ *
+ * @author dave
+ * @version 1.0
+ * @since 6.0
+ */
+
+public class Candidate {
+
+  /**
+   * The maximum number of distinct words memoised per candidate.
+   */
+  private static final int WORD_SLOTS = 4;
+
+  /**
+   * Marks a memoised index that has not been computed.
+   */
+  private static final int UNSET = Integer.MIN_VALUE;
+
+  /**
+   * Data generated via <code>TextParser</code>, may be <code>null</code>.
+   */
+  private final TextParserData parser_data;
+
+  /**
+   * The configuration used to find words.
+   */
+  private ExtractorProfile profile;
+
+  /**
+   * The text buffer.
+   */
+  private char[] buf;
+
+  /**
+   * The position of the candidate in <code>buf</code>.
+   */
+  private int idx;
+
+  /**
+   * The tokens in <code>buf</code>, <code>null</code> if <code>buf</code>
+   * is not the <code>TextParser</code> buffer.
+   */
+  private TokenIndex tokens;
+
+  /**
+   * The memoised words, see {@link Candidate#word(int, ParseDirn, boolean)}.
+   */
+  private final WordCursor[] words;
+
+  /**
+   * The index each memoised word was found from.
+   */
+  private final int[] word_from;
+
+  /**
+   * The direction each memoised word was found in.
+   */
+  private final ParseDirn[] word_dirn;
+
+  /**
+   * Whether fullstops were included for each memoised word.
+   */
+  private final boolean[] word_stop;
+
+  /**
+   * Whether a word was found for each memoised word.
+   */
+  private final boolean[] word_found;
+
+  /**
+   * The number of memoised words.
+   */
+  private int word_ct;
+
+  /**
+   * The next slot to replace once all the slots are used.
+   */
+  private int word_next;
+
+  /**
+   * The memoised {@link Candidate#previousNonWhitespace()}.
+   */
+  private int prev_non_ws;
+
+  /**
+   * The memoised {@link Candidate#tokenStart()}.
+   */
+  private int token_start;
+
+  /**
+   * The memoised {@link Candidate#tokenEnd()}.
+   */
+  private int token_end;
+
+  /**
+   * Constructor, initializes the <code>Candidate</code>.
+   *
+   * @param parserData  Data generated via <code>TextParser</code>, or
+   *                    <code>null</code>.
+   * @param profile     The <code>ExtractorProfile</code> used to find
+   *                    words.
+   */
+  public Candidate(TextParserData parserData, ExtractorProfile profile) {
+    this.parser_data = parserData;
+    this.profile = profile;
+
+    words = new WordCursor[WORD_SLOTS];
+    word_from = new int[WORD_SLOTS];
+    word_dirn = new ParseDirn[WORD_SLOTS];
+    word_stop = new boolean[WORD_SLOTS];
+    word_found = new boolean[WORD_SLOTS];
+    for ( int i = 0; i < WORD_SLOTS; i++ ) {
+      words[i] = new WordCursor(profile);
+    }
+
+    reset(null, -1);
+  }
+
+  /**
+   * Sets the <code>ExtractorProfile</code> used to find words.
+   *
+   * @param profile   The <code>ExtractorProfile</code>.
+   */
+  public void profile(ExtractorProfile profile) {
+    if ( profile == this.profile ) {
+      return;
+    }
+
+    this.profile = profile;
+    for ( int i = 0; i < WORD_SLOTS; i++ ) {
+      words[i].profile(profile);
+    }
+    word_ct = 0;
+  }
+
+  /**
+   * Moves to a new candidate, discarding any memoised facts.
+   *
+   * @param buf   Text buffer.
+   * @param idx   The position of the candidate in the buffer.
+   */
+  public void reset(final char[] buf, int idx) {
+    if ( buf != this.buf ) {
+      tokens = ((parser_data == null) || (buf == null)) ?
+          null : parser_data.tokens(buf);
+    }
+
+    this.buf = buf;
+    this.idx = idx;
+
+    word_ct = 0;
+    word_next = 0;
+    prev_non_ws = UNSET;
+    token_start = UNSET;
+    token_end = UNSET;
+  }
+
+  /**
+   * Accessor for the text buffer.
+   *
+   * @return    The text buffer.
+   */
+  public char[] buffer() {
+    return(buf);
+  }
+
+  /**
+   * Accessor for the position of the candidate.
+   *
+   * @return    The position of the candidate in the buffer.
+   */
+  public int idx() {
+    return(idx);
+  }
+
+  /**
+   * Returns the word found from <code>from</code> in the direction
+   * <code>dirn</code>, as per
+   * {@link WordCursor#find(char[], int, ParseDirn, boolean)}. The returned
+   * <code>WordCursor</code> is shared by every <code>Evaluator</code> for
+   * this candidate and must not be modified (e.g. via
+   * {@link WordCursor#toLowerCase()}), copy it with
+   * {@link WordCursor#copy(WordCursor, boolean)} first.
+   *
+   * @param from    Index in the buffer to begin word extraction.
+   * @param dirn    The direction to parse.
+   * @param includeStop   Include any fullstops that are encountered.
+   *
+   * @return    The word, or <code>null</code> if no word was found.
+   */
+  public WordCursor word(int from, ParseDirn dirn, boolean includeStop) {
+    int slot;
+
+    for ( int i = 0; i < word_ct; i++ ) {
+      if ( (word_from[i] == from) && (word_dirn[i] == dirn) &&
+           (word_stop[i] == includeStop) ) {
+        return( word_found[i] ? words[i] : null );
+      }
+    }
+
+    if ( word_ct < WORD_SLOTS ) {
+      slot = word_ct++;
+    } else {
+      slot = word_next;
+      word_next = (word_next+1) % WORD_SLOTS;
+    }
+
+    word_from[slot] = from;
+    word_dirn[slot] = dirn;
+    word_stop[slot] = includeStop;
+    word_found[slot] = words[slot].find(buf, from, dirn, includeStop);
+
+    return( word_found[slot] ? words[slot] : null );
+  }
+
+  /**
+   * Returns the first non-whitespace character before the candidate, as
+   * per {@link Helper#moveToNonWhitespace(ParseDirn, char[], int)}.
+   *
+   * @return    The index in the buffer, or <code>-1</code>.
+   */
+  public int previousNonWhitespace() {
+    if ( prev_non_ws == UNSET ) {
+      prev_non_ws = Helper.moveToNonWhitespace(ParseDirn.LEFT, buf, idx);
+    }
+
+    return(prev_non_ws);
+  }
+
+  /**
+   * Returns the start of the characters surrounding the candidate that
+   * are delimited by whitespace, i.e. the nearest whitespace to the left
+   * of <code>idx-1</code> plus one.
+   *
+   * @return    The index in the buffer (inclusive).
+   */
+  public int tokenStart() {
+    if ( token_start == UNSET ) {
+      findToken();
+    }
+
+    return(token_start);
+  }
+
+  /**
+   * Returns the end of the characters surrounding the candidate that are
+   * delimited by whitespace, i.e. the nearest whitespace to the right of
+   * <code>idx</code>.
+   *
+   * @return    The index in the buffer (exclusive).
+   */
+  public int tokenEnd() {
+    if ( token_end == UNSET ) {
+      findToken();
+    }
+
+    return(token_end);
+  }
+
+  /**
+   * Populates {@link Candidate#token_start} and {@link Candidate#token_end}.
+   */
+  private void findToken() {
+    int t;
+
+    if ( tokens != null ) {
+      t = tokens.tokenAt(idx);
+      if ( t == -1 ) {
+        t = tokens.tokenAt(idx-1);
+      }
+
+      if ( t == -1 ) {
+        token_start = token_end = idx;
+      } else {
+        token_start = tokens.start(t);
+        token_end = tokens.end(t);
+      }
+      return;
+    }
+
+    token_start = idx;
+    while ( (token_start-1 >= 0) && !Character.isWhitespace(buf[token_start-1]) ) {
+      token_start--;
+    }
+
+    token_end = idx;
+    while ( (token_end < buf.length) && !Character.isWhitespace(buf[token_end]) ) {
+      token_end++;
+    }
+  }
+}
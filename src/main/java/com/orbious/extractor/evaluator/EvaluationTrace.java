@@ -0,0 +1,199 @@
+package com.orbious.extractor.evaluator;
+
+import org.apache.log4j.Logger;
+import com.orbious.extractor.util.Helper;
+
+/**
+ * Collects the diagnostic output of a sentence start/end evaluation and
+ * passes it to a {@link TraceSink}. When no <code>TraceSink</code> is
+ * attached every method returns immediately, so callers must only pass
+ * constants or existing references (never concatenated
+ * <code>String</code>'s) and any formatting is deferred until a
+ * <code>TraceSink</code> is attached.
+ * <p>
+ * Messages written between {@link EvaluationTrace#begin(String, char[], int)}
+ * and {@link EvaluationTrace#end()} are gathered into a single trace
+ * message, messages written outside of an evaluation are passed
+ * straight to the <code>TraceSink</code>.
+ *
+ * @author dave
+ * @version 1.0
+ * @since 6.0
+ */
+
+public class EvaluationTrace {
+
+  /**
+   * A trace without a <code>TraceSink</code>.
+   */
+  public static final EvaluationTrace DISABLED = new EvaluationTrace(null);
+
+  /**
+   * The destination for trace messages, <code>null</code> if disabled.
+   */
+  private final TraceSink sink;
+
+  /**
+   * The current trace message.
+   */
+  private final StringBuilder sb;
+
+  /**
+   * Whether an evaluation is in progress.
+   */
+  private boolean open;
+
+  /**
+   * Constructor, initializes the <code>EvaluationTrace</code>.
+   *
+   * @param sink    The destination for trace messages, or <code>null</code>
+   *                to disable tracing.
+   */
+  public EvaluationTrace(TraceSink sink) {
+    this.sink = sink;
+    if ( sink != null ) {
+      sb = new StringBuilder();
+    } else {
+      sb = null;
+    }
+  }
+
+  /**
+   * Returns a trace that writes to <code>logger</code> if debugging is enabled
+   * for <code>logger</code>, otherwise returns {@link EvaluationTrace#DISABLED}.
+   *
+   * @param logger    The logger.
+   *
+   * @return    An <code>EvaluationTrace</code>.
+   */
+  public static EvaluationTrace fromLogger(Logger logger) {
+    if ( logger.isDebugEnabled() ) {
+      return( new EvaluationTrace(new LoggerTraceSink(logger)) );
+    }
+    return(DISABLED);
+  }
+
+  /**
+   * Returns whether a <code>TraceSink</code> is attached.
+   *
+   * @return    <code>true</code> if tracing is enabled, <code>false</code>
+   *            otherwise.
+   */
+  public boolean enabled() {
+    return( sink != null );
+  }
+
+  /**
+   * Begins the trace for an evaluation at position <code>idx</code> in
+   * <code>buf</code>.
+   *
+   * @param label   A label for the evaluation (e.g. "End Evaluation").
+   * @param buf   Text buffer.
+   * @param idx   The position in <code>buf</code> being evaluated.
+   */
+  public void begin(String label, final char[] buf, int idx) {
+    if ( sink == null ) {
+      return;
+    }
+
+    sb.setLength(0);
+    sb.append(label).append(" idx=").append(idx).append("\n")
+      .append(Helper.getDebugStringFromCharBuf(buf, idx, 50)).append("\n");
+    open = true;
+  }
+
+  /**
+   * Records the result of an <code>Evaluator</code>.
+   *
+   * @param name    The name of the <code>Evaluator</code>.
+   * @param result    The result of the <code>Evaluator</code>.
+   */
+  public void result(String name, boolean result) {
+    if ( sink == null ) {
+      return;
+    }
+
+    line().append("\t").append(name).append(" Result=")
+      .append(result ? "TRUE" : "FALSE").append("\n");
+    flushIfClosed();
+  }
+
+  /**
+   * Records a named flag.
+   *
+   * @param name    The name of the flag.
+   * @param value   The value of the flag.
+   */
+  public void flag(String name, boolean value) {
+    if ( sink == null ) {
+      return;
+    }
+
+    line().append("\t").append(name).append("=")
+      .append(value ? "TRUE" : "FALSE").append("\n");
+    flushIfClosed();
+  }
+
+  /**
+   * Records a named value.
+   *
+   * @param name    The name of the value.
+   * @param value   The value.
+   */
+  public void value(String name, int value) {
+    if ( sink == null ) {
+      return;
+    }
+
+    line().append("\t").append(name).append("=").append(value).append("\n");
+    flushIfClosed();
+  }
+
+  /**
+   * Records a free text message.
+   *
+   * @param msg   The message.
+   */
+  public void note(CharSequence msg) {
+    if ( sink == null ) {
+      return;
+    }
+
+    line().append(msg).append("\n");
+    flushIfClosed();
+  }
+
+  /**
+   * Ends the current evaluation and passes the gathered trace message to the
+   * <code>TraceSink</code>.
+   */
+  public void end() {
+    if ( (sink == null) || !open ) {
+      return;
+    }
+
+    open = false;
+    sink.trace(sb.toString());
+    sb.setLength(0);
+  }
+
+  /**
+   * Returns the buffer to append to, clearing it if no evaluation is in progress.
+   */
+  private StringBuilder line() {
+    if ( !open ) {
+      sb.setLength(0);
+    }
+    return(sb);
+  }
+
+  /**
+   * Passes the buffer to the <code>TraceSink</code> if no evaluation is in progress.
+   */
+  private void flushIfClosed() {
+    if ( !open ) {
+      sink.trace(sb.toString());
+      sb.setLength(0);
+    }
+  }
+}
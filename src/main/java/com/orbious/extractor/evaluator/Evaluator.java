@@ -2,7 +2,9 @@ package com.orbious.extractor.evaluator;
 
 // $Id$
 
+import java.util.BitSet;
 import org.apache.log4j.Logger;
+import com.orbious.extractor.ExtractorProfile;
 import com.orbious.extractor.TextParser.TextParserData;
 import com.orbious.util.Loggers;
 
@@ -43,6 +45,32 @@ public abstract class Evaluator {
    */
   protected StringBuilder debug_str;
 
+  /**
+   * The trace for diagnostic output, disabled unless a
+   * {@link TraceSink} is attached (or debugging is enabled).
+   */
+  protected EvaluationTrace trace;
+
+  /**
+   * The configuration used during evaluation.
+   */
+  protected ExtractorProfile profile;
+
+  /**
+   * Whether <code>profile</code> was set via
+   * {@link Evaluator#profile(ExtractorProfile)}, otherwise
+   * {@link Evaluator#invalidate()} picks up the current configuration.
+   */
+  private boolean fixed_profile;
+
+  /**
+   * The <code>Candidate</code> used to adapt
+   * {@link Evaluator#evaluate(char[], int)} to
+   * {@link Evaluator#evaluate(Candidate)}, see
+   * {@link Evaluator#candidate(char[], int)}.
+   */
+  private Candidate candidate;
+
   /**
    * Logger object.
    */
@@ -60,6 +88,8 @@ public abstract class Evaluator {
     this.name = name;
     this.type = type;
     debug_str = new StringBuilder();
+    trace = EvaluationTrace.fromLogger(logger);
+    profile = ExtractorProfile.current();
   }
 
   /**
@@ -76,6 +106,8 @@ public abstract class Evaluator {
     this.type = type;
     this.parser_data = parserData;
     debug_str = new StringBuilder();
+    trace = EvaluationTrace.fromLogger(logger);
+    profile = ExtractorProfile.current();
   }
 
   /**
@@ -105,6 +137,59 @@ public abstract class Evaluator {
     return(debug_str.toString());
   }
 
+  /**
+   * Sets the trace used for diagnostic output.
+   *
+   * @param trace   The <code>EvaluationTrace</code>.
+   */
+  public void trace(EvaluationTrace trace) {
+    this.trace = trace;
+  }
+
+  /**
+   * Accessor for <code>trace</code>.
+   *
+   * @return    The <code>EvaluationTrace</code>.
+   */
+  public EvaluationTrace trace() {
+    return(trace);
+  }
+
+  /**
+   * Sets the <code>ExtractorProfile</code> used during evaluation. The
+   * profile is retained across {@link Evaluator#invalidate()}.
+   *
+   * @param profile   The <code>ExtractorProfile</code>.
+   */
+  public void profile(ExtractorProfile profile) {
+    this.profile = profile;
+    fixed_profile = true;
+  }
+
+  /**
+   * Accessor for <code>profile</code>.
+   *
+   * @return    The <code>ExtractorProfile</code>.
+   */
+  public ExtractorProfile profile() {
+    return(profile);
+  }
+
+  /**
+   * Refreshes <code>profile</code> from the current configuration, unless
+   * set via {@link Evaluator#profile(ExtractorProfile)}. Called from
+   * {@link Evaluator#invalidate()}.
+   *
+   * @return    The <code>ExtractorProfile</code>.
+   */
+  protected ExtractorProfile invalidateProfile() {
+    if ( !fixed_profile ) {
+      profile = ExtractorProfile.current();
+    }
+
+    return(profile);
+  }
+
   /**
    * Reload any fixed configuration.
    */
@@ -137,4 +222,70 @@ public abstract class Evaluator {
    *            not a sentence start/end, <code>false</code> otherwise.
    */
   public abstract boolean evaluate(final char[] buf, int idx) throws EvaluatorException;
+
+  /**
+   * Runs an evaluation based on a sentence start/end <code>Candidate</code>,
+   * which allows facts about the candidate (e.g. the previous word) to be
+   * shared by the <code>Evaluator</code>'s. By default this calls
+   * {@link Evaluator#evaluate(char[], int)}.
+   *
+   * @param candidate   The candidate.
+   *
+   * @return    <code>true</code> if the position in the buffer is
+   *            not a sentence start/end, <code>false</code> otherwise.
+   */
+  public boolean evaluate(Candidate candidate) throws EvaluatorException {
+    return( evaluate(candidate.buffer(), candidate.idx()) );
+  }
+
+  /**
+   * Runs an evaluation for each of the first <code>count</code> positions
+   * in <code>candidates</code>, setting bit <code>i</code> of
+   * <code>out</code> if <code>candidates[i]</code> is not a sentence
+   * start/end (and clearing it otherwise). By default this calls
+   * {@link Evaluator#evaluate(char[], int)} for each position, a sub-class
+   * may override this with a tighter loop.
+   * <p>
+   * An <code>Evaluator</code> is not thread safe, to evaluate ranges of
+   * <code>candidates</code> in parallel use an <code>Evaluator</code>
+   * per range.
+   *
+   * @param buf   Text buffer.
+   * @param candidates    The positions in the buffer.
+   * @param count   The number of positions in <code>candidates</code>.
+   * @param out     The results.
+   */
+  public void evaluateAll(final char[] buf, final int[] candidates, int count,
+      BitSet out) throws EvaluatorException {
+    for ( int i = 0; i < count; i++ ) {
+      if ( evaluate(buf, candidates[i]) ) {
+        out.set(i);
+      } else {
+        out.clear(i);
+      }
+    }
+  }
+
+  /**
+   * Returns a <code>Candidate</code> for position <code>idx</code> in
+   * <code>buf</code>, for a sub-class that implements
+   * {@link Evaluator#evaluate(char[], int)} via
+   * {@link Evaluator#evaluate(Candidate)}. The <code>Candidate</code> is
+   * reused by each call.
+   *
+   * @param buf   Text buffer.
+   * @param idx   The position in the buffer.
+   *
+   * @return    The <code>Candidate</code>.
+   */
+  protected Candidate candidate(final char[] buf, int idx) {
+    if ( candidate == null ) {
+      candidate = new Candidate(parser_data, profile);
+    } else {
+      candidate.profile(profile);
+    }
+
+    candidate.reset(buf, idx);
+    return(candidate);
+  }
 }
@@ -1,11 +1,6 @@
 package com.orbious.extractor.evaluator;
 
-import java.util.HashSet;
-
-import com.orbious.extractor.AppConfig;
 import com.orbious.extractor.TextParser.TextParserData;
-import com.orbious.util.HashSets;
-import com.orbious.util.config.Config;
 
 /**
  * Determines whether a word/position in a text buffer is considered
@@ -18,16 +13,11 @@ import com.orbious.util.config.Config;
 
 public class Heading extends Evaluator {
 
-  /**
-   * In memory list of sentence ends.
-   */
-  private static HashSet< Character > sentence_ends;
-
   /**
    * The minimum threshold (a percentage of characters) to consider the
    * line as a <code>Heading</code>.
    */
-  private static double HEADING_THRESHOLD = 0.75;
+  private static final double HEADING_THRESHOLD = 0.75;
 
 
   /**
@@ -41,8 +31,7 @@ public class Heading extends Evaluator {
   }
 
   public void invalidate() {
-    sentence_ends = HashSets.cvtStringToCharHashSet(
-        Config.getString(AppConfig.sentence_ends));
+    invalidateProfile();
   }
 
   /**
@@ -77,22 +66,19 @@ public class Heading extends Evaluator {
 
     // move to the next line start, checking that there is no sentence
     // ends
-    char ch;
+    int next = parser_data.lineStarts().next(idx);
     boolean fndStart = false;
     int i = idx+1;
     int letterCt = 0;
 
-    debug_str.setLength(0);
     while ( i < buf.length ) {
-      ch = buf[i];
-
-      if ( sentence_ends.contains(ch) ) {
-        debug_str.append(" found end at " + i + ", ");
+      if ( profile.isSentenceEnd(buf[i]) ) {
+        trace.value("Heading found end at", i);
         break;
       }
 
-      if ( parser_data.containsLineStart(i) ) {
-        debug_str.append(" found start at " + i + ", ");
+      if ( i == next ) {
+        trace.value("Heading found start at", i);
         fndStart = true;
         break;
       }
@@ -102,23 +88,20 @@ public class Heading extends Evaluator {
     }
 
     if ( !fndStart ) {
-      if ( logger.isDebugEnabled() && debug_str.length() != 0 ) {
-        logger.debug(debug_str);
-      }
       return(false);
     }
 
     double thresh = parser_data.avgLineCharCt()*HEADING_THRESHOLD;
     if ( letterCt >= thresh ) {
-      if ( logger.isDebugEnabled() ) {
-        logger.debug(debug_str + " failed threshold, letterCt=" + letterCt +
+      if ( trace.enabled() ) {
+        trace.note("\tHeading failed threshold, letterCt=" + letterCt +
             " threshold=" + thresh);
       }
       return(false);
     }
 
-    if ( logger.isDebugEnabled() ) {
-      logger.debug(debug_str + " passed threshold, letterCt=" + letterCt +
+    if ( trace.enabled() ) {
+      trace.note("\tHeading passed threshold, letterCt=" + letterCt +
           " threshold=" + thresh);
     }
     return(true);
@@ -1,8 +1,6 @@
 package com.orbious.extractor.evaluator;
 
-import com.orbious.extractor.ParseDirn;
 import com.orbious.extractor.TextParser.TextParserData;
-import com.orbious.extractor.util.Helper;
 
 /**
  * Used as an end <code>Evaluator</code> to determine if a sentence end
@@ -47,6 +45,17 @@ public class InnerQuote extends Evaluator {
    * therefore not a likely sentence end.
    */
   public boolean evaluate(final char[] buf, int idx) {
+    return( evaluate(candidate(buf, idx)) );
+  }
+
+  /**
+   * As per {@link InnerQuote#evaluate(char[], int)}, using the previous
+   * non-whitespace character memoised by <code>candidate</code>.
+   */
+  public boolean evaluate(Candidate candidate) {
+    char[] buf = candidate.buffer();
+    int idx = candidate.idx();
+
     if ( (idx < 0) || (idx >= buf.length) ) {
       throw new ArrayIndexOutOfBoundsException("Invalid index=" + idx);
     }
@@ -55,7 +64,7 @@ public class InnerQuote extends Evaluator {
       return(false);
     }
 
-    int prevIdx =Helper.moveToNonWhitespace(ParseDirn.LEFT, buf, idx);
+    int prevIdx = candidate.previousNonWhitespace();
     if ( prevIdx < 0 ) {
       return(false);
     } else if ( buf[prevIdx] == ':' ) {
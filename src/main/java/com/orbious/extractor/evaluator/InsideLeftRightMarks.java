@@ -1,10 +1,6 @@
 package com.orbious.extractor.evaluator;
 
-import java.util.HashSet;
-import com.orbious.extractor.AppConfig;
 import com.orbious.extractor.TextParser.TextParserData;
-import com.orbious.util.HashSets;
-import com.orbious.util.config.Config;
 
 /**
  * Used as both a sentence start and end <code>Evaluator</code> to determine
@@ -18,21 +14,6 @@ import com.orbious.util.config.Config;
 
 public class InsideLeftRightMarks extends Evaluator {
 
-  /**
-   * List of allowable sentence ends (see {@link Config#SENTENCE_ENDS}).
-   */
-  private static HashSet<Character> sentence_ends;
-
-  /**
-   * List of left punctuation marks (see {@link Config#LEFT_PUNCTUATION_MARKS}).
-   */
-  private static HashSet<Character> leftMarks;
-
-  /**
-   * List of right punctuation marks (see {@link Config#RIGHT_PUNCTUATION_MARKS}).
-   */
-  private static HashSet<Character> rightMarks;
-
   /**
    * Constructor, initializes this <code>Evaluator</code>.
    *
@@ -44,12 +25,7 @@ public class InsideLeftRightMarks extends Evaluator {
   }
 
   public void invalidate() {
-    leftMarks = HashSets.cvtStringToCharHashSet(
-        Config.getString(AppConfig.left_punctuation_marks));
-    rightMarks = HashSets.cvtStringToCharHashSet(
-        Config.getString(AppConfig.right_punctuation_marks));
-    sentence_ends = HashSets.cvtStringToCharHashSet(
-        Config.getString(AppConfig.sentence_ends));
+    invalidateProfile();
   }
 
   /**
@@ -91,9 +67,9 @@ public class InsideLeftRightMarks extends Evaluator {
 
     for ( int j = startIdx; j < idx; j++ ) {
       ch = buf[j];
-      if ( leftMarks.contains(ch) ) {
+      if ( profile.isLeftMark(ch) ) {
         markCt++;
-      } else if ( rightMarks.contains(ch) ) {
+      } else if ( profile.isRightMark(ch) ) {
         markCt--;
       }
     }
@@ -126,9 +102,9 @@ public class InsideLeftRightMarks extends Evaluator {
 
     for ( int j = idx+1; j < buf.length; j++ ) {
       ch = buf[j];
-      if ( rightMarks.contains(ch) ) {
+      if ( profile.isRightMark(ch) ) {
         return(true);
-      } else if ( (ch != ':') && sentence_ends.contains(ch) ) {
+      } else if ( (ch != ':') && profile.isSentenceEnd(ch) ) {
         return(false);
       }
     }
@@ -154,7 +130,7 @@ public class InsideLeftRightMarks extends Evaluator {
     j = idx-1;
     while ( j > 0 ) {
       ch = buf[j];
-      if ( leftMarks.contains(ch) ) {
+      if ( profile.isLeftMark(ch) ) {
         return(true);
       } else if ( Character.isUpperCase(ch) ) {
         return(false);
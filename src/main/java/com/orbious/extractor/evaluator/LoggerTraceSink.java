@@ -0,0 +1,33 @@
+package com.orbious.extractor.evaluator;
+
+import org.apache.log4j.Logger;
+
+/**
+ * A {@link TraceSink} that writes trace messages to a log4j
+ * <code>Logger</code> at the debug level.
+ *
+ * @author dave
+ * @version 1.0
+ * @since 6.0
+ */
+
+public class LoggerTraceSink implements TraceSink {
+
+  /**
+   * The logger to write to.
+   */
+  private final Logger logger;
+
+  /**
+   * Constructor, initializes the <code>LoggerTraceSink</code>.
+   *
+   * @param logger    The logger to write to.
+   */
+  public LoggerTraceSink(Logger logger) {
+    this.logger = logger;
+  }
+
+  public void trace(String msg) {
+    logger.debug(msg);
+  }
+}
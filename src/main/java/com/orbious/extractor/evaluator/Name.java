@@ -1,17 +1,12 @@
 package com.orbious.extractor.evaluator;
 
-import com.orbious.extractor.AppConfig;
-import com.orbious.extractor.Word;
+import com.orbious.extractor.ExtractorProfile;
+import com.orbious.extractor.ParseDirn;
 import com.orbious.extractor.TextParser.TextParserData;
-import com.orbious.extractor.Word.WordOp;
-import com.orbious.util.HashSets;
-import com.orbious.util.Resources;
-import com.orbious.util.config.Config;
-
-import java.io.File;
-import java.io.IOException;
-import java.io.InputStream;
-import java.util.HashSet;
+import com.orbious.extractor.WordCursor;
+import com.orbious.extractor.dictionary.Dictionary;
+import com.orbious.extractor.dictionary.DictionaryException;
+import com.orbious.extractor.dictionary.DictionaryRegistry;
 
 /**
  * Determines whether a position/word in a text buffer is considered
@@ -26,9 +21,14 @@ import java.util.HashSet;
 public class Name extends Evaluator {
 
   /**
-   * In memory list of names.
+   * In memory list of names, borrowed from the {@link DictionaryRegistry}.
+   */
+  private Dictionary names;
+
+  /**
+   * Holds the copy of the word around a candidate without fullstops.
    */
-  private static HashSet<String> names;
+  private WordCursor cursor;
 
   /**
    * Constructor, initializes this <code>Evaluator</code>.
@@ -38,25 +38,19 @@ public class Name extends Evaluator {
    */
   public Name(TextParserData parserData, EvaluatorType type) {
     super("Name", type);
+    cursor = new WordCursor(profile);
   }
 
   public void invalidate() throws EvaluatorException {
-    String filename = Config.getString(AppConfig.names_filename); 
-    logger.info("using names filename " + filename);
-    
-    InputStream in = Resources.getResourceStream(new File(filename));
-    if ( in == null ) 
-      throw new EvaluatorException("failed to find names file " + filename );      
+    ExtractorProfile current = invalidateProfile();
 
+    cursor.profile(current);
     try {
-      names = HashSets.cvtStreamToHash(in, false);
-    } catch ( IOException ioe ) {
+      names = current.names();
+    } catch ( DictionaryException de ) {
       throw new EvaluatorException("Failed to load names file " +
-         filename, ioe);
+         current.namesFilename(), de);
     }
-    
-    if ( names.size() == 0 ) 
-      throw new EvaluatorException("failed to extract any names from " + filename);
   }
 
   /**
@@ -80,28 +74,29 @@ public class Name extends Evaluator {
    * likely sentence start.
    */
   public boolean evaluate(final char[] buf, int idx) {
+    return( evaluate(candidate(buf, idx)) );
+  }
+
+  /**
+   * As per {@link Name#evaluate(char[], int)}, using the word memoised by
+   * <code>candidate</code> (the same word as <code>Suspension</code>, with
+   * the fullstops dropped). The names are title case, so the word is
+   * looked up ignoring case rather than converted.
+   */
+  public boolean evaluate(Candidate candidate) {
+    int idx = candidate.idx();
+    WordCursor word;
+
     if ( idx != 0 ) {
       idx--;
     }
-    WordOp op = Word.getNextWord(buf, idx, false);
-    if ( op == null ) {
-      return(false);
-    }
-
-    String wd = op.word();
 
-    if ( wd == "" ) {
+    word = candidate.word(idx, ParseDirn.RIGHT, true);
+    if ( word == null ) {
       return(false);
     }
 
-    char[] wdbuf = wd.toCharArray();
-    StringBuilder str = new StringBuilder();
-
-    str.append(Character.toUpperCase(wdbuf[0]));
-    for ( int i = 1 ; i < wdbuf.length; i++ ) {
-      str.append(Character.toLowerCase(wdbuf[i]));
-    }
-
-    return( names.contains(str.toString()) );
+    cursor.copy(word, false);
+    return( names.containsIgnoreCase(cursor.chars(), 0, cursor.length()) );
   }
 }
@@ -1,10 +1,6 @@
 package com.orbious.extractor.evaluator;
 
-import java.util.HashSet;
-import com.orbious.extractor.AppConfig;
 import com.orbious.extractor.TextParser.TextParserData;
-import com.orbious.util.HashSets;
-import com.orbious.util.config.Config;
 
 /**
 * The <code>NumberedHeading</code> <code>Evaluator</code> determines if a full stop
@@ -17,11 +13,6 @@ import com.orbious.util.config.Config;
 
 public class NumberedHeading extends Evaluator {
 
-  /**
-   * <code>HashSet</code> of roman numerals.
-   */
-  private static HashSet< Character > roman_numerals;
-
   /**
    * Constructor, initializes this <code>Evaluator</code>.
    *
@@ -33,8 +24,7 @@ public class NumberedHeading extends Evaluator {
   }
 
   public void invalidate() {
-    roman_numerals = HashSets.cvtStringToCharHashSet(
-        Config.getString(AppConfig.roman_numerals));
+    invalidateProfile();
   }
 
   /**
@@ -115,8 +105,8 @@ public class NumberedHeading extends Evaluator {
       fnd = true;
     }
 
-    if ( logger.isDebugEnabled() ) {
-      logger.debug("Numbered: buf[" + idx + "]=" + buf[idx] +
+    if ( trace.enabled() ) {
+      trace.note("Numbered: buf[" + idx + "]=" + buf[idx] +
           " firstIdx=" + firstIdx + " fnd=" + fnd +
           " hasNonNumber=" + String.valueOf(hasNonNumber).toUpperCase() +
           " Match=" + String.valueOf(fnd).toUpperCase());
@@ -158,7 +148,7 @@ public class NumberedHeading extends Evaluator {
         break;
       }
 
-      if ( !roman_numerals.contains(ch) ) {
+      if ( !profile.isRomanNumeral(ch) ) {
         hasNonRoman = true;
         break;
       }
@@ -172,8 +162,8 @@ public class NumberedHeading extends Evaluator {
       fnd = true;
     }
 
-    if ( logger.isDebugEnabled() ) {
-      logger.debug("Roman: buf[" + idx + "]=" + buf[idx] +
+    if ( trace.enabled() ) {
+      trace.note("Roman: buf[" + idx + "]=" + buf[idx] +
           " firstIdx=" + firstIdx +
           " hasNonRoman=" + String.valueOf(hasNonRoman).toUpperCase() +
           " Match=" + String.valueOf(fnd).toUpperCase());
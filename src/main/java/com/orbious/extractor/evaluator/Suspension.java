@@ -1,16 +1,15 @@
 package com.orbious.extractor.evaluator;
 
-import java.io.File;
-import java.io.IOException;
-import java.io.InputStream;
-import java.util.HashSet;
-import com.orbious.extractor.AppConfig;
-import com.orbious.extractor.Word;
+import java.util.BitSet;
+import com.orbious.extractor.ExtractorProfile;
+import com.orbious.extractor.ParseDirn;
+import com.orbious.extractor.TokenIndex;
 import com.orbious.extractor.TextParser.TextParserData;
-import com.orbious.extractor.Word.WordOp;
-import com.orbious.util.HashSets;
-import com.orbious.util.Resources;
-import com.orbious.util.config.Config;
+import com.orbious.extractor.WordCursor;
+import com.orbious.extractor.dictionary.Dictionary;
+import com.orbious.extractor.dictionary.DictionaryException;
+import com.orbious.extractor.dictionary.DictionaryRegistry;
+import com.orbious.extractor.dictionary.WordAutomaton;
 
 /**
 * The <code>Suspension</code> <code>Evaluator</code> determines if a word
@@ -29,9 +28,32 @@ import com.orbious.util.config.Config;
 public class Suspension extends Evaluator {
 
   /**
-   * In memory list of suspensions.
+   * In memory list of suspensions, borrowed from the {@link DictionaryRegistry}.
    */
-  private static HashSet<String> suspensions;
+  private Dictionary suspensions;
+
+  /**
+   * Holds the lowercase copy of the word around a candidate.
+   */
+  private WordCursor cursor;
+
+  /**
+   * The buffer {@link Suspension#marks} applies to, the
+   * <code>TextParser</code> buffer once marked.
+   */
+  private char[] marked_buf;
+
+  /**
+   * The suspensions marked in <code>marked_buf</code>, see
+   * {@link Suspension#mark(char[], TokenIndex)}.
+   */
+  private BitSet marks;
+
+  /**
+   * The indexes in <code>marked_buf</code> that are evaluated per
+   * candidate rather than via {@link Suspension#marks}.
+   */
+  private BitSet unknown;
 
   /**
    * Constructor, initializes this <code>Evaluator</code>.
@@ -40,26 +62,21 @@ public class Suspension extends Evaluator {
    * @param type    The type of <code>Evaluator</code>.
    */
   public Suspension(TextParserData parserData, EvaluatorType type) {
-    super("Suspension", type);
+    super("Suspension", parserData, type);
+    cursor = new WordCursor(profile);
   }
 
   public void invalidate() throws EvaluatorException {
-    String filename = Config.getString(AppConfig.suspension_filename); 
-    logger.info("using suspension filename " + filename);
-    
-    InputStream in = Resources.getResourceStream(new File(filename));
-    
-    if ( in == null ) 
-      throw new EvaluatorException("failed to find suspension file " + filename );      
-    
+    ExtractorProfile current = invalidateProfile();
+
+    cursor.profile(current);
+    marked_buf = null;
     try {
-      suspensions = HashSets.cvtStreamToHash(in, true);
-    } catch ( IOException ioe ) {
-      throw new EvaluatorException("Failed to suspensions file " +filename, ioe);
+      suspensions = current.suspensions();
+    } catch ( DictionaryException de ) {
+      throw new EvaluatorException("Failed to load suspensions file " +
+          current.suspensionFilename(), de);
     }
-    
-    if ( suspensions.size() == 0 ) 
-      throw new EvaluatorException("failed to extract any suspensions from " + filename);
   }
 
   /**
@@ -86,31 +103,225 @@ public class Suspension extends Evaluator {
    * not a likely sentence start/end.
    */
   public boolean evaluate(final char[] buf, int idx)  {
-    WordOp op;
+    return( evaluate(candidate(buf, idx)) );
+  }
 
-    if ( type == EvaluatorType.START ) {
-      if ( !Character.isUpperCase(buf[idx]) ) {
-        return(false);
-      }
-      if ( idx != 0 ) {
-        idx--;
+  /**
+   * As per {@link Suspension#evaluate(char[], int)}, using the suspensions
+   * marked in the <code>TextParser</code> buffer, or otherwise the word
+   * memoised by <code>candidate</code>.
+   */
+  public boolean evaluate(Candidate candidate) {
+    char[] buf = candidate.buffer();
+    int idx = candidate.idx();
+    WordCursor word;
+    int from;
+
+    from = from(buf, idx);
+    if ( from == -1 ) {
+      return(false);
+    }
+
+    if ( marked(buf) && !unknown.get(markIdx(buf, idx, from)) ) {
+      return( marks.get(markIdx(buf, idx, from)) );
+    }
+
+    word = candidate.word(from, (type == EvaluatorType.START) ?
+        ParseDirn.RIGHT : ParseDirn.LEFT, true);
+    if ( word == null ) {
+      return(false);
+    }
+
+    return( isSuspension(word) );
+  }
+
+  /**
+   * As per {@link Suspension#evaluate(char[], int)} for each candidate,
+   * in a single loop that uses the suspensions marked in the
+   * <code>TextParser</code> buffer, or otherwise finds each word with the
+   * same <code>WordCursor</code>.
+   */
+  public void evaluateAll(final char[] buf, final int[] candidates, int count,
+      BitSet out) {
+    boolean marked = marked(buf);
+    boolean found;
+    int from;
+    int idx;
+    int i;
+
+    for ( int n = 0; n < count; n++ ) {
+      idx = candidates[n];
+      from = from(buf, idx);
+
+      if ( from == -1 ) {
+        found = false;
+      } else if ( marked && !unknown.get(i = markIdx(buf, idx, from)) ) {
+        found = marks.get(i);
+      } else if ( type == EvaluatorType.START ) {
+        found = cursor.next(buf, from, true) && isSuspension(cursor);
+      } else {
+        found = cursor.previous(buf, from, true) && isSuspension(cursor);
       }
-      op = Word.getNextWord(buf, idx, true);
-    } else {
-      if ( buf[idx] != '.' ) {
-        return(false);
+
+      if ( found ) {
+        out.set(n);
+      } else {
+        out.clear(n);
       }
+    }
+  }
 
-      if ( idx+1 < buf.length ) {
-        idx++;
+  /**
+   * Returns the index the word is found from for a candidate, i.e. the
+   * index before an uppercase <code>START</code> or after an
+   * <code>END</code> fullstop.
+   *
+   * @param buf   Text buffer.
+   * @param idx   The position of the candidate in the buffer.
+   *
+   * @return    The index in the buffer, or <code>-1</code> if the candidate
+   *            cannot be a suspension.
+   */
+  private int from(final char[] buf, int idx) {
+    if ( type == EvaluatorType.START ) {
+      if ( !Character.isUpperCase(buf[idx]) ) {
+        return(-1);
       }
-      op = Word.getPreviousWord(buf, idx, true);
+      return( (idx != 0) ? idx-1 : idx );
+    }
+
+    if ( buf[idx] != '.' ) {
+      return(-1);
     }
+    return( (idx+1 < buf.length) ? idx+1 : idx );
+  }
 
-    if ( op == null ) {
+  /**
+   * Returns the index in {@link Suspension#marks} for a candidate, i.e.
+   * <code>from</code> unless it is whitespace (in which case the word is
+   * the word containing <code>idx</code>).
+   */
+  private int markIdx(final char[] buf, int idx, int from) {
+    return( Character.isWhitespace(buf[from]) ? idx : from );
+  }
+
+  /**
+   * Determines if the suspensions are marked for <code>buf</code>,
+   * marking them if <code>buf</code> is the <code>TextParser</code>
+   * buffer.
+   *
+   * @param buf   Text buffer.
+   *
+   * @return    <code>true</code> if {@link Suspension#marks} applies to
+   *            <code>buf</code>.
+   */
+  private boolean marked(final char[] buf) {
+    TokenIndex tokens;
+
+    if ( buf == marked_buf ) {
+      return(true);
+    }
+
+    tokens = (parser_data == null) ? null : parser_data.tokens(buf);
+    if ( tokens == null ) {
       return(false);
     }
 
-    return( suspensions.contains(op.word().toLowerCase()) );
+    mark(buf, tokens);
+    return(true);
+  }
+
+  /**
+   * Marks the suspensions in <code>buf</code> in a single pass over the
+   * tokens, stepping the suspensions <code>WordAutomaton</code> through
+   * the (lowercase) characters of each word as found by
+   * {@link WordCursor} (i.e. letters, digits and inner punctuation).
+   * <p>
+   * For an <code>END</code> evaluator bit <code>i</code> of
+   * {@link Suspension#marks} is set if the word from the start of the
+   * token to <code>i</code> is a suspension, for a <code>START</code>
+   * evaluator if the word from <code>i</code> to the end of the token is
+   * a suspension (so the automaton is stepped backwards). Words
+   * containing non-ASCII characters, or without a letter/digit (where
+   * the word is in a preceding token) are marked in
+   * {@link Suspension#unknown} and evaluated per candidate.
+   *
+   * @param buf     Text buffer.
+   * @param tokens  The tokens in <code>buf</code>.
+   */
+  private void mark(final char[] buf, TokenIndex tokens) {
+    boolean left = (type == EvaluatorType.START);
+    WordAutomaton automaton = suspensions.automaton(left);
+    boolean ascii;
+    boolean letter;
+    int state;
+    int start;
+    int end;
+    int inc;
+    int i;
+    char ch;
+
+    marks = new BitSet(buf.length);
+    unknown = new BitSet(buf.length);
+
+    for ( int t = 0; t < tokens.size(); t++ ) {
+      start = tokens.start(t);
+      end = tokens.end(t);
+      i = left ? end-1 : start;
+      inc = left ? -1 : 1;
+
+      state = automaton.start();
+      ascii = true;
+      letter = false;
+
+      for ( ; (i >= start) && (i < end); i += inc ) {
+        ch = buf[i];
+
+        if ( Character.isLetterOrDigit(ch) ) {
+          letter = true;
+        } else if ( !profile.isInnerPunctuation(ch) || (i-1 < 0) ||
+            !Character.isLetterOrDigit(buf[i-1]) ) {
+          ch = 0;
+        }
+
+        if ( ch > 0x7f ) {
+          ascii = false;
+        } else if ( (ch != 0) && (state != WordAutomaton.DEAD) ) {
+          state = automaton.step(state, Character.toLowerCase(ch));
+        }
+
+        if ( !ascii || !letter ) {
+          unknown.set(i);
+        } else if ( automaton.accepts(state) ) {
+          marks.set(i);
+        }
+      }
+    }
+
+    marked_buf = buf;
+  }
+
+  /**
+   * Determines if <code>word</code> is in the suspensions dictionary,
+   * ignoring case.
+   *
+   * @param word    The word, which is left unchanged unless it is
+   *                {@link Suspension#cursor}.
+   *
+   * @return    <code>true</code> if the word is a suspension,
+   *            <code>false</code> otherwise.
+   */
+  private boolean isSuspension(WordCursor word) {
+    if ( !word.isAscii() ) {
+      // String.toLowerCase() differs from Character.toLowerCase() for
+      // some characters
+      return( suspensions.contains(word.toString().toLowerCase()) );
+    }
+
+    if ( word != cursor ) {
+      cursor.copy(word, true);
+    }
+    cursor.toLowerCase();
+    return( suspensions.contains(cursor.chars(), 0, cursor.length()) );
   }
 }
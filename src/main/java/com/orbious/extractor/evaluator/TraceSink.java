@@ -0,0 +1,20 @@
+package com.orbious.extractor.evaluator;
+
+/**
+ * A destination for the diagnostic output of the evaluation pipeline
+ * (see {@link EvaluationTrace}).
+ *
+ * @author dave
+ * @version 1.0
+ * @since 6.0
+ */
+
+public interface TraceSink {
+
+  /**
+   * Receives a completed trace message.
+   *
+   * @param msg   The trace message.
+   */
+  public void trace(String msg);
+}
@@ -1,11 +1,9 @@
 package com.orbious.extractor.evaluator;
 
+import java.nio.CharBuffer;
 import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
-import com.orbious.extractor.AppConfig;
 import com.orbious.extractor.TextParser.TextParserData;
-import com.orbious.util.config.Config;
 
 /**
  * Determines whether a position/word in a text buffer is considered
@@ -19,11 +17,6 @@ import com.orbious.util.config.Config;
 
 public class UrlText extends Evaluator {
 
-  /**
-   * The regular expression pattern that is used to match a URL.
-   */
-  private static Pattern url_pattern;
-
   /**
    * Constructor, initializes this <code>Evaluator</code>.
    *
@@ -31,11 +24,11 @@ public class UrlText extends Evaluator {
    * @param type    The type of <code>Evaluator</code>.
    */
   public UrlText(TextParserData parserData, EvaluatorType type) {
-    super("UrlText", type);
+    super("UrlText", parserData, type);
   }
 
   public void invalidate() {
-    url_pattern = Pattern.compile(Config.getString(AppConfig.url_regex));
+    invalidateProfile();
   }
 
   /**
@@ -58,56 +51,38 @@ public class UrlText extends Evaluator {
    * likely sentence end.
    */
   public boolean evaluate(final char[] buf, int idx) {
-    char ch;
-    int i;
-    StringBuilder sb;
+    return( evaluate(candidate(buf, idx)) );
+  }
 
-    sb = new StringBuilder();
+  /**
+   * As per {@link UrlText#evaluate(char[], int)}, using the whitespace
+   * memoised by <code>candidate</code>.
+   */
+  public boolean evaluate(Candidate candidate) {
+    char[] buf = candidate.buffer();
+    int idx = candidate.idx();
+    CharBuffer word;
+    int start;
 
     // if the next character is punctuation, then return false
     // this handles the special case of www.google.com.'.' (i.e. the second
     // stop)
     if ( (idx-1 >= 0) && !Character.isWhitespace(buf[idx-1]) &&
     		!Character.isLetterOrDigit(buf[idx-1]) ) {
-      if ( logger.isDebugEnabled() ) {
-        logger.debug("Extracted (ch)=" + buf[idx-1] + " idx=" + idx + " Result=FALSE");
+      if ( trace.enabled() ) {
+        trace.note("Extracted (ch)=" + buf[idx-1] + " idx=" + idx + " Result=FALSE");
       }
     	return(false);
     }
 
-    // add from idx-1 to a whitespace
-    if ( (idx-1) >= 0 ) {
-      i = idx-1;
-      while ( i >= 0 ) {
-        ch = buf[i];
-        if ( Character.isWhitespace(ch) ) {
-          break;
-        }
-
-        sb.append(ch);
-        i--;
-      }
-    }
-
-    sb = sb.reverse();
-
-    // add from idx to a whitespace
-    i = idx;
-    while ( i < buf.length ) {
-      ch = buf[i];
-      if ( Character.isWhitespace(ch) ) {
-        break;
-      }
-
-      sb.append(ch);
-      i++;
-    }
-
-    Matcher matcher = url_pattern.matcher(sb.toString());
+    // the characters from idx-1 to a whitespace and from idx to a whitespace
+    start = candidate.tokenStart();
+    word = CharBuffer.wrap(buf, start, candidate.tokenEnd()-start);
+    Matcher matcher = profile.urlPattern().matcher(word);
     boolean result = matcher.find();
 
-    if ( logger.isDebugEnabled() ) {
-      logger.debug("String=" + sb.toString() + " Match=" +
+    if ( trace.enabled() ) {
+      trace.note("String=" + word.toString() + " Match=" +
           String.valueOf(result).toUpperCase());
     }
 
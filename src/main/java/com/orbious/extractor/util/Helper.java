@@ -2,7 +2,7 @@ package com.orbious.extractor.util;
 
 import com.orbious.extractor.ParseDirn;
 import com.orbious.extractor.SentenceMapEntry;
-import com.orbious.extractor.SentenceMapEntry.Likelihood;
+import com.orbious.extractor.SentenceMap;
 import com.orbious.extractor.SentenceMapEntry.SentenceEntrySubType;
 import com.orbious.extractor.SentenceMapEntry.SentenceEntryType;
 
@@ -210,9 +210,29 @@ public class Helper {
    */
   public static String getDebugStringFromSentenceMap(final char[] template,
       final SentenceMapEntry[] buf, int idx, int size, int width) {
+    return( getDebugStringFromSentenceMap(template, SentenceMap.fromEntries(buf),
+        idx, size, width) );
+  }
+
+  /**
+   * Returns a debugging string for a <code>SentenceMap</code>.
+   *
+   * @param template    A text buffer of the same size as <code>buf</code>
+   *                    used to insert whitespace characters.
+   * @param buf   A <code>SentenceMap</code>.
+   * @param idx   The position in <code>buf</code> to begin writing
+   *              the debug string.
+   * @param size    The number of entries to examine in <code>buf</code>.
+   * @param width   The width of the debug string where a newline
+   *                is inserted at each length <code>width</code> in the debug
+   *                string. If <code>-1</code>, no newline is inserted.
+   *
+   * @return    A debug string for <code>buf</code>.
+   */
+  public static String getDebugStringFromSentenceMap(final char[] template,
+      final SentenceMap buf, int idx, int size, int width) {
     StringBuilder sb;
     int modct;
-    SentenceMapEntry entry;
     SentenceEntryType type;
     SentenceEntrySubType subtype;
     int start;
@@ -234,8 +254,8 @@ public class Helper {
     }
 
     end = idx+(size/2)+1;
-    if ( end >= buf.length ) {
-      end = buf.length;
+    if ( end >= buf.length() ) {
+      end = buf.length();
     }
 
     // e - Likely end from start
@@ -250,12 +270,11 @@ public class Helper {
       if ( Character.isWhitespace(template[i]) ) {
         sb.append(" ");
       } else {
-        entry = buf[i];
-        if ( entry == null ) {
+        if ( !buf.contains(i) ) {
           sb.append(".");
         } else {
-          type = entry.type();
-          subtype = entry.subtype();
+          type = buf.type(i);
+          subtype = buf.subtype(i);
 
           if ( type == SentenceEntryType.PAUSE ) {
             sb.append("P");
@@ -267,7 +286,7 @@ public class Helper {
               sb.append("e");
             } else {
               //
-              if ( entry.likelihood() == Likelihood.LIKELY ) {
+              if ( !buf.isUnlikely(i) ) {
                 sb.append("E");
               } else {
                 sb.append("U");
@@ -278,7 +297,7 @@ public class Helper {
               // always likely
               sb.append("s");
             } else {
-              if ( entry.likelihood() == Likelihood.LIKELY ) {
+              if ( !buf.isUnlikely(i) ) {
                 sb.append("S");
               } else {
                 sb.append("n");
@@ -3,6 +3,9 @@ package com.orbious;
 import java.util.Vector;
 import java.util.HashSet;
 import com.orbious.extractor.util.HelperTest;
+import com.orbious.extractor.app.FileParserTest;
+import com.orbious.extractor.dictionary.DictionaryRegistryTest;
+import com.orbious.extractor.dictionary.DictionarySnapshotTest;
 import com.orbious.extractor.TextParser.TextParserData;
 import com.orbious.extractor.evaluator.AbbreviatedNameTest;
 import com.orbious.extractor.evaluator.HeadingTest;
@@ -12,13 +15,27 @@ import com.orbious.extractor.evaluator.NumberedHeadingTest;
 import com.orbious.extractor.evaluator.SuspensionTest;
 import com.orbious.extractor.evaluator.AcronymTest;
 import com.orbious.extractor.evaluator.UrlTextTest;
+import com.orbious.extractor.evaluator.CandidateTest;
 import com.orbious.extractor.AppConfig;
+import com.orbious.extractor.ConcurrentTextParserTest;
 import com.orbious.extractor.SentenceMapEntry;
+import com.orbious.extractor.SentenceMapTest;
+import com.orbious.extractor.LineIndexTest;
+import com.orbious.extractor.CharClassesTest;
+import com.orbious.extractor.TokenIndexTest;
+import com.orbious.extractor.CandidateScannerTest;
+import com.orbious.extractor.BufferBuilderTest;
+import com.orbious.extractor.DocumentReaderTest;
+import com.orbious.extractor.OffsetMapTest;
 import com.orbious.extractor.SentenceSplitterTest;
+import com.orbious.extractor.SentenceSpansTest;
+import com.orbious.extractor.SentenceSinkTest;
+import com.orbious.extractor.StreamingTextParserTest;
 import com.orbious.extractor.TextParserOp;
 import com.orbious.extractor.TextParserTest;
 import com.orbious.extractor.WhitespaceRemoverTest;
 import com.orbious.extractor.WordTest;
+import com.orbious.extractor.WordCursorTest;
 import com.orbious.extractor.SentenceTest;
 import com.orbious.util.Loggers;
 import com.orbious.util.config.Config;
@@ -42,6 +59,8 @@ public class AllExtractorTests {
     ts = new TestSuite("All Tests");
 
     ts.addTestSuite(HelperTest.class);
+    ts.addTestSuite(DictionaryRegistryTest.class);
+    ts.addTestSuite(DictionarySnapshotTest.class);
 
     ts.addTestSuite(NameTest.class);
     ts.addTestSuite(SuspensionTest.class);
@@ -51,12 +70,27 @@ public class AllExtractorTests {
     ts.addTestSuite(AbbreviatedNameTest.class);
     ts.addTestSuite(HeadingTest.class);
     ts.addTestSuite(InsideLeftRightMarksTest.class);
+    ts.addTestSuite(CandidateTest.class);
 
     ts.addTestSuite(WhitespaceRemoverTest.class);
+    ts.addTestSuite(BufferBuilderTest.class);
+    ts.addTestSuite(DocumentReaderTest.class);
+    ts.addTestSuite(OffsetMapTest.class);
+    ts.addTestSuite(SentenceMapTest.class);
+    ts.addTestSuite(LineIndexTest.class);
+    ts.addTestSuite(CharClassesTest.class);
+    ts.addTestSuite(TokenIndexTest.class);
+    ts.addTestSuite(CandidateScannerTest.class);
     ts.addTestSuite(SentenceSplitterTest.class);
+    ts.addTestSuite(SentenceSpansTest.class);
+    ts.addTestSuite(SentenceSinkTest.class);
+    ts.addTestSuite(FileParserTest.class);
     ts.addTestSuite(WordTest.class);
+    ts.addTestSuite(WordCursorTest.class);
     ts.addTestSuite(SentenceTest.class);
     ts.addTestSuite(TextParserTest.class);
+    ts.addTestSuite(ConcurrentTextParserTest.class);
+    ts.addTestSuite(StreamingTextParserTest.class);
 
     return(ts);
   }
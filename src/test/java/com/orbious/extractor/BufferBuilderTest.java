@@ -0,0 +1,68 @@
+package com.orbious.extractor;
+
+import java.util.Arrays;
+import java.util.Vector;
+import com.orbious.AllExtractorTests;
+import junit.framework.TestCase;
+
+/**
+ * @author dave
+ * @version 1.0
+ * @since 6.0
+ */
+
+public class BufferBuilderTest extends TestCase {
+
+  public BufferBuilderTest(String name) {
+    super(name);
+    AllExtractorTests.init();
+  }
+
+  public void test_Append() {
+    Vector<String> text = new Vector<String>(
+        Arrays.asList(
+            "\n",
+            " The  style and  use varies in the english language.  \n",
+            " \n",
+            "Turing was ranked twenty-  ",
+            "first on the BBC nationwide poll of the 100 Greatest Britons."
+        ));
+
+    // grows from the minimum capacity
+    BufferBuilder builder = new BufferBuilder(0);
+    StringBuilder expected = new StringBuilder();
+    int[] offsets = new int[text.size()];
+    Vector<Integer> starts = new Vector<Integer>();
+    String str;
+
+    for ( int i = 0; i < text.size(); i++ ) {
+      offsets[i] = expected.length();
+      str = WhitespaceRemover.remove(text, i);
+      if ( str != null ) {
+        starts.add(expected.length());
+        expected.append(str);
+      }
+      builder.append(text.get(i));
+    }
+
+    assertEquals(expected.length(), builder.length());
+    assertEquals(text.size(), builder.lineCt());
+    assertTrue(Arrays.equals(offsets, builder.lineOffsets()));
+    assertEquals(starts.size(), builder.lineStarts().size());
+    for ( int i = 0; i < starts.size(); i++ ) {
+      assertEquals(starts.get(i).intValue(), builder.lineStarts().lineStart(i));
+    }
+
+    char[] buf = builder.buffer();
+    assertEquals(expected.length(), buf.length);
+    assertEquals(expected.toString(), new String(buf));
+  }
+
+  public void test_Empty() {
+    BufferBuilder builder = new BufferBuilder(16);
+
+    assertEquals(0, builder.buffer().length);
+    assertEquals(0, builder.lineOffsets().length);
+    assertEquals(0, builder.lineStarts().size());
+  }
+}
@@ -0,0 +1,72 @@
+package com.orbious.extractor;
+
+import com.orbious.AllExtractorTests;
+import junit.framework.TestCase;
+
+/**
+ * @author dave
+ * @version 1.0
+ * @since 6.0
+ */
+
+public class CandidateScannerTest extends TestCase {
+
+  public CandidateScannerTest(String name) {
+    super(name);
+    AllExtractorTests.init();
+  }
+
+  public void test_Scan() {
+    CandidateScanner scanner = new CandidateScanner();
+
+    //                    0123456789012345678901234567
+    scanner.scan("The cat sat.The DOG? no McX!".toCharArray(),
+        ExtractorProfile.current());
+
+    assertEquals(3, scanner.endCount());
+    assertEquals(11, scanner.ends()[0]);
+    assertEquals(19, scanner.ends()[1]);
+    assertEquals(27, scanner.ends()[2]);
+
+    assertEquals(4, scanner.startCount());
+    assertEquals(0, scanner.starts()[0]);
+    assertEquals(12, scanner.starts()[1]);
+    assertEquals(16, scanner.starts()[2]);
+    assertEquals(24, scanner.starts()[3]);
+
+    assertEquals(7000.0/28, scanner.density(), 0.001);
+  }
+
+  public void test_MatchesCharacterChecks() {
+    StringBuilder sb = new StringBuilder();
+    CandidateScanner scanner = new CandidateScanner();
+    ExtractorProfile profile = ExtractorProfile.current();
+    char[] buf;
+    int e = 0;
+    int s = 0;
+
+    for ( int i = 0; i < 200; i++ ) {
+      sb.append("Word ").append(i).append((i % 3 == 0) ? ". " : "? the ");
+    }
+    buf = sb.toString().toCharArray();
+
+    scanner.scan(buf, profile);
+    for ( int i = 0; i < buf.length; i++ ) {
+      if ( profile.isSentenceEnd(buf[i]) ) {
+        assertEquals(i, scanner.ends()[e++]);
+      } else if ( Character.isUpperCase(buf[i]) &&
+          ((i == 0) || Character.isWhitespace(buf[i-1]) ||
+           profile.isSentenceEnd(buf[i-1])) ) {
+        assertEquals(i, scanner.starts()[s++]);
+      }
+    }
+    assertEquals(e, scanner.endCount());
+    assertEquals(s, scanner.startCount());
+
+    // a rescan replaces the candidates
+    scanner.scan(new char[0], profile);
+    assertEquals(0, scanner.endCount());
+    assertEquals(0, scanner.startCount());
+    assertEquals(0.0, scanner.density(), 0.0);
+  }
+}
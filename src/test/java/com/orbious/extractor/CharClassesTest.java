@@ -0,0 +1,46 @@
+package com.orbious.extractor;
+
+import com.orbious.AllExtractorTests;
+import com.orbious.util.config.Config;
+import junit.framework.TestCase;
+
+/**
+ * @author dave
+ * @version 1.0
+ * @since 6.0
+ */
+
+public class CharClassesTest extends TestCase {
+
+  public CharClassesTest(String name) {
+    super(name);
+    AllExtractorTests.init();
+  }
+
+  public void test_Classes() {
+    CharClasses classes = new CharClasses(".?", ".,", "-", "$", "(", ")",
+        "IVX");
+
+    assertTrue(classes.is('.', CharClasses.SENTENCE_END));
+    assertTrue(classes.is('.', CharClasses.PUNCTUATION));
+    assertFalse(classes.is(',', CharClasses.SENTENCE_END));
+    assertTrue(classes.is('(', CharClasses.LEFT_MARK | CharClasses.RIGHT_MARK));
+    assertTrue(classes.is('X', CharClasses.ROMAN_NUMERAL));
+    assertFalse(classes.is('a', 0xff));
+    assertEquals(CharClasses.SENTENCE_END | CharClasses.PUNCTUATION,
+        classes.classes('.'));
+  }
+
+  public void test_MatchesConfig() {
+    ExtractorProfile profile = ExtractorProfile.current();
+    String sentenceEnds = Config.getString(AppConfig.sentence_ends);
+    String punctuation = Config.getString(AppConfig.punctuation);
+    String romanNumerals = Config.getString(AppConfig.roman_numerals);
+
+    for ( char ch = 0; ch < 0x3000; ch++ ) {
+      assertEquals(sentenceEnds.indexOf(ch) != -1, profile.isSentenceEnd(ch));
+      assertEquals(punctuation.indexOf(ch) != -1, profile.isPunctuation(ch));
+      assertEquals(romanNumerals.indexOf(ch) != -1, profile.isRomanNumeral(ch));
+    }
+  }
+}
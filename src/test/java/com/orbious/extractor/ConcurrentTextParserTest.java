@@ -0,0 +1,101 @@
+package com.orbious.extractor;
+
+import java.io.File;
+import java.util.HashMap;
+import java.util.Vector;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import com.orbious.AllExtractorTests;
+import junit.framework.TestCase;
+
+/**
+ * @author dave
+ * @version 1.0
+ * @since 6.0
+ */
+
+public class ConcurrentTextParserTest extends TestCase {
+
+  private static final int THREAD_CT = 8;
+
+  private static final int ROUND_CT = 4;
+
+  public ConcurrentTextParserTest(String name) {
+    super(name);
+    AllExtractorTests.init();
+  }
+
+  public void test_ProfileIsShared() {
+    ExtractorProfile profile = ExtractorProfile.current();
+
+    assertSame(profile, ExtractorProfile.current());
+    assertSame(profile, new TextParser("buffer").profile());
+  }
+
+  public void test_ConcurrentMatchesSingleThreaded() throws Exception {
+    final ExtractorProfile profile = ExtractorProfile.current();
+    final Vector<String> fnames = corpus();
+    HashMap<String, Vector<String>> expected;
+    ExecutorService executor;
+    Vector<Future<String>> results;
+
+    expected = new HashMap<String, Vector<String>>();
+    for ( int i = 0; i < fnames.size(); i++ ) {
+      expected.put(fnames.get(i), parse(fnames.get(i), profile));
+    }
+
+    executor = Executors.newFixedThreadPool(THREAD_CT);
+    results = new Vector<Future<String>>();
+
+    try {
+      for ( int i = 0; i < THREAD_CT*ROUND_CT; i++ ) {
+        final String fname = fnames.get(i % fnames.size());
+        final Vector<String> sentences = expected.get(fname);
+
+        results.add(executor.submit(new Callable<String>() {
+          public String call() throws Exception {
+            Vector<String> actual = parse(fname, profile);
+            if ( !sentences.equals(actual) ) {
+              return(fname);
+            }
+            return(null);
+          }
+        }));
+      }
+
+      for ( int i = 0; i < results.size(); i++ ) {
+        String failed = results.get(i).get();
+        if ( failed != null ) {
+          fail("Concurrent output differs for " + failed);
+        }
+      }
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  private static Vector<String> corpus() {
+    File[] files = new File("src/test/resources").listFiles();
+    Vector<String> fnames = new Vector<String>();
+
+    for ( int i = 0; i < files.length; i++ ) {
+      if ( files[i].getName().endsWith(".txt") ) {
+        fnames.add(files[i].toString());
+      }
+    }
+
+    return(fnames);
+  }
+
+  private static Vector<String> parse(String fname, ExtractorProfile profile)
+    throws Exception {
+    TextParser parser = new TextParser(fname, profile);
+
+    parser.parse();
+    parser.genSentences();
+
+    return(parser.sentencesAsStr(true, true));
+  }
+}
@@ -0,0 +1,141 @@
+package com.orbious.extractor;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.util.Vector;
+import com.orbious.AllExtractorTests;
+import junit.framework.TestCase;
+
+/**
+ * @author dave
+ * @version 1.0
+ * @since 6.0
+ */
+
+public class DocumentReaderTest extends TestCase {
+
+  private File file;
+
+  public DocumentReaderTest(String name) {
+    super(name);
+    AllExtractorTests.init();
+  }
+
+  public void setUp() throws Exception {
+    file = File.createTempFile("document", ".txt");
+  }
+
+  public void tearDown() {
+    file.delete();
+  }
+
+  private byte[] write(String text, Charset charset) throws Exception {
+    byte[] bytes = text.getBytes(charset.name());
+    FileOutputStream out = new FileOutputStream(file);
+
+    try {
+      out.write(bytes);
+    } finally {
+      out.close();
+    }
+
+    return(bytes);
+  }
+
+  private Vector<String> expected(byte[] bytes, Charset charset) throws Exception {
+    BufferedReader br = new BufferedReader(
+        new InputStreamReader(new ByteArrayInputStream(bytes), charset));
+    Vector<String> lines = new Vector<String>();
+    String str;
+
+    while ( (str = br.readLine()) != null ) {
+      lines.add(str);
+    }
+
+    return(lines);
+  }
+
+  private Vector<String> read(Charset charset, int mapSize, int chunkSize)
+    throws Exception {
+    DocumentReader reader = new DocumentReader(file, charset, mapSize, chunkSize);
+    Vector<String> lines = new Vector<String>();
+
+    try {
+      while ( reader.next() ) {
+        lines.add(new String(reader.buffer(), reader.start(), reader.length()));
+      }
+    } finally {
+      reader.close();
+    }
+
+    return(lines);
+  }
+
+  public void test_Lines() throws Exception {
+    Charset utf8 = Charset.forName("UTF-8");
+    String[] texts = new String[] {
+        "",
+        "\n",
+        "one",
+        "one\n",
+        "one\r\ntwo\rthree\n\nfour\r\r\n",
+        "a long line without a terminator, longer than the chunk",
+        "caf\u00e9 na\u00efve \u20ac5 \ud834\udd1e\r\n\u00fcber\n"
+    };
+    int[][] sizes = new int[][] { {1 << 20, 1 << 16}, {3, 4}, {1, 1}, {7, 2} };
+    byte[] bytes;
+
+    for ( int i = 0; i < texts.length; i++ ) {
+      bytes = write(texts[i], utf8);
+      for ( int j = 0; j < sizes.length; j++ ) {
+        assertEquals("text=" + i + " sizes=" + j, expected(bytes, utf8),
+            read(utf8, sizes[j][0], sizes[j][1]));
+      }
+    }
+  }
+
+  public void test_Multibyte() throws Exception {
+    Charset utf8 = Charset.forName("UTF-8");
+    Vector<String> lines;
+
+    // 2, 3 and 4 byte sequences (a surrogate pair), split by every map size
+    write("caf\u00e9 \u20ac5\n\ud834\udd1e\u00fcber", utf8);
+    for ( int i = 1; i < 8; i++ ) {
+      lines = read(utf8, i, 2);
+      assertEquals(2, lines.size());
+      assertEquals("caf\u00e9 \u20ac5", lines.get(0));
+      assertEquals("\ud834\udd1e\u00fcber", lines.get(1));
+    }
+  }
+
+  public void test_Charsets() throws Exception {
+    String text = "Caf\u00e9 \u201cquoted\u201d \u2014 na\u00efve.\r\nNext line.\n";
+    String[] names = new String[] { "UTF-8", "ISO-8859-1", "windows-1252" };
+    Charset charset;
+    byte[] bytes;
+
+    for ( int i = 0; i < names.length; i++ ) {
+      charset = Charset.forName(names[i]);
+      bytes = write(text, charset);
+      assertEquals(names[i], expected(bytes, charset), read(charset, 5, 3));
+    }
+  }
+
+  public void test_MalformedReplaced() throws Exception {
+    Charset utf8 = Charset.forName("UTF-8");
+    byte[] bytes = new byte[] { 'a', (byte)0xc3, '\n', (byte)0xe2, (byte)0x82 };
+    FileOutputStream out = new FileOutputStream(file);
+
+    try {
+      out.write(bytes);
+    } finally {
+      out.close();
+    }
+
+    assertEquals(expected(bytes, utf8), read(utf8, 4, 2));
+  }
+}
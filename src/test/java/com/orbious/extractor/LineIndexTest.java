@@ -0,0 +1,75 @@
+package com.orbious.extractor;
+
+import java.util.HashSet;
+import com.orbious.AllExtractorTests;
+import junit.framework.TestCase;
+
+/**
+ * @author dave
+ * @version 1.0
+ * @since 6.0
+ */
+
+public class LineIndexTest extends TestCase {
+
+  public LineIndexTest(String name) {
+    super(name);
+    AllExtractorTests.init();
+  }
+
+  public void test_Queries() {
+    LineIndex index = new LineIndex();
+
+    index.add(0);
+    index.add(10);
+    index.add(25);
+
+    assertEquals(3, index.size());
+    assertTrue(index.contains(10));
+    assertFalse(index.contains(11));
+    assertFalse(index.contains(-1));
+
+    assertEquals(0, index.lineOf(0));
+    assertEquals(0, index.lineOf(9));
+    assertEquals(1, index.lineOf(10));
+    assertEquals(2, index.lineOf(100));
+    assertEquals(25, index.lineStart(2));
+
+    assertEquals(10, index.next(0));
+    assertEquals(25, index.next(10));
+    assertEquals(-1, index.next(25));
+
+    assertEquals(-1, index.previous(0));
+    assertEquals(0, index.previous(10));
+    assertEquals(10, index.previous(11));
+
+    assertEquals(10, index.floor(10));
+    assertEquals(10, index.floor(24));
+  }
+
+  public void test_FromCollection() {
+    HashSet<Integer> lineStarts = new HashSet<Integer>();
+    LineIndex index;
+
+    lineStarts.add(40);
+    lineStarts.add(5);
+    lineStarts.add(17);
+
+    index = LineIndex.fromCollection(lineStarts);
+    assertEquals(3, index.size());
+    assertEquals(-1, index.lineOf(4));
+    assertEquals(1, index.lineOf(39));
+    assertEquals(5, index.next(-1));
+    assertEquals(17, index.lineStart(1));
+  }
+
+  public void test_AddOutOfOrder() {
+    LineIndex index = new LineIndex();
+
+    index.add(10);
+    try {
+      index.add(10);
+      fail("Expected IllegalArgumentException");
+    } catch ( IllegalArgumentException iae ) { }
+  }
+}
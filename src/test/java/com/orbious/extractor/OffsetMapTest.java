@@ -0,0 +1,220 @@
+package com.orbious.extractor;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.nio.charset.Charset;
+import java.util.Vector;
+import com.orbious.AllExtractorTests;
+import junit.framework.TestCase;
+
+/**
+ * @author dave
+ * @version 1.0
+ * @since 6.0
+ */
+
+public class OffsetMapTest extends TestCase {
+
+  private static final String TEXT =
+    "  The  caf\u00e9   opened in\tDecember 1940. Mr. Smith  said \"na\u00efve\r\n" +
+    "\r\n" +
+    "   ideas\" were twenty-\n" +
+    "first rate  \u2014 and  \u201cquoted\u201d ones too.\r" +
+    "Is it   over?  Yes, it is. \ud834\udd1e notes are\n" +
+    "fine.";
+
+  private File file;
+
+  public OffsetMapTest(String name) {
+    super(name);
+    AllExtractorTests.init();
+  }
+
+  public void setUp() throws Exception {
+    file = File.createTempFile("offsets", ".txt");
+  }
+
+  public void tearDown() {
+    file.delete();
+  }
+
+  private byte[] write(String text, Charset charset) throws Exception {
+    byte[] bytes = text.getBytes(charset.name());
+    FileOutputStream out = new FileOutputStream(file);
+
+    try {
+      out.write(bytes);
+    } finally {
+      out.close();
+    }
+
+    return(bytes);
+  }
+
+  public void test_Runs() {
+    OffsetMap offsets = new OffsetMap();
+
+    offsets.add(0, 2);
+    offsets.add(3, 5);
+    offsets.add(5, 10);
+    offsets.add(7, 12);
+    offsets.add(8, 14);
+
+    assertEquals(3, offsets.runCt());
+    assertEquals(2, offsets.charOffset(0));
+    assertEquals(4, offsets.charOffset(2));
+    assertEquals(5, offsets.charOffset(3));
+    assertEquals(11, offsets.charOffset(6));
+    assertEquals(14, offsets.charOffset(8));
+    assertEquals(5, offsets.charEnd(3));
+    assertFalse(offsets.hasBytes());
+  }
+
+  /**
+   * Every non-whitespace character in the buffer is the character at its
+   * original offset.
+   */
+  private void assertBuffer(TextParser parser, String text) {
+    char[] buffer = parser.parser_data.buffer;
+    OffsetMap offsets = parser.offsets();
+
+    for ( int i = 0; i < buffer.length; i++ ) {
+      if ( !Character.isWhitespace(buffer[i]) ) {
+        assertEquals("idx=" + i, buffer[i],
+            text.charAt((int)offsets.charOffset(i)));
+      }
+    }
+  }
+
+  /**
+   * Every contiguous token can be sliced from the original text and bytes
+   * (a token hyphenated across lines includes the line terminator).
+   */
+  private void assertTokens(TextParser parser, String text, byte[] bytes,
+      Charset charset) throws Exception {
+    long[] chars;
+    long[] bytesRanges;
+    TokenSpans spans;
+    String token;
+    String slice;
+
+    assertTrue(parser.splitterOps().size() > 0);
+
+    for ( int i = 0; i < parser.splitterOps().size(); i++ ) {
+      spans = parser.splitterOps().get(i).spans();
+      chars = parser.tokenCharRanges(i);
+      bytesRanges = parser.tokenByteRanges(i);
+
+      for ( int j = 0; j < spans.size(); j++ ) {
+        if ( !spans.contiguous(j) ) {
+          continue;
+        }
+
+        token = spans.token(j);
+        slice = text.substring((int)chars[2*j], (int)chars[2*j+1]);
+        assertEquals(token, slice.replaceAll("[\r\n]", ""));
+
+        if ( bytes != null ) {
+          assertEquals(slice, new String(bytes, (int)bytesRanges[2*j],
+              (int)(bytesRanges[2*j+1]-bytesRanges[2*j]), charset.name()));
+        } else {
+          assertNull(bytesRanges);
+        }
+      }
+    }
+  }
+
+  public void test_File() throws Exception {
+    String[] names = new String[] { "UTF-8", "windows-1252", "UTF-16" };
+    String text;
+    Charset charset;
+    TextParser parser;
+    byte[] bytes;
+
+    for ( int i = 0; i < names.length; i++ ) {
+      charset = Charset.forName(names[i]);
+      // the characters that can be encoded
+      text = new String(TEXT.getBytes(names[i]), names[i]);
+      bytes = write(text, charset);
+
+      parser = new TextParser(file.toString());
+      parser.charset(charset);
+      parser.parse();
+      parser.genSentences();
+
+      assertTrue(parser.offsets().hasBytes());
+      assertBuffer(parser, text);
+      assertTokens(parser, text, bytes, charset);
+    }
+  }
+
+  public void test_Sentences() throws Exception {
+    Charset charset = Charset.forName("UTF-8");
+    byte[] bytes = write(TEXT, charset);
+    TextParser parser = new TextParser(file.toString());
+    long[] chars;
+    long[] ranges;
+    String sentence;
+
+    parser.parse();
+    parser.genSentences();
+    chars = parser.charRanges();
+    ranges = parser.byteRanges();
+
+    assertEquals(2*parser.sentenceOps().size(), chars.length);
+    for ( int i = 0; i < chars.length/2; i++ ) {
+      sentence = TEXT.substring((int)chars[2*i], (int)chars[2*i+1]);
+      assertEquals(sentence, new String(bytes, (int)ranges[2*i],
+          (int)(ranges[2*i+1]-ranges[2*i]), "UTF-8"));
+      assertFalse(Character.isWhitespace(sentence.charAt(0)));
+      assertFalse(Character.isWhitespace(sentence.charAt(sentence.length()-1)));
+    }
+  }
+
+  public void test_Checkpoints() throws Exception {
+    StringBuilder sb = new StringBuilder();
+    Charset charset = Charset.forName("UTF-8");
+    TextParser parser;
+    byte[] bytes;
+    String text;
+
+    while ( sb.length() < 10*OffsetMap.CHECKPOINT_SIZE ) {
+      sb.append(TEXT).append("\n");
+    }
+    text = sb.toString();
+    bytes = write(text, charset);
+
+    parser = new TextParser(file.toString());
+    parser.parse();
+    parser.genSentences();
+
+    assertBuffer(parser, text);
+    assertTokens(parser, text, bytes, charset);
+
+    // out of order
+    assertEquals(text.substring(0, text.length()-7).getBytes("UTF-8").length,
+        parser.offsets().byteOffset(text.length()-7));
+    assertEquals(0, parser.offsets().byteOffset(0));
+  }
+
+  public void test_Lines() throws Exception {
+    String[] lines = TEXT.split("\r\n|\r|\n");
+    Vector<String> raw = new Vector<String>();
+    StringBuilder sb = new StringBuilder();
+    TextParser parser;
+
+    for ( int i = 0; i < lines.length; i++ ) {
+      raw.add(lines[i]);
+      sb.append(lines[i]).append("\n");
+    }
+
+    parser = new TextParser(raw);
+    parser.parse();
+    parser.genSentences();
+
+    assertFalse(parser.offsets().hasBytes());
+    assertBuffer(parser, sb.toString());
+    assertTokens(parser, sb.toString(), null, null);
+    assertNull(parser.byteRanges());
+  }
+}
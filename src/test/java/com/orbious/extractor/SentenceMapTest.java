@@ -0,0 +1,146 @@
+package com.orbious.extractor;
+
+import java.util.Random;
+import com.orbious.AllExtractorTests;
+import com.orbious.extractor.SentenceMapEntry.Likelihood;
+import com.orbious.extractor.SentenceMapEntry.SentenceEntrySubType;
+import com.orbious.extractor.SentenceMapEntry.SentenceEntryType;
+import junit.framework.TestCase;
+
+/**
+ * @author dave
+ * @version 1.0
+ * @since 6.0
+ */
+
+public class SentenceMapTest extends TestCase {
+
+  public SentenceMapTest(String name) {
+    super(name);
+    AllExtractorTests.init();
+  }
+
+  public void test_RoundTrip() {
+    SentenceMap map = new SentenceMap(100);
+    SentenceEntrySubType[] subtypes = new SentenceEntrySubType[] {
+        null, SentenceEntrySubType.START_FROM_END,
+        SentenceEntrySubType.END_FROM_START };
+    int i = 0;
+
+    assertFalse(map.contains(0));
+    assertNull(map.type(0));
+    assertNull(map.entry(0));
+
+    for ( Likelihood likelihood : Likelihood.values() ) {
+      for ( SentenceEntryType type : SentenceEntryType.values() ) {
+        for ( int j = 0; j < subtypes.length; j++ ) {
+          map.set(i, likelihood, type, subtypes[j]);
+
+          assertTrue(map.contains(i));
+          assertEquals(likelihood, map.likelihood(i));
+          assertEquals(type, map.type(i));
+          assertEquals(subtypes[j], map.subtype(i));
+          assertEquals(likelihood == Likelihood.UNLIKELY, map.isUnlikely(i));
+          assertEquals(type == SentenceEntryType.HEADING, map.isHeading(i));
+          i++;
+        }
+      }
+    }
+  }
+
+  public void test_FindPreviousMatchesEntries() {
+    Random random = new Random(42);
+    SentenceMapEntry[] entries;
+    SentenceMap map;
+
+    for ( int n = 0; n < 50; n++ ) {
+      entries = new SentenceMapEntry[200];
+      for ( int i = 0; i < entries.length; i++ ) {
+        if ( random.nextInt(8) == 0 ) {
+          entries[i] = new SentenceMapEntry(
+              Likelihood.values()[random.nextInt(2)],
+              SentenceEntryType.values()[random.nextInt(4)]);
+        }
+      }
+
+      map = SentenceMap.fromEntries(entries);
+      for ( int i = 0; i <= entries.length; i++ ) {
+        assertEquals(findPrevious(entries, i, null, true),
+            map.findPreviousPause(i));
+        assertEquals(findPrevious(entries, i, Likelihood.LIKELY, false),
+            map.findPreviousLikelyEnd(i));
+        assertEquals(findPrevious(entries, i, Likelihood.UNLIKELY, false),
+            map.findPreviousUnlikelyEnd(i));
+      }
+    }
+  }
+
+  public void test_IndexFollowsReplacement() {
+    Random random = new Random(7);
+    SentenceMapEntry[] entries = new SentenceMapEntry[500];
+    SentenceMap map = new SentenceMap(entries.length);
+    SentenceMapEntry entry;
+    int idx;
+
+    // random order, overwriting existing entries
+    for ( int n = 0; n < 2000; n++ ) {
+      idx = random.nextInt(entries.length);
+      entry = new SentenceMapEntry(
+          Likelihood.values()[random.nextInt(2)],
+          SentenceEntryType.values()[random.nextInt(4)]);
+      entries[idx] = entry;
+      map.set(idx, entry.likelihood(), entry.type(), null);
+
+      if ( n % 100 == 0 ) {
+        for ( int i = 0; i <= entries.length; i++ ) {
+          assertEquals(findPrevious(entries, i, null, true),
+              map.findPreviousPause(i));
+          assertEquals(findPrevious(entries, i, Likelihood.LIKELY, false),
+              map.findPreviousLikelyEnd(i));
+          assertEquals(findPrevious(entries, i, Likelihood.UNLIKELY, false),
+              map.findPreviousUnlikelyEnd(i));
+        }
+      }
+    }
+  }
+
+  public void test_FindPreviousWithoutBoundaries() {
+    SentenceMap map = new SentenceMap(1000000);
+
+    map.set(0, Likelihood.LIKELY, SentenceEntryType.END, null);
+    assertEquals(-1, map.findPreviousLikelyEnd(map.length()));
+
+    map.set(1, Likelihood.LIKELY, SentenceEntryType.END, null);
+    map.set(999998, Likelihood.LIKELY, SentenceEntryType.START, null);
+    assertEquals(1, map.findPreviousLikelyEnd(map.length()));
+    assertEquals(1, map.findPreviousPause(map.length()));
+    assertEquals(-1, map.findPreviousLikelyEnd(1));
+    assertEquals(-1, map.findPreviousUnlikelyEnd(map.length()));
+  }
+
+  /**
+   * The scans as implemented over <code>SentenceMapEntry[]</code>.
+   */
+  private static int findPrevious(SentenceMapEntry[] entries, int idx,
+      Likelihood likelihood, boolean pause) {
+    for ( int i = idx-1; i > 0; i-- ) {
+      SentenceMapEntry entry = entries[i];
+      if ( entry == null ) {
+        continue;
+      }
+
+      if ( pause ) {
+        if ( (entry.likelihood() == Likelihood.LIKELY) &&
+             ((entry.type() == SentenceEntryType.END) ||
+              (entry.type() == SentenceEntryType.PAUSE)) ) {
+          return(i);
+        }
+      } else if ( (entry.likelihood() == likelihood) &&
+                  (entry.type() == SentenceEntryType.END) ) {
+        return(i);
+      }
+    }
+
+    return(-1);
+  }
+}
@@ -0,0 +1,143 @@
+package com.orbious.extractor;
+
+import java.io.File;
+import java.io.StringWriter;
+import java.util.Arrays;
+import java.util.Vector;
+import com.orbious.AllExtractorTests;
+import junit.framework.TestCase;
+
+/**
+ * @author dave
+ * @version 1.0
+ * @since 6.0
+ */
+
+public class SentenceSinkTest extends TestCase {
+
+  public SentenceSinkTest(String name) {
+    super(name);
+    AllExtractorTests.init();
+  }
+
+  private String join(Vector<String> sentences) {
+    StringBuilder sb = new StringBuilder();
+
+    for ( int i = 0; i < sentences.size(); i++ ) {
+      sb.append(sentences.get(i)).append('\n');
+    }
+
+    return(sb.toString());
+  }
+
+  public void test_WriterSink() throws Exception {
+    File[] files = new File("src/test/resources").listFiles();
+    boolean[] flags = new boolean[] { true, false };
+    TextParser parser;
+    StringWriter writer;
+    WriterSink sink;
+    int ct;
+
+    Arrays.sort(files);
+    for ( int i = 0; i < files.length; i++ ) {
+      parser = new TextParser(files[i].toString());
+      parser.parse();
+
+      for ( int j = 0; j < flags.length; j++ ) {
+        for ( int k = 0; k < flags.length; k++ ) {
+          writer = new StringWriter();
+          sink = new WriterSink(writer, flags[j], flags[k]);
+          ct = parser.genSentences(sink);
+          sink.flush();
+
+          assertEquals(ct, sink.sentenceCt());
+          assertTrue(parser.sentences(true, true).isEmpty());
+
+          parser.genSentences();
+          assertEquals(files[i].toString(), ct, parser.splitterOps().size());
+          assertEquals(files[i].toString(),
+              join(parser.sentencesAsStr(flags[j], flags[k])),
+              writer.toString());
+        }
+      }
+    }
+  }
+
+  public void test_CountingSink() throws Exception {
+    File[] files = new File("src/test/resources").listFiles();
+    TextParser parser;
+    CountingSink sink;
+    long wordCt;
+    long tokenCt;
+
+    Arrays.sort(files);
+    for ( int i = 0; i < files.length; i++ ) {
+      parser = new TextParser(files[i].toString());
+      parser.parse();
+
+      sink = new CountingSink();
+      assertEquals(parser.genSentences(sink), sink.sentenceCt());
+
+      parser.genSentences();
+      wordCt = 0;
+      tokenCt = 0;
+      for ( int j = 0; j < parser.splitterOps().size(); j++ ) {
+        wordCt += parser.splitterOps().get(j).wordCt();
+        tokenCt += parser.splitterOps().get(j).words().size();
+      }
+
+      assertEquals(parser.splitterOps().size(), sink.sentenceCt());
+      assertEquals(wordCt, sink.wordCt());
+      assertEquals(tokenCt, sink.tokenCt());
+    }
+  }
+
+  public void test_CollectingSink() throws Exception {
+    File[] files = new File("src/test/resources").listFiles();
+    TextParser parser;
+    CollectingSink sink;
+
+    Arrays.sort(files);
+    for ( int i = 0; i < files.length; i++ ) {
+      parser = new TextParser(files[i].toString());
+      parser.parse();
+
+      sink = new CollectingSink();
+      assertEquals(parser.genSentences(sink), sink.sentences().size());
+      assertTrue(parser.splitterOps().isEmpty());
+      assertTrue(parser.sentenceOps().isEmpty());
+
+      parser.genSentences();
+      assertEquals(parser.splitterOps().size(), parser.sentenceOps().size());
+      assertEquals(parser.splitterOps().size(), sink.sentences().size());
+      for ( int j = 0; j < sink.sentences().size(); j++ ) {
+        assertEquals(parser.splitterOps().get(j).words(),
+            sink.sentences().get(j).words());
+      }
+    }
+  }
+
+  public void test_Streaming() throws Exception {
+    Vector<String> raw = new Vector<String>(
+        Arrays.asList(
+            "The first sentence is here. The second one follows it.",
+            "And the third is last."
+        ));
+    TextParser parser = new TextParser(raw);
+    final Vector<String> seen = new Vector<String>();
+    int ct;
+
+    parser.parse();
+    ct = parser.genSentences(new SentenceSink() {
+      public void sentence(SplitterOp op) {
+        seen.add(op.sentence(true, false));
+      }
+    });
+
+    assertEquals(3, ct);
+    assertEquals("The first sentence is here", seen.get(0));
+    assertEquals("The second one follows it", seen.get(1));
+    assertEquals("And the third is last", seen.get(2));
+    assertTrue(parser.splitterOps().isEmpty());
+  }
+}
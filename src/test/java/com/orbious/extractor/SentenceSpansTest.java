@@ -0,0 +1,88 @@
+package com.orbious.extractor;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.Vector;
+import com.orbious.AllExtractorTests;
+import junit.framework.TestCase;
+
+/**
+ * @author dave
+ * @version 1.0
+ * @since 6.0
+ */
+
+public class SentenceSpansTest extends TestCase {
+
+  public SentenceSpansTest(String name) {
+    super(name);
+    AllExtractorTests.init();
+  }
+
+  public void test_MatchesGenSentences() throws Exception {
+    File[] files = new File("src/test/resources").listFiles();
+    TextParser parser;
+    SentenceSpans spans;
+    Vector<String> expected;
+    Vector<Vector<String>> words;
+    long[] ranges;
+
+    Arrays.sort(files);
+    for ( int i = 0; i < files.length; i++ ) {
+      parser = new TextParser(files[i].toString());
+      parser.parse();
+
+      spans = parser.genSentenceSpans();
+      parser.genSentences();
+      expected = parser.sentencesAsStr(true, true);
+      words = parser.sentences(true, true);
+      ranges = parser.charRanges();
+
+      assertEquals(files[i].toString(), expected.size(), spans.size());
+      for ( int j = 0; j < spans.size(); j++ ) {
+        assertEquals(expected.get(j), spans.op(j).sentence(true, true));
+        assertEquals(words.get(j), spans.tokens(j).tokens());
+        assertEquals(parser.splitterOps().get(j).wordCt(), spans.wordCt(j));
+      }
+
+      // the spans cover at least the sentence found by the evaluators
+      long[] spanRanges = spans.charRanges(parser.offsets());
+      for ( int j = 0; j < spans.size(); j++ ) {
+        assertTrue(spanRanges[2*j] <= ranges[2*j]);
+        assertTrue(spanRanges[2*j+1] >= ranges[2*j+1]);
+      }
+    }
+  }
+
+  public void test_Text() throws Exception {
+    Vector<String> raw = new Vector<String>(
+        Arrays.asList(
+            "  He said \"the  style varies in english.\" Then he left the room.  ",
+            "The end of",
+            "the story is near."
+        ));
+    TextParser parser = new TextParser(raw);
+    SentenceSpans spans;
+    CharSequence text;
+
+    parser.parse();
+    spans = parser.genSentenceSpans();
+
+    assertEquals(2, spans.size());
+    assertEquals("He said \"the style varies in english.\"",
+        spans.text(0).toString());
+    assertEquals("Then he left the room.", spans.text(1).toString());
+    assertEquals(7, spans.wordCt(0));
+    assertEquals(5, spans.wordCt(1));
+    assertEquals("He said \" the style varies in english . \"",
+        spans.op(0).sentence(true, true));
+
+    // a view of the buffer
+    text = spans.text(1);
+    assertEquals(22, text.length());
+    assertEquals('T', text.charAt(0));
+    assertEquals("he", text.subSequence(5, 7).toString());
+    assertEquals(new String(spans.buffer()).indexOf("Then"), spans.start(1));
+    assertEquals(spans.start(1)+22, spans.end(1));
+  }
+}
@@ -393,6 +393,76 @@ public class SentenceSplitterTest extends TestCase {
     }
   }
 
+  public void test_Spans() {
+    SentenceSplitter splitter;
+    TextParserData parserData;
+    TokenSpans spans;
+    SplitterOp op;
+    String str;
+
+    str = "I live to-day by you, a stranger ab*cd.\n";
+    parserData = genParserData(str);
+
+    splitter = new SentenceSplitter(parserData);
+    splitter.invalidate();
+
+    op = splitter.split(new TextParserOp(0, str.length()-2));
+    spans = op.spans();
+
+    assertEquals("I live to-day by you , a stranger abcd .",
+        Strings.cvtVector(op.words()));
+    assertEquals(op.words().size(), spans.size());
+
+    // to-day
+    assertTrue(spans.contiguous(2));
+    assertEquals(7, spans.start(2));
+    assertEquals(13, spans.end(2));
+    assertEquals(TokenSpans.LETTER | TokenSpans.ALNUM, spans.flags(2));
+
+    // ,
+    assertEquals(TokenSpans.PUNCT, spans.flags(5));
+    assertEquals(',', spans.charAt(5, 0));
+
+    // ab*cd
+    assertFalse(spans.contiguous(8));
+    assertEquals(4, spans.length(8));
+    assertEquals("abcd", spans.token(8));
+
+    assertEquals("I live to-day by you a stranger abcd",
+        Strings.cvtVector(op.wordsWithoutPunct()));
+  }
+
+  public void test_CachedViews() {
+    SentenceSplitter splitter;
+    SplitterOp op;
+    String str;
+
+    str = "I live to-day by you, a Stranger.\n";
+    splitter = new SentenceSplitter(genParserData(str));
+    splitter.invalidate();
+
+    op = splitter.split(new TextParserOp(0, str.length()-2));
+    assertEquals("i live to-day by you a stranger",
+        op.sentence(false, false));
+    assertEquals("i live to-day by you , a stranger .",
+        Strings.cvtVector(op.wordsWithoutCase()));
+
+    for ( int i = 0; i < 4; i++ ) {
+      boolean preserveCase = (i & 1) == 0;
+      boolean preservePunct = (i & 2) == 0;
+
+      assertSame(op.words(preserveCase, preservePunct),
+          op.words(preserveCase, preservePunct));
+      assertSame(op.sentence(preserveCase, preservePunct),
+          op.sentence(preserveCase, preservePunct));
+    }
+
+    op = new SplitterOp(op.words(), op.wordCt());
+    assertEquals("I live to-day by you a Stranger",
+        Strings.cvtVector(op.wordsWithoutPunct()));
+    assertSame(op.wordsWithoutPunct(), op.words(true, false));
+  }
+
   private TextParserData genParserData(String str) {
     TextParserData parserData;
     Vector<String> dirty;
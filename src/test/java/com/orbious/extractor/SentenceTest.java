@@ -1,10 +1,17 @@
 package com.orbious.extractor;
 
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.Vector;
 import com.orbious.AllExtractorTests;
+import com.orbious.extractor.Sentence.EndOp;
 import com.orbious.extractor.Sentence.StartOp;
 import com.orbious.extractor.SentenceMapEntry.Likelihood;
 import com.orbious.extractor.SentenceMapEntry.SentenceEntryType;
 import com.orbious.extractor.TextParser.TextParserData;
+import com.orbious.extractor.evaluator.Candidate;
+import com.orbious.extractor.evaluator.Evaluator;
+import com.orbious.extractor.evaluator.TraceSink;
 import junit.framework.TestCase;
 
 /**
@@ -249,4 +256,140 @@ public class SentenceTest extends TestCase {
     StartOp op = sentence.isStart(buf, 4, false);
     assertEquals(false, op.isStart());
   }
+
+  //
+  // tracing
+  //
+
+  public void test_TraceSinkReceivesEvaluation() throws Exception {
+    final Vector<String> traces = new Vector<String>();
+    char[] buf;
+    Sentence sentence;
+
+    buf = "fantastic. The".toCharArray();
+    sentence = new Sentence(parser_data);
+    sentence.invalidate();
+    sentence.traceSink(new TraceSink() {
+      public void trace(String msg) {
+        traces.add(msg);
+      }
+    });
+
+    assertTrue(sentence.isEnd(buf, 9).isEnd());
+    assertEquals(1, traces.size());
+    assertTrue(traces.get(0).startsWith("End Evaluation idx=9\n"));
+    assertTrue(traces.get(0).indexOf("\tSuspension Result=FALSE\n") != -1);
+
+    sentence.traceSink(null);
+    assertTrue(sentence.isEnd(buf, 9).isEnd());
+    assertEquals(1, traces.size());
+  }
+
+  /**
+   * Runs each of <code>evaluators</code> until one returns <code>true</code>,
+   * as per <code>Sentence.isEnd</code>/<code>isStart</code>.
+   */
+  private void evaluate(Vector<Evaluator> evaluators, Candidate candidate)
+    throws Exception {
+    for ( int i = 0; i < evaluators.size(); i++ ) {
+      if ( evaluators.get(i).evaluate(candidate) ) {
+        return;
+      }
+    }
+  }
+
+  public void test_NoAllocationWhenTraceDisabled() throws Exception {
+    char[] endBuf;
+    char[] colonBuf;
+    char[] startBuf;
+    char[] acceptedBuf;
+    Sentence sentence;
+    Candidate candidate;
+    Object[] ops;
+    long before;
+    long allocated;
+    long baseline;
+    int ct;
+
+    ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+    if ( !(bean instanceof com.sun.management.ThreadMXBean) ) {
+      return;
+    }
+
+    com.sun.management.ThreadMXBean sunBean = (com.sun.management.ThreadMXBean)bean;
+    if ( !sunBean.isThreadAllocatedMemorySupported() ||
+         !sunBean.isThreadAllocatedMemoryEnabled() ) {
+      return;
+    }
+
+    // rejected candidates, no evaluators are run
+    endBuf = "the end.. of it".toCharArray();
+    colonBuf = "at 8:00 pm".toCharArray();
+    startBuf = "the cat The".toCharArray();
+
+    // candidates that run every evaluator, at the fullstop and the capital
+    acceptedBuf = "said it. The next".toCharArray();
+
+    sentence = new Sentence(parser_data);
+    sentence.invalidate();
+    assertTrue(sentence.isEnd(acceptedBuf, 7).isEnd());
+    assertNull(sentence.isStart(acceptedBuf, 9, false).failedEvaluator());
+
+    candidate = new Candidate(parser_data, sentence.profile());
+    ops = new Object[2];
+    ct = 20000;
+
+    for ( int n = 0; n < 2; n++ ) {
+      for ( int i = 0; i < ct; i++ ) {
+        sentence.isEnd(endBuf, 7);
+        sentence.isEnd(colonBuf, 4);
+        sentence.isStart(startBuf, 8, false);
+        sentence.isEnd(acceptedBuf, 7);
+        sentence.isStart(acceptedBuf, 9, false);
+
+        candidate.reset(acceptedBuf, 7);
+        evaluate(sentence.endEvaluators(), candidate);
+        ops[0] = new EndOp(false, -1);
+        candidate.reset(acceptedBuf, 9);
+        evaluate(sentence.startEvaluators(), candidate);
+        ops[1] = new StartOp(false, -1);
+      }
+    }
+
+    long tid = Thread.currentThread().getId();
+    long extra = Long.MAX_VALUE;
+
+    // the JIT may still be recompiling, so take the best of a few rounds
+    for ( int n = 0; (n < 5) && (extra >= ct); n++ ) {
+      // the garbage generated by the evaluators themselves and the op
+      // returned for each accepted candidate
+      before = sunBean.getThreadAllocatedBytes(tid);
+      for ( int i = 0; i < ct; i++ ) {
+        candidate.reset(acceptedBuf, 7);
+        evaluate(sentence.endEvaluators(), candidate);
+        ops[0] = new EndOp(false, -1);
+        candidate.reset(acceptedBuf, 9);
+        evaluate(sentence.startEvaluators(), candidate);
+        ops[1] = new StartOp(false, -1);
+      }
+      baseline = sunBean.getThreadAllocatedBytes(tid)-before;
+
+      before = sunBean.getThreadAllocatedBytes(tid);
+      for ( int i = 0; i < ct; i++ ) {
+        assertNull(sentence.isEnd(endBuf, 7));
+        assertNull(sentence.isEnd(colonBuf, 4));
+        assertNull(sentence.isStart(startBuf, 8, false));
+        assertTrue(sentence.isEnd(acceptedBuf, 7).isEnd());
+        assertNotNull(sentence.isStart(acceptedBuf, 9, false));
+      }
+      allocated = sunBean.getThreadAllocatedBytes(tid)-before;
+
+      extra = Math.min(extra, allocated-baseline);
+    }
+
+    // allow for the measurement itself, but nothing per candidate beyond
+    // the evaluators and the ops
+    assertTrue("allocated " + extra + " bytes beyond the evaluators for " +
+        (ct*5) + " candidates", extra < ct);
+  }
 }
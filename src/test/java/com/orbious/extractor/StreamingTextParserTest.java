@@ -0,0 +1,210 @@
+package com.orbious.extractor;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.StringReader;
+import java.nio.charset.Charset;
+import java.util.Vector;
+import com.orbious.AllExtractorTests;
+import junit.framework.TestCase;
+
+/**
+ * @author dave
+ * @version 1.0
+ * @since 6.0
+ */
+
+public class StreamingTextParserTest extends TestCase {
+
+  public StreamingTextParserTest(String name) {
+    super(name);
+    AllExtractorTests.init();
+  }
+
+  public void test_MatchesTextParser() throws Exception {
+    File[] files = new File("src/test/resources").listFiles();
+
+    for ( int i = 0; i < files.length; i++ ) {
+      String fname = files[i].toString();
+      Vector<String> expected = parse(fname);
+
+      assertEquals(fname, expected, stream(fname, 65536, 1024));
+      assertEquals(fname, expected, stream(fname, 512, 256));
+    }
+  }
+
+  public void test_EmitsInWindows() throws Exception {
+    String fname = "src/test/resources/wiki.txt";
+    StreamingTextParser parser;
+    StringSink sink;
+
+    parser = new StreamingTextParser(fname, ExtractorProfile.current());
+    parser.windowSize(512, 4096, 256);
+    sink = new StringSink();
+
+    assertEquals(22, parser.genSentences(sink));
+    assertEquals(22, sink.sentences.size());
+    assertTrue(parser.windowCt() > 1);
+  }
+
+  public void test_GrowsWindowWithoutBoundary() throws Exception {
+    StringBuilder sb = new StringBuilder();
+    Vector<String> raw = new Vector<String>();
+    StreamingTextParser parser;
+    TextParser expected;
+    StringSink sink;
+
+    raw.add("The first sentence is short.");
+    for ( int i = 0; i < 40; i++ ) {
+      raw.add("and then there was more text without an end");
+    }
+    raw.add("which finally ends here. The last sentence is this one.");
+
+    for ( int i = 0; i < raw.size(); i++ ) {
+      sb.append(raw.get(i)).append("\n");
+    }
+
+    parser = new StreamingTextParser(new StringReader(sb.toString()),
+        ExtractorProfile.current());
+    parser.windowSize(256, 4096, 128);
+    sink = new StringSink();
+    parser.genSentences(sink);
+
+    expected = new TextParser(raw);
+    expected.parse();
+    expected.genSentences();
+
+    assertTrue(sink.sentences.size() > 1);
+    assertEquals(expected.sentencesAsStr(true, true), sink.sentences);
+    assertTrue(parser.windowCt() > 1);
+  }
+
+  public void test_LongLines() throws Exception {
+    String[] words = new String[] { "river", "garden", "window", "letter" };
+    Vector<String> raw = new Vector<String>();
+    StringBuilder sb = new StringBuilder();
+    StreamingTextParser parser;
+    TextParser expected;
+    StringSink sink;
+
+    // a line of sentences longer than the maximum window, then a line
+    // shorter than the maximum window but longer than the initial window
+    for ( int i = 0; i < 200; i++ ) {
+      sb.append("The ").append(words[i % words.length])
+        .append(" was seen by everyone today. ");
+    }
+    raw.add(sb.toString());
+    raw.add(sb.substring(0, 900));
+    raw.add("The last sentence is this one.");
+
+    sb.setLength(0);
+    for ( int i = 0; i < raw.size(); i++ ) {
+      sb.append(raw.get(i)).append("\n");
+    }
+
+    parser = new StreamingTextParser(new StringReader(sb.toString()),
+        ExtractorProfile.current());
+    parser.windowSize(256, 1024, 128);
+    sink = new StringSink();
+    parser.genSentences(sink);
+
+    expected = new TextParser(raw);
+    expected.parse();
+    expected.genSentences();
+
+    assertTrue(parser.windowCt() > 10);
+    assertEquals(expected.sentencesAsStr(true, true), sink.sentences);
+  }
+
+  public void test_Charset() throws Exception {
+    String[] names = new String[] { "UTF-8", "windows-1252", "UTF-16" };
+    StringBuilder sb = new StringBuilder();
+    File file = File.createTempFile("streaming", ".txt");
+    StreamingTextParser parser;
+    TextParser expected;
+    StringSink sink;
+    Charset charset;
+    FileOutputStream out;
+    String text;
+
+    for ( int i = 0; i < 20; i++ ) {
+      sb.append("The caf\u00e9 on the corner served cr\u00eapes to ")
+        .append("M\u00fcller every morning. He said \u201cmerci\u201d ")
+        .append("\u2014 then he left.\n");
+    }
+
+    try {
+      for ( int i = 0; i < names.length; i++ ) {
+        charset = Charset.forName(names[i]);
+        text = new String(sb.toString().getBytes(names[i]), names[i]);
+
+        out = new FileOutputStream(file);
+        try {
+          out.write(text.getBytes(names[i]));
+        } finally {
+          out.close();
+        }
+
+        expected = new TextParser(file.toString());
+        expected.charset(charset);
+        expected.parse();
+        expected.genSentences();
+
+        parser = new StreamingTextParser(file.toString(),
+            ExtractorProfile.current());
+        parser.charset(charset);
+        parser.windowSize(256, 2048, 128);
+        sink = new StringSink();
+        parser.genSentences(sink);
+
+        assertTrue(parser.windowCt() > 1);
+        assertEquals(names[i], expected.sentencesAsStr(true, true),
+            sink.sentences);
+        assertTrue(names[i], sink.sentences.get(0).startsWith(
+            "The caf\u00e9 on the corner served cr\u00eapes to M\u00fcller"));
+      }
+    } finally {
+      file.delete();
+    }
+  }
+
+  private static Vector<String> parse(String fname) throws Exception {
+    TextParser parser = new TextParser(fname);
+
+    parser.parse();
+    parser.genSentences();
+
+    return(parser.sentencesAsStr(true, true));
+  }
+
+  private static Vector<String> stream(String fname, int windowSize,
+      int contextSize) throws Exception {
+    StreamingTextParser parser;
+    StringSink sink;
+
+    parser = new StreamingTextParser(fname, ExtractorProfile.current());
+    parser.windowSize(windowSize, 8*windowSize, contextSize);
+    sink = new StringSink();
+    parser.genSentences(sink);
+
+    return(sink.sentences);
+  }
+
+  private static class StringSink implements SentenceSink {
+    private Vector<String> sentences = new Vector<String>();
+
+    public void sentence(SplitterOp op) {
+      StringBuilder sb = new StringBuilder();
+      Vector<String> words = op.words();
+
+      for ( int i = 0; i < words.size(); i++ ) {
+        if ( i != 0 ) {
+          sb.append(" ");
+        }
+        sb.append(words.get(i));
+      }
+
+      sentences.add(sb.toString());
+    }
+  }
+}
@@ -0,0 +1,125 @@
+package com.orbious.extractor;
+
+import com.orbious.AllExtractorTests;
+import junit.framework.TestCase;
+
+/**
+ * @author dave
+ * @version 1.0
+ * @since 6.0
+ */
+
+public class TokenIndexTest extends TestCase {
+
+  public TokenIndexTest(String name) {
+    super(name);
+    AllExtractorTests.init();
+  }
+
+  public void test_Tokens() {
+    TokenIndex index;
+
+    //                            1         2
+    //                  0123456789012345678901234
+    index = TokenIndex.build(" W.H.D. Rouse  NASA 1984".toCharArray());
+
+    assertEquals(4, index.size());
+    assertEquals(1, index.start(0));
+    assertEquals(7, index.end(0));
+    assertEquals(8, index.start(1));
+    assertEquals(13, index.end(1));
+    assertEquals(15, index.start(2));
+    assertEquals(20, index.start(3));
+    assertEquals(24, index.end(3));
+
+    assertTrue(index.is(0, TokenIndex.UPPER_INITIAL));
+    assertTrue(index.is(0, TokenIndex.ALL_CAPS));
+    assertTrue(index.is(0, TokenIndex.TRAILING_STOP));
+    assertTrue(index.is(1, TokenIndex.UPPER_INITIAL));
+    assertFalse(index.is(1, TokenIndex.ALL_CAPS|TokenIndex.TRAILING_STOP));
+    assertEquals(TokenIndex.UPPER_INITIAL|TokenIndex.ALL_CAPS, index.flags(2));
+    assertEquals(TokenIndex.DIGIT, index.flags(3));
+  }
+
+  public void test_Queries() {
+    TokenIndex index;
+
+    index = TokenIndex.build(" W.H.D. Rouse  NASA 1984".toCharArray());
+
+    assertEquals(-1, index.tokenAt(0));
+    assertEquals(0, index.tokenAt(1));
+    assertEquals(0, index.tokenAt(6));
+    assertEquals(-1, index.tokenAt(7));
+    assertEquals(1, index.tokenAt(12));
+    assertEquals(-1, index.tokenAt(14));
+    assertEquals(3, index.tokenAt(23));
+    assertEquals(-1, index.tokenAt(24));
+    assertEquals(-1, index.tokenAt(-1));
+
+    assertEquals(-1, index.previous(0));
+    assertEquals(-1, index.previous(6));
+    assertEquals(0, index.previous(7));
+    assertEquals(0, index.previous(10));
+    assertEquals(1, index.previous(14));
+    assertEquals(3, index.previous(24));
+
+    assertEquals(0, index.next(-1));
+    assertEquals(0, index.next(0));
+    assertEquals(1, index.next(1));
+    assertEquals(2, index.next(13));
+    assertEquals(3, index.next(15));
+    assertEquals(-1, index.next(20));
+    assertEquals(-1, index.next(24));
+  }
+
+  public void test_Blocks() {
+    StringBuilder sb = new StringBuilder();
+    TokenIndex index;
+    char[] buf;
+    int t;
+
+    // words of varying length spanning many blocks
+    for ( int i = 0; i < 500; i++ ) {
+      for ( int j = 0; j <= (i % 7); j++ ) {
+        sb.append('a');
+      }
+      sb.append((i % 3 == 0) ? "   " : " ");
+    }
+    buf = sb.toString().toCharArray();
+    index = TokenIndex.build(buf);
+
+    assertEquals(500, index.size());
+    t = -1;
+    for ( int i = 0; i < buf.length; i++ ) {
+      if ( (i > 0) && !Character.isWhitespace(buf[i]) &&
+           Character.isWhitespace(buf[i-1]) ) {
+        t++;
+      } else if ( i == 0 ) {
+        t = 0;
+      }
+
+      if ( Character.isWhitespace(buf[i]) ) {
+        assertEquals(-1, index.tokenAt(i));
+        assertEquals(t, index.previous(i));
+      } else {
+        assertEquals(t, index.tokenAt(i));
+        assertEquals(t-1, index.previous(i));
+      }
+      assertEquals((t+1 < 500) ? t+1 : -1, index.next(i));
+    }
+  }
+
+  public void test_Empty() {
+    TokenIndex index;
+
+    index = TokenIndex.build(new char[0]);
+    assertEquals(0, index.size());
+    assertEquals(-1, index.tokenAt(0));
+    assertEquals(-1, index.previous(0));
+    assertEquals(-1, index.next(0));
+
+    index = TokenIndex.build("   ".toCharArray());
+    assertEquals(0, index.size());
+    assertEquals(-1, index.next(1));
+  }
+}
@@ -103,4 +103,46 @@ public class WhitespaceRemoverTest extends TestCase {
     }
   }
 
+  public void test_RemoveChars() {
+    String[] text = new String[] {
+        "",
+        " \t ",
+        " The  style and  use varies in the english language.  \n",
+        "Turing was ranked twenty-  ",
+        "twenty- \t",
+        "-",
+        "\tend\t"
+    };
+
+    String[] expected = new String[] {
+        null,
+        null,
+        "The style and use varies in the english language. ",
+        "Turing was ranked twenty-",
+        "twenty-",
+        "-",
+        "end\t"
+    };
+
+    char[] out = new char[128];
+    char[] line;
+    int ct;
+
+    for ( int i = 0; i < text.length; i++ ) {
+      line = ("xx" + text[i] + "x").toCharArray();
+      ct = WhitespaceRemover.remove(line, 2, text[i].length(), out, 3);
+
+      if ( expected[i] == null ) {
+        assertEquals(0, ct);
+      } else {
+        assertEquals(expected[i], new String(out, 3, ct));
+      }
+
+      // in place
+      ct = WhitespaceRemover.remove(line, 2, text[i].length(), line, 1);
+      if ( expected[i] != null ) {
+        assertEquals(expected[i], new String(line, 1, ct));
+      }
+    }
+  }
 }
@@ -0,0 +1,111 @@
+package com.orbious.extractor;
+
+import com.orbious.AllExtractorTests;
+import junit.framework.TestCase;
+
+/**
+ * @author dave
+ * @version 1.0
+ * @since 6.0
+ */
+
+public class WordCursorTest extends TestCase {
+
+  public WordCursorTest(String name) {
+    super(name);
+    AllExtractorTests.init();
+  }
+
+  public void test_MatchesWord() {
+    String[] strs = new String[] {
+        "the cat sat on the mat",
+        "Mr. Smith went to Washington D.C. on 3.5 days.",
+        " \"It's (really) fine,\" she-said ... ok ",
+        "-x y-z. .a" };
+    WordCursor cursor = new WordCursor(ExtractorProfile.current());
+    Word.WordOp op;
+    char[] buf;
+
+    for ( int n = 0; n < strs.length; n++ ) {
+      buf = strs[n].toCharArray();
+
+      for ( int i = 0; i < buf.length; i++ ) {
+        for ( int j = 0; j < 2; j++ ) {
+          op = Word.getPreviousWord(buf, i, j == 0);
+          assertEquals(op != null, cursor.previous(buf, i, j == 0));
+          if ( op != null ) {
+            assertEquals(op.word(), cursor.toString());
+            assertEquals(op.idx(), cursor.idx());
+          }
+
+          op = Word.getNextWord(buf, i, j == 0);
+          assertEquals(op != null, cursor.next(buf, i, j == 0));
+          if ( op != null ) {
+            assertEquals(op.word(), cursor.toString());
+            assertEquals(op.idx(), cursor.idx());
+          }
+        }
+      }
+    }
+  }
+
+  public void test_Advance() {
+    char[] buf = "the cat sat on the mat".toCharArray();
+    WordCursor cursor = new WordCursor(ExtractorProfile.current());
+
+    assertTrue(cursor.previous(buf, 13, true));
+    assertEquals("on", cursor.toString());
+    assertTrue(cursor.advance());
+    assertEquals("sat", cursor.toString());
+    assertEquals(8, cursor.start());
+    assertEquals(11, cursor.end());
+    assertTrue(cursor.advance());
+    assertTrue(cursor.advance());
+    assertEquals("the", cursor.toString());
+    assertFalse(cursor.advance());
+    assertEquals(0, cursor.length());
+  }
+
+  public void test_Span() {
+    char[] buf = "go to D.C. now".toCharArray();
+    WordCursor cursor = new WordCursor(ExtractorProfile.current());
+
+    assertTrue(cursor.next(buf, 6, true));
+    assertEquals("D.C.", cursor.toString());
+    assertTrue(cursor.contiguous());
+
+    assertTrue(cursor.next(buf, 6, false));
+    assertEquals("DC", cursor.toString());
+    assertFalse(cursor.contiguous());
+    assertEquals(6, cursor.start());
+    assertEquals(9, cursor.end());
+
+    cursor.toLowerCase();
+    assertEquals("dc", cursor.toString());
+    cursor.toTitleCase();
+    assertEquals("Dc", cursor.toString());
+    // the buffer is unchanged
+    assertEquals('D', buf[6]);
+  }
+
+  public void test_CopyDropsStops() {
+    char[] buf = "see Mr.Smith. now".toCharArray();
+    WordCursor cursor = new WordCursor(ExtractorProfile.current());
+    WordCursor copy = new WordCursor(ExtractorProfile.current());
+
+    for ( int i = 0; i < buf.length; i++ ) {
+      if ( cursor.next(buf, i, true) ) {
+        copy.copy(cursor, false);
+        assertTrue(cursor.next(buf, i, false));
+        assertEquals(cursor.toString(), copy.toString());
+        assertEquals(cursor.idx(), copy.idx());
+      }
+    }
+
+    assertTrue(cursor.next(buf, 3, true));
+    copy.copy(cursor, true);
+    copy.toLowerCase();
+    assertEquals("mr.smith.", copy.toString());
+    assertEquals("Mr.Smith.", cursor.toString());
+  }
+}
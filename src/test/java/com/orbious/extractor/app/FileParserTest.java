@@ -0,0 +1,123 @@
+package com.orbious.extractor.app;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.StringWriter;
+import java.util.Vector;
+import com.orbious.AllExtractorTests;
+import com.orbious.extractor.AppConfig;
+import com.orbious.extractor.TextParser;
+import com.orbious.extractor.WriterSink;
+import com.orbious.extractor.dictionary.DictionaryRegistry;
+import com.orbious.util.config.Config;
+import junit.framework.TestCase;
+
+/**
+ * @author dave
+ * @version 1.0
+ * @since 6.0
+ */
+
+public class FileParserTest extends TestCase {
+
+  private File dir;
+
+  public FileParserTest(String name) {
+    super(name);
+    AllExtractorTests.init();
+  }
+
+  public void setUp() throws Exception {
+    dir = File.createTempFile("batch", "");
+    dir.delete();
+    dir.mkdirs();
+  }
+
+  public void tearDown() {
+    File[] files = dir.listFiles();
+
+    for ( int i = 0; (files != null) && (i < files.length); i++ ) {
+      files[i].delete();
+    }
+    dir.delete();
+  }
+
+  private void copy(File src, File dst) throws Exception {
+    FileInputStream in = new FileInputStream(src);
+    FileOutputStream out = new FileOutputStream(dst);
+    byte[] buf = new byte[8192];
+    int n;
+
+    try {
+      while ( (n = in.read(buf)) != -1 ) {
+        out.write(buf, 0, n);
+      }
+    } finally {
+      in.close();
+      out.close();
+    }
+  }
+
+  private String read(File file) throws Exception {
+    Reader reader = new InputStreamReader(new FileInputStream(file), "UTF-8");
+    StringBuilder sb = new StringBuilder();
+    char[] buf = new char[8192];
+    int n;
+
+    try {
+      while ( (n = reader.read(buf)) != -1 ) {
+        sb.append(buf, 0, n);
+      }
+    } finally {
+      reader.close();
+    }
+
+    return(sb.toString());
+  }
+
+  public void test_BatchRetriesFailed() throws Exception {
+    File input = new File(dir, "1.txt");
+    File output = new File(dir, "1.txt.clean");
+    String names = Config.getString(AppConfig.names_filename);
+    Vector<File> inputs;
+
+    copy(new File("src/test/resources/17216_short.txt"), input);
+
+    // the names dictionary is only loaded when the sentences are generated,
+    // i.e. after the output is opened
+    Config.setString(AppConfig.names_filename,
+        "com/orbious/extractor/missing.txt");
+    try {
+      DictionaryRegistry.clear();
+      inputs = FileParser.batchInputs(dir, null);
+      assertEquals(1, inputs.size());
+      assertFalse(FileParser.batch(inputs, 1, true, true));
+    } finally {
+      Config.setString(AppConfig.names_filename, names);
+      DictionaryRegistry.clear();
+    }
+
+    assertFalse(output.exists());
+    assertEquals(1, dir.listFiles().length);
+
+    // the next run retries the file
+    inputs = FileParser.batchInputs(dir, null);
+    assertEquals(1, inputs.size());
+    assertTrue(FileParser.batch(inputs, 1, true, true));
+    assertEquals(2, dir.listFiles().length);
+
+    TextParser parser = new TextParser(input.toString());
+    StringWriter writer = new StringWriter();
+    WriterSink sink = new WriterSink(writer, true, true);
+    parser.parse();
+    assertTrue(parser.genSentences(sink) > 0);
+    sink.flush();
+    assertEquals(writer.toString(), read(output));
+
+    // and is then skipped
+    assertTrue(FileParser.batchInputs(dir, null).isEmpty());
+  }
+}
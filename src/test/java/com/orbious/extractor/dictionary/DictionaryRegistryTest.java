@@ -0,0 +1,154 @@
+package com.orbious.extractor.dictionary;
+
+import java.util.HashSet;
+import java.util.Iterator;
+import com.orbious.AllExtractorTests;
+import com.orbious.extractor.AppConfig;
+import com.orbious.extractor.evaluator.Name;
+import com.orbious.extractor.evaluator.Evaluator.EvaluatorType;
+import com.orbious.util.config.Config;
+import junit.framework.TestCase;
+
+/**
+ * @author dave
+ * @version 1.0
+ * @since 6.0
+ */
+
+public class DictionaryRegistryTest extends TestCase {
+
+  public DictionaryRegistryTest(String name) {
+    super(name);
+    AllExtractorTests.init();
+  }
+
+  public void setUp() {
+    DictionaryRegistry.clear();
+  }
+
+  public void test_LoadOnce() throws Exception {
+    String fname = Config.getString(AppConfig.names_filename);
+
+    Dictionary first = DictionaryRegistry.get(fname, false);
+    Dictionary second = DictionaryRegistry.get(fname, false);
+
+    assertSame(first, second);
+    assertEquals(1, DictionaryRegistry.loadCt());
+    assertEquals(1, DictionaryRegistry.hitCt());
+    assertTrue(first.contains("Abril"));
+    assertTrue(first.size() > 0);
+    assertTrue(first.checksum() != 0);
+  }
+
+  public void test_ContainsSlice() throws Exception {
+    String fname = Config.getString(AppConfig.names_filename);
+    Dictionary names = DictionaryRegistry.get(fname, false);
+    char[] buf = "xx Abril Abrilx".toCharArray();
+
+    assertTrue(names.contains(buf, 3, 5));
+    assertFalse(names.contains(buf, 3, 4));
+    assertFalse(names.contains(buf, 9, 6));
+    assertFalse(names.contains("Abrilx"));
+  }
+
+  public void test_ContainsIgnoreCase() throws Exception {
+    String fname = Config.getString(AppConfig.names_filename);
+    Dictionary names = DictionaryRegistry.get(fname, false);
+    char[] buf = "ABRIL abril aBrIl abri\u00df".toCharArray();
+
+    assertFalse(names.contains(buf, 0, 5));
+    assertTrue(names.containsIgnoreCase(buf, 0, 5));
+    assertTrue(names.containsIgnoreCase(buf, 6, 5));
+    assertTrue(names.containsIgnoreCase(buf, 12, 5));
+    assertFalse(names.containsIgnoreCase(buf, 18, 5));
+    assertFalse(names.containsIgnoreCase(buf, 0, 4));
+
+    assertEquals('a', Dictionary.fold('A'));
+    assertEquals('-', Dictionary.fold('-'));
+    assertEquals(Dictionary.fold('\u00c9'), Dictionary.fold('\u00e9'));
+    assertTrue(names.footprint() > 0);
+  }
+
+  public void test_WideCharacters() throws Exception {
+    HashSet<String> words = new HashSet<String>();
+    words.add("\u0416uk");
+    words.add("caf\u00e9");
+    Dictionary dict = new Dictionary("test", false, 0, words, 0);
+    char[] buf = "\u0436UK CAF\u00c9".toCharArray();
+    Iterator<String> it = dict.iterator();
+
+    assertTrue(dict.contains("\u0416uk"));
+    assertFalse(dict.contains(buf, 0, 3));
+    assertTrue(dict.containsIgnoreCase(buf, 0, 3));
+    assertTrue(dict.containsIgnoreCase(buf, 4, 4));
+
+    assertTrue(words.remove(it.next()));
+    assertTrue(words.remove(it.next()));
+    assertFalse(it.hasNext());
+  }
+
+  public void test_Automaton() throws Exception {
+    String fname = Config.getString(AppConfig.suspension_filename);
+    Dictionary suspensions = DictionaryRegistry.get(fname, true);
+    WordAutomaton forward = suspensions.automaton(false);
+    WordAutomaton reverse = suspensions.automaton(true);
+    Iterator<String> it = suspensions.iterator();
+    String word;
+    int ct = 0;
+
+    assertSame(forward, suspensions.automaton(false));
+    assertTrue(reverse.reverse());
+
+    while ( it.hasNext() ) {
+      word = it.next();
+      assertTrue(word, forward.matches(word));
+      assertTrue(word, reverse.matches(word));
+      assertFalse(word, forward.matches(word + "\u0000"));
+      ct++;
+    }
+    assertEquals(suspensions.size(), ct);
+
+    assertFalse(forward.matches(""));
+    assertFalse(forward.matches("notasuspension"));
+    assertEquals(WordAutomaton.DEAD, forward.step(forward.start(), '\u0000'));
+  }
+
+  public void test_LowercaseIsSeparate() throws Exception {
+    String fname = Config.getString(AppConfig.suspension_filename);
+
+    Dictionary lower = DictionaryRegistry.get(fname, true);
+    Dictionary asis = DictionaryRegistry.get(fname, false);
+
+    assertNotSame(lower, asis);
+    assertEquals(lower.checksum(), asis.checksum());
+    assertEquals(2, DictionaryRegistry.size());
+  }
+
+  public void test_ReloadUnchanged() throws Exception {
+    String fname = Config.getString(AppConfig.suspension_filename);
+
+    Dictionary first = DictionaryRegistry.get(fname, true);
+    Dictionary reloaded = DictionaryRegistry.reload(fname, true);
+
+    assertSame(first, reloaded);
+    assertEquals(2, DictionaryRegistry.loadCt());
+  }
+
+  public void test_EvaluatorsShareDictionary() throws Exception {
+    new Name(null, EvaluatorType.START).invalidate();
+    new Name(null, EvaluatorType.START).invalidate();
+
+    assertEquals(1, DictionaryRegistry.loadCt());
+    assertTrue(DictionaryRegistry.wordCt() > 0);
+    assertTrue(DictionaryRegistry.loadMillis() > 0);
+  }
+
+  public void test_MissingResource() {
+    try {
+      DictionaryRegistry.get("com/orbious/extractor/missing.txt", true);
+      fail("No DictionaryException thrown");
+    } catch ( DictionaryException de ) {
+      // expected
+    }
+  }
+}
@@ -0,0 +1,115 @@
+package com.orbious.extractor.dictionary;
+
+import java.io.File;
+import java.io.RandomAccessFile;
+import com.orbious.AllExtractorTests;
+import com.orbious.extractor.AppConfig;
+import com.orbious.extractor.ExtractorProfile;
+import com.orbious.util.config.Config;
+import junit.framework.TestCase;
+
+/**
+ * @author dave
+ * @version 1.0
+ * @since 6.0
+ */
+
+public class DictionarySnapshotTest extends TestCase {
+
+  private File dir;
+
+  public DictionarySnapshotTest(String name) {
+    super(name);
+    AllExtractorTests.init();
+  }
+
+  public void setUp() throws Exception {
+    DictionaryRegistry.clear();
+
+    dir = File.createTempFile("snapshots", "");
+    dir.delete();
+    dir.mkdirs();
+  }
+
+  public void tearDown() {
+    File[] files = dir.listFiles();
+
+    for ( int i = 0; (files != null) && (i < files.length); i++ ) {
+      files[i].delete();
+    }
+    dir.delete();
+  }
+
+  public void test_DisabledByDefault() throws Exception {
+    assertEquals("", Config.getString(AppConfig.dictionary_snapshot_dir));
+    assertNull(ExtractorProfile.current().snapshotDir());
+
+    String fname = Config.getString(AppConfig.names_filename);
+    Dictionary dict = DictionaryRegistry.get(fname, false, null);
+    assertFalse(dict.snapshot());
+    assertEquals(0, DictionaryRegistry.snapshotCt());
+  }
+
+  public void test_WrittenOnFirstUse() throws Exception {
+    String fname = Config.getString(AppConfig.names_filename);
+    File file = DictionarySnapshot.file(dir, fname, false);
+
+    Dictionary parsed = DictionaryRegistry.get(fname, false, dir);
+    assertFalse(parsed.snapshot());
+    assertTrue(file.isFile());
+    assertEquals(0, DictionaryRegistry.snapshotCt());
+
+    DictionaryRegistry.clear();
+    Dictionary read = DictionaryRegistry.get(fname, false, dir);
+    assertTrue(read.snapshot());
+    assertEquals(1, DictionaryRegistry.snapshotCt());
+
+    assertEquals(parsed.size(), read.size());
+    assertEquals(parsed.checksum(), read.checksum());
+    assertEquals(parsed.footprint(), read.footprint());
+    assertTrue(read.contains("Abril"));
+    assertTrue(read.containsIgnoreCase("ABRIL".toCharArray(), 0, 5));
+    assertFalse(read.contains("Abrilx"));
+  }
+
+  public void test_Stale() throws Exception {
+    String fname = Config.getString(AppConfig.suspension_filename);
+    File file = DictionarySnapshot.file(dir, fname, true);
+    Dictionary dict = DictionaryRegistry.get(fname, true, dir);
+
+    assertNotNull(DictionarySnapshot.read(file, fname, true, dict.checksum()));
+    assertNull(DictionarySnapshot.read(file, fname, true, dict.checksum()+1));
+    assertNull(DictionarySnapshot.read(file, fname, false, dict.checksum()));
+    assertNull(DictionarySnapshot.read(new File(dir, "missing"), fname, true,
+        dict.checksum()));
+  }
+
+  public void test_Corrupt() throws Exception {
+    String fname = Config.getString(AppConfig.suspension_filename);
+    File file = DictionarySnapshot.file(dir, fname, true);
+    Dictionary dict = DictionaryRegistry.get(fname, true, dir);
+    RandomAccessFile raf = new RandomAccessFile(file, "rw");
+
+    try {
+      raf.seek(raf.length()/2);
+      int b = raf.read();
+      raf.seek(raf.length()/2);
+      raf.write(b ^ 0xff);
+    } finally {
+      raf.close();
+    }
+
+    try {
+      DictionarySnapshot.read(file, fname, true, dict.checksum());
+      fail("No DictionaryException thrown");
+    } catch ( DictionaryException de ) {
+      // expected
+    }
+
+    // the registry falls back to the resource and rewrites the snapshot
+    DictionaryRegistry.clear();
+    dict = DictionaryRegistry.get(fname, true, dir);
+    assertFalse(dict.snapshot());
+    assertTrue(DictionarySnapshot.read(file, fname, true, dict.checksum()).snapshot());
+  }
+}
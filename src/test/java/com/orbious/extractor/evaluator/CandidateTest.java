@@ -0,0 +1,102 @@
+package com.orbious.extractor.evaluator;
+
+import java.util.HashSet;
+import java.util.Vector;
+import com.orbious.AllExtractorTests;
+import com.orbious.extractor.ExtractorProfile;
+import com.orbious.extractor.ParseDirn;
+import com.orbious.extractor.SentenceMapEntry;
+import com.orbious.extractor.TextParserOp;
+import com.orbious.extractor.WordCursor;
+import com.orbious.extractor.TextParser.TextParserData;
+import com.orbious.extractor.evaluator.Evaluator.EvaluatorType;
+import junit.framework.TestCase;
+
+/**
+ * @author dave
+ * @version 1.0
+ * @since 6.0
+ */
+
+public class CandidateTest extends TestCase {
+
+  public CandidateTest(String name) {
+    super(name);
+    AllExtractorTests.init();
+  }
+
+  public void test_MemoisedWords() {
+    Candidate candidate = new Candidate(null, ExtractorProfile.current());
+    char[] buf = "Ask Mr. Smith.".toCharArray();
+    WordCursor word;
+
+    candidate.reset(buf, 6);
+    word = candidate.word(7, ParseDirn.LEFT, true);
+    assertEquals("Mr.", word.toString());
+    assertSame(word, candidate.word(7, ParseDirn.LEFT, true));
+    assertEquals("Mr", candidate.word(7, ParseDirn.LEFT, false).toString());
+    assertEquals("Smith", candidate.word(7, ParseDirn.RIGHT, false).toString());
+    assertEquals("Mr.", word.toString());
+    assertNull(candidate.word(13, ParseDirn.RIGHT, true));
+
+    // the memoised words are discarded on reset
+    candidate.reset(buf, 13);
+    assertEquals("Smith.", candidate.word(13, ParseDirn.LEFT, true).toString());
+  }
+
+  public void test_Whitespace() {
+    Candidate candidate;
+    TextParserData parserData;
+    char[] buf;
+
+    //          0123456789012345678901234
+    buf = "See  www.gutenberg.org. ok".toCharArray();
+    parserData = AllExtractorTests.initTextParserData(buf,
+        new HashSet<Integer>(), new SentenceMapEntry[buf.length],
+        new Vector<TextParserOp>(), new boolean[buf.length], 80);
+
+    for ( int n = 0; n < 2; n++ ) {
+      candidate = new Candidate((n == 0) ? null : parserData,
+          ExtractorProfile.current());
+
+      candidate.reset(buf, 22);
+      assertEquals(5, candidate.tokenStart());
+      assertEquals(23, candidate.tokenEnd());
+      assertEquals(21, candidate.previousNonWhitespace());
+
+      candidate.reset(buf, 23);
+      assertEquals(5, candidate.tokenStart());
+      assertEquals(23, candidate.tokenEnd());
+
+      candidate.reset(buf, 5);
+      assertEquals(5, candidate.tokenStart());
+      assertEquals(23, candidate.tokenEnd());
+      assertEquals(2, candidate.previousNonWhitespace());
+
+      candidate.reset(buf, 4);
+      assertEquals(4, candidate.tokenStart());
+      assertEquals(4, candidate.tokenEnd());
+    }
+  }
+
+  public void test_Adapter() throws Exception {
+    final int[] called = new int[1];
+    Evaluator evaluator;
+    Candidate candidate;
+
+    evaluator = new Evaluator("Custom", EvaluatorType.END) {
+      public void invalidate() { }
+      public boolean recordAsUnlikely() { return(false); }
+      public boolean recordAsPause() { return(false); }
+      public boolean evaluate(final char[] buf, int idx) {
+        called[0] = idx;
+        return(buf[idx] == '!');
+      }
+    };
+
+    candidate = new Candidate(null, ExtractorProfile.current());
+    candidate.reset("Stop!".toCharArray(), 4);
+    assertTrue(evaluator.evaluate(candidate));
+    assertEquals(4, called[0]);
+  }
+}
@@ -1,6 +1,12 @@
 package com.orbious.extractor.evaluator;
 
+import java.util.BitSet;
+import java.util.HashSet;
+import java.util.Vector;
 import com.orbious.AllExtractorTests;
+import com.orbious.extractor.SentenceMapEntry;
+import com.orbious.extractor.TextParserOp;
+import com.orbious.extractor.TextParser.TextParserData;
 import com.orbious.extractor.evaluator.Evaluator.EvaluatorType;
 import junit.framework.TestCase;
 
@@ -46,4 +52,62 @@ public class SuspensionTest extends TestCase {
       fail("Failed to open suspensions txt file");
     }
   }
+
+  public void test_EvaluateAll() throws Exception {
+    char[] buf = "Mr. Smith met Dr. Jones at St. Paul. Then he left.".toCharArray();
+    int[] candidates = new int[buf.length];
+    BitSet out = new BitSet();
+    Suspension suspension;
+    int ct;
+
+    for ( int n = 0; n < 2; n++ ) {
+      suspension = new Suspension(null,
+          (n == 0) ? EvaluatorType.START : EvaluatorType.END);
+      suspension.invalidate();
+
+      ct = 0;
+      for ( int i = 0; i < buf.length; i++ ) {
+        candidates[ct++] = i;
+      }
+
+      out.set(buf.length+1);
+      suspension.evaluateAll(buf, candidates, ct, out);
+      for ( int i = 0; i < ct; i++ ) {
+        assertEquals(suspension.evaluate(buf, candidates[i]), out.get(i));
+      }
+      assertTrue(out.get(buf.length+1));
+      assertTrue(out.cardinality() > 1);
+    }
+  }
+
+  public void test_MarkedBuffer() throws Exception {
+    char[] buf = "Ask Mr. Smith (e.g. Dr.Jones) at 10 Main St. today. Fin.".toCharArray();
+    TextParserData parserData;
+    Suspension marked;
+    Suspension scanned;
+    int ct = 0;
+
+    parserData = AllExtractorTests.initTextParserData(buf,
+        new HashSet<Integer>(), new SentenceMapEntry[buf.length],
+        new Vector<TextParserOp>(), new boolean[buf.length], 80);
+
+    for ( int n = 0; n < 2; n++ ) {
+      EvaluatorType type = (n == 0) ? EvaluatorType.START : EvaluatorType.END;
+
+      marked = new Suspension(parserData, type);
+      marked.invalidate();
+      scanned = new Suspension(null, type);
+      scanned.invalidate();
+
+      for ( int i = 0; i < buf.length; i++ ) {
+        assertEquals(type + " idx=" + i, scanned.evaluate(buf, i),
+            marked.evaluate(buf, i));
+        if ( marked.evaluate(buf, i) ) {
+          ct++;
+        }
+      }
+    }
+
+    assertTrue(ct >= 4);
+  }
 }
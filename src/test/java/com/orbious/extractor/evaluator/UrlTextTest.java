@@ -1,6 +1,12 @@
 package com.orbious.extractor.evaluator;
 
+import java.util.BitSet;
+import java.util.HashSet;
+import java.util.Vector;
 import com.orbious.AllExtractorTests;
+import com.orbious.extractor.SentenceMapEntry;
+import com.orbious.extractor.TextParserOp;
+import com.orbious.extractor.TextParser.TextParserData;
 import com.orbious.extractor.evaluator.Evaluator.EvaluatorType;
 import junit.framework.TestCase;
 
@@ -88,4 +94,43 @@ public class UrlTextTest extends TestCase {
     result = url.evaluate(str.toCharArray(), 6);
     assertEquals(false, result);
   }
+
+  public void test_IndexedBuffer() {
+    TextParserData parserData;
+    UrlText url;
+    char[] buf;
+
+    buf = "See www.gutenberg.org. For google. More".toCharArray();
+    parserData = AllExtractorTests.initTextParserData(buf,
+        new HashSet<Integer>(), new SentenceMapEntry[buf.length],
+        new Vector<TextParserOp>(), new boolean[buf.length], 80);
+
+    url = new UrlText(parserData, EvaluatorType.END);
+    url.invalidate();
+
+    assertEquals(true, url.evaluate(buf, 7));
+    assertEquals(true, url.evaluate(buf, 21));
+    assertEquals(false, url.evaluate(buf, 33));
+    assertEquals(false, url.evaluate(buf, 3));
+
+    // a buffer other than the parser buffer is scanned
+    assertEquals(true, url.evaluate("google.com".toCharArray(), 6));
+  }
+
+  public void test_EvaluateAll() throws Exception {
+    char[] buf = "See www.gutenberg.org. For google. More".toCharArray();
+    int[] candidates = new int[] { 3, 7, 21, 33 };
+    BitSet out = new BitSet();
+    UrlText url;
+
+    url = new UrlText(null, EvaluatorType.END);
+    url.invalidate();
+
+    out.set(0);
+    url.evaluateAll(buf, candidates, 3, out);
+    assertEquals(false, out.get(0));
+    assertEquals(true, out.get(1));
+    assertEquals(true, out.get(2));
+    assertEquals(2, out.cardinality());
+  }
 }